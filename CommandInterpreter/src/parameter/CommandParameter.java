@@ -16,6 +16,8 @@ import java.util.List;
 public interface CommandParameter {
    /** Constant defining the suggestion when the {@link Command} or {@link CommandParameter} is complete.**/
    public static final String READY = "READY";   
+   /** The maximum number of {@link model.singleton.Singleton}s suggested for a reference. **/
+   public static final int SUGGESTION_LIMIT = 100;
    
    /**
     * Method to get a {@link String} description of the type of {@link CommandParameter} being
@@ -82,7 +82,7 @@ public class ReferenceObjectParameterImpl implements CommandParameter {
    
    /**
     * Method to construct a {@link List} of suggestion for the given {@link Class} name and
-    * reference. 
+    * reference, of at most {@link #SUGGESTION_LIMIT} names. 
     * @param className the {@link Class} name, assumed complete.
     * @param reference the partial name of the {@link Singleton}.
     * @return a {@link List} of suggested {@link Singleton} names.
@@ -91,8 +91,8 @@ public class ReferenceObjectParameterImpl implements CommandParameter {
       List< String > suggestions = new ArrayList<>();
       for ( Class< ? extends Singleton > clazz : referencedTypes ) {
          if ( clazz.getSimpleName().equals( className ) ) {
-            List< ? extends Singleton > singletons = RequestSystem.retrieveAll( 
-                     clazz, object -> { return object.getIdentification().startsWith( reference ); } 
+            List< ? extends Singleton > singletons = RequestSystem.retrieveByPrefix( 
+                     clazz, reference, SUGGESTION_LIMIT - suggestions.size() 
             );
             if ( !singletons.isEmpty() ) {
                singletons.forEach( singleton -> suggestions.add( singleton.getIdentification() ) );
@@ -119,10 +119,8 @@ public class ReferenceObjectParameterImpl implements CommandParameter {
       } else {
          for ( Class< ? extends Singleton > clazz : referencedTypes ) {
             if ( clazz.getSimpleName().equals( className ) ) {
-               Singleton singleton = RequestSystem.retrieve( 
-                        clazz, object -> { return object.getIdentification().startsWith( reference ); } 
-               );
-               if ( singleton == null ) {
+               List< ? extends Singleton > singletons = RequestSystem.retrieveByPrefix( clazz, reference, 1 );
+               if ( singletons.isEmpty() ) {
                   return false;
                } else {
                   return true;
@@ -54,8 +54,8 @@ public class SingletonNameAsReferenceParameterImpl implements CommandParameter {
       List< String > suggestions = new ArrayList<>();
       String parameter = CommandParameterParseUtilities.parseSingle( expression );
       for ( Class< ? extends Singleton > clazz : referencedTypes ) {
-         List< ? extends Singleton > matching = RequestSystem.retrieveAll( 
-                  clazz, object -> object.getIdentification().startsWith( parameter ) 
+         List< ? extends Singleton > matching = RequestSystem.retrieveByPrefix( 
+                  clazz, parameter, SUGGESTION_LIMIT - suggestions.size() 
          );
          matching.forEach( singleton -> suggestions.add( singleton.getIdentification() ) );
       }
@@ -68,8 +68,8 @@ public class SingletonNameAsReferenceParameterImpl implements CommandParameter {
    @Override public boolean partialMatches( String expression ) {
       String parameter = CommandParameterParseUtilities.parseSingle( expression );
       for ( Class< ? extends Singleton > clazz : referencedTypes ) {
-         List< ? extends Singleton > matching = RequestSystem.retrieveAll( 
-                  clazz, object -> object.getIdentification().startsWith( parameter ) 
+         List< ? extends Singleton > matching = RequestSystem.retrieveByPrefix( 
+                  clazz, parameter, 1 
          );
          boolean exists = matching.size() > 0;
          if ( exists ){
@@ -120,8 +120,8 @@ public class SingletonNameAsReferenceParameterImpl implements CommandParameter {
          return null;
       }
       for ( Class< ? extends Singleton > clazz : referencedTypes ) {
-         List< ? extends Singleton > matching = RequestSystem.retrieveAll( 
-                  clazz, object -> object.getIdentification().startsWith( parameter ) 
+         List< ? extends Singleton > matching = RequestSystem.retrieveByPrefix( 
+                  clazz, parameter, 2 
          );
          boolean exactMatch = matching.size() == 1;
          if ( exactMatch ){
@@ -0,0 +1,68 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.activation;
+
+import model.function.threshold.ThresholdFunction;
+
+/**
+ * The {@link ActivationFunction} defines a stateless activation applied to a whole layer of weighted sums
+ * at once. Unlike a {@link ThresholdFunction} it holds no per {@link Neuron} state, so a single instance
+ * can be shared by any number of layers and threads. Implementations that can be trained with back
+ * propagation also provide the derivative in terms of their output.
+ */
+public interface ActivationFunction {
+
+   /**
+    * Method to apply the activation to the weighted sums in the given buffer, replacing them
+    * with the output values.
+    * @param values the buffer of weighted sums, overwritten with the outputs.
+    * @param length the number of values in the buffer to activate.
+    */
+   public void apply( double[] values, int length );
+
+   /**
+    * Method to calculate the derivative of the activation, used to propagate errors back through a network.
+    * @param output the output produced by {@link #apply(double[], int)}.
+    * @return the derivative at the given output.
+    * @throws UnsupportedOperationException if the activation is not differentiable, or its derivative
+    * depends on the whole layer rather than a single output.
+    */
+   public default double derivative( double output ){
+      throw new UnsupportedOperationException( this + " is not differentiable." );
+   }// End Method
+
+   /**
+    * Method to propagate the errors of the outputs back through the activation, replacing the error of each
+    * output with the error of its weighted sum. This multiplies the errors by the Jacobian of the activation,
+    * which for an activation applied to each value alone is its {@link #derivative(double)}.
+    * @param outputs the outputs produced by {@link #apply(double[], int)}.
+    * @param errors the errors of the outputs, overwritten with those of the weighted sums.
+    * @param length the number of values in the buffers.
+    * @throws UnsupportedOperationException if the activation is not differentiable.
+    */
+   public default void applyDerivative( double[] outputs, double[] errors, int length ){
+      for ( int i = 0; i < length; i++ ){
+         errors[ i ] *= derivative( outputs[ i ] );
+      }
+   }// End Method
+
+   /**
+    * Method to determine whether errors can be propagated back through the activation with 
+    * {@link #applyDerivative(double[], double[], int)}, so that it can be trained with back propagation.
+    * @return true if the activation is differentiable.
+    */
+   public default boolean isDifferentiable(){
+      try {
+         applyDerivative( new double[]{ 0.5 }, new double[]{ 1 }, 1 );
+         return true;
+      } catch ( UnsupportedOperationException e ) {
+         return false;
+      }
+   }// End Method
+
+}// End Interface
@@ -0,0 +1,81 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.activation;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The {@link ActivationTable} is a fast approximation of a smooth, saturating function, sampling it at
+ * regular intervals over a range and interpolating linearly between the samples. Values outside of the range
+ * take the value at the nearest end of the range. The table is immutable once constructed.
+ */
+public final class ActivationTable {
+
+   /** The lowest value sampled. **/
+   private final double minimum;
+   /** The highest value sampled. **/
+   private final double maximum;
+   /** The number of samples per unit of input. **/
+   private final double scale;
+   /** The samples of the function, from {@link #minimum} to {@link #maximum} inclusive. **/
+   private final double[] samples;
+
+   /**
+    * Constructs a new {@link ActivationTable}.
+    * @param function the function to approximate.
+    * @param minimum the lowest value to sample.
+    * @param maximum the highest value to sample.
+    * @param intervals the number of intervals to divide the range into.
+    */
+   public ActivationTable( DoubleUnaryOperator function, double minimum, double maximum, int intervals ){
+      if ( function == null || !( maximum > minimum ) || intervals <= 0 ){
+         throw new IllegalArgumentException();
+      }
+      this.minimum = minimum;
+      this.maximum = maximum;
+      this.scale = intervals / ( maximum - minimum );
+      this.samples = new double[ intervals + 1 ];
+      for ( int i = 0; i <= intervals; i++ ){
+         samples[ i ] = function.applyAsDouble( minimum + i / scale );
+      }
+   }// End Constructor
+
+   /**
+    * Method to approximate the function at the given value.
+    * @param value the value.
+    * @return the interpolated value of the function.
+    */
+   public double get( double value ){
+      if ( value <= minimum ){
+         return samples[ 0 ];
+      } else if ( value >= maximum ){
+         return samples[ samples.length - 1 ];
+      } else if ( value != value ){
+         return value;
+      }
+      double position = ( value - minimum ) * scale;
+      int index = ( int )position;
+      if ( index >= samples.length - 1 ){
+         return samples[ samples.length - 1 ];
+      }
+      double fraction = position - index;
+      return samples[ index ] + ( samples[ index + 1 ] - samples[ index ] ) * fraction;
+   }// End Method
+
+   /**
+    * Method to approximate the function for each value in the buffer, in place.
+    * @param values the buffer of values, overwritten with the results.
+    * @param length the number of values in the buffer.
+    */
+   public void apply( double[] values, int length ){
+      for ( int i = 0; i < length; i++ ){
+         values[ i ] = get( values[ i ] );
+      }
+   }// End Method
+
+}// End Class
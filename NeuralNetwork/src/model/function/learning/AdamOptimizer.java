@@ -0,0 +1,101 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.learning;
+
+/**
+ * The {@link AdamOptimizer} provides adaptive moment estimation, keeping decaying averages of the gradient
+ * and of its square per weight, so that each weight is adjusted by a rate adapted to its own history.
+ */
+public class AdamOptimizer implements Optimizer {
+
+   /** The default decay of the average gradient. **/
+   public static final double DEFAULT_FIRST_DECAY = 0.9;
+   /** The default decay of the average squared gradient. **/
+   public static final double DEFAULT_SECOND_DECAY = 0.999;
+   /** The default value added to the denominator to avoid division by zero. **/
+   public static final double DEFAULT_EPSILON = 1e-8;
+
+   /** The learning rate. **/
+   private final double learningRate;
+   /** The decay of the average gradient. **/
+   private final double firstDecay;
+   /** The decay of the average squared gradient. **/
+   private final double secondDecay;
+   /** The value added to the denominator to avoid division by zero. **/
+   private final double epsilon;
+   /** The {@link LearningRateSchedule} applied to the learning rate. **/
+   private final LearningRateSchedule schedule;
+
+   /**
+    * Constructs a new {@link AdamOptimizer} with the default decays and a constant learning rate.
+    * @param learningRate the learning rate.
+    */
+   public AdamOptimizer( double learningRate ){
+      this( learningRate, DEFAULT_FIRST_DECAY, DEFAULT_SECOND_DECAY, DEFAULT_EPSILON, LearningRateSchedule.constant() );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link AdamOptimizer}.
+    * @param learningRate the learning rate.
+    * @param firstDecay the decay of the average gradient, from 0 inclusive to 1 exclusive.
+    * @param secondDecay the decay of the average squared gradient, from 0 inclusive to 1 exclusive.
+    * @param epsilon the value added to the denominator to avoid division by zero.
+    * @param schedule the {@link LearningRateSchedule} applied to the learning rate.
+    */
+   public AdamOptimizer( double learningRate, double firstDecay, double secondDecay, double epsilon, LearningRateSchedule schedule ){
+      if ( learningRate <= 0 || firstDecay < 0 || firstDecay >= 1 || secondDecay < 0 || secondDecay >= 1 || epsilon <= 0 || schedule == null ){
+         throw new IllegalArgumentException();
+      }
+      this.learningRate = learningRate;
+      this.firstDecay = firstDecay;
+      this.secondDecay = secondDecay;
+      this.epsilon = epsilon;
+      this.schedule = schedule;
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public LayerOptimizer forLayer( int weightCount ){
+      double[] firstMoments = new double[ weightCount ];
+      double[] secondMoments = new double[ weightCount ];
+      return new LayerOptimizer() {
+         /** The number of updates applied. **/
+         private long step = 0;
+         /** The first decay raised to the power of the number of updates. **/
+         private double firstDecayPower = 1;
+         /** The second decay raised to the power of the number of updates. **/
+         private double secondDecayPower = 1;
+
+         /**
+          * {@inheritDoc}
+          * weight += rate * m / ( sqrt( v ) + epsilon ), with m and v the bias corrected averages of the
+          * mean gradient and its square.
+          */
+         @Override public void update( double[] weights, double[] gradients, double[] learningRates, int samples ){
+            firstDecayPower *= firstDecay;
+            secondDecayPower *= secondDecay;
+            double rate = schedule.getRate( learningRate, step );
+            double firstCorrection = 1.0 / ( 1.0 - firstDecayPower );
+            double secondCorrection = 1.0 / ( 1.0 - secondDecayPower );
+            double mean = 1.0 / Math.max( 1, samples );
+            for ( int i = 0; i < weights.length; i++ ){
+               double gradient = gradients[ i ] * mean;
+               firstMoments[ i ] = firstDecay * firstMoments[ i ] + ( 1 - firstDecay ) * gradient;
+               secondMoments[ i ] = secondDecay * secondMoments[ i ] + ( 1 - secondDecay ) * gradient * gradient;
+               double first = firstMoments[ i ] * firstCorrection;
+               double second = secondMoments[ i ] * secondCorrection;
+               weights[ i ] += rate * first / ( Math.sqrt( second ) + epsilon );
+               gradients[ i ] = 0;
+            }
+            step++;
+         }// End Method
+      };
+   }// End Method
+
+}// End Class
@@ -0,0 +1,65 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.learning;
+
+/**
+ * The {@link GradientDescentOptimizer} provides stochastic gradient descent, adjusting every weight by a
+ * single learning rate * the mean gradient of the batch. The learning rates of the {@link Synapse}s are ignored.
+ */
+public class GradientDescentOptimizer implements Optimizer {
+
+   /** The learning rate. **/
+   private final double learningRate;
+   /** The {@link LearningRateSchedule} applied to the learning rate. **/
+   private final LearningRateSchedule schedule;
+
+   /**
+    * Constructs a new {@link GradientDescentOptimizer} with a constant learning rate.
+    * @param learningRate the learning rate.
+    */
+   public GradientDescentOptimizer( double learningRate ){
+      this( learningRate, LearningRateSchedule.constant() );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link GradientDescentOptimizer}.
+    * @param learningRate the learning rate.
+    * @param schedule the {@link LearningRateSchedule} applied to the learning rate.
+    */
+   public GradientDescentOptimizer( double learningRate, LearningRateSchedule schedule ){
+      if ( learningRate <= 0 || schedule == null ){
+         throw new IllegalArgumentException();
+      }
+      this.learningRate = learningRate;
+      this.schedule = schedule;
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public LayerOptimizer forLayer( int weightCount ){
+      return new LayerOptimizer() {
+         /** The number of updates applied. **/
+         private long step = 0;
+
+         /**
+          * {@inheritDoc}
+          * weight += rate * gradient / samples.
+          */
+         @Override public void update( double[] weights, double[] gradients, double[] learningRates, int samples ){
+            double scale = schedule.getRate( learningRate, step ) / Math.max( 1, samples );
+            for ( int i = 0; i < weights.length; i++ ){
+               weights[ i ] += scale * gradients[ i ];
+               gradients[ i ] = 0;
+            }
+            step++;
+         }// End Method
+      };
+   }// End Method
+
+}// End Class
@@ -0,0 +1,27 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.learning;
+
+/**
+ * The {@link LayerOptimizer} applies an {@link Optimizer} to a single layer, holding its state in primitive
+ * arrays parallel to the weights so that the whole layer is updated in a single pass.
+ */
+public interface LayerOptimizer {
+
+   /**
+    * Method to update the weights from the accumulated gradients, resetting the gradients to zero.
+    * @param weights the weights of the layer, adjusted in place.
+    * @param gradients the error * input of each weight summed over the batch, the direction that reduces
+    * the error, parallel to the weights.
+    * @param learningRates the learning rate of each {@link Synapse}, parallel to the weights, used by
+    * {@link Optimizer}s that respect the rates configured per {@link Synapse}.
+    * @param samples the number of {@link LearningParameter}s accumulated into the gradients.
+    */
+   public void update( double[] weights, double[] gradients, double[] learningRates, int samples );
+
+}// End Interface
@@ -0,0 +1,56 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.learning;
+
+/**
+ * The {@link LearningRateSchedule} defines how the learning rate of an {@link Optimizer} changes as
+ * updates are applied.
+ */
+@FunctionalInterface
+public interface LearningRateSchedule {
+
+   /**
+    * Method to calculate the learning rate for the given update.
+    * @param baseRate the learning rate configured for the {@link Optimizer}.
+    * @param step the number of updates already applied, from 0.
+    * @return the learning rate to use.
+    */
+   public double getRate( double baseRate, long step );
+
+   /**
+    * Method to construct a {@link LearningRateSchedule} that never changes the rate.
+    * @return the {@link LearningRateSchedule}.
+    */
+   public static LearningRateSchedule constant(){
+      return ( baseRate, step ) -> baseRate;
+   }// End Method
+
+   /**
+    * Method to construct a {@link LearningRateSchedule} that multiplies the rate by the factor every given
+    * number of updates.
+    * @param interval the number of updates between each reduction.
+    * @param factor the factor to multiply the rate by.
+    * @return the {@link LearningRateSchedule}.
+    */
+   public static LearningRateSchedule stepDecay( long interval, double factor ){
+      if ( interval <= 0 ){
+         throw new IllegalArgumentException( "Interval must be positive: " + interval + "." );
+      }
+      return ( baseRate, step ) -> baseRate * Math.pow( factor, step / interval );
+   }// End Method
+
+   /**
+    * Method to construct a {@link LearningRateSchedule} that decays the rate exponentially, rate * e^( -decay * step ).
+    * @param decay the rate of decay per update.
+    * @return the {@link LearningRateSchedule}.
+    */
+   public static LearningRateSchedule exponentialDecay( double decay ){
+      return ( baseRate, step ) -> baseRate * Math.exp( -decay * step );
+   }// End Method
+
+}// End Interface
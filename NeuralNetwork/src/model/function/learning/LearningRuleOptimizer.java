@@ -0,0 +1,43 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.learning;
+
+/**
+ * The {@link LearningRuleOptimizer} adapts the {@link PerceptronLearningRule} of each {@link Synapse} to an
+ * {@link Optimizer}, adjusting each weight by its own learning rate * the summed gradient, exactly as each
+ * {@link PerceptronLearningRule} would for the batch. It holds no state and is the default {@link Optimizer}.
+ */
+public class LearningRuleOptimizer implements Optimizer, LayerOptimizer {
+
+   /** The shared instance, holding no state. **/
+   public static final LearningRuleOptimizer INSTANCE = new LearningRuleOptimizer();
+
+   /**
+    * Constructs a new {@link LearningRuleOptimizer}, use {@link #INSTANCE}.
+    */
+   private LearningRuleOptimizer(){}
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public LayerOptimizer forLayer( int weightCount ){
+      return this;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * weight += rate * gradient.
+    */
+   @Override public void update( double[] weights, double[] gradients, double[] learningRates, int samples ){
+      for ( int i = 0; i < weights.length; i++ ){
+         weights[ i ] += learningRates[ i ] * gradients[ i ];
+         gradients[ i ] = 0;
+      }
+   }// End Method
+
+}// End Class
@@ -0,0 +1,75 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.learning;
+
+/**
+ * The {@link MomentumOptimizer} provides gradient descent with momentum, keeping a velocity per weight
+ * that accumulates a decaying sum of the previous adjustments so that learning continues through flat
+ * regions and is damped across oscillating ones.
+ */
+public class MomentumOptimizer implements Optimizer {
+
+   /** The default proportion of the velocity kept between updates. **/
+   public static final double DEFAULT_MOMENTUM = 0.9;
+
+   /** The learning rate. **/
+   private final double learningRate;
+   /** The proportion of the velocity kept between updates. **/
+   private final double momentum;
+   /** The {@link LearningRateSchedule} applied to the learning rate. **/
+   private final LearningRateSchedule schedule;
+
+   /**
+    * Constructs a new {@link MomentumOptimizer} with the {@link #DEFAULT_MOMENTUM} and a constant learning rate.
+    * @param learningRate the learning rate.
+    */
+   public MomentumOptimizer( double learningRate ){
+      this( learningRate, DEFAULT_MOMENTUM, LearningRateSchedule.constant() );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link MomentumOptimizer}.
+    * @param learningRate the learning rate.
+    * @param momentum the proportion of the velocity kept between updates, from 0 inclusive to 1 exclusive.
+    * @param schedule the {@link LearningRateSchedule} applied to the learning rate.
+    */
+   public MomentumOptimizer( double learningRate, double momentum, LearningRateSchedule schedule ){
+      if ( learningRate <= 0 || momentum < 0 || momentum >= 1 || schedule == null ){
+         throw new IllegalArgumentException();
+      }
+      this.learningRate = learningRate;
+      this.momentum = momentum;
+      this.schedule = schedule;
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public LayerOptimizer forLayer( int weightCount ){
+      double[] velocities = new double[ weightCount ];
+      return new LayerOptimizer() {
+         /** The number of updates applied. **/
+         private long step = 0;
+
+         /**
+          * {@inheritDoc}
+          * velocity = momentum * velocity + rate * gradient / samples, weight += velocity.
+          */
+         @Override public void update( double[] weights, double[] gradients, double[] learningRates, int samples ){
+            double scale = schedule.getRate( learningRate, step ) / Math.max( 1, samples );
+            for ( int i = 0; i < weights.length; i++ ){
+               velocities[ i ] = momentum * velocities[ i ] + scale * gradients[ i ];
+               weights[ i ] += velocities[ i ];
+               gradients[ i ] = 0;
+            }
+            step++;
+         }// End Method
+      };
+   }// End Method
+
+}// End Class
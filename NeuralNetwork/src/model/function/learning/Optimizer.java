@@ -0,0 +1,24 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.function.learning;
+
+/**
+ * The {@link Optimizer} defines how the weights of a layer are adjusted from the gradients accumulated
+ * over a batch. The {@link Optimizer} itself only holds configuration and can be shared, constructing a
+ * {@link LayerOptimizer} for each layer to hold any state, such as momentum, parallel to the weights.
+ */
+public interface Optimizer {
+
+   /**
+    * Method to construct a new {@link LayerOptimizer} for a layer with the given number of weights.
+    * @param weightCount the number of weights in the layer.
+    * @return the {@link LayerOptimizer}, with its state initialised.
+    */
+   public LayerOptimizer forLayer( int weightCount );
+
+}// End Interface
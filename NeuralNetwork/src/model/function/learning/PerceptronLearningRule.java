@@ -14,7 +14,9 @@ import model.data.SerializableSynapse;
 
 /**
  * The {@link PerceptronLearningRule} is responsible for defining how a {@link Perceptron}
- * learns, adjusting its weights to account for the given input data and output target.
+ * learns, adjusting its weights to account for the given input data and output target. Dense
+ * learning applies the same rule to a whole layer through the {@link LearningRuleOptimizer}, reading
+ * the learning rate of each {@link PerceptronLearningRule}, or replaces it with another {@link Optimizer}.
  */
 public class PerceptronLearningRule {
 
@@ -47,6 +49,14 @@ public class PerceptronLearningRule {
       this.firedOutput = firedOutput;
    }// End Method
 
+   /**
+    * Getter for the output last fired by the input {@link Neuron}.
+    * @return the output last received from the input {@link Neuron} of the {@link Synapse}.
+    */
+   public double getFiredOutput(){
+      return firedOutput;
+   }// End Method
+
    /**
     * Method to get the weight being applied to the output from the input {@link Neuron}.
     * @return the weight.
@@ -63,6 +73,14 @@ public class PerceptronLearningRule {
       return weight;
    }// End Method
    
+   /**
+    * Getter for the learning rate of the {@link Synapse}.
+    * @return the learning rate.
+    */
+   public double getLearningRate(){
+      return learningRate;
+   }// End Method
+   
    /**
     * Setter for the learning rate of the {@link Synapse}.
     * @param learningRate the learning rate.
@@ -0,0 +1,61 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+ package model.function.threshold;
+
+/**
+ * The {@link LeakyRectifiedLinearFunction} defines the leaky rectified linear unit, passing positive
+ * input unchanged and scaling negative input by {@value #LEAKY_SLOPE}.
+ */
+public class LeakyRectifiedLinearFunction extends ThresholdFunction {
+
+   /** Constant defining the slope for negative input. **/
+   public static final double LEAKY_SLOPE = 0.01;
+   /** The total input received from {@link Synapse}s associated with the {@link Neuron}
+    * using this {@link ThresholdFunction}.**/
+   private double outputTotal = 0;
+
+   /**
+    * Constructs a new {@link LeakyRectifiedLinearFunction}.
+    */
+   public LeakyRectifiedLinearFunction() {
+      super();
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    * Cumulatively stores the output received.
+    */
+   @Override public void synapseFired( double output ) {
+      outputTotal += output;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * The output is continuous so is always propagated.
+    */
+   @Override public boolean excedesThreshold(){
+      return true;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * out = sum > 0 ? sum : {@value #LEAKY_SLOPE} * sum.
+    */
+   @Override public void calculateOutput() {
+      setOutput( outputTotal > 0 ? outputTotal : LEAKY_SLOPE * outputTotal );
+      reset();
+   }// End Method
+
+   /**
+    * Method to reset the function after having evaluated its input.
+    */
+   private void reset(){
+      outputTotal = 0;
+   }// End Method
+
+}// End Class
@@ -0,0 +1,59 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+ package model.function.threshold;
+
+/**
+ * The {@link LinearFunction} outputs the weighted sum of its input unchanged. Unlike the {@link BasicInputFunction}
+ * it totals the input from every {@link Synapse}, so it can be used beyond the input layer.
+ */
+public class LinearFunction extends ThresholdFunction {
+
+   /** The total input received from {@link Synapse}s associated with the {@link Neuron}
+    * using this {@link ThresholdFunction}.**/
+   private double outputTotal = 0;
+
+   /**
+    * Constructs a new {@link LinearFunction}.
+    */
+   public LinearFunction() {
+      super();
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    * Cumulatively stores the output received.
+    */
+   @Override public void synapseFired( double output ) {
+      outputTotal += output;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * The output is continuous so is always propagated.
+    */
+   @Override public boolean excedesThreshold(){
+      return true;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * out = sum( input ).
+    */
+   @Override public void calculateOutput() {
+      setOutput( outputTotal );
+      reset();
+   }// End Method
+
+   /**
+    * Method to reset the function after having evaluated its input.
+    */
+   private void reset(){
+      outputTotal = 0;
+   }// End Method
+
+}// End Class
@@ -0,0 +1,59 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+ package model.function.threshold;
+
+/**
+ * The {@link RectifiedLinearFunction} defines the rectified linear unit, passing positive input
+ * unchanged and outputting 0 otherwise.
+ */
+public class RectifiedLinearFunction extends ThresholdFunction {
+
+   /** The total input received from {@link Synapse}s associated with the {@link Neuron}
+    * using this {@link ThresholdFunction}.**/
+   private double outputTotal = 0;
+
+   /**
+    * Constructs a new {@link RectifiedLinearFunction}.
+    */
+   public RectifiedLinearFunction() {
+      super();
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    * Cumulatively stores the output received.
+    */
+   @Override public void synapseFired( double output ) {
+      outputTotal += output;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * The output is continuous so is always propagated.
+    */
+   @Override public boolean excedesThreshold(){
+      return true;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * out = max( 0, sum( input ) ).
+    */
+   @Override public void calculateOutput() {
+      setOutput( Math.max( 0, outputTotal ) );
+      reset();
+   }// End Method
+
+   /**
+    * Method to reset the function after having evaluated its input.
+    */
+   private void reset(){
+      outputTotal = 0;
+   }// End Method
+
+}// End Class
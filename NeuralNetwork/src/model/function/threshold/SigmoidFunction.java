@@ -0,0 +1,77 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+ package model.function.threshold;
+
+/**
+ * The {@link SigmoidFunction} defines the logistic sigmoid, a differentiable alternative to the
+ * {@link McCullochPittsFunction} that allows errors to be propagated back through hidden layers.
+ */
+public class SigmoidFunction extends ThresholdFunction {
+
+   /** The total input received from {@link Synapse}s associated with the {@link Neuron}
+    * using this {@link ThresholdFunction}.**/
+   private double outputTotal = 0;
+
+   /**
+    * Constructs a new {@link SigmoidFunction}.
+    */
+   public SigmoidFunction() {
+      super();
+   }// End Constructor
+
+   /**
+    * Method to calculate the sigmoid of the given value.
+    * @param value the value, typically the weighted sum of the inputs.
+    * @return 1 / ( 1 + e^-value ).
+    */
+   public static double sigmoid( double value ){
+      return 1.0 / ( 1.0 + Math.exp( -value ) );
+   }// End Method
+
+   /**
+    * Method to calculate the derivative of the sigmoid given its output.
+    * @param output the output of the sigmoid.
+    * @return output * ( 1 - output ).
+    */
+   public static double derivative( double output ){
+      return output * ( 1.0 - output );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * Cumulatively stores the output received.
+    */
+   @Override public void synapseFired( double output ) {
+      outputTotal += output;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * The output is continuous so is always propagated.
+    */
+   @Override public boolean excedesThreshold(){
+      return true;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * out = 1 / ( 1 + e^-sum( input ) ).
+    */
+   @Override public void calculateOutput() {
+      setOutput( sigmoid( outputTotal ) );
+      reset();
+   }// End Method
+
+   /**
+    * Method to reset the function after having evaluated its input.
+    */
+   private void reset(){
+      outputTotal = 0;
+   }// End Method
+
+}// End Class
@@ -0,0 +1,59 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+ package model.function.threshold;
+
+/**
+ * The {@link TanhFunction} defines the hyperbolic tangent, a differentiable function like the
+ * {@link SigmoidFunction} whose output lies between -1 and 1.
+ */
+public class TanhFunction extends ThresholdFunction {
+
+   /** The total input received from {@link Synapse}s associated with the {@link Neuron}
+    * using this {@link ThresholdFunction}.**/
+   private double outputTotal = 0;
+
+   /**
+    * Constructs a new {@link TanhFunction}.
+    */
+   public TanhFunction() {
+      super();
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    * Cumulatively stores the output received.
+    */
+   @Override public void synapseFired( double output ) {
+      outputTotal += output;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * The output is continuous so is always propagated.
+    */
+   @Override public boolean excedesThreshold(){
+      return true;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * out = tanh( sum( input ) ).
+    */
+   @Override public void calculateOutput() {
+      setOutput( Math.tanh( outputTotal ) );
+      reset();
+   }// End Method
+
+   /**
+    * Method to reset the function after having evaluated its input.
+    */
+   private void reset(){
+      outputTotal = 0;
+   }// End Method
+
+}// End Class
@@ -0,0 +1,280 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import architecture.utility.ReadOnlyArray;
+import model.function.threshold.BasicInputFunction;
+import model.function.threshold.SigmoidFunction;
+import model.function.threshold.ThresholdFunction;
+import model.network.dense.BackPropagation;
+import model.network.dense.DenseNetwork;
+import model.network.dense.FrozenNetwork;
+import model.singleton.LearningParameter;
+import model.singleton.Neuron;
+import model.structure.LearningParameters;
+import model.structure.NetworkPosition;
+import model.structure.NeuronLayer;
+import model.structure.NeuronLayer.NeuronLayerBuilder;
+import model.structure.NeuronValueArray;
+import model.training.TrainingController;
+import model.training.TrainingController.StopReason;
+
+/**
+ * The {@link FeedForwardNetwork} provides a Neural Network with an input layer, any number of hidden
+ * layers and an output layer, each {@link NeuronLayer} fully connected to the next. A single bias {@link Neuron}
+ * is connected to every {@link Neuron} outside the input layer. Using a differentiable {@link ThresholdFunction},
+ * such as the {@link SigmoidFunction}, the network can learn problems that are not linearly separable through
+ * {@link BackPropagation}.
+ */
+public class FeedForwardNetwork {
+
+   /** The {@link Neuron} representing the bias, connected to all layers after the input. **/
+   private Neuron bias;
+   /** The {@link NeuronLayer}s in order, input first and output last. **/
+   private List< NeuronLayer > layers;
+
+   /**
+    * Constructs a new {@link FeedForwardNetwork} using the {@link SigmoidFunction} for all but the input layer.
+    * @param neuronsPerLayer the number of {@link Neuron}s in each layer, input first and output last. At
+    * least two layers must be given.
+    */
+   public FeedForwardNetwork( int... neuronsPerLayer ){
+      this( constructBuilders( neuronsPerLayer ) );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link FeedForwardNetwork}, constructing a {@link NeuronLayer} from each
+    * {@link NeuronLayerBuilder}. The position of each layer in the network is configured by this.
+    * @param builders the {@link NeuronLayerBuilder}s for each layer, input first and output last. At least two
+    * layers must be given.
+    */
+   public FeedForwardNetwork( NeuronLayerBuilder... builders ){
+      if ( builders.length < 2 ){
+         throw new IllegalArgumentException( "A network requires at least an input and output layer." );
+      }
+      layers = new ArrayList< NeuronLayer >( builders.length );
+      for ( int i = 0; i < builders.length; i++ ){
+         layers.add( new NeuronLayer( builders[ i ].layer( i ) ) );
+      }
+      bias = new Neuron(
+               new NetworkPosition( 0, layers.get( 0 ).size() ),
+               new BasicInputFunction( 1 )
+      );
+      connectLayers();
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link FeedForwardNetwork}.
+    * @param bias the {@link Neuron} providing the bias.
+    * @param layers the {@link NeuronLayer}s, input first and output last.
+    */
+   public FeedForwardNetwork( Neuron bias, List< NeuronLayer > layers ){
+      if ( layers.size() < 2 ){
+         throw new IllegalArgumentException( "A network requires at least an input and output layer." );
+      }
+      this.bias = bias;
+      this.layers = new ArrayList< NeuronLayer >( layers );
+   }// End Constructor
+
+   /**
+    * Method to construct the {@link NeuronLayerBuilder}s for the given sizes, using the {@link BasicInputFunction}
+    * for the input layer and the {@link SigmoidFunction} for the rest.
+    * @param neuronsPerLayer the number of {@link Neuron}s in each layer.
+    * @return the {@link NeuronLayerBuilder}s.
+    */
+   private static NeuronLayerBuilder[] constructBuilders( int[] neuronsPerLayer ){
+      NeuronLayerBuilder[] builders = new NeuronLayerBuilder[ neuronsPerLayer.length ];
+      for ( int i = 0; i < neuronsPerLayer.length; i++ ){
+         builders[ i ] = new NeuronLayerBuilder()
+                  .numberOfNeurons( neuronsPerLayer[ i ] )
+                  .thresholdFunction( i == 0 ? BasicInputFunction.class : SigmoidFunction.class );
+      }
+      return builders;
+   }// End Method
+
+   /**
+    * Method to connect each {@link NeuronLayer} to the next, and the bias to every {@link Neuron}
+    * outside the input layer.
+    */
+   private void connectLayers(){
+      for ( int l = 1; l < layers.size(); l++ ){
+         NeuronLayer previous = layers.get( l - 1 );
+         for ( Iterator< Neuron > outputIterator = layers.get( l ).iterator(); outputIterator.hasNext(); ){
+            Neuron output = outputIterator.next();
+            for ( Iterator< Neuron > inputIterator = previous.iterator(); inputIterator.hasNext(); ){
+               inputIterator.next().addOutgoingSynapse( output );
+            }
+            bias.addOutgoingSynapse( output );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to configure the {@link Double} input values to the {@link FeedForwardNetwork}.
+    * @param inputValues the {@link Double}s defining the input values.
+    */
+   public void configureInput( Double... inputValues ){
+      getInputLayer().configureInput( new NeuronValueArray( inputValues ) );
+   }// End Method
+
+   /**
+    * Method to configure the input values for the {@link FeedForwardNetwork}.
+    * @param inputValues the {@link NeuronValueArray} of values to input.
+    */
+   public void configureInput( NeuronValueArray inputValues ){
+      getInputLayer().configureInput( inputValues );
+   }// End Method
+
+   /**
+    * Method to configure the weight of the {@link Synapse} between the {@link Neuron}s at the given
+    * {@link NetworkPosition}s, in consecutive layers.
+    * @param input the {@link NetworkPosition} of the {@link Neuron} providing the input.
+    * @param output the {@link NetworkPosition} of the {@link Neuron} receiving the output.
+    * @param weight the weight to use in the {@link Synapse} between them.
+    */
+   public void configureWeight( NetworkPosition input, NetworkPosition output, double weight ){
+      if ( output.layer != input.layer + 1 ){
+         throw new IllegalArgumentException( "Only consecutive layers are connected." );
+      }
+      Neuron inputNeuron = getLayer( input.layer ).getNeuronAtPosition( input );
+      Neuron outputNeuron = getLayer( output.layer ).getNeuronAtPosition( output );
+      inputNeuron.configureOutgoingWeight( outputNeuron, weight );
+   }// End Method
+
+   /**
+    * Method to configure the weight of the bias into the {@link Neuron} at the given {@link NetworkPosition}.
+    * @param position the {@link NetworkPosition} of the {@link Neuron}, in any layer but the input.
+    * @param weight the weight of the bias.
+    */
+   public void configureBias( NetworkPosition position, double weight ){
+      if ( position.layer <= 0 || position.layer >= layers.size() ){
+         throw new IllegalArgumentException();
+      }
+      Neuron neuron = getLayer( position.layer ).getNeuronAtPosition( position );
+      bias.configureOutgoingWeight( neuron, weight );
+   }// End Method
+
+   /**
+    * Method to fire the input values through the {@link Neuron}s of each layer in turn.
+    */
+   public void fireInput(){
+      bias.fireNeuron();
+      for ( NeuronLayer layer : layers ){
+         layer.fireLayer();
+      }
+   }// End Method
+
+   /**
+    * Method to freeze the current weights of the {@link FeedForwardNetwork} into a {@link FrozenNetwork} that can
+    * predict on any number of {@link Thread}s concurrently. Later changes to the {@link FeedForwardNetwork} are not seen.
+    * @return the {@link FrozenNetwork}.
+    */
+   public FrozenNetwork freeze(){
+      return new FrozenNetwork( new DenseNetwork( this ) );
+   }// End Method
+
+   /**
+    * Method to apply online back propagation, adjusting the weights after each {@link LearningParameter}.
+    * @param parameters the {@link LearningParameters} to learn.
+    */
+   public void applyBackPropagation( LearningParameters parameters ){
+      applyBackPropagation( parameters, 1 );
+   }// End Method
+
+   /**
+    * Method to apply mini-batch back propagation. The {@link FeedForwardNetwork} is compiled into a
+    * {@link DenseNetwork} and taught by {@link BackPropagation}, writing the weights back to the {@link Synapse}s
+    * once per batch.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to learn before applying the adjustments.
+    */
+   public void applyBackPropagation( LearningParameters parameters, int batchSize ){
+      new BackPropagation( new DenseNetwork( this ) ).learn( parameters, batchSize );
+   }// End Method
+
+   /**
+    * Method to learn the {@link LearningParameters} using online back propagation, for as long as the given
+    * {@link TrainingController} determines.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param controller the {@link TrainingController} deciding when to stop and reporting progress.
+    * @return the {@link StopReason} learning stopped.
+    */
+   public StopReason learn( LearningParameters parameters, TrainingController controller ){
+      return controller.train( new BackPropagation( new DenseNetwork( this ) ), parameters );
+   }// End Method
+
+   /**
+    * Method to get the array of output values from the output layer.
+    * @return the {@link Double} {@link ReadOnlyArray} of output.
+    */
+   public ReadOnlyArray< Double > getOutputArray(){
+      NeuronLayer outputLayer = getOutputLayer();
+      Double[] output = new Double[ outputLayer.size() ];
+      int outputCount = 0;
+      for ( Iterator< Neuron > iterator = outputLayer.iterator(); iterator.hasNext(); ){
+         output[ outputCount ] = iterator.next().getOutput();
+         outputCount++;
+      }
+      return new ReadOnlyArray< Double >( output );
+   }// End Method
+
+   /**
+    * Method to get the {@link Neuron} providing the bias to the network.
+    * @return the bias {@link Neuron}.
+    */
+   public Neuron getBias(){
+      return bias;
+   }// End Method
+
+   /**
+    * Method to get the number of {@link NeuronLayer}s, including input and output.
+    * @return the number of layers.
+    */
+   public int getNumberOfLayers(){
+      return layers.size();
+   }// End Method
+
+   /**
+    * Method to get the {@link NeuronLayer} at the given position in the network.
+    * @param layer the position of the layer, 0 being the input.
+    * @return the {@link NeuronLayer}.
+    */
+   public NeuronLayer getLayer( int layer ){
+      return layers.get( layer );
+   }// End Method
+
+   /**
+    * Method to get the {@link NeuronLayer}s of the network.
+    * @return an unmodifiable {@link List} of the {@link NeuronLayer}s, input first and output last.
+    */
+   public List< NeuronLayer > getLayers(){
+      return Collections.unmodifiableList( layers );
+   }// End Method
+
+   /**
+    * Method to get the input {@link NeuronLayer} for the network.
+    * @return the {@link NeuronLayer} for the input.
+    */
+   public NeuronLayer getInputLayer(){
+      return layers.get( 0 );
+   }// End Method
+
+   /**
+    * Method to get the output {@link NeuronLayer} for the network.
+    * @return the {@link NeuronLayer} for the output.
+    */
+   public NeuronLayer getOutputLayer(){
+      return layers.get( layers.size() - 1 );
+   }// End Method
+
+}// End Class
@@ -10,8 +10,17 @@
 import java.util.Iterator;
 
 import architecture.utility.ReadOnlyArray;
+import javafx.beans.InvalidationListener;
 import model.function.threshold.BasicInputFunction;
 import model.function.threshold.McCullochPittsFunction;
+import model.function.threshold.ThresholdFunction;
+import model.network.dense.BatchLearner;
+import model.network.dense.CompiledPerceptron;
+import model.network.dense.DensePerceptron;
+import model.network.dense.FrozenNetwork;
+import model.network.dense.ParallelBatchLearner;
+import model.network.dense.SparseBatchLearner;
+import model.network.dense.SparsePerceptron;
 import model.singleton.LearningParameter;
 import model.singleton.LearningParameter.NeuronValue;
 import model.singleton.Neuron;
@@ -20,6 +29,10 @@ import model.structure.NetworkPosition;
 import model.structure.NeuronLayer;
 import model.structure.NeuronLayer.NeuronLayerBuilder;
 import model.structure.NeuronValueArray;
+import model.training.Trainable;
+import model.training.TrainingController;
+import model.training.TrainingController.StopReason;
+import model.training.TrainingController.TrainingControllerBuilder;
 
 /**
  * The {@link Perceptron} provides a basic Neural Network with two layers, input and output.
@@ -35,6 +48,14 @@ public class Perceptron {
    private NeuronLayer inputLayer;
    /** The {@link NeuronLayer} respresenting the output layer of the {@link Perceptron}.**/
    private NeuronLayer outputLayer;
+   /** Whether only some of the input layer is connected to each output {@link Neuron}.**/
+   private boolean sparse;
+   /** The {@link CompiledPerceptron} used to {@link #predict(double[], double[])}, compiled on first use.**/
+   private CompiledPerceptron inference;
+   /** Whether the weights have changed since the {@link #inference} was last synchronised.**/
+   private boolean inferenceStale;
+   /** The {@link InvalidationListener} marking the {@link #inference} as stale when a weight changes.**/
+   private final InvalidationListener inferenceInvalidator = observable -> inferenceStale = true;
 
    /**
     * Constructs a new {@link Perceptron}, initialising the layers and bias.
@@ -42,6 +63,44 @@ public class Perceptron {
     * @param outputNeurons the number of {@link Neuron}s in the output layer.
     */
    public Perceptron( int inputNeurons, int outputNeurons ){
+      this( inputNeurons, outputNeurons, McCullochPittsFunction.class );
+   }// End Constructor
+   
+   /**
+    * Constructs a new {@link Perceptron}, initialising the layers and bias, with the given {@link ThresholdFunction}
+    * in the output layer.
+    * @param inputNeurons the number of {@link Neuron}s in the input layer.
+    * @param outputNeurons the number of {@link Neuron}s in the output layer.
+    * @param outputFunction the {@link Class} of {@link ThresholdFunction} used by the output layer.
+    */
+   public Perceptron( int inputNeurons, int outputNeurons, Class< ? extends ThresholdFunction > outputFunction ){
+      constructLayers( inputNeurons, outputNeurons, outputFunction );
+      connectLayers();
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link Perceptron} where each input {@link Neuron} is only connected to the given output
+    * {@link Neuron}s, for wide input layers where most connections are not needed. Every output {@link Neuron} is
+    * connected to the bias. Predictions are made with a {@link SparsePerceptron}, and learning with a 
+    * {@link SparseBatchLearner}, so their cost scales with the number of connections rather than inputs * outputs.
+    * Such a {@link Perceptron} cannot be {@link #freeze()}d.
+    * @param outputNeurons the number of {@link Neuron}s in the output layer.
+    * @param connections the indices of the output {@link Neuron}s connected to each input {@link Neuron}, one
+    * array per input {@link Neuron}.
+    */
+   public Perceptron( int outputNeurons, int[][] connections ){
+      constructLayers( connections.length, outputNeurons, McCullochPittsFunction.class );
+      connectLayers( connections );
+      sparse = true;
+   }// End Constructor
+
+   /**
+    * Method to construct the bias and layers of the {@link Perceptron}.
+    * @param inputNeurons the number of {@link Neuron}s in the input layer.
+    * @param outputNeurons the number of {@link Neuron}s in the output layer.
+    * @param outputFunction the {@link Class} of {@link ThresholdFunction} used by the output layer.
+    */
+   private void constructLayers( int inputNeurons, int outputNeurons, Class< ? extends ThresholdFunction > outputFunction ){
       bias = new Neuron( 
                new NetworkPosition( 0, inputNeurons ), 
                new BasicInputFunction( 1 ) 
@@ -53,11 +112,10 @@ public class Perceptron {
       );
       outputLayer = new NeuronLayer( new NeuronLayerBuilder()
                   .numberOfNeurons( outputNeurons )
-                  .thresholdFunction( McCullochPittsFunction.class )
+                  .thresholdFunction( outputFunction )
                   .layer( 1 )
       );
-      connectLayers();
-   }// End Constructor
+   }// End Method
    
    /**
     * Constructs a new {@link Perceptron}.
@@ -79,11 +137,38 @@ public class Perceptron {
       for ( Iterator< Neuron > inputIterator = inputLayer.iterator(); inputIterator.hasNext(); ){
          Neuron input = inputIterator.next();
          for ( Iterator< Neuron > outputIterator = outputLayer.iterator(); outputIterator.hasNext(); ){
-            Neuron output = outputIterator.next();
-            input.addOutgoingSynapse( output );
-            bias.addOutgoingSynapse( output );
+            input.addOutgoingSynapse( outputIterator.next() );
          }
       }
+      for ( Iterator< Neuron > outputIterator = outputLayer.iterator(); outputIterator.hasNext(); ){
+         bias.addOutgoingSynapse( outputIterator.next() );
+      }
+   }// End Method
+
+   /**
+    * Method to connect each input {@link Neuron} to the given output {@link Neuron}s, and the bias to all
+    * output {@link Neuron}s.
+    * @param connections the indices of the output {@link Neuron}s connected to each input {@link Neuron}.
+    */
+   private void connectLayers( int[][] connections ){
+      Neuron[] outputs = new Neuron[ outputLayer.size() ];
+      int index = 0;
+      for ( Iterator< Neuron > outputIterator = outputLayer.iterator(); outputIterator.hasNext(); ){
+         outputs[ index ] = outputIterator.next();
+         bias.addOutgoingSynapse( outputs[ index ] );
+         index++;
+      }
+      index = 0;
+      for ( Iterator< Neuron > inputIterator = inputLayer.iterator(); inputIterator.hasNext(); ){
+         Neuron input = inputIterator.next();
+         for ( int output : connections[ index ] ){
+            if ( output < 0 || output >= outputs.length ){
+               throw new IllegalArgumentException( "Input " + index + " cannot connect to output " + output + "." );
+            }
+            input.addOutgoingSynapse( outputs[ output ] );
+         }
+         index++;
+      }
    }// End Method
 
    /**
@@ -154,34 +239,77 @@ public class Perceptron {
       outputLayer.fireLayer();
    }// End Method
 
+   /**
+    * Method to predict the output for the given input without firing the {@link Neuron}s. The values are read from
+    * and written to the given buffers, so no objects are created per prediction. The {@link Perceptron} is compiled into
+    * a {@link DensePerceptron}, or a {@link SparsePerceptron} when sparsely connected, on first use, and only synchronised
+    * again when the weight of a {@link Synapse} changes.
+    * @param inputValues the input values, at least one per {@link Neuron} in the input layer.
+    * @param outputValues the buffer to populate, at least one per {@link Neuron} in the output layer.
+    */
+   public void predict( double[] inputValues, double[] outputValues ){
+      if ( inference == null ){
+         inference = sparse ? new SparsePerceptron( this ) : new DensePerceptron( this );
+         inference.addInvalidationListener( inferenceInvalidator );
+      } else if ( inferenceStale ){
+         inferenceStale = false;
+         inference.synchronise();
+      }
+      if ( inputValues.length < inference.getInputCount() || outputValues.length < inference.getOutputCount() ){
+         throw new IllegalArgumentException( "Buffers are smaller than the layers of the Perceptron." );
+      }
+      inference.fire( inputValues, outputValues );
+   }// End Method
+
+   /**
+    * Method to freeze the current weights of the {@link Perceptron} into a {@link FrozenNetwork} that can predict
+    * on any number of {@link Thread}s concurrently. Later changes to the {@link Perceptron} are not seen.
+    * @return the {@link FrozenNetwork}.
+    * @throws IllegalStateException if the {@link Perceptron} is sparsely connected, as the {@link FrozenNetwork}
+    * holds every weight of inputs * outputs.
+    */
+   public FrozenNetwork freeze(){
+      if ( sparse ){
+         throw new IllegalStateException( "A sparsely connected Perceptron cannot be frozen, use predict instead." );
+      }
+      return new FrozenNetwork( new DensePerceptron( this ) );
+   }// End Method
+
    /**
     * Method to make the {@link Perceptron} learn given the {@link LearningParameters} defining the input values
-    * and target values expected. This will {@link #learn(double)} each target having set the input for the {@link Perceptron},
-    * then move onto the next {@link LearningParameter}. When all {@link LearningParameter}s are {@link LearningParameter#isSatisfied(Perceptron)}
-    * the {@link Perceptron} has learnt the test data.
+    * and target values expected, using online learning with the default {@link TrainingController}. Learning
+    * continues until every {@link LearningParameter} is satisfied or the maximum number of epochs is reached.
     * @param learningParameters the {@link LearningParameters} defining the test cases the {@link Perceptron} should
     * understand and reproduce.
     */
    public void learn( LearningParameters learningParameters ){
-      boolean isComplete = false;
-      int epoch = 0;
-      while ( !isComplete ){
-         for ( Iterator< LearningParameter > iterator = learningParameters.iterator(); iterator.hasNext(); ){
-            epoch++;
-            LearningParameter parameter = iterator.next();
-            parameter.configureInput( this );
-            applyOnlineLearning( parameter );
-            System.out.println( "EPOCH " + epoch + ": \n" + outputLayer.toWeightString() );
-         }
-         isComplete = true;
-         for ( Iterator< LearningParameter > iterator = learningParameters.iterator(); iterator.hasNext(); ){
-            LearningParameter parameter = iterator.next();
-            if ( !parameter.isSatisfied( this ) ){
-               isComplete = false;
-               break;
-            }
-         }
+      learn( learningParameters, new TrainingController( new TrainingControllerBuilder() ) );
+   }// End Method
+   
+   /**
+    * Method to make the {@link Perceptron} learn the {@link LearningParameters} using online learning, for as long
+    * as the given {@link TrainingController} determines. The {@link Perceptron} is compiled into a {@link DensePerceptron},
+    * or a {@link SparsePerceptron} when sparsely connected, so that each epoch and its evaluation run without firing 
+    * the {@link Neuron}s.
+    * @param learningParameters the {@link LearningParameters} to learn.
+    * @param controller the {@link TrainingController} deciding when to stop and reporting progress.
+    * @return the {@link StopReason} learning stopped.
+    */
+   public StopReason learn( LearningParameters learningParameters, TrainingController controller ){
+      return controller.train( constructLearner( 1 ), learningParameters );
+   }// End Method
+   
+   /**
+    * Method to construct the {@link Trainable} learning the {@link Perceptron} in batches of the given size, a
+    * {@link SparseBatchLearner} when sparsely connected and a {@link BatchLearner} otherwise.
+    * @param batchSize the number of {@link LearningParameter}s to learn before applying the adjustments.
+    * @return the {@link Trainable}.
+    */
+   private Trainable constructLearner( int batchSize ){
+      if ( sparse ){
+         return new SparseBatchLearner( new SparsePerceptron( this ), batchSize );
       }
+      return new BatchLearner( new DensePerceptron( this ), batchSize );
    }// End Method
    
    /**
@@ -202,12 +330,49 @@ public class Perceptron {
     */
    public void applyOnlineLearning( LearningParameter parameter ){
       fireInput();
-      outputLayer.learn( parameter.getTargetParameters() );
+      outputLayer.learn( parameter.getTargetValues().toNeuronValueArray() );
    }// End Method
 
+   /**
+    * Method to apply batch learning, allowing the {@link Perceptron} to learn all of the {@link LearningParameters}
+    * as a single batch. The adjustments for every {@link LearningParameter} are calculated against the same
+    * weights and applied together once the whole batch has been seen.
+    * @param parameters the {@link LearningParameters} to learn.
+    */
    public void applyBatchLearning( LearningParameters parameters ){
-
-   }
+      applyBatchLearning( parameters, Math.max( 1, parameters.size() ) );
+   }// End Method
+   
+   /**
+    * Method to apply mini-batch learning, allowing the {@link Perceptron} to learn the {@link LearningParameters}
+    * in batches of the given size. The {@link Perceptron} is compiled into a {@link DensePerceptron} and the
+    * adjustments accumulated by a {@link BatchLearner}, or a {@link SparsePerceptron} and {@link SparseBatchLearner}
+    * when sparsely connected, so the weights of the {@link Synapse}s are only changed once per batch.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to learn before applying the adjustments.
+    */
+   public void applyBatchLearning( LearningParameters parameters, int batchSize ){
+      if ( batchSize <= 0 ){
+         throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+      }
+      constructLearner( batchSize ).trainEpoch( parameters );
+   }// End Method
+   
+   /**
+    * Method to apply mini-batch learning, as {@link #applyBatchLearning(LearningParameters, int)}, sharding 
+    * each batch across the cores using a {@link ParallelBatchLearner}. A sparsely connected {@link Perceptron} learns
+    * each batch on the calling {@link Thread}, as {@link #applyBatchLearning(LearningParameters, int)}, since its 
+    * cost already scales with the number of connections.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to learn before applying the adjustments.
+    */
+   public void applyParallelBatchLearning( LearningParameters parameters, int batchSize ){
+      if ( sparse ){
+         applyBatchLearning( parameters, batchSize );
+         return;
+      }
+      new ParallelBatchLearner( new DensePerceptron( this ) ).learn( parameters, batchSize );
+   }// End Method
 
    /**
     * Method to validate whether the {@link Perceptron} has learnt the given target values.
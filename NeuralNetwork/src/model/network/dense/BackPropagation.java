@@ -0,0 +1,320 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import model.function.activation.ActivationFunction;
+import model.function.learning.LayerOptimizer;
+import model.function.learning.LearningRuleOptimizer;
+import model.function.learning.Optimizer;
+import model.network.FeedForwardNetwork;
+import model.singleton.LearningParameter;
+import model.singleton.Synapse;
+import model.structure.LearningParameters;
+import model.training.EpochProgress;
+import model.training.Trainable;
+import model.training.TrainingController;
+
+/**
+ * The {@link BackPropagation} is responsible for teaching a {@link DenseNetwork} by propagating the error
+ * at the output back through each {@link DenseLayer}. The error of each layer is held in a flat buffer
+ * alongside its activations, and the gradient error * input is accumulated across a batch of
+ * {@link LearningParameter}s before being applied by the {@link Optimizer} of each {@link DenseLayer} and
+ * written back to the {@link Synapse}s of the {@link FeedForwardNetwork}.
+ */
+public class BackPropagation implements Trainable {
+
+   /** The {@link DenseNetwork} learning. **/
+   private final DenseNetwork network;
+   /** The accumulated gradients for each {@link DenseLayer}, parallel to its weights. **/
+   private final double[][] gradients;
+   /** The {@link LayerOptimizer} applying the gradients to each {@link DenseLayer}. **/
+   private final LayerOptimizer[] optimizers;
+   /** The error of each layer of the {@link DenseNetwork} after the input. **/
+   private final double[][] errors;
+   /** Buffer for the input values of the {@link LearningParameter} being accumulated. **/
+   private final double[] input;
+   /** Buffer for the target values of the {@link LearningParameter} being accumulated. **/
+   private final double[] target;
+   /** The number of {@link LearningParameter}s to accumulate per batch when training an epoch. **/
+   private final int batchSize;
+   /** The number of {@link LearningParameter}s accumulated since last applied. **/
+   private int accumulated;
+
+   /**
+    * Constructs a new {@link BackPropagation}, training an epoch online.
+    * @param network the {@link DenseNetwork} to teach.
+    */
+   public BackPropagation( DenseNetwork network ){
+      this( network, 1 );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link BackPropagation}.
+    * @param network the {@link DenseNetwork} to teach.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch when training an epoch.
+    */
+   public BackPropagation( DenseNetwork network, int batchSize ){
+      this( network, batchSize, LearningRuleOptimizer.INSTANCE );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link BackPropagation}.
+    * @param network the {@link DenseNetwork} to teach.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch when training an epoch.
+    * @param optimizer the {@link Optimizer} applying the gradients to the weights of each {@link DenseLayer}.
+    * @throws IllegalArgumentException if the activation of a {@link DenseLayer} is not 
+    * {@link ActivationFunction#isDifferentiable()}.
+    */
+   public BackPropagation( DenseNetwork network, int batchSize, Optimizer optimizer ){
+      if ( batchSize <= 0 ){
+         throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+      }
+      for ( int l = 0; l < network.getLayerCount(); l++ ){
+         if ( !network.getLayer( l ).getActivation().isDifferentiable() ){
+            throw new IllegalArgumentException( 
+                     "Layer " + l + " cannot be back propagated through " + network.getLayer( l ).getActivation() + "." 
+            );
+         }
+      }
+      this.network = network;
+      this.batchSize = batchSize;
+      gradients = new double[ network.getLayerCount() ][];
+      optimizers = new LayerOptimizer[ network.getLayerCount() ];
+      errors = new double[ network.getLayerCount() ][];
+      for ( int l = 0; l < network.getLayerCount(); l++ ){
+         gradients[ l ] = new double[ network.getLayer( l ).getWeights().length ];
+         optimizers[ l ] = optimizer.forLayer( gradients[ l ].length );
+         errors[ l ] = new double[ network.getLayer( l ).getOutputCount() ];
+      }
+      input = new double[ network.getInputCount() ];
+      target = new double[ network.getOutputCount() ];
+   }// End Constructor
+
+   /**
+    * Method to learn the {@link LearningParameters} once, applying the accumulated gradients after
+    * every batch of the given size and after the final, possibly partial, batch.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch.
+    */
+   public void learn( LearningParameters parameters, int batchSize ){
+      learn( parameters, batchSize, EpochProgress.UNINTERRUPTED );
+   }// End Method
+
+   /**
+    * Method to learn the {@link LearningParameters} once as {@link #learn(LearningParameters, int)}, notifying
+    * the {@link EpochProgress} after each batch is applied and stopping if it asks to.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch.
+    * @param progress the {@link EpochProgress} to notify.
+    */
+   public void learn( LearningParameters parameters, int batchSize, EpochProgress progress ){
+      if ( batchSize <= 0 ){
+         throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+      }
+      for ( int i = 0; i < parameters.size(); i++ ){
+         parameters.copyInput( i, input );
+         parameters.copyTarget( i, target );
+         accumulate( input, target );
+         if ( accumulated == batchSize ){
+            apply();
+            if ( !progress.batchCompleted( i + 1, parameters.size() ) ){
+               return;
+            }
+         }
+      }
+      if ( accumulated > 0 ){
+         apply();
+         progress.batchCompleted( parameters.size(), parameters.size() );
+      }
+   }// End Method
+
+   /**
+    * Method to accumulate the gradients for the given {@link LearningParameter}.
+    * @param parameter the {@link LearningParameter} to learn.
+    */
+   public void accumulate( LearningParameter parameter ){
+      BatchLearner.copyValues( parameter.getInputValues(), input );
+      BatchLearner.copyValues( parameter.getTargetValues(), target );
+      accumulate( input, target );
+   }// End Method
+
+   /**
+    * Method to fire the input through the {@link DenseNetwork}, propagate the error back from the
+    * output and accumulate the gradients against the current weights.
+    * @param inputValues the input values.
+    * @param targetValues the target values for the outputs.
+    */
+   public void accumulate( double[] inputValues, double[] targetValues ){
+      network.fireInput( inputValues );
+
+      int last = network.getLayerCount() - 1;
+      ActivationFunction outputActivation = network.getLayer( last ).getActivation();
+      double[] output = network.getActivations( last + 1 );
+      double[] outputErrors = errors[ last ];
+      for ( int o = 0; o < outputErrors.length; o++ ){
+         outputErrors[ o ] = targetValues[ o ] - output[ o ];
+      }
+      outputActivation.applyDerivative( output, outputErrors, outputErrors.length );
+
+      for ( int l = last - 1; l >= 0; l-- ){
+         propagate( l );
+      }
+      for ( int l = 0; l <= last; l++ ){
+         accumulate( l );
+      }
+      accumulated++;
+   }// End Method
+
+   /**
+    * Method to calculate the error of the layer produced by the given {@link DenseLayer} from the errors
+    * of the layer after it.
+    * @param layer the index of the {@link DenseLayer} whose output error is calculated.
+    */
+   private void propagate( int layer ){
+      DenseLayer next = network.getLayer( layer + 1 );
+      double[] nextWeights = next.getWeights();
+      double[] nextErrors = errors[ layer + 1 ];
+      int stride = next.getStride();
+
+      ActivationFunction activation = network.getLayer( layer ).getActivation();
+      double[] values = network.getActivations( layer + 1 );
+      double[] layerErrors = errors[ layer ];
+      for ( int i = 0; i < layerErrors.length; i++ ){
+         double sum = 0;
+         for ( int o = 0; o < nextErrors.length; o++ ){
+            sum += nextWeights[ o * stride + i ] * nextErrors[ o ];
+         }
+         layerErrors[ i ] = sum;
+      }
+      activation.applyDerivative( values, layerErrors, layerErrors.length );
+   }// End Method
+
+   /**
+    * Method to accumulate the gradients for the given {@link DenseLayer} from its error and input.
+    * @param layer the index of the {@link DenseLayer}.
+    */
+   private void accumulate( int layer ){
+      double[] layerInput = network.getActivations( layer );
+      double[] layerErrors = errors[ layer ];
+      double[] layerGradients = gradients[ layer ];
+      double bias = network.getBias();
+      int inputCount = layerInput.length;
+      int stride = network.getLayer( layer ).getStride();
+      for ( int o = 0; o < layerErrors.length; o++ ){
+         double error = layerErrors[ o ];
+         if ( error == 0 ){
+            continue;
+         }
+         int row = o * stride;
+         for ( int i = 0; i < inputCount; i++ ){
+            layerGradients[ row + i ] += error * layerInput[ i ];
+         }
+         layerGradients[ row + inputCount ] += error * bias;
+      }
+   }// End Method
+
+   /**
+    * Method to apply the accumulated gradients to the weights with the {@link Optimizer}, writing them to the {@link Synapse}s.
+    */
+   public void apply(){
+      if ( accumulated == 0 ){
+         return;
+      }
+      for ( int l = 0; l < gradients.length; l++ ){
+         optimizers[ l ].update( network.getLayer( l ).getWeights(), gradients[ l ], network.getLearningRates( l ), accumulated );
+      }
+      accumulated = 0;
+      network.writeWeights();
+   }// End Method
+
+   /**
+    * Method to learn the {@link LearningParameters} once in batches of the configured size, for the {@link TrainingController}.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param progress the {@link EpochProgress} to notify after each batch.
+    */
+   @Override public void trainEpoch( LearningParameters parameters, EpochProgress progress ){
+      learn( parameters, batchSize, progress );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void fire( double[] inputValues, double[] outputValues ){
+      network.fire( inputValues, outputValues );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getInputCount(){
+      return network.getInputCount();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getOutputCount(){
+      return network.getOutputCount();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getWeightCount(){
+      int count = 0;
+      for ( int l = 0; l < network.getLayerCount(); l++ ){
+         count += network.getLayer( l ).getWeights().length;
+      }
+      return count;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void copyWeights( double[] weights ){
+      int offset = 0;
+      for ( int l = 0; l < network.getLayerCount(); l++ ){
+         double[] layerWeights = network.getLayer( l ).getWeights();
+         System.arraycopy( layerWeights, 0, weights, offset, layerWeights.length );
+         offset += layerWeights.length;
+      }
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void restoreWeights( double[] weights ){
+      if ( weights.length != getWeightCount() ){
+         throw new IllegalArgumentException( "Expected " + getWeightCount() + " weights, found " + weights.length + "." );
+      }
+      int offset = 0;
+      for ( int l = 0; l < network.getLayerCount(); l++ ){
+         double[] layerWeights = network.getLayer( l ).getWeights();
+         System.arraycopy( weights, offset, layerWeights, 0, layerWeights.length );
+         offset += layerWeights.length;
+      }
+      network.writeWeights();
+   }// End Method
+
+   /**
+    * Method to get the number of {@link LearningParameter}s accumulated and not yet applied.
+    * @return the number accumulated.
+    */
+   public int getAccumulatedCount(){
+      return accumulated;
+   }// End Method
+
+   /**
+    * Method to get the {@link DenseNetwork} being taught.
+    * @return the {@link DenseNetwork}.
+    */
+   public DenseNetwork getNetwork(){
+      return network;
+   }// End Method
+
+}// End Class
@@ -0,0 +1,261 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import model.function.learning.LayerOptimizer;
+import model.function.learning.LearningRuleOptimizer;
+import model.function.learning.Optimizer;
+import model.function.learning.PerceptronLearningRule;
+import model.network.Perceptron;
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+import model.structure.PrimitiveNeuronValues;
+import model.training.EpochProgress;
+import model.training.Trainable;
+import model.training.TrainingController;
+
+/**
+ * The {@link BatchLearner} is responsible for applying batch learning to a {@link DensePerceptron}. The
+ * gradient, error * input, is accumulated across a batch of {@link LearningParameter}s, against the same
+ * weights, and then applied once for the whole batch by the {@link Optimizer}, writing the weights back to
+ * the {@link Perceptron} only when applied. By default the {@link LearningRuleOptimizer} makes the adjustment
+ * each {@link PerceptronLearningRule} would.
+ */
+public class BatchLearner implements Trainable {
+
+   /** The {@link DensePerceptron} learning. **/
+   private final DensePerceptron perceptron;
+   /** The accumulated gradients, parallel to the weights of the {@link DenseLayer}. **/
+   private final double[] gradients;
+   /** The {@link LayerOptimizer} applying the gradients to the {@link DenseLayer}. **/
+   private final LayerOptimizer optimizer;
+   /** Buffer for the input values of the {@link LearningParameter} being accumulated. **/
+   private final double[] input;
+   /** Buffer for the target values of the {@link LearningParameter} being accumulated. **/
+   private final double[] target;
+   /** Buffer for the output achieved for the {@link LearningParameter} being accumulated. **/
+   private final double[] output;
+   /** The number of {@link LearningParameter}s to accumulate per batch when training an epoch. **/
+   private final int batchSize;
+   /** The number of {@link LearningParameter}s accumulated since last applied. **/
+   private int accumulated;
+
+   /**
+    * Constructs a new {@link BatchLearner}, training an epoch online.
+    * @param perceptron the {@link DensePerceptron} to teach.
+    */
+   public BatchLearner( DensePerceptron perceptron ){
+      this( perceptron, 1 );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link BatchLearner}.
+    * @param perceptron the {@link DensePerceptron} to teach.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch when training an epoch.
+    */
+   public BatchLearner( DensePerceptron perceptron, int batchSize ){
+      this( perceptron, batchSize, LearningRuleOptimizer.INSTANCE );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link BatchLearner}.
+    * @param perceptron the {@link DensePerceptron} to teach.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch when training an epoch.
+    * @param optimizer the {@link Optimizer} applying the gradients to the weights.
+    */
+   public BatchLearner( DensePerceptron perceptron, int batchSize, Optimizer optimizer ){
+      if ( batchSize <= 0 ){
+         throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+      }
+      this.perceptron = perceptron;
+      this.batchSize = batchSize;
+      gradients = new double[ perceptron.getLayer().getWeights().length ];
+      this.optimizer = optimizer.forLayer( gradients.length );
+      input = new double[ perceptron.getInputCount() ];
+      target = new double[ perceptron.getOutputCount() ];
+      output = new double[ perceptron.getOutputCount() ];
+   }// End Constructor
+
+   /**
+    * Method to learn the {@link LearningParameters} once, applying the accumulated gradients after
+    * every batch of the given size and after the final, possibly partial, batch.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch.
+    */
+   public void learn( LearningParameters parameters, int batchSize ){
+      learn( parameters, batchSize, EpochProgress.UNINTERRUPTED );
+   }// End Method
+
+   /**
+    * Method to learn the {@link LearningParameters} once as {@link #learn(LearningParameters, int)}, notifying
+    * the {@link EpochProgress} after each batch is applied and stopping if it asks to.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch.
+    * @param progress the {@link EpochProgress} to notify.
+    */
+   public void learn( LearningParameters parameters, int batchSize, EpochProgress progress ){
+      if ( batchSize <= 0 ){
+         throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+      }
+      for ( int i = 0; i < parameters.size(); i++ ){
+         parameters.copyInput( i, input );
+         parameters.copyTarget( i, target );
+         accumulate( input, target );
+         if ( accumulated == batchSize ){
+            apply();
+            if ( !progress.batchCompleted( i + 1, parameters.size() ) ){
+               return;
+            }
+         }
+      }
+      if ( accumulated > 0 ){
+         apply();
+         progress.batchCompleted( parameters.size(), parameters.size() );
+      }
+   }// End Method
+
+   /**
+    * Method to accumulate the gradients for the given {@link LearningParameter}.
+    * @param parameter the {@link LearningParameter} to learn.
+    */
+   public void accumulate( LearningParameter parameter ){
+      copyValues( parameter.getInputValues(), input );
+      copyValues( parameter.getTargetValues(), target );
+      accumulate( input, target );
+   }// End Method
+
+   /**
+    * Method to accumulate the gradients for the given input and target values, against the current weights.
+    * @param inputValues the input values.
+    * @param targetValues the target values for the outputs.
+    */
+   public void accumulate( double[] inputValues, double[] targetValues ){
+      accumulate( perceptron, inputValues, targetValues, output, gradients );
+      accumulated++;
+   }// End Method
+
+   /**
+    * Method to fire the input through the {@link DensePerceptron} and accumulate the gradient of the perceptron
+    * learning rule, ( target - output ) * input, into the given buffer. Only the given buffers are written so
+    * this can be used concurrently against the same {@link DensePerceptron}.
+    * @param perceptron the {@link DensePerceptron} providing the weights.
+    * @param inputValues the input values.
+    * @param targetValues the target values for the outputs.
+    * @param output the buffer for the output achieved.
+    * @param gradients the gradients to accumulate into, parallel to the weights.
+    */
+   static void accumulate( DensePerceptron perceptron, double[] inputValues, double[] targetValues, double[] output, double[] gradients ){
+      perceptron.fire( inputValues, output );
+
+      double bias = perceptron.getBias();
+      int inputCount = perceptron.getInputCount();
+      int outputCount = perceptron.getOutputCount();
+      int stride = perceptron.getLayer().getStride();
+      for ( int o = 0; o < outputCount; o++ ){
+         double error = targetValues[ o ] - output[ o ];
+         if ( error == 0 ){
+            continue;
+         }
+         int row = o * stride;
+         for ( int i = 0; i < inputCount; i++ ){
+            gradients[ row + i ] += error * inputValues[ i ];
+         }
+         gradients[ row + inputCount ] += error * bias;
+      }
+   }// End Method
+
+   /**
+    * Method to apply the accumulated gradients to the weights with the {@link Optimizer}, writing them to the {@link Perceptron}.
+    */
+   public void apply(){
+      if ( accumulated == 0 ){
+         return;
+      }
+      optimizer.update( perceptron.getLayer().getWeights(), gradients, perceptron.getLearningRates(), accumulated );
+      accumulated = 0;
+      perceptron.writeWeights();
+   }// End Method
+
+   /**
+    * Method to learn the {@link LearningParameters} once in batches of the configured size, for the {@link TrainingController}.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param progress the {@link EpochProgress} to notify after each batch.
+    */
+   @Override public void trainEpoch( LearningParameters parameters, EpochProgress progress ){
+      learn( parameters, batchSize, progress );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void fire( double[] inputValues, double[] outputValues ){
+      perceptron.fire( inputValues, outputValues );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getInputCount(){
+      return perceptron.getInputCount();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getOutputCount(){
+      return perceptron.getOutputCount();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getWeightCount(){
+      return perceptron.getLayer().getWeights().length;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void copyWeights( double[] weights ){
+      double[] layerWeights = perceptron.getLayer().getWeights();
+      System.arraycopy( layerWeights, 0, weights, 0, layerWeights.length );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void restoreWeights( double[] weights ){
+      double[] layerWeights = perceptron.getLayer().getWeights();
+      if ( weights.length != layerWeights.length ){
+         throw new IllegalArgumentException( "Expected " + layerWeights.length + " weights, found " + weights.length + "." );
+      }
+      System.arraycopy( weights, 0, layerWeights, 0, layerWeights.length );
+      perceptron.writeWeights();
+   }// End Method
+
+   /**
+    * Method to get the number of {@link LearningParameter}s accumulated and not yet applied.
+    * @return the number accumulated.
+    */
+   public int getAccumulatedCount(){
+      return accumulated;
+   }// End Method
+
+   /**
+    * Method to copy the {@link PrimitiveNeuronValues} into the buffer, checking they are the same length.
+    * @param values the {@link PrimitiveNeuronValues} to copy.
+    * @param buffer the buffer to populate.
+    */
+   static void copyValues( PrimitiveNeuronValues values, double[] buffer ){
+      if ( values.length() != buffer.length ){
+         throw new IllegalArgumentException();
+      }
+      values.copyInto( buffer );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,57 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import javafx.beans.InvalidationListener;
+import model.network.Perceptron;
+
+/**
+ * The {@link CompiledPerceptron} defines a {@link Perceptron} compiled into primitive buffers for firing,
+ * with the {@link model.singleton.Synapse}s of the {@link Perceptron} remaining the source of truth.
+ */
+public interface CompiledPerceptron {
+
+   /**
+    * Method to read the weights and bias from the {@link Perceptron}, bringing the {@link CompiledPerceptron}
+    * up to date with any changes made since it was compiled.
+    */
+   public void synchronise();
+
+   /**
+    * Method to add an {@link InvalidationListener} notified when the {@link CompiledPerceptron} may need to
+    * {@link #synchronise()}.
+    * @param listener the {@link InvalidationListener} to add.
+    */
+   public void addInvalidationListener( InvalidationListener listener );
+
+   /**
+    * Method to remove an {@link InvalidationListener} previously added with {@link #addInvalidationListener(InvalidationListener)}.
+    * @param listener the {@link InvalidationListener} to remove.
+    */
+   public void removeInvalidationListener( InvalidationListener listener );
+
+   /**
+    * Method to fire the input buffer through the network into the output buffer, without allocating.
+    * @param inputValues the input values, at least {@link #getInputCount()} long.
+    * @param outputValues the buffer to populate, at least {@link #getOutputCount()} long.
+    */
+   public void fire( double[] inputValues, double[] outputValues );
+
+   /**
+    * Method to get the number of input values.
+    * @return the size of the input layer.
+    */
+   public int getInputCount();
+
+   /**
+    * Method to get the number of output values.
+    * @return the size of the output layer.
+    */
+   public int getOutputCount();
+
+}// End Interface
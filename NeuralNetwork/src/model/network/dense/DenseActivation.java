@@ -0,0 +1,272 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import model.function.activation.ActivationFunction;
+import model.function.activation.ActivationTable;
+import model.function.threshold.BasicInputFunction;
+import model.function.threshold.LeakyRectifiedLinearFunction;
+import model.function.threshold.LinearFunction;
+import model.function.threshold.McCullochPittsFunction;
+import model.function.threshold.RectifiedLinearFunction;
+import model.function.threshold.SigmoidFunction;
+import model.function.threshold.TanhFunction;
+import model.function.threshold.ThresholdFunction;
+
+/**
+ * The {@link DenseActivation} defines the standard {@link ActivationFunction}s, the first of which are
+ * equivalents of {@link ThresholdFunction}s, applied to a whole buffer of weighted sums at once rather
+ * than a {@link Neuron} at a time. The fast variants approximate their functions with an {@link ActivationTable}.
+ */
+public enum DenseActivation implements ActivationFunction {
+
+   /** Equivalent of the {@link LinearFunction}, the weighted sum is the output. **/
+   Identity {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         /* The weighted sum is already the output. */
+      }// End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public double derivative( double output ) {
+         return 1;
+      }// End Method
+   },
+   /** Equivalent of the {@link McCullochPittsFunction}, out = sum >= threshold ? 1 : 0. **/
+   Step {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         for ( int i = 0; i < length; i++ ){
+            values[ i ] = values[ i ] >= THRESHOLD ? ACTION_POTENTIAL : RESTING_POTENTIAL;
+         }
+      }// End Method
+   },
+   /** Equivalent of the {@link SigmoidFunction}, out = 1 / ( 1 + e^-sum ). **/
+   Sigmoid {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         for ( int i = 0; i < length; i++ ){
+            values[ i ] = SigmoidFunction.sigmoid( values[ i ] );
+         }
+      }// End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public double derivative( double output ) {
+         return SigmoidFunction.derivative( output );
+      }// End Method
+   },
+   /** The hyperbolic tangent, out = tanh( sum ), between -1 and 1. **/
+   Tanh {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         for ( int i = 0; i < length; i++ ){
+            values[ i ] = Math.tanh( values[ i ] );
+         }
+      }// End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public double derivative( double output ) {
+         return 1.0 - output * output;
+      }// End Method
+   },
+   /** The rectified linear unit, out = max( 0, sum ). **/
+   ReLU {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         for ( int i = 0; i < length; i++ ){
+            if ( values[ i ] < 0 ){
+               values[ i ] = 0;
+            }
+         }
+      }// End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public double derivative( double output ) {
+         return output > 0 ? 1 : 0;
+      }// End Method
+   },
+   /** The leaky rectified linear unit, out = sum > 0 ? sum : {@value #LEAKY_SLOPE} * sum. **/
+   LeakyReLU {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         for ( int i = 0; i < length; i++ ){
+            if ( values[ i ] < 0 ){
+               values[ i ] *= LEAKY_SLOPE;
+            }
+         }
+      }// End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public double derivative( double output ) {
+         return output > 0 ? 1 : LEAKY_SLOPE;
+      }// End Method
+   },
+   /** 
+    * The softmax, out = e^sum / sum( e^sums ), normalising the layer so the outputs sum to 1. Each output
+    * depends on the whole layer, so it has no {@link #derivative(double)} of a single output, and errors are
+    * propagated through the full Jacobian by {@link #applyDerivative(double[], double[], int)}.
+    */
+   Softmax {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         if ( length == 0 ){
+            return;
+         }
+         double maximum = values[ 0 ];
+         for ( int i = 1; i < length; i++ ){
+            maximum = Math.max( maximum, values[ i ] );
+         }
+         double total = 0;
+         for ( int i = 0; i < length; i++ ){
+            values[ i ] = Math.exp( values[ i ] - maximum );
+            total += values[ i ];
+         }
+         for ( int i = 0; i < length; i++ ){
+            values[ i ] /= total;
+         }
+      }// End Method
+      
+      /**
+       * {@inheritDoc}
+       * Each output depends on every weighted sum, so the full Jacobian, output i * ( delta ij - output j ),
+       * is applied rather than its diagonal alone.
+       */
+      @Override public void applyDerivative( double[] outputs, double[] errors, int length ) {
+         double weighted = 0;
+         for ( int j = 0; j < length; j++ ){
+            weighted += outputs[ j ] * errors[ j ];
+         }
+         for ( int i = 0; i < length; i++ ){
+            errors[ i ] = outputs[ i ] * ( errors[ i ] - weighted );
+         }
+      }// End Method
+   },
+   /** A table based approximation of {@link #Sigmoid}. **/
+   FastSigmoid {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         SIGMOID_TABLE.apply( values, length );
+      }// End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public double derivative( double output ) {
+         return SigmoidFunction.derivative( output );
+      }// End Method
+   },
+   /** A table based approximation of {@link #Tanh}. **/
+   FastTanh {
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void apply( double[] values, int length ) {
+         TANH_TABLE.apply( values, length );
+      }// End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public double derivative( double output ) {
+         return 1.0 - output * output;
+      }// End Method
+   };
+
+   /** Constant defining the threshold for firing, matching the {@link ThresholdFunction}. **/
+   private static final double THRESHOLD = 0;
+   /** Constant defining the output value when the threshold is exceeded. **/
+   private static final double ACTION_POTENTIAL = 1;
+   /** Constant defining the output value when the threshold has not been exceeded. **/
+   private static final double RESTING_POTENTIAL = 0;
+   /** Constant defining the slope of {@link #LeakyReLU} for negative sums. **/
+   public static final double LEAKY_SLOPE = LeakyRectifiedLinearFunction.LEAKY_SLOPE;
+   /** Constant defining the number of intervals in the tables of the fast activations. **/
+   private static final int TABLE_INTERVALS = 4096;
+   /** The {@link ActivationTable} approximating {@link #Sigmoid}. **/
+   private static final ActivationTable SIGMOID_TABLE = new ActivationTable( SigmoidFunction::sigmoid, -10, 10, TABLE_INTERVALS );
+   /** The {@link ActivationTable} approximating {@link #Tanh}. **/
+   private static final ActivationTable TANH_TABLE = new ActivationTable( Math::tanh, -5, 5, TABLE_INTERVALS );
+
+   /**
+    * Method to find the {@link DenseActivation} equivalent to the given {@link ThresholdFunction}.
+    * @param function the {@link Class} of the {@link ThresholdFunction}.
+    * @return the equivalent {@link DenseActivation}.
+    * @throws IllegalArgumentException if there is no equivalent.
+    */
+   public static DenseActivation forThresholdFunction( Class< ? extends ThresholdFunction > function ){
+      if ( McCullochPittsFunction.class.equals( function ) ){
+         return Step;
+      } else if ( BasicInputFunction.class.equals( function ) || LinearFunction.class.equals( function ) ){
+         return Identity;
+      } else if ( SigmoidFunction.class.equals( function ) ){
+         return Sigmoid;
+      } else if ( TanhFunction.class.equals( function ) ){
+         return Tanh;
+      } else if ( RectifiedLinearFunction.class.equals( function ) ){
+         return ReLU;
+      } else if ( LeakyRectifiedLinearFunction.class.equals( function ) ){
+         return LeakyReLU;
+      } else {
+         throw new IllegalArgumentException( "No dense activation defined for " + function + "." );
+      }
+   }// End Method
+   
+   /**
+    * Method to find the {@link ThresholdFunction} equivalent to the given {@link ActivationFunction}, used when
+    * constructing {@link Neuron}s from a layer in array form. The fast variants are given the exact function they
+    * approximate.
+    * @param activation the {@link ActivationFunction}.
+    * @return the {@link Class} of the equivalent {@link ThresholdFunction}.
+    * @throws IllegalArgumentException if there is no equivalent, as for {@link #Softmax} which depends on the
+    * whole layer rather than a single {@link Neuron}.
+    */
+   public static Class< ? extends ThresholdFunction > toThresholdFunction( ActivationFunction activation ){
+      if ( activation == Step ){
+         return McCullochPittsFunction.class;
+      } else if ( activation == Identity ){
+         return LinearFunction.class;
+      } else if ( activation == Sigmoid || activation == FastSigmoid ){
+         return SigmoidFunction.class;
+      } else if ( activation == Tanh || activation == FastTanh ){
+         return TanhFunction.class;
+      } else if ( activation == ReLU ){
+         return RectifiedLinearFunction.class;
+      } else if ( activation == LeakyReLU ){
+         return LeakyRectifiedLinearFunction.class;
+      } else {
+         throw new IllegalArgumentException( "No threshold function defined for " + activation + "." );
+      }
+   }// End Method
+
+}// End Enum
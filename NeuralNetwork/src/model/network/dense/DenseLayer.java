@@ -0,0 +1,158 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import model.function.activation.ActivationFunction;
+import model.structure.NeuronLayer;
+
+/**
+ * The {@link DenseLayer} is the flattened form of the {@link Synapse}s into a {@link NeuronLayer}. The
+ * weights are held in a single contiguous row major matrix, one row per output with a column per input
+ * followed by a final column for the bias, so that firing is a tight matrix-vector product.
+ */
+public class DenseLayer {
+
+   /** The number of input values, excluding the bias. **/
+   private final int inputCount;
+   /** The number of output values. **/
+   private final int outputCount;
+   /** The length of a row in {@link #weights}, the inputs plus the bias. **/
+   private final int stride;
+   /** The row major weight matrix, outputs by inputs plus bias. **/
+   private final double[] weights;
+   /** The {@link ActivationFunction} applied to the weighted sums. **/
+   private final ActivationFunction activation;
+
+   /**
+    * Constructs a new {@link DenseLayer} with all weights zero.
+    * @param inputCount the number of inputs into the layer, excluding the bias.
+    * @param outputCount the number of outputs from the layer.
+    * @param activation the {@link ActivationFunction} to apply to the weighted sums.
+    */
+   public DenseLayer( int inputCount, int outputCount, ActivationFunction activation ){
+      if ( inputCount < 0 || outputCount < 0 || activation == null ){
+         throw new IllegalArgumentException();
+      }
+      this.inputCount = inputCount;
+      this.outputCount = outputCount;
+      this.stride = inputCount + 1;
+      this.weights = new double[ outputCount * stride ];
+      this.activation = activation;
+   }// End Constructor
+
+   /**
+    * Method to get the number of inputs, excluding the bias.
+    * @return the number of inputs.
+    */
+   public int getInputCount(){
+      return inputCount;
+   }// End Method
+
+   /**
+    * Method to get the number of outputs.
+    * @return the number of outputs.
+    */
+   public int getOutputCount(){
+      return outputCount;
+   }// End Method
+
+   /**
+    * Method to get the {@link ActivationFunction} of the layer.
+    * @return the {@link ActivationFunction}.
+    */
+   public ActivationFunction getActivation(){
+      return activation;
+   }// End Method
+
+   /**
+    * Method to get the weight between the given input and output.
+    * @param output the index of the output.
+    * @param input the index of the input.
+    * @return the weight.
+    */
+   public double getWeight( int output, int input ){
+      return weights[ index( output, input ) ];
+   }// End Method
+
+   /**
+    * Method to set the weight between the given input and output.
+    * @param output the index of the output.
+    * @param input the index of the input.
+    * @param weight the weight.
+    */
+   public void setWeight( int output, int input, double weight ){
+      weights[ index( output, input ) ] = weight;
+   }// End Method
+
+   /**
+    * Method to get the weight applied to the bias for the given output.
+    * @param output the index of the output.
+    * @return the bias weight.
+    */
+   public double getBiasWeight( int output ){
+      return weights[ index( output, inputCount ) ];
+   }// End Method
+
+   /**
+    * Method to set the weight applied to the bias for the given output.
+    * @param output the index of the output.
+    * @param weight the bias weight.
+    */
+   public void setBiasWeight( int output, double weight ){
+      weights[ index( output, inputCount ) ] = weight;
+   }// End Method
+
+   /**
+    * Method to get the index into {@link #weights} for the given output and input.
+    * @param output the index of the output.
+    * @param input the index of the input, {@link #inputCount} for the bias.
+    * @return the index into the weights.
+    */
+   private int index( int output, int input ){
+      if ( output < 0 || output >= outputCount || input < 0 || input >= stride ){
+         throw new IndexOutOfBoundsException( "( " + output + ", " + input + " )" );
+      }
+      return output * stride + input;
+   }// End Method
+
+   /**
+    * Method to get the length of a row in the weight matrix, the inputs plus the bias.
+    * @return the row length.
+    */
+   int getStride(){
+      return stride;
+   }// End Method
+
+   /**
+    * Method to access the weight matrix directly for processing in this package.
+    * @return the backing row major weights.
+    */
+   double[] getWeights(){
+      return weights;
+   }// End Method
+
+   /**
+    * Method to fire the layer, calculating the output for each output from the inputs. No state
+    * is held in the {@link DenseLayer} so any number of buffers can be fired through it.
+    * @param input the input values, at least {@link #getInputCount()} long.
+    * @param bias the value of the bias input.
+    * @param output the buffer to populate with the output, at least {@link #getOutputCount()} long.
+    */
+   public void fire( double[] input, double bias, double[] output ){
+      for ( int o = 0; o < outputCount; o++ ){
+         int row = o * stride;
+         double sum = weights[ row + inputCount ] * bias;
+         for ( int i = 0; i < inputCount; i++ ){
+            sum += input[ i ] * weights[ row + i ];
+         }
+         output[ o ] = sum;
+      }
+      activation.apply( output, outputCount );
+   }// End Method
+
+}// End Class
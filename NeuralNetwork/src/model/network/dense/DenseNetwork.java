@@ -0,0 +1,441 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import model.function.activation.ActivationFunction;
+import model.function.threshold.BasicInputFunction;
+import model.function.threshold.ThresholdFunction;
+import model.network.FeedForwardNetwork;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.NeuronLayer;
+import model.structure.NeuronLayer.NeuronLayerBuilder;
+
+/**
+ * The {@link DenseNetwork} is a compiled form of a {@link FeedForwardNetwork}, flattening the connections
+ * into each {@link NeuronLayer} after the input into a {@link DenseLayer}. As with the {@link DensePerceptron}
+ * the {@link Neuron}s and {@link Synapse}s remain the source of truth, read on {@link #synchronise()} and
+ * written on {@link #writeWeights()} and {@link #writeOutput()}. The activations of every layer are kept
+ * from the last firing so that errors can be propagated back through them. A {@link DenseNetwork} can also be
+ * constructed and trained purely in array form, the {@link FeedForwardNetwork} only being constructed from the
+ * current weights when requested with {@link #getNetwork()}.
+ */
+public class DenseNetwork {
+
+   /** The {@link FeedForwardNetwork} compiled, null until materialised when constructed in array form. **/
+   private FeedForwardNetwork network;
+   /** The bias {@link Neuron}, null until materialised. **/
+   private Neuron biasNeuron;
+   /** The {@link Neuron}s of each {@link NeuronLayer}, in index order, input first, null until materialised. **/
+   private Neuron[][] neurons;
+   /** The {@link DenseLayer}s connecting each layer to the next. **/
+   private final DenseLayer[] layers;
+   /** The {@link Synapse}s associated with each weight of each {@link DenseLayer}, null if not connected. **/
+   private Synapse[][] synapses;
+   /** The learning rates parallel to the weights of each {@link DenseLayer}. **/
+   private final double[][] learningRates;
+   /** The values of each layer from the last firing, input first. **/
+   private final double[][] activations;
+   /** The output of the bias {@link Neuron}. **/
+   private double bias;
+
+   /**
+    * Constructs a new {@link DenseNetwork}, compiling the given {@link FeedForwardNetwork}.
+    * @param network the {@link FeedForwardNetwork} to compile.
+    */
+   public DenseNetwork( FeedForwardNetwork network ){
+      this( network.getBias(), network.getLayers() );
+      this.network = network;
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link DenseNetwork}, compiling the given {@link FeedForwardNetwork} with the given
+    * {@link ActivationFunction}s in place of the {@link ThresholdFunction}s of its {@link NeuronLayer}s.
+    * @param network the {@link FeedForwardNetwork} to compile.
+    * @param layerActivations the {@link ActivationFunction} of each {@link DenseLayer}, one per layer after the input.
+    */
+   public DenseNetwork( FeedForwardNetwork network, ActivationFunction... layerActivations ){
+      this( network.getBias(), network.getLayers(), layerActivations );
+      this.network = network;
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link DenseNetwork} in array form, without a {@link FeedForwardNetwork}, using
+    * {@link DenseActivation#Sigmoid} for all but the input layer. The weights are random in [0, 1), as those
+    * of a new {@link FeedForwardNetwork}.
+    * @param neuronsPerLayer the number of values in each layer, input first and output last. At least two
+    * layers must be given.
+    */
+   public DenseNetwork( int... neuronsPerLayer ){
+      this( neuronsPerLayer, sigmoidActivations( neuronsPerLayer.length - 1 ) );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link DenseNetwork} in array form, without a {@link FeedForwardNetwork}. The weights are
+    * random in [0, 1), as those of a new {@link FeedForwardNetwork}.
+    * @param neuronsPerLayer the number of values in each layer, input first and output last. At least two
+    * layers must be given.
+    * @param layerActivations the {@link ActivationFunction} of each {@link DenseLayer}, one per layer after the input.
+    */
+   public DenseNetwork( int[] neuronsPerLayer, ActivationFunction... layerActivations ){
+      if ( neuronsPerLayer.length < 2 ){
+         throw new IllegalArgumentException( "A network requires at least an input and output layer." );
+      }
+      if ( layerActivations.length != neuronsPerLayer.length - 1 ){
+         throw new IllegalArgumentException( 
+                  "Expected " + ( neuronsPerLayer.length - 1 ) + " activations, found " + layerActivations.length + "." 
+         );
+      }
+      activations = new double[ neuronsPerLayer.length ][];
+      for ( int l = 0; l < neuronsPerLayer.length; l++ ){
+         activations[ l ] = new double[ neuronsPerLayer[ l ] ];
+      }
+      layers = new DenseLayer[ neuronsPerLayer.length - 1 ];
+      learningRates = new double[ layers.length ][];
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for ( int l = 0; l < layers.length; l++ ){
+         layers[ l ] = new DenseLayer( neuronsPerLayer[ l ], neuronsPerLayer[ l + 1 ], layerActivations[ l ] );
+         double[] weights = layers[ l ].getWeights();
+         for ( int i = 0; i < weights.length; i++ ){
+            weights[ i ] = random.nextDouble();
+         }
+         learningRates[ l ] = new double[ weights.length ];
+         Arrays.fill( learningRates[ l ], DensePerceptron.DEFAULT_LEARNING_RATE );
+      }
+      bias = DensePerceptron.DEFAULT_BIAS;
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link DenseNetwork} from the bias and layers of a network, each layer fully
+    * connected to the next.
+    * @param biasNeuron the {@link Neuron} providing the bias.
+    * @param neuronLayers the {@link NeuronLayer}s, input first and output last.
+    */
+   public DenseNetwork( Neuron biasNeuron, List< NeuronLayer > neuronLayers ){
+      this( biasNeuron, neuronLayers, thresholdActivations( neuronLayers ) );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link DenseNetwork} from the bias and layers of a network, each layer fully
+    * connected to the next and activated with the given {@link ActivationFunction}.
+    * @param biasNeuron the {@link Neuron} providing the bias.
+    * @param neuronLayers the {@link NeuronLayer}s, input first and output last.
+    * @param layerActivations the {@link ActivationFunction} of each {@link DenseLayer}, one per layer after the input.
+    */
+   public DenseNetwork( Neuron biasNeuron, List< NeuronLayer > neuronLayers, ActivationFunction... layerActivations ){
+      if ( layerActivations.length != neuronLayers.size() - 1 ){
+         throw new IllegalArgumentException( 
+                  "Expected " + ( neuronLayers.size() - 1 ) + " activations, found " + layerActivations.length + "." 
+         );
+      }
+      this.biasNeuron = biasNeuron;
+      this.network = new FeedForwardNetwork( biasNeuron, neuronLayers );
+      neurons = new Neuron[ neuronLayers.size() ][];
+      activations = new double[ neuronLayers.size() ][];
+      for ( int l = 0; l < neuronLayers.size(); l++ ){
+         neurons[ l ] = toArray( neuronLayers.get( l ) );
+         activations[ l ] = new double[ neurons[ l ].length ];
+      }
+
+      layers = new DenseLayer[ neuronLayers.size() - 1 ];
+      synapses = new Synapse[ layers.length ][];
+      learningRates = new double[ layers.length ][];
+      for ( int l = 0; l < layers.length; l++ ){
+         layers[ l ] = new DenseLayer(
+                  neurons[ l ].length,
+                  neurons[ l + 1 ].length,
+                  layerActivations[ l ]
+         );
+         synapses[ l ] = new Synapse[ layers[ l ].getWeights().length ];
+         learningRates[ l ] = new double[ synapses[ l ].length ];
+         connectSynapses( l );
+      }
+      synchronise();
+   }// End Constructor
+
+   /**
+    * Method to find the {@link DenseActivation} equivalent to the {@link ThresholdFunction} of each
+    * {@link NeuronLayer} after the input.
+    * @param neuronLayers the {@link NeuronLayer}s, input first.
+    * @return the {@link ActivationFunction}s, one per {@link DenseLayer}.
+    */
+   private static ActivationFunction[] thresholdActivations( List< NeuronLayer > neuronLayers ){
+      ActivationFunction[] layerActivations = new ActivationFunction[ Math.max( 0, neuronLayers.size() - 1 ) ];
+      for ( int l = 0; l < layerActivations.length; l++ ){
+         layerActivations[ l ] = DenseActivation.forThresholdFunction( neuronLayers.get( l + 1 ).getThresholdFunction() );
+      }
+      return layerActivations;
+   }// End Method
+
+   /**
+    * Method to construct the {@link DenseActivation#Sigmoid} for each {@link DenseLayer}.
+    * @param layerCount the number of {@link DenseLayer}s.
+    * @return the {@link ActivationFunction}s.
+    */
+   private static ActivationFunction[] sigmoidActivations( int layerCount ){
+      ActivationFunction[] layerActivations = new ActivationFunction[ Math.max( 0, layerCount ) ];
+      Arrays.fill( layerActivations, DenseActivation.Sigmoid );
+      return layerActivations;
+   }// End Method
+
+   /**
+    * Method to construct the {@link FeedForwardNetwork} of a {@link DenseNetwork} constructed in array form,
+    * with {@link Synapse}s holding the current weights and learning rates, the output of the bias and the 
+    * {@link ThresholdFunction} equivalent to the {@link ActivationFunction} of each layer. Once materialised the 
+    * {@link Synapse}s are the source of truth.
+    * @throws IllegalArgumentException if an {@link ActivationFunction} has no equivalent {@link ThresholdFunction}.
+    */
+   private void materialise(){
+      NeuronLayerBuilder[] builders = new NeuronLayerBuilder[ activations.length ];
+      for ( int l = 0; l < activations.length; l++ ){
+         builders[ l ] = new NeuronLayerBuilder()
+                  .numberOfNeurons( activations[ l ].length )
+                  .thresholdFunction( l == 0 ? BasicInputFunction.class : DenseActivation.toThresholdFunction( layers[ l - 1 ].getActivation() ) );
+      }
+      network = new FeedForwardNetwork( builders );
+      biasNeuron = network.getBias();
+      biasNeuron.getOutputProperty().set( bias );
+      neurons = new Neuron[ activations.length ][];
+      for ( int l = 0; l < activations.length; l++ ){
+         neurons[ l ] = toArray( network.getLayer( l ) );
+      }
+      synapses = new Synapse[ layers.length ][];
+      for ( int l = 0; l < layers.length; l++ ){
+         synapses[ l ] = new Synapse[ layers[ l ].getWeights().length ];
+         connectSynapses( l );
+         for ( int i = 0; i < synapses[ l ].length; i++ ){
+            if ( synapses[ l ][ i ] != null ){
+               synapses[ l ][ i ].setLearningRate( learningRates[ l ][ i ] );
+            }
+         }
+      }
+      writeWeights();
+   }// End Method
+
+   /**
+    * Method to determine whether the {@link FeedForwardNetwork} exists, either because the {@link DenseNetwork}
+    * was compiled from it or because it has been materialised.
+    * @return true if the {@link FeedForwardNetwork} exists.
+    */
+   public boolean isMaterialised(){
+      return network != null;
+   }// End Method
+
+   /**
+    * Method to get the {@link FeedForwardNetwork} compiled, materialising it if constructed in array form.
+    * @return the {@link FeedForwardNetwork}.
+    */
+   public FeedForwardNetwork getNetwork(){
+      if ( network == null ){
+         materialise();
+      }
+      return network;
+   }// End Method
+
+   /**
+    * Method to convert the {@link NeuronLayer} into an array of {@link Neuron}s, indexed by position.
+    * @param neuronLayer the {@link NeuronLayer} to convert.
+    * @return the array of {@link Neuron}s.
+    */
+   private static Neuron[] toArray( NeuronLayer neuronLayer ){
+      Neuron[] layerNeurons = new Neuron[ neuronLayer.size() ];
+      int index = 0;
+      for ( Iterator< Neuron > iterator = neuronLayer.iterator(); iterator.hasNext(); ){
+         layerNeurons[ index ] = iterator.next();
+         index++;
+      }
+      return layerNeurons;
+   }// End Method
+
+   /**
+    * Method to associate the incoming {@link Synapse}s of the layer after the given {@link DenseLayer}
+    * with their positions in it.
+    * @param layer the index of the {@link DenseLayer}.
+    */
+   private void connectSynapses( int layer ){
+      Neuron[] inputs = neurons[ layer ];
+      Map< Neuron, Integer > columns = new IdentityHashMap< Neuron, Integer >();
+      for ( int i = 0; i < inputs.length; i++ ){
+         columns.put( inputs[ i ], i );
+      }
+      columns.put( biasNeuron, inputs.length );
+
+      int stride = layers[ layer ].getStride();
+      Neuron[] outputs = neurons[ layer + 1 ];
+      for ( int o = 0; o < outputs.length; o++ ){
+         for ( Iterator< Synapse > iterator = outputs[ o ].inputSynapseIterator(); iterator.hasNext(); ){
+            Synapse synapse = iterator.next();
+            Integer column = columns.get( synapse.getInput() );
+            if ( column == null ){
+               throw new IllegalStateException( synapse.getIdentification() + " is not from the previous layer or bias." );
+            }
+            synapses[ layer ][ o * stride + column ] = synapse;
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to read the weights, learning rates and bias from the {@link Neuron}s and {@link Synapse}s.
+    * Nothing is read before the {@link FeedForwardNetwork} is materialised.
+    */
+   public void synchronise(){
+      if ( network == null ){
+         return;
+      }
+      for ( int l = 0; l < layers.length; l++ ){
+         double[] weights = layers[ l ].getWeights();
+         for ( int i = 0; i < weights.length; i++ ){
+            Synapse synapse = synapses[ l ][ i ];
+            if ( synapse == null ){
+               weights[ i ] = 0;
+               learningRates[ l ][ i ] = 0;
+            } else {
+               weights[ i ] = synapse.getWeightProperty().get();
+               learningRates[ l ][ i ] = synapse.getLearningRate();
+            }
+         }
+      }
+      bias = biasNeuron.getOutput();
+   }// End Method
+
+   /**
+    * Method to write the weights back to the {@link Synapse}s. Nothing is written before the
+    * {@link FeedForwardNetwork} is materialised.
+    */
+   public void writeWeights(){
+      if ( network == null ){
+         return;
+      }
+      for ( int l = 0; l < layers.length; l++ ){
+         double[] weights = layers[ l ].getWeights();
+         for ( int i = 0; i < weights.length; i++ ){
+            if ( synapses[ l ][ i ] != null ){
+               synapses[ l ][ i ].setWeight( weights[ i ] );
+            }
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to write the values of every layer from the last firing back to the {@link Neuron}s.
+    */
+   public void writeOutput(){
+      if ( network == null ){
+         materialise();
+      }
+      for ( int l = 0; l < neurons.length; l++ ){
+         for ( int i = 0; i < neurons[ l ].length; i++ ){
+            neurons[ l ][ i ].getOutputProperty().set( activations[ l ][ i ] );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to fire the given input values through each {@link DenseLayer} in turn, holding the values of
+    * every layer.
+    * @param inputValues the input values, one per {@link Neuron} in the input layer.
+    */
+   public void fireInput( double... inputValues ){
+      double[] input = activations[ 0 ];
+      if ( inputValues.length < input.length ){
+         throw new IllegalArgumentException();
+      }
+      System.arraycopy( inputValues, 0, input, 0, input.length );
+      for ( int l = 0; l < layers.length; l++ ){
+         layers[ l ].fire( activations[ l ], bias, activations[ l + 1 ] );
+      }
+   }// End Method
+
+   /**
+    * Method to fire the input buffer through the network and copy the result into the output buffer. The
+    * activations of each layer are held in the {@link DenseNetwork}.
+    * @param inputValues the input values, at least one per {@link Neuron} in the input layer.
+    * @param outputValues the buffer to populate, at least one per {@link Neuron} in the output layer.
+    */
+   public void fire( double[] inputValues, double[] outputValues ){
+      fireInput( inputValues );
+      double[] output = activations[ layers.length ];
+      System.arraycopy( output, 0, outputValues, 0, output.length );
+   }// End Method
+
+   /**
+    * Method to get the output at the given index from the last firing.
+    * @param index the index of the {@link Neuron} in the output layer.
+    * @return the output value.
+    */
+   public double getOutput( int index ){
+      return activations[ layers.length ][ index ];
+   }// End Method
+
+   /**
+    * Method to get the number of {@link DenseLayer}s, one fewer than the layers of {@link Neuron}s.
+    * @return the number of {@link DenseLayer}s.
+    */
+   public int getLayerCount(){
+      return layers.length;
+   }// End Method
+
+   /**
+    * Method to get the {@link DenseLayer} at the given index.
+    * @param layer the index, 0 connecting the input layer to the next.
+    * @return the {@link DenseLayer}.
+    */
+   public DenseLayer getLayer( int layer ){
+      return layers[ layer ];
+   }// End Method
+
+   /**
+    * Method to get the number of input values.
+    * @return the size of the input layer.
+    */
+   public int getInputCount(){
+      return activations[ 0 ].length;
+   }// End Method
+
+   /**
+    * Method to get the number of output values.
+    * @return the size of the output layer.
+    */
+   public int getOutputCount(){
+      return activations[ layers.length ].length;
+   }// End Method
+
+   /**
+    * Method to get the value of the bias.
+    * @return the output of the bias {@link Neuron}.
+    */
+   public double getBias(){
+      return bias;
+   }// End Method
+
+   /**
+    * Method to access the values of a layer from the last firing, for processing in this package.
+    * @param layer the index of the layer of {@link Neuron}s, 0 being the input.
+    * @return the values of the layer.
+    */
+   double[] getActivations( int layer ){
+      return activations[ layer ];
+   }// End Method
+
+   /**
+    * Method to access the learning rates of a {@link DenseLayer} for processing in this package.
+    * @param layer the index of the {@link DenseLayer}.
+    * @return the learning rates, parallel to the weights.
+    */
+   double[] getLearningRates( int layer ){
+      return learningRates[ layer ];
+   }// End Method
+
+}// End Class
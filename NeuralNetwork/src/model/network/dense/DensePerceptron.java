@@ -0,0 +1,442 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javafx.beans.InvalidationListener;
+
+import model.function.activation.ActivationFunction;
+import model.function.threshold.ThresholdFunction;
+import model.network.Perceptron;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.NeuronLayer;
+
+/**
+ * The {@link DensePerceptron} is a compiled form of a {@link Perceptron} that flattens the bias,
+ * input and output {@link NeuronLayer}s into a {@link DenseLayer}. Firing runs over primitive buffers
+ * without touching the {@link Neuron}s and {@link Synapse}s, which remain the source of truth. Weights
+ * are read from the {@link Perceptron} on {@link #synchronise()} and only written back, along with
+ * outputs, when {@link #writeWeights()} or {@link #writeOutput()} are requested. A {@link DensePerceptron}
+ * can also be constructed and trained purely in array form, in which case the arrays are the source of
+ * truth until the {@link Perceptron} is requested with {@link #getPerceptron()}, when its {@link Neuron}s
+ * and {@link Synapse}s are constructed from the current weights.
+ */
+public class DensePerceptron implements CompiledPerceptron {
+
+   /** The learning rate of each weight in array form, matching that of a new {@link Synapse}. **/
+   public static final double DEFAULT_LEARNING_RATE = 0.1;
+   /** The output of the bias in array form, matching that of the bias of a new {@link Perceptron}. **/
+   public static final double DEFAULT_BIAS = 1;
+
+   /** The {@link Perceptron} compiled, null until materialised when constructed in array form. **/
+   private Perceptron perceptron;
+   /** The {@link Neuron}s of the input {@link NeuronLayer} in index order, null until materialised. **/
+   private Neuron[] inputNeurons;
+   /** The {@link Neuron}s of the output {@link NeuronLayer} in index order, null until materialised. **/
+   private Neuron[] outputNeurons;
+   /** The {@link Synapse}s associated with each weight in the {@link DenseLayer}, null if not connected or not materialised. **/
+   private Synapse[] synapses;
+   /** The {@link InvalidationListener}s to add to the {@link Synapse}s when materialised. **/
+   private final List< InvalidationListener > pendingListeners;
+   /** The {@link DenseLayer} holding the weights. **/
+   private final DenseLayer layer;
+   /** The learning rate of each {@link Synapse}, parallel to the weights of the {@link DenseLayer}. **/
+   private final double[] learningRates;
+   /** The input values last fired. **/
+   private final double[] input;
+   /** The output values last fired. **/
+   private final double[] output;
+   /** The output of the bias {@link Neuron}. **/
+   private double bias;
+
+   /**
+    * Constructs a new {@link DensePerceptron}, compiling the given {@link Perceptron}.
+    * @param perceptron the {@link Perceptron} to compile.
+    */
+   public DensePerceptron( Perceptron perceptron ){
+      this.perceptron = perceptron;
+      inputNeurons = toArray( perceptron.getInputLayer() );
+      outputNeurons = toArray( perceptron.getOutputLayer() );
+      layer = new DenseLayer(
+               inputNeurons.length,
+               outputNeurons.length,
+               DenseActivation.forThresholdFunction( perceptron.getOutputLayer().getThresholdFunction() )
+      );
+      input = new double[ inputNeurons.length ];
+      output = new double[ outputNeurons.length ];
+      synapses = new Synapse[ outputNeurons.length * layer.getStride() ];
+      learningRates = new double[ synapses.length ];
+      pendingListeners = null;
+      connectSynapses();
+      synchronise();
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link DensePerceptron} in array form, without a {@link Perceptron}. The weights are
+    * random in [0, 1), as those of a new {@link Perceptron}, and the output layer uses {@link DenseActivation#Step}.
+    * @param inputCount the number of inputs.
+    * @param outputCount the number of outputs.
+    */
+   public DensePerceptron( int inputCount, int outputCount ){
+      this( new DenseLayer( inputCount, outputCount, DenseActivation.Step ), DEFAULT_BIAS );
+      double[] weights = layer.getWeights();
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for ( int i = 0; i < weights.length; i++ ){
+         weights[ i ] = random.nextDouble();
+      }
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link DensePerceptron} in array form, without a {@link Perceptron}, firing the given 
+    * {@link DenseLayer} with its weights and activation. Every weight has the {@link #DEFAULT_LEARNING_RATE}.
+    * @param layer the {@link DenseLayer}, used rather than copied.
+    * @param bias the output of the bias.
+    */
+   public DensePerceptron( DenseLayer layer, double bias ){
+      this.layer = layer;
+      input = new double[ layer.getInputCount() ];
+      output = new double[ layer.getOutputCount() ];
+      learningRates = new double[ layer.getWeights().length ];
+      Arrays.fill( learningRates, DEFAULT_LEARNING_RATE );
+      this.bias = bias;
+      pendingListeners = new ArrayList< InvalidationListener >();
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link DensePerceptron} in array form as a copy of the given {@link DensePerceptron}.
+    * @param source the {@link DensePerceptron} to copy.
+    * @param activation the {@link ActivationFunction} of the copy.
+    */
+   private DensePerceptron( DensePerceptron source, ActivationFunction activation ){
+      layer = new DenseLayer( source.getInputCount(), source.getOutputCount(), activation );
+      System.arraycopy( source.layer.getWeights(), 0, layer.getWeights(), 0, layer.getWeights().length );
+      input = new double[ source.getInputCount() ];
+      output = new double[ source.getOutputCount() ];
+      learningRates = source.learningRates.clone();
+      bias = source.bias;
+      pendingListeners = new ArrayList< InvalidationListener >();
+   }// End Constructor
+
+   /**
+    * Method to copy the {@link DensePerceptron} into array form, with the same weights, learning rates, bias and
+    * activation but no {@link Perceptron}. Training the copy does not write to the {@link Synapse}s, so it can be
+    * trained away from anything observing them and its weights written back when done.
+    * @return the detached {@link DensePerceptron}.
+    */
+   public DensePerceptron detach(){
+      return detach( layer.getActivation() );
+   }// End Method
+
+   /**
+    * Method to copy the {@link DensePerceptron} into array form as {@link #detach()}, with a different
+    * {@link ActivationFunction}.
+    * @param activation the {@link ActivationFunction} of the copy.
+    * @return the detached {@link DensePerceptron}.
+    */
+   public DensePerceptron detach( ActivationFunction activation ){
+      return new DensePerceptron( this, activation );
+   }// End Method
+
+   /**
+    * Method to set the learning rate of every weight of a {@link DensePerceptron} in array form, such as one
+    * {@link #detach()}ed. Compiled learning rates are otherwise read from the {@link Synapse}s.
+    * @param learningRate the learning rate.
+    */
+   public void setLearningRate( double learningRate ){
+      Arrays.fill( learningRates, learningRate );
+   }// End Method
+
+   /**
+    * Method to get the learning rate of the weight between the given input and output.
+    * @param output the index of the output.
+    * @param input the index of the input, {@link #getInputCount()} for the bias.
+    * @return the learning rate.
+    */
+   public double getLearningRate( int output, int input ){
+      return learningRates[ index( output, input ) ];
+   }// End Method
+
+   /**
+    * Method to set the learning rate of the weight between the given input and output of a {@link DensePerceptron}
+    * in array form, as {@link #setLearningRate(double)}.
+    * @param output the index of the output.
+    * @param input the index of the input, {@link #getInputCount()} for the bias.
+    * @param learningRate the learning rate.
+    */
+   public void setLearningRate( int output, int input, double learningRate ){
+      learningRates[ index( output, input ) ] = learningRate;
+   }// End Method
+
+   /**
+    * Method to get the index into {@link #learningRates} for the given output and input.
+    * @param output the index of the output.
+    * @param input the index of the input, {@link #getInputCount()} for the bias.
+    * @return the index into the learning rates.
+    */
+   private int index( int output, int input ){
+      if ( output < 0 || output >= this.output.length || input < 0 || input > this.input.length ){
+         throw new IndexOutOfBoundsException( "( " + output + ", " + input + " )" );
+      }
+      return output * layer.getStride() + input;
+   }// End Method
+
+   /**
+    * Method to construct the {@link Perceptron} of a {@link DensePerceptron} constructed in array form, with
+    * {@link Synapse}s holding the current weights and learning rates, the output of the bias and the 
+    * {@link ThresholdFunction} equivalent to the {@link ActivationFunction}. Once materialised the {@link Synapse}s
+    * are the source of truth.
+    * @throws IllegalArgumentException if the {@link ActivationFunction} has no equivalent {@link ThresholdFunction}.
+    */
+   private void materialise(){
+      perceptron = new Perceptron( input.length, output.length, DenseActivation.toThresholdFunction( layer.getActivation() ) );
+      perceptron.getBias().getOutputProperty().set( bias );
+      inputNeurons = toArray( perceptron.getInputLayer() );
+      outputNeurons = toArray( perceptron.getOutputLayer() );
+      synapses = new Synapse[ learningRates.length ];
+      connectSynapses();
+      writeWeights();
+      for ( int i = 0; i < synapses.length; i++ ){
+         if ( synapses[ i ] != null ){
+            synapses[ i ].setLearningRate( learningRates[ i ] );
+         }
+      }
+      for ( InvalidationListener listener : pendingListeners ){
+         addInvalidationListener( listener );
+      }
+      pendingListeners.clear();
+   }// End Method
+
+   /**
+    * Method to determine whether the {@link Perceptron} has been constructed, either because the
+    * {@link DensePerceptron} was compiled from it or because it has been materialised.
+    * @return true if the {@link Perceptron} exists.
+    */
+   public boolean isMaterialised(){
+      return perceptron != null;
+   }// End Method
+
+   /**
+    * Method to convert the {@link NeuronLayer} into an array of {@link Neuron}s, indexed by position.
+    * @param neuronLayer the {@link NeuronLayer} to convert.
+    * @return the array of {@link Neuron}s.
+    */
+   private static Neuron[] toArray( NeuronLayer neuronLayer ){
+      Neuron[] neurons = new Neuron[ neuronLayer.size() ];
+      int index = 0;
+      for ( Iterator< Neuron > iterator = neuronLayer.iterator(); iterator.hasNext(); ){
+         neurons[ index ] = iterator.next();
+         index++;
+      }
+      return neurons;
+   }// End Method
+
+   /**
+    * Method to associate each incoming {@link Synapse} of the output {@link NeuronLayer} with its
+    * position in the {@link DenseLayer}.
+    */
+   private void connectSynapses(){
+      Map< Neuron, Integer > columns = new IdentityHashMap< Neuron, Integer >();
+      for ( int i = 0; i < inputNeurons.length; i++ ){
+         columns.put( inputNeurons[ i ], i );
+      }
+      columns.put( perceptron.getBias(), inputNeurons.length );
+
+      int stride = layer.getStride();
+      for ( int o = 0; o < outputNeurons.length; o++ ){
+         for ( Iterator< Synapse > iterator = outputNeurons[ o ].inputSynapseIterator(); iterator.hasNext(); ){
+            Synapse synapse = iterator.next();
+            Integer column = columns.get( synapse.getInput() );
+            if ( column == null ){
+               throw new IllegalStateException( synapse.getIdentification() + " is not from the input layer or bias." );
+            }
+            synapses[ o * stride + column ] = synapse;
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to read the weights, learning rates and bias from the {@link Perceptron}, bringing the 
+    * {@link DensePerceptron} up to date with any changes made to the {@link Synapse}s since it was compiled.
+    * Nothing is read before the {@link Perceptron} is materialised.
+    */
+   public void synchronise(){
+      if ( perceptron == null ){
+         return;
+      }
+      double[] weights = layer.getWeights();
+      for ( int i = 0; i < synapses.length; i++ ){
+         if ( synapses[ i ] == null ){
+            weights[ i ] = 0;
+            learningRates[ i ] = 0;
+         } else {
+            weights[ i ] = synapses[ i ].getWeightProperty().get();
+            learningRates[ i ] = synapses[ i ].getLearningRate();
+         }
+      }
+      bias = perceptron.getBias().getOutput();
+   }// End Method
+
+   /**
+    * Method to add an {@link InvalidationListener} to the weight of every {@link Synapse} compiled and the output
+    * of the bias, notified when the {@link DensePerceptron} may need to {@link #synchronise()}.
+    * @param listener the {@link InvalidationListener} to add.
+    */
+   public void addInvalidationListener( InvalidationListener listener ){
+      if ( perceptron == null ){
+         pendingListeners.add( listener );
+         return;
+      }
+      for ( int i = 0; i < synapses.length; i++ ){
+         if ( synapses[ i ] != null ){
+            synapses[ i ].getWeightProperty().addListener( listener );
+         }
+      }
+      perceptron.getBias().getOutputProperty().addListener( listener );
+   }// End Method
+
+   /**
+    * Method to remove an {@link InvalidationListener} previously added with {@link #addInvalidationListener(InvalidationListener)}.
+    * @param listener the {@link InvalidationListener} to remove.
+    */
+   public void removeInvalidationListener( InvalidationListener listener ){
+      if ( perceptron == null ){
+         pendingListeners.remove( listener );
+         return;
+      }
+      for ( int i = 0; i < synapses.length; i++ ){
+         if ( synapses[ i ] != null ){
+            synapses[ i ].getWeightProperty().removeListener( listener );
+         }
+      }
+      perceptron.getBias().getOutputProperty().removeListener( listener );
+   }// End Method
+
+   /**
+    * Method to write the weights of the {@link DensePerceptron} back to the {@link Synapse}s of the
+    * {@link Perceptron}. Nothing is written before the {@link Perceptron} is materialised.
+    */
+   public void writeWeights(){
+      if ( perceptron == null ){
+         return;
+      }
+      double[] weights = layer.getWeights();
+      for ( int i = 0; i < synapses.length; i++ ){
+         if ( synapses[ i ] != null ){
+            synapses[ i ].setWeight( weights[ i ] );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to write the last values fired with {@link #fireInput(double...)} back into the {@link Neuron}s
+    * of the {@link Perceptron}, as though the {@link Perceptron} had fired them itself.
+    */
+   public void writeOutput(){
+      if ( perceptron == null ){
+         materialise();
+      }
+      for ( int i = 0; i < inputNeurons.length; i++ ){
+         inputNeurons[ i ].getOutputProperty().set( input[ i ] );
+      }
+      for ( int o = 0; o < outputNeurons.length; o++ ){
+         outputNeurons[ o ].getOutputProperty().set( output[ o ] );
+      }
+   }// End Method
+
+   /**
+    * Method to fire the given input values through the network, holding the result to be accessed by
+    * {@link #getOutput(int)} or written with {@link #writeOutput()}.
+    * @param inputValues the input values, one per {@link Neuron} in the input layer.
+    */
+   public void fireInput( double... inputValues ){
+      if ( inputValues.length != input.length ){
+         throw new IllegalArgumentException();
+      }
+      System.arraycopy( inputValues, 0, input, 0, input.length );
+      layer.fire( input, bias, output );
+   }// End Method
+
+   /**
+    * Method to fire the input buffer through the network into the output buffer. This does not change
+    * the state of the {@link DensePerceptron} and does not allocate.
+    * @param inputValues the input values, at least one per {@link Neuron} in the input layer.
+    * @param outputValues the buffer to populate, at least one per {@link Neuron} in the output layer.
+    */
+   public void fire( double[] inputValues, double[] outputValues ){
+      layer.fire( inputValues, bias, outputValues );
+   }// End Method
+
+   /**
+    * Method to get the output at the given index from the last {@link #fireInput(double...)}.
+    * @param index the index of the output {@link Neuron}.
+    * @return the output value.
+    */
+   public double getOutput( int index ){
+      return output[ index ];
+   }// End Method
+
+   /**
+    * Method to get the {@link DenseLayer} holding the weights.
+    * @return the {@link DenseLayer}.
+    */
+   public DenseLayer getLayer(){
+      return layer;
+   }// End Method
+
+   /**
+    * Method to access the learning rates directly for processing in this package.
+    * @return the learning rates, parallel to the weights of the {@link DenseLayer}.
+    */
+   double[] getLearningRates(){
+      return learningRates;
+   }// End Method
+
+   /**
+    * Method to get the value of the bias.
+    * @return the output of the bias {@link Neuron}.
+    */
+   public double getBias(){
+      return bias;
+   }// End Method
+
+   /**
+    * Method to get the number of input values.
+    * @return the size of the input layer.
+    */
+   public int getInputCount(){
+      return input.length;
+   }// End Method
+
+   /**
+    * Method to get the number of output values.
+    * @return the size of the output layer.
+    */
+   public int getOutputCount(){
+      return output.length;
+   }// End Method
+
+   /**
+    * Method to get the {@link Perceptron} compiled, materialising it if constructed in array form.
+    * @return the {@link Perceptron}.
+    */
+   public Perceptron getPerceptron(){
+      if ( perceptron == null ){
+         materialise();
+      }
+      return perceptron;
+   }// End Method
+
+}// End Class
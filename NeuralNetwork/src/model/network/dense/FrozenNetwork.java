@@ -0,0 +1,219 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import model.function.activation.ActivationFunction;
+import model.network.FeedForwardNetwork;
+import model.network.Perceptron;
+
+/**
+ * The {@link FrozenNetwork} is an immutable snapshot of the weights of a trained {@link Perceptron} or
+ * {@link FeedForwardNetwork}, used for inference only. Nothing is written to the {@link FrozenNetwork} when
+ * predicting, the values of each layer are held in {@link InferenceBuffers} owned by the caller or by the
+ * calling {@link Thread}, so a single instance can be shared by any number of {@link Thread}s without locking.
+ * Changes to the original network after freezing are not seen.
+ */
+public final class FrozenNetwork {
+
+   /**
+    * The {@link InferenceBuffers} hold the values of the hidden layers for a single prediction at a time. They
+    * must not be shared between {@link Thread}s predicting concurrently.
+    */
+   public static final class InferenceBuffers {
+
+      /** The alternating buffers for the values of consecutive hidden layers. **/
+      private final double[][] values;
+
+      /**
+       * Constructs a new {@link InferenceBuffers}.
+       * @param width the number of values in the widest hidden layer.
+       */
+      private InferenceBuffers( int width ){
+         values = new double[][]{ new double[ width ], new double[ width ] };
+      }// End Constructor
+
+   }// End Class
+
+   /** The copies of the {@link DenseLayer}s, never exposed so never changed. **/
+   private final DenseLayer[] layers;
+   /** The value of the bias. **/
+   private final double bias;
+   /** The number of values in the widest hidden layer. **/
+   private final int hiddenWidth;
+   /** The {@link InferenceBuffers} of each {@link Thread} predicting without its own. **/
+   private final ThreadLocal< InferenceBuffers > threadBuffers;
+
+   /**
+    * Constructs a new {@link FrozenNetwork} from the current weights of the {@link DensePerceptron}.
+    * @param perceptron the {@link DensePerceptron} to freeze.
+    */
+   public FrozenNetwork( DensePerceptron perceptron ){
+      this( new DenseLayer[]{ perceptron.getLayer() }, perceptron.getBias() );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link FrozenNetwork} from the current weights of the {@link DenseNetwork}.
+    * @param network the {@link DenseNetwork} to freeze.
+    */
+   public FrozenNetwork( DenseNetwork network ){
+      this( layersOf( network ), network.getBias() );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link FrozenNetwork}, copying the given {@link DenseLayer}s.
+    * @param source the {@link DenseLayer}s to copy, input first.
+    * @param bias the value of the bias.
+    */
+   private FrozenNetwork( DenseLayer[] source, double bias ){
+      if ( source.length == 0 ){
+         throw new IllegalArgumentException( "A network must have at least one layer to freeze." );
+      }
+      this.bias = bias;
+      layers = new DenseLayer[ source.length ];
+      int width = 0;
+      for ( int l = 0; l < source.length; l++ ){
+         layers[ l ] = new DenseLayer( source[ l ].getInputCount(), source[ l ].getOutputCount(), source[ l ].getActivation() );
+         System.arraycopy( source[ l ].getWeights(), 0, layers[ l ].getWeights(), 0, source[ l ].getWeights().length );
+         if ( l < source.length - 1 ){
+            width = Math.max( width, source[ l ].getOutputCount() );
+         }
+      }
+      hiddenWidth = width;
+      threadBuffers = ThreadLocal.withInitial( this::newBuffers );
+   }// End Constructor
+
+   /**
+    * Method to get the {@link DenseLayer}s of the {@link DenseNetwork}.
+    * @param network the {@link DenseNetwork}.
+    * @return the {@link DenseLayer}s, input first.
+    */
+   private static DenseLayer[] layersOf( DenseNetwork network ){
+      DenseLayer[] layers = new DenseLayer[ network.getLayerCount() ];
+      for ( int l = 0; l < layers.length; l++ ){
+         layers[ l ] = network.getLayer( l );
+      }
+      return layers;
+   }// End Method
+
+   /**
+    * Method to construct new {@link InferenceBuffers} for predicting with this {@link FrozenNetwork}.
+    * @return the {@link InferenceBuffers}.
+    */
+   public InferenceBuffers newBuffers(){
+      return new InferenceBuffers( hiddenWidth );
+   }// End Method
+
+   /**
+    * Method to predict the output for the given input using the {@link InferenceBuffers} of the calling
+    * {@link Thread}, constructed on its first prediction. Where many short lived {@link Thread}s are used,
+    * {@link #predict(double[], double[], InferenceBuffers)} avoids constructing buffers per {@link Thread}.
+    * @param inputValues the input values, at least {@link #getInputCount()} long.
+    * @param outputValues the buffer to populate, at least {@link #getOutputCount()} long.
+    */
+   public void predict( double[] inputValues, double[] outputValues ){
+      predict( inputValues, outputValues, threadBuffers.get() );
+   }// End Method
+
+   /**
+    * Method to predict the output for the given input, holding the values of the hidden layers in the given
+    * {@link InferenceBuffers}.
+    * @param inputValues the input values, at least {@link #getInputCount()} long.
+    * @param outputValues the buffer to populate, at least {@link #getOutputCount()} long.
+    * @param buffers the {@link InferenceBuffers}, not in use by any other {@link Thread}.
+    */
+   public void predict( double[] inputValues, double[] outputValues, InferenceBuffers buffers ){
+      if ( inputValues.length < getInputCount() || outputValues.length < getOutputCount() ){
+         throw new IllegalArgumentException( "Buffers are smaller than the layers of the network." );
+      }
+      if ( buffers.values[ 0 ].length < hiddenWidth ){
+         throw new IllegalArgumentException( "Inference buffers are too small for this network." );
+      }
+      double[] input = inputValues;
+      int last = layers.length - 1;
+      for ( int l = 0; l < last; l++ ){
+         double[] output = buffers.values[ l & 1 ];
+         layers[ l ].fire( input, bias, output );
+         input = output;
+      }
+      layers[ last ].fire( input, bias, outputValues );
+   }// End Method
+
+   /**
+    * Method to predict the output for the given input into a new array.
+    * @param inputValues the input values, at least {@link #getInputCount()} long.
+    * @return the output values.
+    */
+   public double[] predict( double... inputValues ){
+      double[] outputValues = new double[ getOutputCount() ];
+      predict( inputValues, outputValues );
+      return outputValues;
+   }// End Method
+
+   /**
+    * Method to get the number of input values.
+    * @return the size of the input layer.
+    */
+   public int getInputCount(){
+      return layers[ 0 ].getInputCount();
+   }// End Method
+
+   /**
+    * Method to get the number of output values.
+    * @return the size of the output layer.
+    */
+   public int getOutputCount(){
+      return layers[ layers.length - 1 ].getOutputCount();
+   }// End Method
+
+   /**
+    * Method to get the number of layers of weights, one fewer than the layers of {@link model.singleton.Neuron}s.
+    * @return the number of layers.
+    */
+   public int getLayerCount(){
+      return layers.length;
+   }// End Method
+
+   /**
+    * Method to get the weight between the given input and output of a layer.
+    * @param layer the index of the layer of weights, 0 connecting the input layer to the next.
+    * @param output the index of the output.
+    * @param input the index of the input.
+    * @return the weight.
+    */
+   public double getWeight( int layer, int output, int input ){
+      return layers[ layer ].getWeight( output, input );
+   }// End Method
+
+   /**
+    * Method to get the weight applied to the bias for the given output of a layer.
+    * @param layer the index of the layer of weights.
+    * @param output the index of the output.
+    * @return the bias weight.
+    */
+   public double getBiasWeight( int layer, int output ){
+      return layers[ layer ].getBiasWeight( output );
+   }// End Method
+
+   /**
+    * Method to get the {@link ActivationFunction} of a layer.
+    * @param layer the index of the layer of weights.
+    * @return the {@link ActivationFunction}.
+    */
+   public ActivationFunction getActivation( int layer ){
+      return layers[ layer ].getActivation();
+   }// End Method
+
+   /**
+    * Method to get the value of the bias.
+    * @return the bias.
+    */
+   public double getBias(){
+      return bias;
+   }// End Method
+
+}// End Class
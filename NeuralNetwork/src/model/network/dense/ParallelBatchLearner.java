@@ -0,0 +1,187 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.function.learning.LayerOptimizer;
+import model.function.learning.LearningRuleOptimizer;
+import model.function.learning.Optimizer;
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+
+/**
+ * The {@link ParallelBatchLearner} provides data parallel batch learning for a {@link DensePerceptron}. Each
+ * batch of {@link LearningParameter}s is sharded across a {@link ForkJoinPool}, where each worker fires its
+ * shard against the weights, unchanged for the duration of the batch, using its own activation buffers. The
+ * gradients of each shard are then summed and applied once by the {@link Optimizer}, exactly as the
+ * {@link BatchLearner} would, differing only in the order the gradients are summed.
+ */
+public class ParallelBatchLearner {
+
+   /** The smallest number of {@link LearningParameter}s worth processing as a separate shard. **/
+   private static final int MINIMUM_SHARD_SIZE = 64;
+   /** The number of shards to aim for per worker, allowing work stealing to balance the load. **/
+   private static final int SHARDS_PER_WORKER = 4;
+
+   /** The {@link DensePerceptron} learning. **/
+   private final DensePerceptron perceptron;
+   /** The {@link ForkJoinPool} to shard across. **/
+   private final ForkJoinPool pool;
+   /** The {@link LayerOptimizer} applying the gradients to the {@link DenseLayer}. **/
+   private final LayerOptimizer optimizer;
+   /** The input buffer of each worker {@link Thread}. **/
+   private final ThreadLocal< double[] > inputBuffers;
+   /** The target buffer of each worker {@link Thread}. **/
+   private final ThreadLocal< double[] > targetBuffers;
+   /** The output buffer of each worker {@link Thread}. **/
+   private final ThreadLocal< double[] > outputBuffers;
+
+   /**
+    * Constructs a new {@link ParallelBatchLearner} using the {@link ForkJoinPool#commonPool()}.
+    * @param perceptron the {@link DensePerceptron} to teach.
+    */
+   public ParallelBatchLearner( DensePerceptron perceptron ){
+      this( perceptron, ForkJoinPool.commonPool() );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link ParallelBatchLearner}.
+    * @param perceptron the {@link DensePerceptron} to teach.
+    * @param pool the {@link ForkJoinPool} to shard the {@link LearningParameter}s across.
+    */
+   public ParallelBatchLearner( DensePerceptron perceptron, ForkJoinPool pool ){
+      this( perceptron, pool, LearningRuleOptimizer.INSTANCE );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link ParallelBatchLearner}.
+    * @param perceptron the {@link DensePerceptron} to teach.
+    * @param pool the {@link ForkJoinPool} to shard the {@link LearningParameter}s across.
+    * @param optimizer the {@link Optimizer} applying the gradients to the weights.
+    */
+   public ParallelBatchLearner( DensePerceptron perceptron, ForkJoinPool pool, Optimizer optimizer ){
+      this.perceptron = perceptron;
+      this.pool = pool;
+      this.optimizer = optimizer.forLayer( perceptron.getLayer().getWeights().length );
+      inputBuffers = ThreadLocal.withInitial( () -> new double[ perceptron.getInputCount() ] );
+      targetBuffers = ThreadLocal.withInitial( () -> new double[ perceptron.getOutputCount() ] );
+      outputBuffers = ThreadLocal.withInitial( () -> new double[ perceptron.getOutputCount() ] );
+   }// End Constructor
+
+   /**
+    * Method to learn the {@link LearningParameters} once, in batches of the given size, applying the
+    * gradients after each batch has been processed in parallel.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s per batch.
+    */
+   public void learn( LearningParameters parameters, int batchSize ){
+      if ( batchSize <= 0 ){
+         throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+      }
+      int inputCount = perceptron.getInputCount();
+      int outputCount = perceptron.getOutputCount();
+      int count = parameters.size();
+      int bufferedCount = Math.min( count, batchSize );
+      double[] inputs = new double[ bufferedCount * inputCount ];
+      double[] targets = new double[ bufferedCount * outputCount ];
+      double[] input = new double[ inputCount ];
+      double[] target = new double[ outputCount ];
+
+      for ( int start = 0; start < count; start += batchSize ){
+         int end = Math.min( count, start + batchSize );
+         for ( int i = start; i < end; i++ ){
+            parameters.copyInput( i, input );
+            parameters.copyTarget( i, target );
+            System.arraycopy( input, 0, inputs, ( i - start ) * inputCount, inputCount );
+            System.arraycopy( target, 0, targets, ( i - start ) * outputCount, outputCount );
+         }
+         int shardSize = Math.max( MINIMUM_SHARD_SIZE, ( end - start ) / ( pool.getParallelism() * SHARDS_PER_WORKER ) );
+         double[] gradients = pool.invoke( new ShardTask( inputs, targets, 0, end - start, shardSize ) );
+         optimizer.update( perceptron.getLayer().getWeights(), gradients, perceptron.getLearningRates(), end - start );
+         perceptron.writeWeights();
+      }
+   }// End Method
+
+   /**
+    * The {@link ShardTask} calculates the gradients for a range of {@link LearningParameter}s, splitting
+    * the range until it is no bigger than the shard size and summing the gradients of each half.
+    */
+   private class ShardTask extends RecursiveTask< double[] > {
+
+      /** The version of the {@link java.io.Serializable} {@link RecursiveTask}. **/
+      private static final long serialVersionUID = 1L;
+
+      /** The flattened input values of the {@link LearningParameter}s in the batch. **/
+      private final double[] inputs;
+      /** The flattened target values of the {@link LearningParameter}s in the batch. **/
+      private final double[] targets;
+      /** The index of the first {@link LearningParameter} in the shard. **/
+      private final int start;
+      /** The index after the last {@link LearningParameter} in the shard. **/
+      private final int end;
+      /** The number of {@link LearningParameter}s to process without splitting. **/
+      private final int shardSize;
+
+      /**
+       * Constructs a new {@link ShardTask}.
+       * @param inputs the flattened input values.
+       * @param targets the flattened target values.
+       * @param start the index of the first {@link LearningParameter}.
+       * @param end the index after the last {@link LearningParameter}.
+       * @param shardSize the number of {@link LearningParameter}s to process without splitting.
+       */
+      ShardTask( double[] inputs, double[] targets, int start, int end, int shardSize ){
+         this.inputs = inputs;
+         this.targets = targets;
+         this.start = start;
+         this.end = end;
+         this.shardSize = shardSize;
+      }// End Constructor
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override protected double[] compute() {
+         if ( end - start <= shardSize ){
+            return computeShard();
+         }
+         int middle = ( start + end ) >>> 1;
+         ShardTask left = new ShardTask( inputs, targets, start, middle, shardSize );
+         left.fork();
+         double[] rightGradients = new ShardTask( inputs, targets, middle, end, shardSize ).compute();
+         double[] leftGradients = left.join();
+         for ( int i = 0; i < leftGradients.length; i++ ){
+            leftGradients[ i ] += rightGradients[ i ];
+         }
+         return leftGradients;
+      }// End Method
+
+      /**
+       * Method to calculate the gradients for the shard on the current {@link Thread}.
+       * @return the gradients, parallel to the weights.
+       */
+      private double[] computeShard(){
+         int inputCount = perceptron.getInputCount();
+         int outputCount = perceptron.getOutputCount();
+         double[] input = inputBuffers.get();
+         double[] target = targetBuffers.get();
+         double[] output = outputBuffers.get();
+         double[] gradients = new double[ perceptron.getLayer().getWeights().length ];
+         for ( int s = start; s < end; s++ ){
+            System.arraycopy( inputs, s * inputCount, input, 0, inputCount );
+            System.arraycopy( targets, s * outputCount, target, 0, outputCount );
+            BatchLearner.accumulate( perceptron, input, target, output, gradients );
+         }
+         return gradients;
+      }// End Method
+
+   }// End Class
+
+}// End Class
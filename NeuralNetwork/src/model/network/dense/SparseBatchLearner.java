@@ -0,0 +1,237 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import model.function.learning.LayerOptimizer;
+import model.function.learning.LearningRuleOptimizer;
+import model.function.learning.Optimizer;
+import model.network.Perceptron;
+import model.singleton.LearningParameter;
+import model.singleton.Synapse;
+import model.structure.LearningParameters;
+import model.training.EpochProgress;
+import model.training.Trainable;
+
+/**
+ * The {@link SparseBatchLearner} is responsible for applying batch learning to a {@link SparsePerceptron}, as the
+ * {@link BatchLearner} does for a {@link DensePerceptron}. Gradients are only accumulated for the connections
+ * that exist, so the cost of learning scales with the number of {@link Synapse}s rather than inputs * outputs,
+ * and the {@link Optimizer} never moves a weight that has no {@link Synapse}.
+ */
+public class SparseBatchLearner implements Trainable {
+
+   /** The {@link SparsePerceptron} learning. **/
+   private final SparsePerceptron perceptron;
+   /** The accumulated gradients, parallel to the weights of the {@link SparseLayer}. **/
+   private final double[] gradients;
+   /** The accumulated gradients of the bias, one per output. **/
+   private final double[] biasGradients;
+   /** The {@link LayerOptimizer} applying the gradients to the weights of the connections. **/
+   private final LayerOptimizer optimizer;
+   /** The {@link LayerOptimizer} applying the gradients to the weights of the bias. **/
+   private final LayerOptimizer biasOptimizer;
+   /** Buffer for the input values of the {@link LearningParameter} being accumulated. **/
+   private final double[] input;
+   /** Buffer for the target values of the {@link LearningParameter} being accumulated. **/
+   private final double[] target;
+   /** Buffer for the output achieved for the {@link LearningParameter} being accumulated. **/
+   private final double[] output;
+   /** The number of {@link LearningParameter}s to accumulate per batch when training an epoch. **/
+   private final int batchSize;
+   /** The number of {@link LearningParameter}s accumulated since last applied. **/
+   private int accumulated;
+
+   /**
+    * Constructs a new {@link SparseBatchLearner}, training an epoch online.
+    * @param perceptron the {@link SparsePerceptron} to teach.
+    */
+   public SparseBatchLearner( SparsePerceptron perceptron ){
+      this( perceptron, 1 );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link SparseBatchLearner}.
+    * @param perceptron the {@link SparsePerceptron} to teach.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch when training an epoch.
+    */
+   public SparseBatchLearner( SparsePerceptron perceptron, int batchSize ){
+      this( perceptron, batchSize, LearningRuleOptimizer.INSTANCE );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link SparseBatchLearner}.
+    * @param perceptron the {@link SparsePerceptron} to teach.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch when training an epoch.
+    * @param optimizer the {@link Optimizer} applying the gradients to the weights.
+    */
+   public SparseBatchLearner( SparsePerceptron perceptron, int batchSize, Optimizer optimizer ){
+      if ( batchSize <= 0 ){
+         throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+      }
+      this.perceptron = perceptron;
+      this.batchSize = batchSize;
+      gradients = new double[ perceptron.getLayer().getConnectionCount() ];
+      biasGradients = new double[ perceptron.getOutputCount() ];
+      this.optimizer = optimizer.forLayer( gradients.length );
+      biasOptimizer = optimizer.forLayer( biasGradients.length );
+      input = new double[ perceptron.getInputCount() ];
+      target = new double[ perceptron.getOutputCount() ];
+      output = new double[ perceptron.getOutputCount() ];
+   }// End Constructor
+
+   /**
+    * Method to learn the {@link LearningParameters} once, applying the accumulated gradients after
+    * every batch of the given size and after the final, possibly partial, batch.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch.
+    */
+   public void learn( LearningParameters parameters, int batchSize ){
+      learn( parameters, batchSize, EpochProgress.UNINTERRUPTED );
+   }// End Method
+
+   /**
+    * Method to learn the {@link LearningParameters} once as {@link #learn(LearningParameters, int)}, notifying
+    * the {@link EpochProgress} after each batch is applied and stopping if it asks to.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param batchSize the number of {@link LearningParameter}s to accumulate per batch.
+    * @param progress the {@link EpochProgress} to notify.
+    */
+   public void learn( LearningParameters parameters, int batchSize, EpochProgress progress ){
+      if ( batchSize <= 0 ){
+         throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+      }
+      for ( int i = 0; i < parameters.size(); i++ ){
+         parameters.copyInput( i, input );
+         parameters.copyTarget( i, target );
+         accumulate( input, target );
+         if ( accumulated == batchSize ){
+            apply();
+            if ( !progress.batchCompleted( i + 1, parameters.size() ) ){
+               return;
+            }
+         }
+      }
+      if ( accumulated > 0 ){
+         apply();
+         progress.batchCompleted( parameters.size(), parameters.size() );
+      }
+   }// End Method
+
+   /**
+    * Method to fire the input through the {@link SparsePerceptron} and accumulate the gradient of the perceptron
+    * learning rule, ( target - output ) * input, for each connection and each connected bias.
+    * @param inputValues the input values.
+    * @param targetValues the target values for the outputs.
+    */
+   public void accumulate( double[] inputValues, double[] targetValues ){
+      perceptron.fire( inputValues, output );
+
+      SparseLayer layer = perceptron.getLayer();
+      int[] offsets = layer.getOffsets();
+      int[] outputs = layer.getOutputs();
+      for ( int o = 0; o < output.length; o++ ){
+         output[ o ] = targetValues[ o ] - output[ o ];
+         if ( perceptron.isBiasConnected( o ) ){
+            biasGradients[ o ] += output[ o ] * perceptron.getBias();
+         }
+      }
+      for ( int i = 0; i < layer.getInputCount(); i++ ){
+         double value = inputValues[ i ];
+         if ( value == 0 ){
+            continue;
+         }
+         for ( int k = offsets[ i ]; k < offsets[ i + 1 ]; k++ ){
+            gradients[ k ] += output[ outputs[ k ] ] * value;
+         }
+      }
+      accumulated++;
+   }// End Method
+
+   /**
+    * Method to apply the accumulated gradients to the weights with the {@link Optimizer}, writing them to the {@link Perceptron}.
+    */
+   public void apply(){
+      if ( accumulated == 0 ){
+         return;
+      }
+      SparseLayer layer = perceptron.getLayer();
+      optimizer.update( layer.getWeights(), gradients, perceptron.getLearningRates(), accumulated );
+      biasOptimizer.update( layer.getBiasWeights(), biasGradients, perceptron.getBiasLearningRates(), accumulated );
+      accumulated = 0;
+      perceptron.writeWeights();
+   }// End Method
+
+   /**
+    * Method to learn the {@link LearningParameters} once in batches of the configured size, for the {@link model.training.TrainingController}.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param progress the {@link EpochProgress} to notify after each batch.
+    */
+   @Override public void trainEpoch( LearningParameters parameters, EpochProgress progress ){
+      learn( parameters, batchSize, progress );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void fire( double[] inputValues, double[] outputValues ){
+      perceptron.fire( inputValues, outputValues );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getInputCount(){
+      return perceptron.getInputCount();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getOutputCount(){
+      return perceptron.getOutputCount();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * The weights of the connections are followed by those of the bias.
+    */
+   @Override public int getWeightCount(){
+      return gradients.length + biasGradients.length;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void copyWeights( double[] weights ){
+      SparseLayer layer = perceptron.getLayer();
+      System.arraycopy( layer.getWeights(), 0, weights, 0, gradients.length );
+      System.arraycopy( layer.getBiasWeights(), 0, weights, gradients.length, biasGradients.length );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void restoreWeights( double[] weights ){
+      if ( weights.length != getWeightCount() ){
+         throw new IllegalArgumentException( "Expected " + getWeightCount() + " weights, found " + weights.length + "." );
+      }
+      SparseLayer layer = perceptron.getLayer();
+      System.arraycopy( weights, 0, layer.getWeights(), 0, gradients.length );
+      System.arraycopy( weights, gradients.length, layer.getBiasWeights(), 0, biasGradients.length );
+      perceptron.writeWeights();
+   }// End Method
+
+   /**
+    * Method to get the number of {@link LearningParameter}s accumulated and not yet applied.
+    * @return the number accumulated.
+    */
+   public int getAccumulatedCount(){
+      return accumulated;
+   }// End Method
+
+}// End Class
@@ -0,0 +1,225 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import java.util.Arrays;
+
+import model.function.activation.ActivationFunction;
+
+/**
+ * The {@link SparseLayer} is the flattened form of a layer where only some inputs are connected to each output.
+ * The connections are held in compressed rows per input: the outputs and weights of input i are found from
+ * {@link #offsets}[ i ] up to {@link #offsets}[ i + 1 ]. Firing visits only the connections of inputs that are not
+ * zero, so the cost scales with the connections of the active inputs rather than inputs * outputs. Every output
+ * is connected to the bias.
+ */
+public class SparseLayer {
+
+   /** The number of input values, excluding the bias. **/
+   private final int inputCount;
+   /** The number of output values. **/
+   private final int outputCount;
+   /** The start of the connections of each input, with a final entry for the total number of connections. **/
+   private final int[] offsets;
+   /** The output of each connection, ascending within each input. **/
+   private final int[] outputs;
+   /** The weight of each connection, parallel to {@link #outputs}. **/
+   private final double[] weights;
+   /** The weight applied to the bias for each output. **/
+   private final double[] biasWeights;
+   /** The {@link ActivationFunction} applied to the weighted sums. **/
+   private final ActivationFunction activation;
+
+   /**
+    * Constructs a new {@link SparseLayer} with all weights zero.
+    * @param outputCount the number of outputs from the layer.
+    * @param connections the outputs connected to each input, one array per input.
+    * @param activation the {@link ActivationFunction} to apply to the weighted sums.
+    */
+   public SparseLayer( int outputCount, int[][] connections, ActivationFunction activation ){
+      if ( outputCount < 0 || connections == null || activation == null ){
+         throw new IllegalArgumentException();
+      }
+      this.inputCount = connections.length;
+      this.outputCount = outputCount;
+      this.activation = activation;
+      offsets = new int[ inputCount + 1 ];
+      for ( int i = 0; i < inputCount; i++ ){
+         offsets[ i + 1 ] = offsets[ i ] + connections[ i ].length;
+      }
+      outputs = new int[ offsets[ inputCount ] ];
+      for ( int i = 0; i < inputCount; i++ ){
+         int[] sorted = Arrays.copyOf( connections[ i ], connections[ i ].length );
+         Arrays.sort( sorted );
+         for ( int k = 0; k < sorted.length; k++ ){
+            if ( sorted[ k ] < 0 || sorted[ k ] >= outputCount || ( k > 0 && sorted[ k ] == sorted[ k - 1 ] ) ){
+               throw new IllegalArgumentException( "Input " + i + " has an invalid connection to " + sorted[ k ] + "." );
+            }
+         }
+         System.arraycopy( sorted, 0, outputs, offsets[ i ], sorted.length );
+      }
+      weights = new double[ outputs.length ];
+      biasWeights = new double[ outputCount ];
+   }// End Constructor
+
+   /**
+    * Method to get the number of inputs, excluding the bias.
+    * @return the number of inputs.
+    */
+   public int getInputCount(){
+      return inputCount;
+   }// End Method
+
+   /**
+    * Method to get the number of outputs.
+    * @return the number of outputs.
+    */
+   public int getOutputCount(){
+      return outputCount;
+   }// End Method
+
+   /**
+    * Method to get the number of connections between inputs and outputs, excluding the bias.
+    * @return the number of connections.
+    */
+   public int getConnectionCount(){
+      return outputs.length;
+   }// End Method
+
+   /**
+    * Method to get the {@link ActivationFunction} of the layer.
+    * @return the {@link ActivationFunction}.
+    */
+   public ActivationFunction getActivation(){
+      return activation;
+   }// End Method
+
+   /**
+    * Method to determine whether the given input is connected to the given output.
+    * @param output the index of the output.
+    * @param input the index of the input.
+    * @return true if connected.
+    */
+   public boolean isConnected( int output, int input ){
+      return find( output, input ) >= 0;
+   }// End Method
+
+   /**
+    * Method to get the weight between the given input and output.
+    * @param output the index of the output.
+    * @param input the index of the input.
+    * @return the weight, 0 if not connected.
+    */
+   public double getWeight( int output, int input ){
+      int index = find( output, input );
+      return index < 0 ? 0 : weights[ index ];
+   }// End Method
+
+   /**
+    * Method to set the weight between the given input and output.
+    * @param output the index of the output.
+    * @param input the index of the input.
+    * @param weight the weight.
+    * @throws IllegalArgumentException if the input and output are not connected.
+    */
+   public void setWeight( int output, int input, double weight ){
+      int index = find( output, input );
+      if ( index < 0 ){
+         throw new IllegalArgumentException( "( " + output + ", " + input + " ) is not connected." );
+      }
+      weights[ index ] = weight;
+   }// End Method
+
+   /**
+    * Method to get the weight applied to the bias for the given output.
+    * @param output the index of the output.
+    * @return the bias weight.
+    */
+   public double getBiasWeight( int output ){
+      return biasWeights[ output ];
+   }// End Method
+
+   /**
+    * Method to set the weight applied to the bias for the given output.
+    * @param output the index of the output.
+    * @param weight the bias weight.
+    */
+   public void setBiasWeight( int output, double weight ){
+      biasWeights[ output ] = weight;
+   }// End Method
+
+   /**
+    * Method to find the connection between the given input and output, for processing in this package.
+    * @param output the index of the output.
+    * @param input the index of the input.
+    * @return the index of the connection, negative if not connected.
+    */
+   int find( int output, int input ){
+      if ( output < 0 || output >= outputCount || input < 0 || input >= inputCount ){
+         throw new IndexOutOfBoundsException( "( " + output + ", " + input + " )" );
+      }
+      int index = Arrays.binarySearch( outputs, offsets[ input ], offsets[ input + 1 ], output );
+      return index < 0 ? -1 : index;
+   }// End Method
+
+   /**
+    * Method to access the connection offsets directly for processing in this package.
+    * @return the start of the connections of each input, with a final entry for the total.
+    */
+   int[] getOffsets(){
+      return offsets;
+   }// End Method
+
+   /**
+    * Method to access the connection outputs directly for processing in this package.
+    * @return the output of each connection.
+    */
+   int[] getOutputs(){
+      return outputs;
+   }// End Method
+
+   /**
+    * Method to access the connection weights directly for processing in this package.
+    * @return the weight of each connection.
+    */
+   double[] getWeights(){
+      return weights;
+   }// End Method
+
+   /**
+    * Method to access the bias weights directly for processing in this package.
+    * @return the weight applied to the bias for each output.
+    */
+   double[] getBiasWeights(){
+      return biasWeights;
+   }// End Method
+
+   /**
+    * Method to fire the layer, calculating the output for each output from the inputs. Inputs of zero are skipped.
+    * No state is held in the {@link SparseLayer} so any number of buffers can be fired through it.
+    * @param input the input values, at least {@link #getInputCount()} long.
+    * @param bias the value of the bias input.
+    * @param output the buffer to populate with the output, at least {@link #getOutputCount()} long.
+    */
+   public void fire( double[] input, double bias, double[] output ){
+      for ( int o = 0; o < outputCount; o++ ){
+         output[ o ] = biasWeights[ o ] * bias;
+      }
+      for ( int i = 0; i < inputCount; i++ ){
+         double value = input[ i ];
+         if ( value == 0 ){
+            continue;
+         }
+         for ( int k = offsets[ i ]; k < offsets[ i + 1 ]; k++ ){
+            output[ outputs[ k ] ] += weights[ k ] * value;
+         }
+      }
+      activation.apply( output, outputCount );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,245 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.network.dense;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javafx.beans.InvalidationListener;
+import model.network.Perceptron;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.NeuronLayer;
+
+/**
+ * The {@link SparsePerceptron} is a compiled form of a {@link Perceptron} whose layers are only partly connected,
+ * flattening the {@link Synapse}s that exist into a {@link SparseLayer}. As with the {@link DensePerceptron} the
+ * {@link Synapse}s remain the source of truth, read on {@link #synchronise()} and written on {@link #writeWeights()},
+ * but memory and firing scale with the number of {@link Synapse}s rather than inputs * outputs.
+ */
+public class SparsePerceptron implements CompiledPerceptron {
+
+   /** The {@link Perceptron} compiled. **/
+   private final Perceptron perceptron;
+   /** The {@link SparseLayer} holding the weights. **/
+   private final SparseLayer layer;
+   /** The {@link Synapse} of each connection, parallel to the weights of the {@link SparseLayer}. **/
+   private final Synapse[] synapses;
+   /** The {@link Synapse} from the bias to each output, null if not connected. **/
+   private final Synapse[] biasSynapses;
+   /** The learning rate of each connection, parallel to the weights of the {@link SparseLayer}. **/
+   private final double[] learningRates;
+   /** The learning rate of the {@link Synapse} from the bias to each output, 0 if not connected. **/
+   private final double[] biasLearningRates;
+   /** The output of the bias {@link Neuron}. **/
+   private double bias;
+
+   /**
+    * Constructs a new {@link SparsePerceptron}, compiling the given {@link Perceptron}.
+    * @param perceptron the {@link Perceptron} to compile.
+    */
+   public SparsePerceptron( Perceptron perceptron ){
+      this.perceptron = perceptron;
+      Map< Neuron, Integer > inputIndices = indexNeurons( perceptron.getInputLayer() );
+      Map< Neuron, Integer > outputIndices = indexNeurons( perceptron.getOutputLayer() );
+
+      List< List< Synapse > > inputSynapses = new ArrayList< List< Synapse > >();
+      for ( int i = 0; i < inputIndices.size(); i++ ){
+         inputSynapses.add( new ArrayList< Synapse >() );
+      }
+      biasSynapses = new Synapse[ outputIndices.size() ];
+      for ( Iterator< Neuron > outputs = perceptron.getOutputLayer().iterator(); outputs.hasNext(); ){
+         Neuron output = outputs.next();
+         for ( Iterator< Synapse > iterator = output.inputSynapseIterator(); iterator.hasNext(); ){
+            Synapse synapse = iterator.next();
+            if ( synapse.getInput() == perceptron.getBias() ){
+               biasSynapses[ outputIndices.get( output ) ] = synapse;
+            } else {
+               Integer input = inputIndices.get( synapse.getInput() );
+               if ( input == null ){
+                  throw new IllegalStateException( synapse.getIdentification() + " is not from the input layer or bias." );
+               }
+               inputSynapses.get( input ).add( synapse );
+            }
+         }
+      }
+
+      int[][] connections = new int[ inputSynapses.size() ][];
+      for ( int i = 0; i < connections.length; i++ ){
+         List< Synapse > connected = inputSynapses.get( i );
+         connections[ i ] = new int[ connected.size() ];
+         for ( int k = 0; k < connected.size(); k++ ){
+            connections[ i ][ k ] = outputIndices.get( connected.get( k ).getOutput() );
+         }
+      }
+      layer = new SparseLayer(
+               outputIndices.size(),
+               connections,
+               DenseActivation.forThresholdFunction( perceptron.getOutputLayer().getThresholdFunction() )
+      );
+      synapses = new Synapse[ layer.getConnectionCount() ];
+      learningRates = new double[ synapses.length ];
+      biasLearningRates = new double[ biasSynapses.length ];
+      for ( int i = 0; i < connections.length; i++ ){
+         for ( int k = 0; k < connections[ i ].length; k++ ){
+            synapses[ layer.find( connections[ i ][ k ], i ) ] = inputSynapses.get( i ).get( k );
+         }
+      }
+      synchronise();
+   }// End Constructor
+
+   /**
+    * Method to index the {@link Neuron}s of the {@link NeuronLayer} by their position.
+    * @param neuronLayer the {@link NeuronLayer} to index.
+    * @return the {@link Map} of {@link Neuron} to index.
+    */
+   private static Map< Neuron, Integer > indexNeurons( NeuronLayer neuronLayer ){
+      Map< Neuron, Integer > indices = new IdentityHashMap< Neuron, Integer >();
+      for ( Iterator< Neuron > iterator = neuronLayer.iterator(); iterator.hasNext(); ){
+         indices.put( iterator.next(), indices.size() );
+      }
+      return indices;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void synchronise(){
+      double[] weights = layer.getWeights();
+      for ( int i = 0; i < synapses.length; i++ ){
+         weights[ i ] = synapses[ i ].getWeightProperty().get();
+         learningRates[ i ] = synapses[ i ].getLearningRate();
+      }
+      double[] biasWeights = layer.getBiasWeights();
+      for ( int o = 0; o < biasSynapses.length; o++ ){
+         biasWeights[ o ] = biasSynapses[ o ] == null ? 0 : biasSynapses[ o ].getWeightProperty().get();
+         biasLearningRates[ o ] = biasSynapses[ o ] == null ? 0 : biasSynapses[ o ].getLearningRate();
+      }
+      bias = perceptron.getBias().getOutput();
+   }// End Method
+
+   /**
+    * Method to write the weights of the {@link SparsePerceptron} back to the {@link Synapse}s of the {@link Perceptron}.
+    */
+   public void writeWeights(){
+      double[] weights = layer.getWeights();
+      for ( int i = 0; i < synapses.length; i++ ){
+         synapses[ i ].setWeight( weights[ i ] );
+      }
+      double[] biasWeights = layer.getBiasWeights();
+      for ( int o = 0; o < biasSynapses.length; o++ ){
+         if ( biasSynapses[ o ] != null ){
+            biasSynapses[ o ].setWeight( biasWeights[ o ] );
+         }
+      }
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void addInvalidationListener( InvalidationListener listener ){
+      for ( Synapse synapse : synapses ){
+         synapse.getWeightProperty().addListener( listener );
+      }
+      for ( Synapse synapse : biasSynapses ){
+         if ( synapse != null ){
+            synapse.getWeightProperty().addListener( listener );
+         }
+      }
+      perceptron.getBias().getOutputProperty().addListener( listener );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void removeInvalidationListener( InvalidationListener listener ){
+      for ( Synapse synapse : synapses ){
+         synapse.getWeightProperty().removeListener( listener );
+      }
+      for ( Synapse synapse : biasSynapses ){
+         if ( synapse != null ){
+            synapse.getWeightProperty().removeListener( listener );
+         }
+      }
+      perceptron.getBias().getOutputProperty().removeListener( listener );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void fire( double[] inputValues, double[] outputValues ){
+      layer.fire( inputValues, bias, outputValues );
+   }// End Method
+
+   /**
+    * Method to get the {@link SparseLayer} holding the weights.
+    * @return the {@link SparseLayer}.
+    */
+   public SparseLayer getLayer(){
+      return layer;
+   }// End Method
+
+   /**
+    * Method to access the learning rates of the connections directly for processing in this package.
+    * @return the learning rates, parallel to the weights of the {@link SparseLayer}.
+    */
+   double[] getLearningRates(){
+      return learningRates;
+   }// End Method
+
+   /**
+    * Method to access the learning rates of the bias directly for processing in this package.
+    * @return the learning rate of the {@link Synapse} from the bias to each output, 0 if not connected.
+    */
+   double[] getBiasLearningRates(){
+      return biasLearningRates;
+   }// End Method
+
+   /**
+    * Method to determine whether the bias is connected to the given output, for processing in this package.
+    * @param output the index of the output.
+    * @return true if there is a {@link Synapse} from the bias.
+    */
+   boolean isBiasConnected( int output ){
+      return biasSynapses[ output ] != null;
+   }// End Method
+
+   /**
+    * Method to get the value of the bias.
+    * @return the output of the bias {@link Neuron}.
+    */
+   public double getBias(){
+      return bias;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getInputCount(){
+      return layer.getInputCount();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getOutputCount(){
+      return layer.getOutputCount();
+   }// End Method
+
+   /**
+    * Method to get the {@link Perceptron} compiled.
+    * @return the {@link Perceptron}.
+    */
+   public Perceptron getPerceptron(){
+      return perceptron;
+   }// End Method
+
+}// End Class
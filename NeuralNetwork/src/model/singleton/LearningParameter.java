@@ -17,6 +17,7 @@ import model.data.SerializableLearningParameter;
 import model.network.Perceptron;
 import model.structure.NetworkPosition;
 import model.structure.NeuronValueArray;
+import model.structure.PrimitiveNeuronValues;
 
 /**
  * The {@link LearningParameter} is responsible for defining a set of input parameters
@@ -24,9 +25,13 @@ import model.structure.NeuronValueArray;
  */
 public class LearningParameter extends SingletonImpl< SerializableLearningParameter >{
 
-   /** Array of input values to the network. **/
+   /** The input values to the network. **/
+   private PrimitiveNeuronValues inputValues;
+   /** The target output values the network should achieve. **/
+   private PrimitiveNeuronValues targetValues;
+   /** {@link NeuronValueArray} view of the {@link #inputValues}, constructed when first requested. **/
    private NeuronValueArray inputParameters;
-   /** Array of target output values the network should achieve. **/
+   /** {@link NeuronValueArray} view of the {@link #targetValues}, constructed when first requested. **/
    private NeuronValueArray targetParameters;
    /** The {@link StringProperty} for the description of the parameter. **/ 
    private StringProperty descriptionProperty;
@@ -75,26 +80,47 @@ public class LearningParameter extends SingletonImpl< SerializableLearningParame
     * @return the {@link LearningParameter}.
     */
    public LearningParameter inputParameters( Number... input ){
-      inputParameters = new NeuronValueArray( input );
+      return inputValues( PrimitiveNeuronValues.fromNumbers( input ) );
+   }// End Method
+
+   /**
+    * Configures the {@link LearningParameter} with the input values.
+    * @param input the {@link PrimitiveNeuronValues} to learn.
+    * @return the {@link LearningParameter}.
+    */
+   public LearningParameter inputValues( PrimitiveNeuronValues input ){
+      inputValues = input;
+      inputParameters = null;
       return this;
    }// End Method
 
    /**
-    * Method to get the {@link ReadOnlyArray} of {@link Double} input values to learn.
+    * Method to get the {@link ReadOnlyArray} of {@link Double} input values to learn. The {@link ReadOnlyArray}
+    * is constructed on first request, for binding to, and {@link #getInputValues()} should be preferred otherwise.
     * @return the {@link ReadOnlyArray}.
     */
    public ReadOnlyArray< NeuronValue > getInputParameters(){
+      if ( inputParameters == null && inputValues != null ){
+         inputParameters = inputValues.toNeuronValueArray();
+      }
       return inputParameters;
    }// End Method
 
+   /**
+    * Method to get the input values to learn.
+    * @return the {@link PrimitiveNeuronValues}.
+    */
+   public PrimitiveNeuronValues getInputValues(){
+      return inputValues;
+   }// End Method
+
    /**
     * Configures the {@link LearningParameter} with the target output values.
     * @param targets the target values the network should achieve for the input.
     * @return the {@link LearningParameter}.
     */
    public LearningParameter targetParameters( NeuronValue... targets ){
-      targetParameters = new NeuronValueArray( targets );
-      return this;
+      return targetValues( new PrimitiveNeuronValues( new NeuronValueArray( targets ) ) );
    }// End Method
    
    /**
@@ -103,25 +129,47 @@ public class LearningParameter extends SingletonImpl< SerializableLearningParame
     * @return the {@link LearningParameter}.
     */
    public LearningParameter targetParameters( Number... targets ){
-      targetParameters = new NeuronValueArray( targets );
+      return targetValues( PrimitiveNeuronValues.fromNumbers( targets ) );
+   }// End Method
+
+   /**
+    * Configures the {@link LearningParameter} with the target output values.
+    * @param targets the {@link PrimitiveNeuronValues} the network should achieve for the input.
+    * @return the {@link LearningParameter}.
+    */
+   public LearningParameter targetValues( PrimitiveNeuronValues targets ){
+      targetValues = targets;
+      targetParameters = null;
       return this;
    }// End Method
 
    /**
-    * Method to get the {@link ReadOnlyArray} of target {@link Double} values.
+    * Method to get the {@link ReadOnlyArray} of target {@link Double} values. The {@link ReadOnlyArray}
+    * is constructed on first request, for binding to, and {@link #getTargetValues()} should be preferred otherwise.
     * @return the {@link ReadOnlyArray}.
     */
    public ReadOnlyArray< NeuronValue > getTargetParameters(){
+      if ( targetParameters == null && targetValues != null ){
+         targetParameters = targetValues.toNeuronValueArray();
+      }
       return targetParameters;
    }// End Method
 
+   /**
+    * Method to get the target output values.
+    * @return the {@link PrimitiveNeuronValues}.
+    */
+   public PrimitiveNeuronValues getTargetValues(){
+      return targetValues;
+   }// End Method
+
    /**
     * Method to configure the input associated with this {@link LearningParameter} in the
     * given {@link Perceptron}.
     * @param perceptron the {@link Perceptron} to configure using {@link Perceptron#configureInput(Double...)}.
     */
    public void configureInput( Perceptron perceptron ){
-      perceptron.configureInput( inputParameters );
+      perceptron.configureInput( inputValues.toNeuronValueArray() );
    }// End Method
 
    /**
@@ -130,9 +178,9 @@ public class LearningParameter extends SingletonImpl< SerializableLearningParame
     * @return true if the {@link Perceptron} achieves the targets given the input, false otherwise.
     */
    public boolean isSatisfied( Perceptron perceptron ){
-      perceptron.configureInput( inputParameters );
+      perceptron.configureInput( inputValues.toNeuronValueArray() );
       perceptron.fireInput();
-      return perceptron.isLearnt( targetParameters );
+      return perceptron.isLearnt( targetValues.toNeuronValueArray() );
    }// End Method
    
    /**
@@ -147,8 +195,8 @@ public class LearningParameter extends SingletonImpl< SerializableLearningParame
     * {@inheritDoc}
     */
    @Override protected void writeSingleton( SerializableLearningParameter serializable ) {
-      serializable.addAllInputParameters( inputParameters.iterator() );
-      serializable.addAllTargetParameters( targetParameters.iterator() );
+      serializable.addAllInputParameters( inputValues.iterator() );
+      serializable.addAllTargetParameters( targetValues.iterator() );
    }// End Method
 
    /**
@@ -156,7 +204,7 @@ public class LearningParameter extends SingletonImpl< SerializableLearningParame
     */
    @Override protected void readSingleton( SerializableLearningParameter serialized ) {
       descriptionProperty = new SimpleStringProperty( identification );
-      inputParameters = new NeuronValueArray( serialized.inputParametersIterator() );
-      targetParameters = new NeuronValueArray( serialized.targetParametersIterator() );
+      inputValues( PrimitiveNeuronValues.fromIterator( serialized.inputParametersIterator() ) );
+      targetValues( PrimitiveNeuronValues.fromIterator( serialized.targetParametersIterator() ) );
    }// End Method
 }// End Class
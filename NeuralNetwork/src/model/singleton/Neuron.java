@@ -74,6 +74,14 @@ public class Neuron extends SingletonImpl< SerializableNeuron >{
       return position;
    }// End Method
 
+   /**
+    * Method to get the {@link Class} of {@link ThresholdFunction} the {@link Neuron} uses.
+    * @return the {@link Class} of the {@link ThresholdFunction}.
+    */
+   public Class< ? extends ThresholdFunction > getThresholdFunction(){
+      return thresholdFunction.getClass();
+   }// End Method
+
    /**
     * Method to add a {@link Synapse} incoming to this {@link Neuron}.
     * @param synapse the {@link Synapse} connecting the two {@link Neuron}s.
@@ -119,6 +119,38 @@ public class Synapse extends SingletonImpl< SerializableSynapse >{
       learningRule.setWeight( weight );
    }// End Method
 
+   /**
+    * Method to get the learning rate used when the {@link Synapse} learns.
+    * @return {@link #learningRule#getLearningRate()}.
+    */
+   public double getLearningRate(){
+      return learningRule.getLearningRate();
+   }// End Method
+
+   /**
+    * Method to set the learning rate used when the {@link Synapse} learns.
+    * @param learningRate the learning rate.
+    */
+   public void setLearningRate( double learningRate ){
+      learningRule.setLearningRate( learningRate );
+   }// End Method
+
+   /**
+    * Method to get the output last fired through the {@link Synapse}.
+    * @return {@link #learningRule#getFiredOutput()}.
+    */
+   public double getFiredOutput(){
+      return learningRule.getFiredOutput();
+   }// End Method
+
+   /**
+    * Method to set the output last fired through the {@link Synapse}, as when restoring its state.
+    * @param firedOutput the output fired by the {@link #inputNeuron}.
+    */
+   public void setFiredOutput( double firedOutput ){
+      learningRule.setFiredOutput( firedOutput );
+   }// End Method
+
    /**
     * Method to fire the output through the {@link Synapse} to the connected {@link Neuron}.
     * @param output the calculated output from the {@link ThresholdFunction}.
@@ -63,4 +63,34 @@ public class LearningParameters {
       return parameters.iterator();
    }// End Method
 
+   /**
+    * Method to copy the input values of the {@link LearningParameter} at the given index into the buffer.
+    * @param index the index of the {@link LearningParameter}.
+    * @param buffer the buffer to populate, the same length as the input values.
+    */
+   public void copyInput( int index, double[] buffer ){
+      copyValues( parameters.get( index ).getInputValues(), buffer );
+   }// End Method
+
+   /**
+    * Method to copy the target values of the {@link LearningParameter} at the given index into the buffer.
+    * @param index the index of the {@link LearningParameter}.
+    * @param buffer the buffer to populate, the same length as the target values.
+    */
+   public void copyTarget( int index, double[] buffer ){
+      copyValues( parameters.get( index ).getTargetValues(), buffer );
+   }// End Method
+
+   /**
+    * Method to copy the {@link PrimitiveNeuronValues} into the buffer, checking they are the same length.
+    * @param values the {@link PrimitiveNeuronValues} to copy.
+    * @param buffer the buffer to populate.
+    */
+   private static void copyValues( PrimitiveNeuronValues values, double[] buffer ){
+      if ( values.length() != buffer.length ){
+         throw new IllegalArgumentException( "Expected " + values.length() + " values but buffer holds " + buffer.length + "." );
+      }
+      values.copyInto( buffer );
+   }// End Method
+
 }// End Class
@@ -0,0 +1,314 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.structure;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import model.singleton.LearningParameter;
+
+/**
+ * The {@link MappedLearningParameters} provides read only {@link LearningParameters} streamed from a
+ * binary training set file, memory mapped using a {@link FileChannel} rather than held on the heap. The file
+ * is columnar: after a fixed header, the input values of every {@link LearningParameter} are stored as
+ * contiguous doubles, followed by the target values of every {@link LearningParameter}. Values are copied
+ * directly from the mapped file with {@link #copyInput(int, double[])} and {@link #copyTarget(int, double[])},
+ * and {@link LearningParameter}s are only constructed when iterated.
+ */
+public class MappedLearningParameters extends LearningParameters {
+
+   /** The value identifying a training set file. **/
+   static final int MAGIC = 0x4E4E5453;
+   /** The version of the file format written. **/
+   static final int VERSION = 1;
+   /** The number of bytes in the header: magic, version, input count, target count, input layer, target layer, size. **/
+   static final int HEADER_BYTES = 32;
+   /** The maximum number of bytes mapped in a single segment. **/
+   private static final long MAXIMUM_SEGMENT_BYTES = 1 << 30;
+   /** The number of values to buffer when writing. **/
+   private static final int WRITE_BUFFER_VALUES = 8192;
+
+   /** The number of input values per {@link LearningParameter}. **/
+   private final int inputCount;
+   /** The number of target values per {@link LearningParameter}. **/
+   private final int targetCount;
+   /** The layer of the {@link NetworkPosition}s of the input values. **/
+   private final int inputLayer;
+   /** The layer of the {@link NetworkPosition}s of the target values. **/
+   private final int targetLayer;
+   /** The number of {@link LearningParameter}s. **/
+   private final int size;
+   /** The mapped segments of the input values. **/
+   private final DoubleBuffer[] inputSegments;
+   /** The number of {@link LearningParameter}s in each input segment. **/
+   private final int inputsPerSegment;
+   /** The mapped segments of the target values. **/
+   private final DoubleBuffer[] targetSegments;
+   /** The number of {@link LearningParameter}s in each target segment. **/
+   private final int targetsPerSegment;
+
+   /**
+    * Constructs a new {@link MappedLearningParameters}, mapping the given training set file.
+    * @param file the {@link File} written by {@link #write(LearningParameters, File)}.
+    * @throws IOException if the file cannot be read or is not a training set.
+    */
+   public MappedLearningParameters( File file ) throws IOException {
+      try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) ){
+         ByteBuffer header = ByteBuffer.allocate( HEADER_BYTES ).order( ByteOrder.LITTLE_ENDIAN );
+         while ( header.hasRemaining() ){
+            if ( channel.read( header, header.position() ) < 0 ){
+               throw new IOException( file.getName() + " is too short to be a training set." );
+            }
+         }
+         header.flip();
+         if ( header.getInt() != MAGIC ){
+            throw new IOException( file.getName() + " is not a training set." );
+         }
+         int version = header.getInt();
+         if ( version != VERSION ){
+            throw new IOException( "Unsupported training set version: " + version + "." );
+         }
+         inputCount = header.getInt();
+         targetCount = header.getInt();
+         inputLayer = header.getInt();
+         targetLayer = header.getInt();
+         long count = header.getLong();
+         if ( inputCount < 0 || targetCount < 0 || count < 0 || count > Integer.MAX_VALUE ){
+            throw new IOException( file.getName() + " has an invalid header." );
+         }
+         size = ( int )count;
+
+         long inputBytes = ( long )size * inputCount * Double.BYTES;
+         long targetBytes = ( long )size * targetCount * Double.BYTES;
+         if ( channel.size() < HEADER_BYTES + inputBytes + targetBytes ){
+            throw new IOException( file.getName() + " is truncated." );
+         }
+         inputsPerSegment = recordsPerSegment( inputCount );
+         inputSegments = map( channel, HEADER_BYTES, inputCount, inputsPerSegment );
+         targetsPerSegment = recordsPerSegment( targetCount );
+         targetSegments = map( channel, HEADER_BYTES + inputBytes, targetCount, targetsPerSegment );
+      }
+   }// End Constructor
+
+   /**
+    * Method to calculate the number of {@link LearningParameter}s that fit in a mapped segment.
+    * @param valuesPerRecord the number of values per {@link LearningParameter}.
+    * @return the number of {@link LearningParameter}s per segment.
+    */
+   private static int recordsPerSegment( int valuesPerRecord ){
+      long recordBytes = Math.max( 1, valuesPerRecord ) * ( long )Double.BYTES;
+      return ( int )Math.max( 1, MAXIMUM_SEGMENT_BYTES / recordBytes );
+   }// End Method
+
+   /**
+    * Method to map a column of values into segments.
+    * @param channel the {@link FileChannel} to map.
+    * @param start the position of the column in the file.
+    * @param valuesPerRecord the number of values per {@link LearningParameter}.
+    * @param recordsPerSegment the number of {@link LearningParameter}s per segment.
+    * @return the {@link DoubleBuffer}s for each segment.
+    * @throws IOException if the file cannot be mapped.
+    */
+   private DoubleBuffer[] map( FileChannel channel, long start, int valuesPerRecord, int recordsPerSegment ) throws IOException {
+      int segmentCount = ( size + recordsPerSegment - 1 ) / recordsPerSegment;
+      DoubleBuffer[] segments = new DoubleBuffer[ segmentCount ];
+      long segmentBytes = ( long )recordsPerSegment * valuesPerRecord * Double.BYTES;
+      long columnBytes = ( long )size * valuesPerRecord * Double.BYTES;
+      for ( int s = 0; s < segmentCount; s++ ){
+         long offset = s * segmentBytes;
+         long length = Math.min( segmentBytes, columnBytes - offset );
+         segments[ s ] = channel.map( MapMode.READ_ONLY, start + offset, length ).order( ByteOrder.LITTLE_ENDIAN ).asDoubleBuffer();
+      }
+      return segments;
+   }// End Method
+
+   /**
+    * Method to write the {@link LearningParameters} to a training set file that can be read by a
+    * {@link MappedLearningParameters}. Every {@link LearningParameter} must have the same number of input and
+    * target values.
+    * @param parameters the {@link LearningParameters} to write.
+    * @param file the {@link File} to write to, replaced if it exists.
+    * @throws IOException if the file cannot be written.
+    */
+   public static void write( LearningParameters parameters, File file ) throws IOException {
+      int inputCount = 0;
+      int targetCount = 0;
+      int inputLayer = 0;
+      int targetLayer = 0;
+      Iterator< LearningParameter > iterator = parameters.iterator();
+      if ( iterator.hasNext() ){
+         LearningParameter first = iterator.next();
+         inputCount = first.getInputValues().length();
+         targetCount = first.getTargetValues().length();
+         inputLayer = first.getInputValues().getLayer();
+         targetLayer = first.getTargetValues().getLayer();
+      }
+
+      try ( FileChannel channel = FileChannel.open(
+               file.toPath(),
+               StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+      ) ){
+         ByteBuffer header = ByteBuffer.allocate( HEADER_BYTES ).order( ByteOrder.LITTLE_ENDIAN );
+         header.putInt( MAGIC ).putInt( VERSION );
+         header.putInt( inputCount ).putInt( targetCount );
+         header.putInt( inputLayer ).putInt( targetLayer );
+         header.putLong( parameters.size() );
+         header.flip();
+         writeFully( channel, header );
+
+         ByteBuffer buffer = ByteBuffer.allocateDirect( WRITE_BUFFER_VALUES * Double.BYTES ).order( ByteOrder.LITTLE_ENDIAN );
+         double[] input = new double[ inputCount ];
+         for ( int i = 0; i < parameters.size(); i++ ){
+            parameters.copyInput( i, input );
+            writeValues( channel, buffer, input );
+         }
+         double[] target = new double[ targetCount ];
+         for ( int i = 0; i < parameters.size(); i++ ){
+            parameters.copyTarget( i, target );
+            writeValues( channel, buffer, target );
+         }
+         buffer.flip();
+         writeFully( channel, buffer );
+      }
+   }// End Method
+
+   /**
+    * Method to add the values to the {@link ByteBuffer}, writing it to the {@link FileChannel} when full.
+    * @param channel the {@link FileChannel} to write to.
+    * @param buffer the {@link ByteBuffer} collecting values.
+    * @param values the values to add.
+    * @throws IOException if the values cannot be written.
+    */
+   private static void writeValues( FileChannel channel, ByteBuffer buffer, double[] values ) throws IOException {
+      for ( double value : values ){
+         if ( buffer.remaining() < Double.BYTES ){
+            buffer.flip();
+            writeFully( channel, buffer );
+            buffer.clear();
+         }
+         buffer.putDouble( value );
+      }
+   }// End Method
+
+   /**
+    * Method to write all remaining bytes of the {@link ByteBuffer} to the {@link FileChannel}.
+    * @param channel the {@link FileChannel} to write to.
+    * @param buffer the {@link ByteBuffer} to write.
+    * @throws IOException if the bytes cannot be written.
+    */
+   private static void writeFully( FileChannel channel, ByteBuffer buffer ) throws IOException {
+      while ( buffer.hasRemaining() ){
+         channel.write( buffer );
+      }
+   }// End Method
+
+   /**
+    * {@link MappedLearningParameters} are read only.
+    * @param parameter the {@link LearningParameter} that cannot be added.
+    */
+   @Override public void addLearningParameter( LearningParameter parameter ){
+      throw new UnsupportedOperationException( "Mapped learning parameters are read only." );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int size(){
+      return size;
+   }// End Method
+
+   /**
+    * Method to get the number of input values per {@link LearningParameter}.
+    * @return the number of input values.
+    */
+   public int getInputCount(){
+      return inputCount;
+   }// End Method
+
+   /**
+    * Method to get the number of target values per {@link LearningParameter}.
+    * @return the number of target values.
+    */
+   public int getTargetCount(){
+      return targetCount;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void copyInput( int index, double[] buffer ){
+      copyValues( inputSegments, inputsPerSegment, inputCount, index, buffer );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void copyTarget( int index, double[] buffer ){
+      copyValues( targetSegments, targetsPerSegment, targetCount, index, buffer );
+   }// End Method
+
+   /**
+    * Method to copy the values of a {@link LearningParameter} from the mapped segments into the buffer.
+    * @param segments the mapped segments of the column.
+    * @param recordsPerSegment the number of {@link LearningParameter}s in each segment.
+    * @param valuesPerRecord the number of values per {@link LearningParameter}.
+    * @param index the index of the {@link LearningParameter}.
+    * @param buffer the buffer to populate.
+    */
+   private void copyValues( DoubleBuffer[] segments, int recordsPerSegment, int valuesPerRecord, int index, double[] buffer ){
+      if ( index < 0 || index >= size ){
+         throw new IndexOutOfBoundsException( "Index " + index + " of " + size + "." );
+      }
+      if ( buffer.length != valuesPerRecord ){
+         throw new IllegalArgumentException( "Expected " + valuesPerRecord + " values but buffer holds " + buffer.length + "." );
+      }
+      DoubleBuffer segment = segments[ index / recordsPerSegment ];
+      int start = ( index % recordsPerSegment ) * valuesPerRecord;
+      for ( int i = 0; i < valuesPerRecord; i++ ){
+         buffer[ i ] = segment.get( start + i );
+      }
+   }// End Method
+
+   /**
+    * Method to get an {@link Iterator} constructing each {@link LearningParameter} from the mapped file as
+    * it is reached. The {@link LearningParameter}s are not retained.
+    * @return {@link Iterator} of {@link LearningParameter}s.
+    */
+   @Override public Iterator< LearningParameter > iterator(){
+      return new Iterator< LearningParameter >() {
+         private int index = 0;
+
+         @Override public boolean hasNext(){
+            return index < size;
+         }// End Method
+
+         @Override public LearningParameter next(){
+            if ( !hasNext() ){
+               throw new NoSuchElementException();
+            }
+            double[] input = new double[ inputCount ];
+            double[] target = new double[ targetCount ];
+            copyInput( index, input );
+            copyTarget( index, target );
+            index++;
+            return new LearningParameter()
+                     .inputValues( new PrimitiveNeuronValues( inputLayer, input ) )
+                     .targetValues( new PrimitiveNeuronValues( targetLayer, target ) );
+         }// End Method
+      };
+   }// End Method
+
+}// End Class
@@ -0,0 +1,184 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.structure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import architecture.utility.ReadOnlyArray;
+import model.singleton.LearningParameter;
+import model.singleton.LearningParameter.NeuronValue;
+import model.singleton.Neuron;
+
+/**
+ * The {@link PrimitiveNeuronValues} provides a compact, immutable representation of the values of
+ * a layer of {@link Neuron}s, held as a double array indexed by the {@link NetworkPosition} index of each
+ * {@link Neuron}. It is used by {@link LearningParameter}s in place of a {@link NeuronValueArray} so that
+ * large sets of values do not hold a property per value. A {@link NeuronValueArray} can be constructed
+ * from it when one is needed.
+ */
+public final class PrimitiveNeuronValues implements Iterable< NeuronValue > {
+
+   /** The layer of the {@link NetworkPosition}s of the values. **/
+   private final int layer;
+   /** The values, indexed by {@link NetworkPosition} index. **/
+   private final double[] values;
+
+   /**
+    * Constructs a new {@link PrimitiveNeuronValues}, copying the given values.
+    * @param layer the layer of the {@link NetworkPosition}s of the values.
+    * @param values the values, indexed by {@link NetworkPosition} index.
+    */
+   public PrimitiveNeuronValues( int layer, double... values ){
+      this.layer = layer;
+      this.values = Arrays.copyOf( values, values.length );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link PrimitiveNeuronValues} from the {@link NeuronValue}s given, which must be positioned
+    * in a single layer with each index from 0 to the number of values appearing once.
+    * @param neuronValues the {@link ReadOnlyArray} of {@link NeuronValue}s.
+    */
+   public PrimitiveNeuronValues( ReadOnlyArray< NeuronValue > neuronValues ){
+      this( neuronValues.iterator(), neuronValues.length() );
+   }// End Constructor
+
+   /**
+    * Constructs a new {@link PrimitiveNeuronValues} from the {@link NeuronValue}s given, which must be positioned
+    * in a single layer with each index from 0 to the number of values appearing once.
+    * @param iterator the {@link Iterator} of {@link NeuronValue}s.
+    * @param length the number of {@link NeuronValue}s provided.
+    */
+   private PrimitiveNeuronValues( Iterator< NeuronValue > iterator, int length ){
+      values = new double[ length ];
+      boolean[] populated = new boolean[ length ];
+      int valueLayer = 0;
+      for ( int i = 0; iterator.hasNext(); i++ ){
+         NeuronValue value = iterator.next();
+         NetworkPosition position = value.position;
+         if ( i == 0 ){
+            valueLayer = position.layer;
+         } else if ( position.layer != valueLayer ){
+            throw new IllegalArgumentException( "Values must be in a single layer: " + position.layer + "." );
+         }
+         if ( position.index < 0 || position.index >= length || populated[ position.index ] ){
+            throw new IllegalArgumentException( "Values must have unique indices from 0: " + position.index + "." );
+         }
+         populated[ position.index ] = true;
+         values[ position.index ] = value.value.get();
+      }
+      layer = valueLayer;
+   }// End Constructor
+
+   /**
+    * Method to construct a {@link PrimitiveNeuronValues} from {@link Number}s, using default {@link NetworkPosition}s
+    * on the input layer as {@link NeuronValueArray#NeuronValueArray(Number...)} does.
+    * @param values the {@link Number}s, in index order.
+    * @return the {@link PrimitiveNeuronValues}.
+    */
+   public static PrimitiveNeuronValues fromNumbers( Number... values ){
+      double[] primitives = new double[ values.length ];
+      for ( int i = 0; i < values.length; i++ ){
+         primitives[ i ] = values[ i ].doubleValue();
+      }
+      return new PrimitiveNeuronValues( 0, primitives );
+   }// End Method
+
+   /**
+    * Method to construct a {@link PrimitiveNeuronValues} from the {@link Iterator} of {@link NeuronValue}s.
+    * @param iterator the {@link Iterator} of {@link NeuronValue}s.
+    * @return the {@link PrimitiveNeuronValues}.
+    */
+   public static PrimitiveNeuronValues fromIterator( Iterator< NeuronValue > iterator ){
+      List< NeuronValue > neuronValues = new ArrayList< NeuronValue >();
+      iterator.forEachRemaining( value -> neuronValues.add( value ) );
+      return new PrimitiveNeuronValues( neuronValues.iterator(), neuronValues.size() );
+   }// End Method
+
+   /**
+    * Method to get the number of values.
+    * @return the length.
+    */
+   public int length(){
+      return values.length;
+   }// End Method
+
+   /**
+    * Method to get the value at the given index.
+    * @param index the {@link NetworkPosition} index of the value.
+    * @return the value.
+    */
+   public double get( int index ){
+      return values[ index ];
+   }// End Method
+
+   /**
+    * Method to get the layer of the {@link NetworkPosition}s of the values.
+    * @return the layer.
+    */
+   public int getLayer(){
+      return layer;
+   }// End Method
+
+   /**
+    * Method to copy the values into the buffer, by index.
+    * @param buffer the buffer to populate, at least {@link #length()} long.
+    */
+   public void copyInto( double[] buffer ){
+      System.arraycopy( values, 0, buffer, 0, values.length );
+   }// End Method
+
+   /**
+    * Method to copy the values into the buffer, by index, starting at the given offset.
+    * @param buffer the buffer to populate.
+    * @param offset the position in the buffer of the first value.
+    */
+   public void copyInto( double[] buffer, int offset ){
+      System.arraycopy( values, 0, buffer, offset, values.length );
+   }// End Method
+
+   /**
+    * Method to construct a new {@link NeuronValueArray} holding the same values and {@link NetworkPosition}s.
+    * Nothing is cached, each call constructs a new {@link NeuronValueArray}.
+    * @return the {@link NeuronValueArray}.
+    */
+   public NeuronValueArray toNeuronValueArray(){
+      NeuronValue[] neuronValues = new NeuronValue[ values.length ];
+      for ( int i = 0; i < values.length; i++ ){
+         neuronValues[ i ] = new NeuronValue( new NetworkPosition( layer, i ), values[ i ] );
+      }
+      return new NeuronValueArray( neuronValues );
+   }// End Method
+
+   /**
+    * Method to construct an {@link Iterator} of {@link NeuronValue}s, each constructed as iterated.
+    * @return the {@link Iterator}.
+    */
+   @Override public Iterator< NeuronValue > iterator(){
+      return new Iterator< NeuronValue >() {
+         private int index = 0;
+
+         @Override public boolean hasNext(){
+            return index < values.length;
+         }// End Method
+
+         @Override public NeuronValue next(){
+            if ( !hasNext() ){
+               throw new NoSuchElementException();
+            }
+            NeuronValue value = new NeuronValue( new NetworkPosition( layer, index ), values[ index ] );
+            index++;
+            return value;
+         }// End Method
+      };
+   }// End Method
+
+}// End Class
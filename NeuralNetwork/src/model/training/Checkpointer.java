@@ -0,0 +1,478 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.training;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link Checkpointer} periodically writes the weights of a {@link Trainable} to a directory while the
+ * {@link TrainingController} trains it, so that long training can be resumed after a crash. At each checkpoint the
+ * weights are copied on the training {@link Thread}, and that copy, never changed again, is written on a background
+ * {@link Thread} while training continues. Checkpoints can be full, or deltas holding only the weights changed since
+ * the previous checkpoint, with a full checkpoint every {@link CheckpointerBuilder#fullInterval(int)} checkpoints.
+ * Checkpoints older than the latest full checkpoint are deleted once it is written. The background {@link Thread} is
+ * started by the first checkpoint and stopped once training stops, or the {@link Checkpointer} is closed.
+ */
+public class Checkpointer implements AutoCloseable {
+
+   /** The number identifying checkpoint files, 'NNCK'. **/
+   static final int MAGIC_NUMBER = 0x4E4E434B;
+   /** The current version of checkpoint files. **/
+   static final int VERSION = 2;
+   /** The extension of full checkpoints. **/
+   static final String FULL_EXTENSION = "full";
+   /** The extension of delta checkpoints. **/
+   static final String DELTA_EXTENSION = "delta";
+   /** The {@link Pattern} of checkpoint file names, capturing the sequence and extension. **/
+   private static final Pattern FILE_PATTERN = Pattern.compile( "checkpoint-(\\d+)\\.(" + FULL_EXTENSION + "|" + DELTA_EXTENSION + ")" );
+
+   /**
+    * The {@link CheckpointerBuilder} provides a method of building a {@link Checkpointer} by configuring
+    * the {@link Checkpointer} during construction.
+    */
+   public static class CheckpointerBuilder {
+
+      /** The default number of checkpoints between full checkpoints. **/
+      public static final int DEFAULT_FULL_INTERVAL = 10;
+
+      /** The directory to write checkpoints to. **/
+      private final File directory;
+      /** The number of epochs between checkpoints, 0 if not by epoch. **/
+      private int epochInterval = 0;
+      /** The time between checkpoints in nanoseconds, 0 if not by time. **/
+      private long nanoInterval = 0;
+      /** Whether delta checkpoints are written between full checkpoints. **/
+      private boolean deltas = true;
+      /** The number of checkpoints between full checkpoints. **/
+      private int fullInterval = DEFAULT_FULL_INTERVAL;
+      /** Whether training resumes from the latest checkpoint. **/
+      private boolean resume = false;
+
+      /**
+       * Constructs a new {@link CheckpointerBuilder}.
+       * @param directory the directory to write checkpoints to, created if it does not exist.
+       */
+      public CheckpointerBuilder( File directory ){
+         this.directory = directory;
+      }// End Constructor
+
+      /**
+       * Method to configure a checkpoint every given number of epochs.
+       * @param epochs the number of epochs between checkpoints.
+       * @return the {@link CheckpointerBuilder}.
+       */
+      public CheckpointerBuilder everyEpochs( int epochs ){
+         if ( epochs <= 0 ){
+            throw new IllegalArgumentException( "Epoch interval must be positive: " + epochs + "." );
+         }
+         this.epochInterval = epochs;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure a checkpoint after the first epoch completing the given number of seconds
+       * since the last.
+       * @param seconds the number of seconds between checkpoints.
+       * @return the {@link CheckpointerBuilder}.
+       */
+      public CheckpointerBuilder everySeconds( long seconds ){
+         if ( seconds <= 0 ){
+            throw new IllegalArgumentException( "Time interval must be positive: " + seconds + "." );
+         }
+         this.nanoInterval = seconds * 1000000000L;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure whether delta checkpoints are written between full checkpoints.
+       * @param deltas true to write deltas, false to write every checkpoint in full.
+       * @return the {@link CheckpointerBuilder}.
+       */
+      public CheckpointerBuilder deltas( boolean deltas ){
+         this.deltas = deltas;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure the number of checkpoints between full checkpoints when writing deltas.
+       * @param fullInterval the number of checkpoints, including the full checkpoint.
+       * @return the {@link CheckpointerBuilder}.
+       */
+      public CheckpointerBuilder fullInterval( int fullInterval ){
+         if ( fullInterval <= 0 ){
+            throw new IllegalArgumentException( "Full interval must be positive: " + fullInterval + "." );
+         }
+         this.fullInterval = fullInterval;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure whether training resumes from the latest checkpoint in the directory.
+       * @param resume true to resume.
+       * @return the {@link CheckpointerBuilder}.
+       */
+      public CheckpointerBuilder resume( boolean resume ){
+         this.resume = resume;
+         return this;
+      }// End Method
+   }// End Class
+
+   /** The directory to write checkpoints to. **/
+   private final File directory;
+   /** The number of epochs between checkpoints, 0 if not by epoch. **/
+   private final int epochInterval;
+   /** The time between checkpoints in nanoseconds, 0 if not by time. **/
+   private final long nanoInterval;
+   /** Whether delta checkpoints are written between full checkpoints. **/
+   private final boolean deltas;
+   /** The number of checkpoints between full checkpoints. **/
+   private final int fullInterval;
+   /** Whether training resumes from the latest checkpoint. **/
+   private final boolean resume;
+   /** The single background {@link Thread} writing checkpoints in order, null until the first checkpoint. **/
+   private ExecutorService writer;
+   /** The {@link Future} of the last checkpoint submitted. **/
+   private Future< ? > lastWrite;
+   /** The weights of the last checkpoint, null if the next must be full. Never changed once taken. **/
+   private double[] previous;
+   /** The sequence of the next checkpoint. **/
+   private long sequence;
+   /** The number of checkpoints since the last full checkpoint. **/
+   private int sinceFull;
+   /** The epoch of the last checkpoint. **/
+   private int lastEpoch;
+   /** The time of the last checkpoint, from {@link System#nanoTime()}. **/
+   private long lastNanos;
+   /** Set by the writer when a checkpoint fails, so that the next is full. **/
+   private volatile boolean writeFailed;
+
+   /**
+    * Constructs a new {@link Checkpointer}.
+    * @param builder the {@link CheckpointerBuilder} providing the configuration.
+    */
+   public Checkpointer( CheckpointerBuilder builder ){
+      if ( builder.directory == null ){
+         throw new IllegalArgumentException( "A directory must be given for checkpoints." );
+      }
+      if ( builder.epochInterval == 0 && builder.nanoInterval == 0 ){
+         throw new IllegalArgumentException( "Checkpoints must be configured by epochs, time or both." );
+      }
+      directory = builder.directory;
+      epochInterval = builder.epochInterval;
+      nanoInterval = builder.nanoInterval;
+      deltas = builder.deltas;
+      fullInterval = builder.fullInterval;
+      resume = builder.resume;
+      directory.mkdirs();
+      List< long[] > existing = listCheckpoints();
+      sequence = existing.isEmpty() ? 0 : existing.get( existing.size() - 1 )[ 0 ] + 1;
+   }// End Constructor
+
+   /**
+    * Method to notify that training has started, restoring the weights of the {@link Trainable} from the latest
+    * checkpoint if configured to resume.
+    * @param trainable the {@link Trainable} being trained.
+    * @return the epoch of the checkpoint resumed from, 0 if not resumed.
+    */
+   public int trainingStarted( Trainable trainable ){
+      lastNanos = System.nanoTime();
+      lastEpoch = resume ? resume( trainable ) : 0;
+      return lastEpoch;
+   }// End Method
+
+   /**
+    * Method to notify that an epoch has completed, checkpointing if the interval has been reached.
+    * @param trainable the {@link Trainable} being trained.
+    * @param epoch the epoch completed.
+    */
+   public void epochCompleted( Trainable trainable, int epoch ){
+      boolean epochsReached = epochInterval > 0 && epoch - lastEpoch >= epochInterval;
+      boolean timeReached = nanoInterval > 0 && System.nanoTime() - lastNanos >= nanoInterval;
+      if ( epochsReached || timeReached ){
+         checkpoint( trainable, epoch );
+      }
+   }// End Method
+
+   /**
+    * Method to notify that training has stopped, checkpointing the final weights if not already, waiting
+    * for all checkpoints to be written and stopping the background {@link Thread}.
+    * @param trainable the {@link Trainable} trained.
+    * @param epoch the last epoch completed, that before any epoch stopped part way through.
+    */
+   public void trainingStopped( Trainable trainable, int epoch ){
+      if ( epoch != lastEpoch ){
+         checkpoint( trainable, epoch );
+      }
+      close();
+   }// End Method
+
+   /**
+    * Method to checkpoint the current weights of the {@link Trainable}. The weights are copied before returning,
+    * and written in the background.
+    * @param trainable the {@link Trainable} to checkpoint.
+    * @param epoch the epoch the weights were reached at.
+    */
+   public synchronized void checkpoint( Trainable trainable, int epoch ){
+      double[] snapshot = new double[ trainable.getWeightCount() ];
+      trainable.copyWeights( snapshot );
+
+      boolean full = !deltas || previous == null || previous.length != snapshot.length
+               || sinceFull >= fullInterval || writeFailed;
+      writeFailed = false;
+      double[] base = full ? null : previous;
+      long checkpointSequence = sequence++;
+      if ( writer == null ){
+         writer = Executors.newSingleThreadExecutor( runnable -> {
+            Thread thread = new Thread( runnable, "Checkpointer" );
+            thread.setDaemon( true );
+            return thread;
+         } );
+      }
+      lastWrite = writer.submit( () -> write( checkpointSequence, epoch, snapshot, base ) );
+
+      previous = snapshot;
+      sinceFull = full ? 1 : sinceFull + 1;
+      lastEpoch = epoch;
+      lastNanos = System.nanoTime();
+   }// End Method
+
+   /**
+    * Method to wait for all checkpoints submitted to be written.
+    */
+   public void awaitCompletion(){
+      Future< ? > pending;
+      synchronized ( this ){
+         pending = lastWrite;
+      }
+      if ( pending == null ){
+         return;
+      }
+      try {
+         pending.get();
+      } catch ( InterruptedException e ) {
+         Thread.currentThread().interrupt();
+      } catch ( ExecutionException e ) {
+         e.printStackTrace();
+      }
+   }// End Method
+
+   /**
+    * Method to wait for all checkpoints submitted to be written, then stop the background {@link Thread}. A later
+    * checkpoint starts a new one.
+    */
+   @Override public void close(){
+      awaitCompletion();
+      synchronized ( this ){
+         if ( writer != null ){
+            writer.shutdown();
+            writer = null;
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to write a checkpoint, on the background {@link Thread}.
+    * @param checkpointSequence the sequence of the checkpoint.
+    * @param epoch the epoch of the checkpoint.
+    * @param snapshot the weights to write.
+    * @param base the weights of the previous checkpoint to write the changes from, null to write in full.
+    */
+   private void write( long checkpointSequence, int epoch, double[] snapshot, double[] base ){
+      try {
+         ByteBuffer buffer;
+         if ( base == null ){
+            buffer = ByteBuffer.allocate( 4 * Integer.BYTES + snapshot.length * Double.BYTES );
+            writeHeader( buffer, epoch, snapshot.length );
+            buffer.asDoubleBuffer().put( snapshot );
+            buffer.position( buffer.position() + snapshot.length * Double.BYTES );
+         } else {
+            int changed = 0;
+            for ( int i = 0; i < snapshot.length; i++ ){
+               if ( Double.doubleToLongBits( snapshot[ i ] ) != Double.doubleToLongBits( base[ i ] ) ){
+                  changed++;
+               }
+            }
+            buffer = ByteBuffer.allocate( 5 * Integer.BYTES + changed * ( Integer.BYTES + Double.BYTES ) );
+            writeHeader( buffer, epoch, snapshot.length );
+            buffer.putInt( changed );
+            for ( int i = 0; i < snapshot.length; i++ ){
+               if ( Double.doubleToLongBits( snapshot[ i ] ) != Double.doubleToLongBits( base[ i ] ) ){
+                  buffer.putInt( i );
+                  buffer.putDouble( snapshot[ i ] );
+               }
+            }
+         }
+         buffer.flip();
+
+         Path target = fileFor( checkpointSequence, base == null ).toPath();
+         Path temporary = target.resolveSibling( target.getFileName() + ".tmp" );
+         try ( FileChannel channel = FileChannel.open(
+                  temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+         ) ) {
+            while ( buffer.hasRemaining() ){
+               channel.write( buffer );
+            }
+            channel.force( false );
+         }
+         Files.move( temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+
+         if ( base == null ){
+            for ( long[] checkpoint : listCheckpoints() ){
+               if ( checkpoint[ 0 ] < checkpointSequence ){
+                  fileFor( checkpoint[ 0 ], checkpoint[ 1 ] == 1 ).delete();
+               }
+            }
+         }
+      } catch ( IOException e ) {
+         writeFailed = true;
+         e.printStackTrace();
+         System.out.println( "Unable to write checkpoint " + checkpointSequence + "." );
+      }
+   }// End Method
+
+   /**
+    * Method to write the header of a checkpoint.
+    * @param buffer the {@link ByteBuffer} to write to.
+    * @param epoch the epoch of the checkpoint.
+    * @param weightCount the number of weights of the {@link Trainable}.
+    */
+   private static void writeHeader( ByteBuffer buffer, int epoch, int weightCount ){
+      buffer.putInt( MAGIC_NUMBER );
+      buffer.putInt( VERSION );
+      buffer.putInt( epoch );
+      buffer.putInt( weightCount );
+   }// End Method
+
+   /**
+    * Method to restore the weights of the {@link Trainable} from the latest full checkpoint and the deltas
+    * following it, without a gap in the sequence.
+    * @param trainable the {@link Trainable} to restore.
+    * @return the epoch of the checkpoint restored, 0 if there are no checkpoints.
+    */
+   public synchronized int resume( Trainable trainable ){
+      awaitCompletion();
+      List< long[] > checkpoints = listCheckpoints();
+      int start = -1;
+      for ( int c = checkpoints.size() - 1; c >= 0; c-- ){
+         if ( checkpoints.get( c )[ 1 ] == 1 ){
+            start = c;
+            break;
+         }
+      }
+      if ( start < 0 ){
+         return 0;
+      }
+
+      double[] weights = new double[ trainable.getWeightCount() ];
+      int epoch = 0;
+      for ( int c = start; c < checkpoints.size(); c++ ){
+         long[] checkpoint = checkpoints.get( c );
+         if ( c > start && checkpoint[ 0 ] != checkpoints.get( c - 1 )[ 0 ] + 1 ){
+            break;
+         }
+         epoch = read( fileFor( checkpoint[ 0 ], checkpoint[ 1 ] == 1 ), weights );
+      }
+      trainable.restoreWeights( weights );
+      previous = null;
+      return epoch;
+   }// End Method
+
+   /**
+    * Method to read a checkpoint into the weights, replacing all for a full checkpoint and those changed for a delta.
+    * @param file the checkpoint {@link File}.
+    * @param weights the weights to update.
+    * @return the epoch of the checkpoint.
+    */
+   private static int read( File file, double[] weights ){
+      try {
+         ByteBuffer buffer = ByteBuffer.wrap( Files.readAllBytes( file.toPath() ) );
+         if ( buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != VERSION ){
+            throw new IllegalStateException( file.getName() + " is not a supported checkpoint." );
+         }
+         int epoch = buffer.getInt();
+         int weightCount = buffer.getInt();
+         if ( weightCount != weights.length ){
+            throw new IllegalStateException(
+                     file.getName() + " has " + weightCount + " weights, expected " + weights.length + "."
+            );
+         }
+         if ( file.getName().endsWith( FULL_EXTENSION ) ){
+            buffer.asDoubleBuffer().get( weights );
+         } else {
+            int changed = buffer.getInt();
+            for ( int i = 0; i < changed; i++ ){
+               int index = buffer.getInt();
+               weights[ index ] = buffer.getDouble();
+            }
+         }
+         return epoch;
+      } catch ( IOException e ) {
+         throw new IllegalStateException( "Unable to read " + file.getName() + ".", e );
+      }
+   }// End Method
+
+   /**
+    * Method to get the {@link File} of the checkpoint with the given sequence.
+    * @param checkpointSequence the sequence of the checkpoint.
+    * @param full whether the checkpoint is full.
+    * @return the {@link File}.
+    */
+   private File fileFor( long checkpointSequence, boolean full ){
+      return new File( directory, String.format(
+               "checkpoint-%012d.%s", checkpointSequence, full ? FULL_EXTENSION : DELTA_EXTENSION
+      ) );
+   }// End Method
+
+   /**
+    * Method to list the checkpoints in the directory.
+    * @return the sequence of each checkpoint and 1 if full or 0 if a delta, in sequence order.
+    */
+   private List< long[] > listCheckpoints(){
+      List< long[] > checkpoints = new ArrayList< long[] >();
+      String[] names = directory.list();
+      if ( names == null ){
+         return checkpoints;
+      }
+      for ( String name : names ){
+         Matcher matcher = FILE_PATTERN.matcher( name );
+         if ( matcher.matches() ){
+            checkpoints.add( new long[]{
+                     Long.parseLong( matcher.group( 1 ) ),
+                     FULL_EXTENSION.equals( matcher.group( 2 ) ) ? 1 : 0
+            } );
+         }
+      }
+      Collections.sort( checkpoints, ( a, b ) -> Long.compare( a[ 0 ], b[ 0 ] ) );
+      return checkpoints;
+   }// End Method
+
+   /**
+    * Method to get the directory checkpoints are written to.
+    * @return the directory.
+    */
+   public File getDirectory(){
+      return directory;
+   }// End Method
+
+}// End Class
@@ -0,0 +1,31 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.training;
+
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+
+/**
+ * The {@link EpochProgress} is notified by a {@link Trainable} after each batch of an epoch is applied, so that
+ * the progress through the {@link LearningParameters} can be reported and the epoch stopped part way through.
+ */
+@FunctionalInterface
+public interface EpochProgress {
+
+   /** An {@link EpochProgress} that ignores progress and never stops the epoch. **/
+   public static final EpochProgress UNINTERRUPTED = ( samples, total ) -> true;
+
+   /**
+    * Method to notify that a batch has been applied.
+    * @param samples the number of {@link LearningParameter}s learnt so far in the epoch.
+    * @param total the number of {@link LearningParameter}s in the epoch.
+    * @return true to continue the epoch, false to stop it without learning the remaining {@link LearningParameter}s.
+    */
+   public boolean batchCompleted( int samples, int total );
+
+}// End Interface
@@ -0,0 +1,537 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.training;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import export.csv.CsvFileContents;
+import model.function.activation.ActivationFunction;
+import model.network.Perceptron;
+import model.network.dense.BatchLearner;
+import model.network.dense.DensePerceptron;
+import model.structure.LearningParameters;
+import model.training.TrainingController.StopReason;
+import model.training.TrainingController.TrainingControllerBuilder;
+
+/**
+ * The {@link HyperparameterSweep} trains independent copies of a {@link Perceptron} with every combination,
+ * or a random sample of the combinations, of learning rate, batch size and {@link ActivationFunction}. The
+ * copies are trained concurrently on a bounded pool of {@link Thread}s, each evaluated against held out
+ * {@link LearningParameters}, and the {@link SweepResult}s ranked by their held out loss. The {@link Perceptron}
+ * is compiled once, and each copy {@link DensePerceptron#detach()}ed from it as its training starts, so the
+ * {@link Perceptron} itself is never changed. Only the best trained copy is kept once training finishes.
+ */
+public class HyperparameterSweep {
+
+   /** The names of the columns written by {@link #toCsv(List)}. **/
+   static final String[] COLUMNS = {
+            "Rank", "LearningRate", "BatchSize", "Activation", "StopReason", "Epochs",
+            "TrainingLoss", "TrainingAccuracy", "ValidationLoss", "ValidationAccuracy", "TrainingMillis"
+   };
+
+   /**
+    * The {@link HyperparameterSweepBuilder} provides a method of building a {@link HyperparameterSweep} by
+    * configuring the {@link HyperparameterSweep} during construction.
+    */
+   public static class HyperparameterSweepBuilder {
+
+      /** The learning rates to try. **/
+      private double[] learningRates = { DensePerceptron.DEFAULT_LEARNING_RATE };
+      /** The batch sizes to try. **/
+      private int[] batchSizes = { 1 };
+      /** The {@link ActivationFunction}s to try, empty to use that of the {@link Perceptron}. **/
+      private ActivationFunction[] activations = {};
+      /** The number of combinations to sample at random, 0 to try every combination. **/
+      private int samples = 0;
+      /** The seed of the random sample. **/
+      private long seed = 0;
+      /** The number of {@link Thread}s to train on. **/
+      private int threads = Runtime.getRuntime().availableProcessors();
+      /** The {@link TrainingControllerBuilder} configuring the training of each combination. **/
+      private TrainingControllerBuilder training = new TrainingControllerBuilder();
+
+      /**
+       * Constructs a new {@link HyperparameterSweepBuilder}.
+       */
+      public HyperparameterSweepBuilder(){}
+
+      /**
+       * Method to configure the learning rates to try.
+       * @param learningRates the learning rates.
+       * @return the {@link HyperparameterSweepBuilder}.
+       */
+      public HyperparameterSweepBuilder learningRates( double... learningRates ){
+         if ( learningRates.length == 0 ){
+            throw new IllegalArgumentException( "At least one learning rate must be given." );
+         }
+         this.learningRates = learningRates.clone();
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure the batch sizes to try.
+       * @param batchSizes the batch sizes, each positive.
+       * @return the {@link HyperparameterSweepBuilder}.
+       */
+      public HyperparameterSweepBuilder batchSizes( int... batchSizes ){
+         if ( batchSizes.length == 0 ){
+            throw new IllegalArgumentException( "At least one batch size must be given." );
+         }
+         for ( int batchSize : batchSizes ){
+            if ( batchSize <= 0 ){
+               throw new IllegalArgumentException( "Batch size must be positive: " + batchSize + "." );
+            }
+         }
+         this.batchSizes = batchSizes.clone();
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure the {@link ActivationFunction}s of the output layer to try.
+       * @param activations the {@link ActivationFunction}s.
+       * @return the {@link HyperparameterSweepBuilder}.
+       */
+      public HyperparameterSweepBuilder activations( ActivationFunction... activations ){
+         this.activations = activations.clone();
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure a random search, trying a sample of the combinations rather than all of them.
+       * @param samples the number of combinations to try, all if at least the number of combinations.
+       * @param seed the seed of the sample, so that a search can be repeated.
+       * @return the {@link HyperparameterSweepBuilder}.
+       */
+      public HyperparameterSweepBuilder randomSearch( int samples, long seed ){
+         if ( samples <= 0 ){
+            throw new IllegalArgumentException( "Samples must be positive: " + samples + "." );
+         }
+         this.samples = samples;
+         this.seed = seed;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure the number of {@link Thread}s to train on.
+       * @param threads the number of {@link Thread}s, by default the number of processors.
+       * @return the {@link HyperparameterSweepBuilder}.
+       */
+      public HyperparameterSweepBuilder threads( int threads ){
+         if ( threads <= 0 ){
+            throw new IllegalArgumentException( "Threads must be positive: " + threads + "." );
+         }
+         this.threads = threads;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure the training of each combination. Any {@link TrainingListener}s are notified
+       * from the {@link Thread}s training, concurrently.
+       * @param training the {@link TrainingControllerBuilder}, without a {@link Checkpointer}.
+       * @return the {@link HyperparameterSweepBuilder}.
+       * @throws IllegalArgumentException if a {@link Checkpointer} is configured, since the combinations
+       * would share its directory and resume from each other.
+       */
+      public HyperparameterSweepBuilder training( TrainingControllerBuilder training ){
+         checkNoCheckpointer( training );
+         this.training = training;
+         return this;
+      }// End Method
+   }// End Class
+
+   /**
+    * The {@link Hyperparameters} define a single combination tried by the {@link HyperparameterSweep}.
+    */
+   public static class Hyperparameters {
+
+      /** The learning rate of every weight. **/
+      private final double learningRate;
+      /** The number of {@link model.singleton.LearningParameter}s per batch. **/
+      private final int batchSize;
+      /** The {@link ActivationFunction} of the output layer. **/
+      private final ActivationFunction activation;
+
+      /**
+       * Constructs a new {@link Hyperparameters}.
+       * @param learningRate the learning rate of every weight.
+       * @param batchSize the number of {@link model.singleton.LearningParameter}s per batch.
+       * @param activation the {@link ActivationFunction} of the output layer.
+       */
+      public Hyperparameters( double learningRate, int batchSize, ActivationFunction activation ){
+         this.learningRate = learningRate;
+         this.batchSize = batchSize;
+         this.activation = activation;
+      }// End Constructor
+
+      /**
+       * Method to get the learning rate of every weight.
+       * @return the learning rate.
+       */
+      public double getLearningRate(){
+         return learningRate;
+      }// End Method
+
+      /**
+       * Method to get the number of {@link model.singleton.LearningParameter}s per batch.
+       * @return the batch size.
+       */
+      public int getBatchSize(){
+         return batchSize;
+      }// End Method
+
+      /**
+       * Method to get the {@link ActivationFunction} of the output layer.
+       * @return the {@link ActivationFunction}.
+       */
+      public ActivationFunction getActivation(){
+         return activation;
+      }// End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public String toString(){
+         return "learning rate " + learningRate + ", batch size " + batchSize + ", " + activation;
+      }// End Method
+   }// End Class
+
+   /**
+    * The {@link SweepResult} holds the outcome of training a single combination of {@link Hyperparameters}.
+    */
+   public static class SweepResult {
+
+      /** The {@link Hyperparameters} trained with. **/
+      private final Hyperparameters hyperparameters;
+      /** The {@link StopReason} training stopped. **/
+      private final StopReason stopReason;
+      /** The {@link TrainingMetrics} of the final epoch against the training {@link LearningParameters}. **/
+      private final TrainingMetrics training;
+      /** The {@link TrainingMetrics} against the held out {@link LearningParameters}. **/
+      private final TrainingMetrics validation;
+      /** The trained copy of the {@link Perceptron}, only kept for the best {@link SweepResult}. **/
+      private final DensePerceptron trained;
+      /** The time spent learning in nanoseconds. **/
+      private final long trainingNanos;
+
+      /**
+       * Constructs a new {@link SweepResult}.
+       * @param hyperparameters the {@link Hyperparameters} trained with.
+       * @param stopReason the {@link StopReason} training stopped.
+       * @param training the {@link TrainingMetrics} of the final epoch.
+       * @param validation the {@link TrainingMetrics} against the held out {@link LearningParameters}.
+       * @param trained the trained copy of the {@link Perceptron}, null if not kept.
+       * @param trainingNanos the time spent learning.
+       */
+      SweepResult(
+               Hyperparameters hyperparameters,
+               StopReason stopReason,
+               TrainingMetrics training,
+               TrainingMetrics validation,
+               DensePerceptron trained,
+               long trainingNanos
+      ){
+         this.hyperparameters = hyperparameters;
+         this.stopReason = stopReason;
+         this.training = training;
+         this.validation = validation;
+         this.trained = trained;
+         this.trainingNanos = trainingNanos;
+      }// End Constructor
+
+      /**
+       * Method to get the {@link Hyperparameters} trained with.
+       * @return the {@link Hyperparameters}.
+       */
+      public Hyperparameters getHyperparameters(){
+         return hyperparameters;
+      }// End Method
+
+      /**
+       * Method to get the reason training stopped.
+       * @return the {@link StopReason}.
+       */
+      public StopReason getStopReason(){
+         return stopReason;
+      }// End Method
+
+      /**
+       * Method to get the {@link TrainingMetrics} of the final epoch against the training {@link LearningParameters}.
+       * @return the {@link TrainingMetrics}.
+       */
+      public TrainingMetrics getTrainingMetrics(){
+         return training;
+      }// End Method
+
+      /**
+       * Method to get the {@link TrainingMetrics} against the held out {@link LearningParameters}.
+       * @return the {@link TrainingMetrics}.
+       */
+      public TrainingMetrics getValidationMetrics(){
+         return validation;
+      }// End Method
+
+      /**
+       * Method to get the trained copy of the {@link Perceptron}, in array form until
+       * {@link DensePerceptron#getPerceptron()} is requested. Only the best {@link SweepResult} keeps its copy.
+       * @return the {@link DensePerceptron}, null for all but the best {@link SweepResult}.
+       */
+      public DensePerceptron getTrained(){
+         return trained;
+      }// End Method
+
+      /**
+       * Method to get the time spent learning, excluding evaluation.
+       * @return the time in nanoseconds.
+       */
+      public long getTrainingNanos(){
+         return trainingNanos;
+      }// End Method
+
+      /**
+       * Method to construct a copy of this {@link SweepResult} holding the given trained copy.
+       * @param trained the trained copy of the {@link Perceptron}.
+       * @return the {@link SweepResult}.
+       */
+      private SweepResult withTrained( DensePerceptron trained ){
+         return new SweepResult( hyperparameters, stopReason, training, validation, trained, trainingNanos );
+      }// End Method
+   }// End Class
+
+   /**
+    * The {@link BestTrained} holds the trained copy of the best {@link SweepResult} so far, offered from
+    * the {@link Thread}s training, so that every other copy can be discarded as soon as it is beaten.
+    */
+   private static class BestTrained {
+
+      /** The best {@link SweepResult} so far. **/
+      private SweepResult result;
+      /** The index of the combination of the best {@link SweepResult}, breaking ties as the ranking does. **/
+      private int index;
+      /** The trained copy of the best {@link SweepResult}. **/
+      private DensePerceptron trained;
+
+      /**
+       * Method to offer the trained copy of a combination, kept only if it ranks above the best so far.
+       * @param candidate the {@link SweepResult} of the combination.
+       * @param candidateIndex the index of the combination.
+       * @param copy the trained copy.
+       */
+      synchronized void offer( SweepResult candidate, int candidateIndex, DensePerceptron copy ){
+         if ( result != null ){
+            int comparison = RANKING.compare( candidate, result );
+            if ( comparison > 0 || ( comparison == 0 && candidateIndex > index ) ){
+               return;
+            }
+         }
+         result = candidate;
+         index = candidateIndex;
+         trained = copy;
+      }// End Method
+   }// End Class
+
+   /** Orders {@link SweepResult}s by lowest held out loss, then highest held out accuracy. **/
+   static final Comparator< SweepResult > RANKING = Comparator
+            .comparingDouble( ( SweepResult result ) -> result.getValidationMetrics().getLoss() )
+            .thenComparing( Comparator.comparingDouble(
+                     ( SweepResult result ) -> result.getValidationMetrics().getAccuracy()
+            ).reversed() );
+
+   /** The learning rates to try. **/
+   private final double[] learningRates;
+   /** The batch sizes to try. **/
+   private final int[] batchSizes;
+   /** The {@link ActivationFunction}s to try, empty to use that of the {@link Perceptron}. **/
+   private final ActivationFunction[] activations;
+   /** The number of combinations to sample at random, 0 to try every combination. **/
+   private final int samples;
+   /** The seed of the random sample. **/
+   private final long seed;
+   /** The number of {@link Thread}s to train on. **/
+   private final int threads;
+   /** The {@link TrainingControllerBuilder} configuring the training of each combination. **/
+   private final TrainingControllerBuilder training;
+
+   /**
+    * Constructs a new {@link HyperparameterSweep}.
+    * @param builder the {@link HyperparameterSweepBuilder} providing the configuration.
+    */
+   public HyperparameterSweep( HyperparameterSweepBuilder builder ){
+      learningRates = builder.learningRates;
+      batchSizes = builder.batchSizes;
+      activations = builder.activations;
+      samples = builder.samples;
+      seed = builder.seed;
+      threads = builder.threads;
+      training = builder.training;
+   }// End Constructor
+
+   /**
+    * Method to check that the {@link TrainingControllerBuilder} has no {@link Checkpointer}, which would be shared
+    * by every combination.
+    * @param training the {@link TrainingControllerBuilder} to check.
+    * @throws IllegalArgumentException if a {@link Checkpointer} is configured.
+    */
+   private static void checkNoCheckpointer( TrainingControllerBuilder training ){
+      if ( training.hasCheckpointer() ){
+         throw new IllegalArgumentException( "A Checkpointer cannot be shared by the combinations of a sweep." );
+      }
+   }// End Method
+
+   /**
+    * Method to list the combinations of {@link Hyperparameters} to try, every combination or the random sample.
+    * @param defaultActivation the {@link ActivationFunction} to use if none are configured.
+    * @return the {@link Hyperparameters}.
+    */
+   List< Hyperparameters > combinations( ActivationFunction defaultActivation ){
+      ActivationFunction[] activationsToTry = activations.length == 0 ? new ActivationFunction[]{ defaultActivation } : activations;
+      List< Hyperparameters > combinations = new ArrayList< Hyperparameters >();
+      for ( double learningRate : learningRates ){
+         for ( int batchSize : batchSizes ){
+            for ( ActivationFunction activation : activationsToTry ){
+               combinations.add( new Hyperparameters( learningRate, batchSize, activation ) );
+            }
+         }
+      }
+      if ( samples > 0 && samples < combinations.size() ){
+         Collections.shuffle( combinations, new Random( seed ) );
+         return new ArrayList< Hyperparameters >( combinations.subList( 0, samples ) );
+      }
+      return combinations;
+   }// End Method
+
+   /**
+    * Method to train a copy of the {@link Perceptron} for every combination of {@link Hyperparameters}, concurrently,
+    * returning when all have finished.
+    * @param perceptron the {@link Perceptron} to copy, not changed.
+    * @param trainingParameters the {@link LearningParameters} to learn.
+    * @param validationParameters the held out {@link LearningParameters} to rank against.
+    * @return the {@link SweepResult}s, best first, only the first holding its trained copy.
+    * @throws IllegalArgumentException if a {@link Checkpointer} has since been configured for the training.
+    */
+   public List< SweepResult > run( Perceptron perceptron, LearningParameters trainingParameters, LearningParameters validationParameters ){
+      checkNoCheckpointer( training );
+      DensePerceptron compiled = new DensePerceptron( perceptron );
+      List< Hyperparameters > combinations = combinations( compiled.getLayer().getActivation() );
+
+      ExecutorService pool = Executors.newFixedThreadPool( Math.min( threads, combinations.size() ), runnable -> {
+         Thread thread = new Thread( runnable, "HyperparameterSweep" );
+         thread.setDaemon( true );
+         return thread;
+      } );
+      try {
+         BestTrained best = new BestTrained();
+         List< Future< SweepResult > > futures = new ArrayList< Future< SweepResult > >();
+         for ( int c = 0; c < combinations.size(); c++ ){
+            Hyperparameters hyperparameters = combinations.get( c );
+            int index = c;
+            Callable< SweepResult > task = () -> {
+               DensePerceptron copy = compiled.detach( hyperparameters.getActivation() );
+               SweepResult result = train( hyperparameters, copy, trainingParameters, validationParameters );
+               best.offer( result, index, copy );
+               return result;
+            };
+            futures.add( pool.submit( task ) );
+         }
+
+         List< SweepResult > results = new ArrayList< SweepResult >();
+         for ( Future< SweepResult > future : futures ){
+            results.add( future.get() );
+         }
+         Collections.sort( results, RANKING );
+         results.set( results.indexOf( best.result ), best.result.withTrained( best.trained ) );
+         return results;
+      } catch ( InterruptedException exception ) {
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException( "Interrupted during the sweep.", exception );
+      } catch ( ExecutionException exception ) {
+         throw new IllegalStateException( "Unable to train a combination.", exception.getCause() );
+      } finally {
+         pool.shutdownNow();
+      }
+   }// End Method
+
+   /**
+    * Method to train and evaluate a single combination of {@link Hyperparameters}, on a pooled {@link Thread}.
+    * @param hyperparameters the {@link Hyperparameters} to train with.
+    * @param copy the detached copy of the {@link Perceptron} to train.
+    * @param trainingParameters the {@link LearningParameters} to learn.
+    * @param validationParameters the held out {@link LearningParameters}.
+    * @return the {@link SweepResult}, without the trained copy.
+    */
+   private SweepResult train(
+            Hyperparameters hyperparameters,
+            DensePerceptron copy,
+            LearningParameters trainingParameters,
+            LearningParameters validationParameters
+   ){
+      copy.setLearningRate( hyperparameters.getLearningRate() );
+      BatchLearner learner = new BatchLearner( copy, hyperparameters.getBatchSize() );
+      TrainingController controller = new TrainingController( training );
+      StopReason stopReason = controller.train( learner, trainingParameters );
+      TrainingMetrics validation = controller.evaluate(
+               learner,
+               validationParameters,
+               controller.getLastMetrics().getEpoch(),
+               0,
+               new double[ learner.getInputCount() ],
+               new double[ learner.getOutputCount() ],
+               new double[ learner.getOutputCount() ]
+      );
+      return new SweepResult(
+               hyperparameters, stopReason, controller.getLastMetrics(), validation, null, controller.getTotalTrainingNanos()
+      );
+   }// End Method
+
+   /**
+    * Method to tabulate the {@link SweepResult}s as {@link CsvFileContents}, with a row of {@link #COLUMNS} first.
+    * @param results the {@link SweepResult}s, in rank order.
+    * @return the {@link CsvFileContents}.
+    */
+   public static CsvFileContents toCsv( List< SweepResult > results ){
+      CsvFileContents contents = new CsvFileContents( "HyperparameterSweep" );
+      contents.addRow( COLUMNS.clone() );
+      for ( int r = 0; r < results.size(); r++ ){
+         SweepResult result = results.get( r );
+         contents.addRow(
+                  Integer.toString( r + 1 ),
+                  Double.toString( result.getHyperparameters().getLearningRate() ),
+                  Integer.toString( result.getHyperparameters().getBatchSize() ),
+                  result.getHyperparameters().getActivation().toString(),
+                  result.getStopReason().name(),
+                  Integer.toString( result.getTrainingMetrics().getEpoch() ),
+                  Double.toString( result.getTrainingMetrics().getLoss() ),
+                  Double.toString( result.getTrainingMetrics().getAccuracy() ),
+                  Double.toString( result.getValidationMetrics().getLoss() ),
+                  Double.toString( result.getValidationMetrics().getAccuracy() ),
+                  Long.toString( result.getTrainingNanos() / 1000000 )
+         );
+      }
+      return contents;
+   }// End Method
+
+   /**
+    * Method to write the {@link SweepResult}s as csv, as {@link #toCsv(List)}.
+    * @param results the {@link SweepResult}s, in rank order.
+    * @param writer the {@link Writer} to write to, closed when done.
+    * @return true if successfully written.
+    */
+   public static boolean writeCsv( List< SweepResult > results, Writer writer ){
+      return toCsv( results ).write( writer );
+   }// End Method
+
+}// End Class
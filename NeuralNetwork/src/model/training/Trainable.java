@@ -0,0 +1,73 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.training;
+
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+
+/**
+ * The {@link Trainable} interface defines a network, in its learning form, that can be taught
+ * one epoch at a time by the {@link TrainingController} and evaluated against the {@link LearningParameters}
+ * between epochs. The weights can be copied out and restored as a flat array, for {@link Checkpointer}s.
+ */
+public interface Trainable {
+
+   /**
+    * Method to learn each {@link LearningParameter} once, without reporting progress.
+    * @param parameters the {@link LearningParameters} to learn.
+    */
+   public default void trainEpoch( LearningParameters parameters ){
+      trainEpoch( parameters, EpochProgress.UNINTERRUPTED );
+   }// End Method
+
+   /**
+    * Method to learn each {@link LearningParameter} once, notifying the {@link EpochProgress} after every batch
+    * applied, including the last, and stopping after the batch if it asks to.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param progress the {@link EpochProgress} to notify.
+    */
+   public void trainEpoch( LearningParameters parameters, EpochProgress progress );
+
+   /**
+    * Method to fire the input buffer through the network into the output buffer, using the current weights.
+    * @param inputValues the input values, one per input.
+    * @param outputValues the buffer to populate, one per output.
+    */
+   public void fire( double[] inputValues, double[] outputValues );
+
+   /**
+    * Method to get the number of input values.
+    * @return the number of inputs.
+    */
+   public int getInputCount();
+
+   /**
+    * Method to get the number of output values.
+    * @return the number of outputs.
+    */
+   public int getOutputCount();
+
+   /**
+    * Method to get the number of weights of the network, including those of the bias, across all layers.
+    * @return the number of weights.
+    */
+   public int getWeightCount();
+
+   /**
+    * Method to copy the current weights of the network into the given array, layer by layer.
+    * @param weights the array to populate, {@link #getWeightCount()} long.
+    */
+   public void copyWeights( double[] weights );
+
+   /**
+    * Method to replace the weights of the network with those given, as copied by {@link #copyWeights(double[])}.
+    * @param weights the weights to restore, {@link #getWeightCount()} long.
+    */
+   public void restoreWeights( double[] weights );
+
+}// End Interface
@@ -0,0 +1,399 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.training;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+
+/**
+ * The {@link TrainingController} is responsible for teaching a {@link Trainable} epoch by epoch until it
+ * converges, stops improving or reaches the maximum number of epochs. After each epoch the loss and accuracy
+ * are measured against the {@link LearningParameters} and reported to the {@link TrainingListener}s as
+ * {@link TrainingMetrics}.
+ */
+public class TrainingController {
+
+   /** Enum defining the reasons training can stop. **/
+   public enum StopReason {
+      /** The loss or accuracy threshold was achieved. **/
+      Converged,
+      /** The loss did not improve within the patience. **/
+      NoImprovement,
+      /** The maximum number of epochs was reached. **/
+      MaximumEpochs,
+      /** Training was cancelled with {@link TrainingController#cancel()}. **/
+      Cancelled;
+   }// End Enum
+
+   /**
+    * The {@link TrainingControllerBuilder} provides a method of building a {@link TrainingController} by
+    * configuring the {@link TrainingController} during construction.
+    */
+   public static class TrainingControllerBuilder {
+
+      /** The default maximum number of epochs. **/
+      public static final int DEFAULT_MAXIMUM_EPOCHS = 10000;
+      /** The default difference between an output and its target for it to be satisfied. **/
+      public static final double DEFAULT_TOLERANCE = 0.5;
+
+      /** The maximum number of epochs to train. **/
+      private int maximumEpochs = DEFAULT_MAXIMUM_EPOCHS;
+      /** The loss at or below which training has converged. **/
+      private double lossThreshold = 0;
+      /** The accuracy at or above which training has converged. **/
+      private double accuracyThreshold = 1;
+      /** The number of epochs without improvement to allow, 0 to never stop early. **/
+      private int patience = 0;
+      /** The reduction in loss considered to be an improvement. **/
+      private double minimumImprovement = 0;
+      /** The difference between an output and its target for it to be satisfied. **/
+      private double tolerance = DEFAULT_TOLERANCE;
+      /** The {@link TrainingListener}s to notify. **/
+      private List< TrainingListener > listeners = new ArrayList< TrainingListener >();
+      /** The {@link Checkpointer} writing checkpoints, null for none. **/
+      private Checkpointer checkpointer;
+
+      /**
+       * Constructs a new {@link TrainingControllerBuilder}.
+       */
+      public TrainingControllerBuilder(){}
+
+      /**
+       * Method to configure the maximum number of epochs.
+       * @param maximumEpochs the maximum number of epochs to train.
+       * @return the {@link TrainingControllerBuilder}.
+       */
+      public TrainingControllerBuilder maximumEpochs( int maximumEpochs ){
+         if ( maximumEpochs <= 0 ){
+            throw new IllegalArgumentException( "Maximum epochs must be positive: " + maximumEpochs + "." );
+         }
+         this.maximumEpochs = maximumEpochs;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure the loss at or below which training has converged.
+       * @param lossThreshold the mean squared error to achieve.
+       * @return the {@link TrainingControllerBuilder}.
+       */
+      public TrainingControllerBuilder lossThreshold( double lossThreshold ){
+         this.lossThreshold = lossThreshold;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure the accuracy at or above which training has converged.
+       * @param accuracyThreshold the proportion of {@link LearningParameter}s to satisfy, between 0 and 1.
+       * Greater than 1 will never converge on accuracy.
+       * @return the {@link TrainingControllerBuilder}.
+       */
+      public TrainingControllerBuilder accuracyThreshold( double accuracyThreshold ){
+         this.accuracyThreshold = accuracyThreshold;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure early stopping when the loss does not improve.
+       * @param patience the number of epochs without improvement before stopping.
+       * @param minimumImprovement the reduction in loss considered to be an improvement.
+       * @return the {@link TrainingControllerBuilder}.
+       */
+      public TrainingControllerBuilder patience( int patience, double minimumImprovement ){
+         if ( patience < 0 ){
+            throw new IllegalArgumentException( "Patience must not be negative: " + patience + "." );
+         }
+         this.patience = patience;
+         this.minimumImprovement = minimumImprovement;
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure the difference allowed between an output and its target for the output to be satisfied.
+       * @param tolerance the tolerance, exclusive.
+       * @return the {@link TrainingControllerBuilder}.
+       */
+      public TrainingControllerBuilder tolerance( double tolerance ){
+         this.tolerance = tolerance;
+         return this;
+      }// End Method
+
+      /**
+       * Method to add a {@link TrainingListener} to notify.
+       * @param listener the {@link TrainingListener}.
+       * @return the {@link TrainingControllerBuilder}.
+       */
+      public TrainingControllerBuilder listener( TrainingListener listener ){
+         listeners.add( listener );
+         return this;
+      }// End Method
+
+      /**
+       * Method to configure a {@link Checkpointer} to write checkpoints while training, and to resume from.
+       * @param checkpointer the {@link Checkpointer}.
+       * @return the {@link TrainingControllerBuilder}.
+       */
+      public TrainingControllerBuilder checkpointer( Checkpointer checkpointer ){
+         this.checkpointer = checkpointer;
+         return this;
+      }// End Method
+
+      /**
+       * Method to determine whether a {@link Checkpointer} has been configured.
+       * @return true if {@link TrainingController}s built will checkpoint.
+       */
+      boolean hasCheckpointer(){
+         return checkpointer != null;
+      }// End Method
+   }// End Class
+
+   /** The maximum number of epochs to train. **/
+   private final int maximumEpochs;
+   /** The loss at or below which training has converged. **/
+   private final double lossThreshold;
+   /** The accuracy at or above which training has converged. **/
+   private final double accuracyThreshold;
+   /** The number of epochs without improvement to allow, 0 to never stop early. **/
+   private final int patience;
+   /** The reduction in loss considered to be an improvement. **/
+   private final double minimumImprovement;
+   /** The difference between an output and its target for it to be satisfied. **/
+   private final double tolerance;
+   /** The {@link TrainingListener}s to notify. **/
+   private final List< TrainingListener > listeners;
+   /** The {@link Checkpointer} writing checkpoints, null for none. **/
+   private final Checkpointer checkpointer;
+   /** The {@link TrainingMetrics} of the last epoch trained. **/
+   private TrainingMetrics lastMetrics;
+   /** The {@link StopReason} for the last training. **/
+   private StopReason stopReason;
+   /** The total number of {@link LearningParameter}s learnt. **/
+   private long totalSamples;
+   /** The total time spent learning, in nanoseconds. **/
+   private long totalTrainingNanos;
+   /** The number of {@link LearningParameter}s learnt so far in the epoch in progress. **/
+   private int epochSamples;
+   /** Whether training has been cancelled, set from any {@link Thread}. **/
+   private volatile boolean cancelled;
+
+   /**
+    * Constructs a new {@link TrainingController}.
+    * @param builder the {@link TrainingControllerBuilder} providing the configuration.
+    */
+   public TrainingController( TrainingControllerBuilder builder ){
+      maximumEpochs = builder.maximumEpochs;
+      lossThreshold = builder.lossThreshold;
+      accuracyThreshold = builder.accuracyThreshold;
+      patience = builder.patience;
+      minimumImprovement = builder.minimumImprovement;
+      tolerance = builder.tolerance;
+      listeners = new ArrayList< TrainingListener >( builder.listeners );
+      checkpointer = builder.checkpointer;
+   }// End Constructor
+
+   /**
+    * Method to train the {@link Trainable} on the {@link LearningParameters} until a stopping condition is met.
+    * If a {@link Checkpointer} is configured, training continues from the epoch it resumes and the final
+    * weights are checkpointed before returning. Cancellation is checked before the first epoch and after
+    * every batch, and the progress through each epoch is reported to the {@link TrainingListener}s.
+    * @param trainable the {@link Trainable} to teach.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @return the {@link StopReason} training stopped.
+    */
+   public StopReason train( Trainable trainable, LearningParameters parameters ){
+      double[] input = new double[ trainable.getInputCount() ];
+      double[] target = new double[ trainable.getOutputCount() ];
+      double[] output = new double[ trainable.getOutputCount() ];
+
+      double bestLoss = Double.MAX_VALUE;
+      int epochsWithoutImprovement = 0;
+      int firstEpoch = checkpointer == null ? 1 : checkpointer.trainingStarted( trainable ) + 1;
+      if ( cancelled ){
+         lastMetrics = evaluate( trainable, parameters, firstEpoch - 1, 0, input, target, output );
+         return stop( trainable, StopReason.Cancelled, firstEpoch - 1 );
+      }
+      for ( int epoch = firstEpoch; ; epoch++ ){
+         int currentEpoch = epoch;
+         epochSamples = 0;
+         long start = System.nanoTime();
+         trainable.trainEpoch( parameters, ( samples, total ) -> batchCompleted( currentEpoch, samples, total ) );
+         long trainingNanos = System.nanoTime() - start;
+         boolean interrupted = cancelled;
+         totalSamples += epochSamples;
+         totalTrainingNanos += trainingNanos;
+         if ( checkpointer != null && !interrupted ){
+            checkpointer.epochCompleted( trainable, epoch );
+         }
+
+         lastMetrics = evaluate( trainable, parameters, epoch, trainingNanos, input, target, output );
+         for ( TrainingListener listener : listeners ){
+            listener.epochCompleted( lastMetrics );
+         }
+
+         if ( bestLoss - lastMetrics.getLoss() > minimumImprovement ){
+            bestLoss = lastMetrics.getLoss();
+            epochsWithoutImprovement = 0;
+         } else {
+            epochsWithoutImprovement++;
+         }
+
+         if ( cancelled ){
+            stopReason = StopReason.Cancelled;
+         } else if ( lastMetrics.getLoss() <= lossThreshold || lastMetrics.getAccuracy() >= accuracyThreshold ){
+            stopReason = StopReason.Converged;
+         } else if ( patience > 0 && epochsWithoutImprovement >= patience ){
+            stopReason = StopReason.NoImprovement;
+         } else if ( epoch >= maximumEpochs ){
+            stopReason = StopReason.MaximumEpochs;
+         } else {
+            continue;
+         }
+         return stop( trainable, stopReason, interrupted ? epoch - 1 : epoch );
+      }
+   }// End Method
+
+   /**
+    * Method to notify of the progress through an epoch, on behalf of the {@link Trainable}.
+    * @param epoch the epoch in progress.
+    * @param samples the number of {@link LearningParameter}s learnt so far in the epoch.
+    * @param total the number of {@link LearningParameter}s in the epoch.
+    * @return true to continue the epoch, false if training has been cancelled.
+    */
+   private boolean batchCompleted( int epoch, int samples, int total ){
+      epochSamples = samples;
+      for ( TrainingListener listener : listeners ){
+         listener.samplesCompleted( epoch, samples, total );
+      }
+      return !cancelled;
+   }// End Method
+
+   /**
+    * Method to stop training after the {@link TrainingMetrics} of the final epoch have been measured, checkpointing
+    * the final weights and notifying the {@link TrainingListener}s. The weights of an epoch cancelled part way 
+    * through are checkpointed under the epoch before, so that resuming repeats the whole epoch.
+    * @param trainable the {@link Trainable} trained.
+    * @param reason the {@link StopReason} training stopped.
+    * @param completedEpoch the last epoch trained in full.
+    * @return the {@link StopReason}.
+    */
+   private StopReason stop( Trainable trainable, StopReason reason, int completedEpoch ){
+      stopReason = reason;
+      if ( checkpointer != null ){
+         checkpointer.trainingStopped( trainable, completedEpoch );
+      }
+      for ( TrainingListener listener : listeners ){
+         listener.trainingStopped( lastMetrics, stopReason );
+      }
+      return stopReason;
+   }// End Method
+
+   /**
+    * Method to measure the loss and accuracy of the {@link Trainable} against the {@link LearningParameters}.
+    * @param trainable the {@link Trainable} to evaluate.
+    * @param parameters the {@link LearningParameters} to evaluate against.
+    * @param epoch the epoch evaluated.
+    * @param trainingNanos the time taken to learn the epoch.
+    * @param input the buffer for input values.
+    * @param target the buffer for target values.
+    * @param output the buffer for output values.
+    * @return the {@link TrainingMetrics} for the epoch.
+    */
+   TrainingMetrics evaluate(
+            Trainable trainable,
+            LearningParameters parameters,
+            int epoch,
+            long trainingNanos,
+            double[] input,
+            double[] target,
+            double[] output
+   ){
+      double squaredError = 0;
+      int satisfied = 0;
+      for ( int i = 0; i < parameters.size(); i++ ){
+         parameters.copyInput( i, input );
+         parameters.copyTarget( i, target );
+         trainable.fire( input, output );
+
+         boolean isSatisfied = true;
+         for ( int o = 0; o < output.length; o++ ){
+            double error = target[ o ] - output[ o ];
+            squaredError += error * error;
+            if ( Math.abs( error ) >= tolerance ){
+               isSatisfied = false;
+            }
+         }
+         if ( isSatisfied ){
+            satisfied++;
+         }
+      }
+
+      int samples = parameters.size();
+      if ( samples == 0 ){
+         return new TrainingMetrics( epoch, 0, 1, 0, trainingNanos );
+      }
+      return new TrainingMetrics(
+               epoch,
+               squaredError / ( samples * output.length ),
+               ( double )satisfied / samples,
+               samples,
+               trainingNanos
+      );
+   }// End Method
+
+   /**
+    * Method to cancel training. This can be called from any {@link Thread}, and training stops with
+    * {@link StopReason#Cancelled} after the batch in progress, or before the first epoch if not yet started.
+    * A cancelled {@link TrainingController} stays cancelled.
+    */
+   public void cancel(){
+      cancelled = true;
+   }// End Method
+
+   /**
+    * Method to determine whether training has been cancelled.
+    * @return true if {@link #cancel()} has been called.
+    */
+   public boolean isCancelled(){
+      return cancelled;
+   }// End Method
+
+   /**
+    * Method to get the {@link TrainingMetrics} of the last epoch trained.
+    * @return the {@link TrainingMetrics}, or null if nothing has been trained.
+    */
+   public TrainingMetrics getLastMetrics(){
+      return lastMetrics;
+   }// End Method
+
+   /**
+    * Method to get the reason the last training stopped.
+    * @return the {@link StopReason}, or null if nothing has been trained.
+    */
+   public StopReason getStopReason(){
+      return stopReason;
+   }// End Method
+
+   /**
+    * Method to get the total number of {@link LearningParameter}s learnt across all epochs.
+    * @return the total samples.
+    */
+   public long getTotalSamples(){
+      return totalSamples;
+   }// End Method
+
+   /**
+    * Method to get the total time spent learning across all epochs, excluding evaluation.
+    * @return the time in nanoseconds.
+    */
+   public long getTotalTrainingNanos(){
+      return totalTrainingNanos;
+   }// End Method
+
+}// End Class
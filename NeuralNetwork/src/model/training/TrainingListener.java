@@ -0,0 +1,39 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.training;
+
+import model.training.TrainingController.StopReason;
+
+/**
+ * The {@link TrainingListener} is notified by the {@link TrainingController} of the {@link TrainingMetrics}
+ * of each epoch, of the progress through each epoch and of why training stopped.
+ */
+public interface TrainingListener {
+
+   /**
+    * Method to notify that an epoch has completed.
+    * @param metrics the {@link TrainingMetrics} of the epoch.
+    */
+   public void epochCompleted( TrainingMetrics metrics );
+
+   /**
+    * Method to notify of the progress through an epoch, after each batch is applied. By default nothing is done.
+    * @param epoch the epoch in progress.
+    * @param samples the number of {@link model.singleton.LearningParameter}s learnt so far in the epoch.
+    * @param total the number of {@link model.singleton.LearningParameter}s in the epoch.
+    */
+   public default void samplesCompleted( int epoch, int samples, int total ){}
+
+   /**
+    * Method to notify that training has stopped. By default nothing is done.
+    * @param metrics the {@link TrainingMetrics} of the final epoch.
+    * @param reason the {@link StopReason} training stopped.
+    */
+   public default void trainingStopped( TrainingMetrics metrics, StopReason reason ){}
+
+}// End Interface
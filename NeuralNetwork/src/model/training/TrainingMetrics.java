@@ -0,0 +1,106 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.training;
+
+import model.singleton.LearningParameter;
+
+/**
+ * The {@link TrainingMetrics} provides an immutable record of a single epoch of training: the loss and
+ * accuracy measured after the epoch, and the time taken to learn it.
+ */
+public class TrainingMetrics {
+
+   /** The number of nanoseconds in a second. **/
+   private static final double NANOSECONDS_PER_SECOND = 1000000000.0;
+
+   /** The epoch, counting from 1. **/
+   private final int epoch;
+   /** The mean squared error across all outputs of all {@link LearningParameter}s. **/
+   private final double loss;
+   /** The proportion of {@link LearningParameter}s satisfied. **/
+   private final double accuracy;
+   /** The number of {@link LearningParameter}s learnt in the epoch. **/
+   private final int samples;
+   /** The time taken to learn the epoch, excluding evaluation, in nanoseconds. **/
+   private final long trainingNanos;
+
+   /**
+    * Constructs a new {@link TrainingMetrics}.
+    * @param epoch the epoch, counting from 1.
+    * @param loss the mean squared error.
+    * @param accuracy the proportion of {@link LearningParameter}s satisfied.
+    * @param samples the number of {@link LearningParameter}s learnt.
+    * @param trainingNanos the time taken to learn the epoch in nanoseconds.
+    */
+   public TrainingMetrics( int epoch, double loss, double accuracy, int samples, long trainingNanos ){
+      this.epoch = epoch;
+      this.loss = loss;
+      this.accuracy = accuracy;
+      this.samples = samples;
+      this.trainingNanos = trainingNanos;
+   }// End Constructor
+
+   /**
+    * Method to get the epoch.
+    * @return the epoch, counting from 1.
+    */
+   public int getEpoch(){
+      return epoch;
+   }// End Method
+
+   /**
+    * Method to get the loss measured after the epoch.
+    * @return the mean squared error across all outputs.
+    */
+   public double getLoss(){
+      return loss;
+   }// End Method
+
+   /**
+    * Method to get the accuracy measured after the epoch.
+    * @return the proportion of {@link LearningParameter}s satisfied, between 0 and 1.
+    */
+   public double getAccuracy(){
+      return accuracy;
+   }// End Method
+
+   /**
+    * Method to get the number of {@link LearningParameter}s learnt in the epoch.
+    * @return the number of samples.
+    */
+   public int getSamples(){
+      return samples;
+   }// End Method
+
+   /**
+    * Method to get the time taken to learn the epoch.
+    * @return the time in nanoseconds.
+    */
+   public long getTrainingNanos(){
+      return trainingNanos;
+   }// End Method
+
+   /**
+    * Method to get the throughput of the epoch.
+    * @return the number of {@link LearningParameter}s learnt per second.
+    */
+   public double getSamplesPerSecond(){
+      if ( trainingNanos <= 0 ){
+         return 0;
+      }
+      return samples * NANOSECONDS_PER_SECOND / trainingNanos;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public String toString(){
+      return "EPOCH " + epoch + ": loss=" + loss + ", accuracy=" + accuracy + ", samples/s=" + getSamplesPerSecond();
+   }// End Method
+
+}// End Class
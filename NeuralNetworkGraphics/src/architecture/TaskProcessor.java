@@ -7,28 +7,53 @@
  */
 package architecture;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import architecture.event.EventSystem;
 import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import runnables.ProgressControlledTaskBindable;
+import runnables.ProgressControlledTaskImpl;
 
 /**
  * The {@link TaskProcessor} is responsible for managing {@link Task}s that should be processed
- * outside the JavaFx {@link Thread}.
+ * outside the JavaFx {@link Thread}. A {@link Task} added with {@link #addTask(Enum, Function)} restarts,
+ * cancelling any in progress, each time its event is received. A {@link Task} added with
+ * {@link #addQueuedTask(Enum, Function)} is instead queued each time its event is received, and run in turn
+ * on a single background {@link Thread}, reporting its progress through a {@link ProgressControlledTaskImpl}.
  */
 public class TaskProcessor {
    
    /** {@link Map} of {@link Enum}s defining the events that trigger the {@link Task}s, to
     * the {@link EventService}s that define the {@link Task}s.**/
    private Map< Enum< ? >, EventService< ? > > tasks;
+   /** {@link Map} of {@link Enum}s defining the events that queue {@link Task}s, to the {@link Function}s
+    * creating them. **/
+   private Map< Enum< ? >, Function< Object, ProgressControlledTaskBindable > > queuedTaskFactories;
+   /** {@link Map} of {@link Enum}s defining the events that queue {@link Task}s, to the {@link Task}s queued
+    * or running. **/
+   private Map< Enum< ? >, List< ProgressControlledTaskImpl > > queuedTasks;
+   /** The single background {@link Thread} running queued {@link Task}s in order. **/
+   private ExecutorService queue;
    
    /**
     * Constructs a new {@link TaskProcessor}.
     */
    public TaskProcessor(){
       tasks = new HashMap< Enum< ? >, EventService< ? > >();
+      queuedTaskFactories = new HashMap< Enum< ? >, Function< Object, ProgressControlledTaskBindable > >();
+      queuedTasks = new HashMap< Enum< ? >, List< ProgressControlledTaskImpl > >();
+      queue = Executors.newSingleThreadExecutor( runnable -> {
+         Thread thread = new Thread( runnable, "TaskProcessor" );
+         thread.setDaemon( true );
+         return thread;
+      } );
    }// End Constructor
    
    /**
@@ -42,6 +67,69 @@ public class TaskProcessor {
       EventSystem.registerForEvent( taskTriggerEvent, ( type, object ) -> start( taskTriggerEvent, object ) );
    }// End Method
    
+   /**
+    * Method to add a new task to the {@link TaskProcessor} that is queued behind those already queued,
+    * rather than restarted, each time the event is received.
+    * @param taskTriggerEvent the {@link Enum} defining the event to respond to.
+    * @param task the {@link Function} creating the {@link ProgressControlledTaskBindable} to process
+    * from the parameter of the event.
+    */
+   public void addQueuedTask( Enum< ? > taskTriggerEvent, Function< Object, ProgressControlledTaskBindable > task ){
+      queuedTaskFactories.put( taskTriggerEvent, task );
+      EventSystem.registerForEvent( taskTriggerEvent, ( type, object ) -> queue( taskTriggerEvent, object ) );
+   }// End Method
+   
+   /**
+    * Method to queue the {@link Task} for the given {@link Enum} of the event received and the
+    * {@link Object} parameter associated with the event.
+    * @param task the {@link Enum} defining the event received.
+    * @param parameter the {@link Object} parameter.
+    * @return the {@link Task} queued, whose progress and message are updated as it runs, or null
+    * if no queued {@link Task} is defined.
+    */
+   public Task< Void > queue( Enum< ? > task, Object parameter ){
+      Function< Object, ProgressControlledTaskBindable > factory = queuedTaskFactories.get( task );
+      if ( factory == null ){
+         System.out.println( "Queued task not defined for " + task.toString() + "." );
+         return null;
+      }
+      
+      ProgressControlledTaskImpl queued = new ProgressControlledTaskImpl( factory.apply( parameter ) );
+      synchronized ( queuedTasks ){
+         List< ProgressControlledTaskImpl > queuedForEvent = queuedTasks.get( task );
+         if ( queuedForEvent == null ){
+            queuedForEvent = new ArrayList< ProgressControlledTaskImpl >();
+            queuedTasks.put( task, queuedForEvent );
+         }
+         queuedForEvent.add( queued );
+      }
+      queue.execute( () -> {
+         try {
+            queued.run();
+         } finally {
+            synchronized ( queuedTasks ){
+               queuedTasks.get( task ).remove( queued );
+            }
+         }
+      } );
+      return queued;
+   }// End Method
+   
+   /**
+    * Method to get the {@link Task}s queued or running for the given {@link Enum} event.
+    * @param task the {@link Enum} defining the event.
+    * @return a {@link List} of the {@link Task}s, in the order they will run.
+    */
+   public List< Task< Void > > getQueuedTasks( Enum< ? > task ){
+      synchronized ( queuedTasks ){
+         List< ProgressControlledTaskImpl > queuedForEvent = queuedTasks.get( task );
+         if ( queuedForEvent == null ){
+            return new ArrayList< Task< Void > >();
+         }
+         return new ArrayList< Task< Void > >( queuedForEvent );
+      }
+   }// End Method
+   
    /**
     * Method to start the {@link Task} for the given {@link Enum} of the event received and
     * the {@link Object} parameter associated with the event.
@@ -57,7 +145,9 @@ public class TaskProcessor {
    }// End Method
    
    /**
-    * Method to cancel the {@link Task} associated with the given {@link Enum} event.
+    * Method to cancel the {@link Task} associated with the given {@link Enum} event. For a queued
+    * {@link Task}, every {@link Task} queued or running for the event is cancelled, those running
+    * stopping cooperatively.
     * @param task the {@link Enum} defining the event received, mapping to the {@link Task} to
     * be processed.
     * @return whether the {@link Task} has been cancelled.
@@ -66,6 +156,12 @@ public class TaskProcessor {
       Service< ? > service = tasks.get( task );
       if ( service != null ){
          return service.cancel();
+      } else if ( queuedTaskFactories.containsKey( task ) ){
+         boolean cancelled = false;
+         for ( Task< Void > queued : getQueuedTasks( task ) ){
+            cancelled |= queued.cancel( false );
+         }
+         return cancelled;
       } else {
          System.out.println( "Task not defined for " + task.toString() + "." );
          return false;
@@ -8,6 +8,7 @@
 package neuralnetwork.creator.processing;
 
 import architecture.TaskProcessor;
+import architecture.event.EventSystem;
 import model.singleton.LearningParameter;
 import model.structure.LearningParameters;
 import neuralnetwork.creator.view.module.LearningProcessor;
@@ -50,6 +51,14 @@ public class LearnerTasks {
                return null;
             }
       );
+      processor.addQueuedTask( 
+            LearningProcessor.Events.RequestHeadlessLearning, 
+            ( object ) -> learner.createHeadlessLearning( ( LearningParameters ) object )
+      );
+      EventSystem.registerForEvent( 
+            LearningProcessor.Events.RequestCancelHeadlessLearning, 
+            ( type, object ) -> processor.cancel( LearningProcessor.Events.RequestHeadlessLearning )
+      );
    }// End Method
 
 }// End Class
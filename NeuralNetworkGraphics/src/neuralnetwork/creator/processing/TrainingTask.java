@@ -0,0 +1,135 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package neuralnetwork.creator.processing;
+
+import java.util.function.Supplier;
+
+import model.structure.LearningParameters;
+import model.training.Trainable;
+import model.training.TrainingController;
+import model.training.TrainingController.StopReason;
+import model.training.TrainingController.TrainingControllerBuilder;
+import model.training.TrainingListener;
+import model.training.TrainingMetrics;
+import runnables.ProgressControlledTask;
+import runnables.ProgressControlledTaskBindable;
+
+/**
+ * The {@link TrainingTask} trains a {@link Trainable} with a {@link TrainingController} as a
+ * {@link ProgressControlledTaskBindable}, so that it can be queued with the {@link architecture.TaskProcessor}.
+ * The progress through each epoch, by sample, is published to the bound {@link ProgressControlledTask}, and cancelling
+ * the {@link ProgressControlledTask} cancels the {@link TrainingController} after the batch in progress.
+ */
+public class TrainingTask implements ProgressControlledTaskBindable, TrainingListener {
+
+   /** Supplies the {@link Trainable} when the {@link TrainingTask} runs. **/
+   private final Supplier< Trainable > trainable;
+   /** The {@link LearningParameters} to learn. **/
+   private final LearningParameters parameters;
+   /** The maximum number of epochs to train. **/
+   private final int maximumEpochs;
+   /** The {@link TrainingController} training. **/
+   private final TrainingController controller;
+   /** The {@link ProgressControlledTask} to publish progress to, null if not bound. **/
+   private ProgressControlledTask task;
+   /** The {@link StopReason} training stopped, null until stopped. **/
+   private StopReason stopReason;
+
+   /**
+    * Constructs a new {@link TrainingTask}.
+    * @param trainable supplies the {@link Trainable} to train, on the {@link Thread} running the {@link TrainingTask},
+    * so that it is prepared only when the {@link TrainingTask} reaches the front of the queue.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param builder the {@link TrainingControllerBuilder} configuring the {@link TrainingController}.
+    * @param maximumEpochs the maximum number of epochs to train, against which progress is measured.
+    */
+   public TrainingTask(
+            Supplier< Trainable > trainable,
+            LearningParameters parameters,
+            TrainingControllerBuilder builder,
+            int maximumEpochs
+   ){
+      this.trainable = trainable;
+      this.parameters = parameters;
+      this.maximumEpochs = maximumEpochs;
+      this.controller = new TrainingController( builder.maximumEpochs( maximumEpochs ).listener( this ) );
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void bind( ProgressControlledTask task ){
+      this.task = task;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void run(){
+      if ( task != null ){
+         task.publicizedUpdateProgress( 0, maximumEpochs );
+         task.publicizedUpdateMessage( "Training " + parameters.size() + " parameters" );
+      }
+      stopReason = controller.train( trainable.get(), parameters );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * Cancels the {@link TrainingController} after the batch in progress.
+    */
+   @Override public void cancel(){
+      controller.cancel();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void epochCompleted( TrainingMetrics metrics ){
+      if ( task != null ){
+         task.publicizedUpdateProgress( metrics.getEpoch(), maximumEpochs );
+         task.publicizedUpdateMessage( metrics.toString() );
+      }
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    * Progress is measured in epochs, with the fraction of the epoch in progress learnt so far.
+    */
+   @Override public void samplesCompleted( int epoch, int samples, int total ){
+      if ( task != null ){
+         task.publicizedUpdateProgress( epoch - 1 + ( double )samples / total, maximumEpochs );
+      }
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void trainingStopped( TrainingMetrics metrics, StopReason reason ){
+      if ( task != null ){
+         task.publicizedUpdateProgress( maximumEpochs, maximumEpochs );
+         task.publicizedUpdateMessage( reason + " after epoch " + metrics.getEpoch() );
+      }
+   }// End Method
+
+   /**
+    * Method to get the {@link TrainingController} training.
+    * @return the {@link TrainingController}.
+    */
+   public TrainingController getController(){
+      return controller;
+   }// End Method
+
+   /**
+    * Method to get the reason training stopped.
+    * @return the {@link StopReason}, null if training has not stopped.
+    */
+   public StopReason getStopReason(){
+      return stopReason;
+   }// End Method
+
+}// End Class
@@ -17,6 +17,7 @@ import javafx.scene.control.MenuItem;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.BorderPane;
 import model.network.Perceptron;
+import model.network.dense.DensePerceptron;
 import model.singleton.LearningParameter;
 import neuralnetwork.creator.processing.LearnerTasks;
 import neuralnetwork.creator.view.module.FileManager;
@@ -39,6 +40,8 @@ public class NetworkViewerController {
       RequestPerceptronSave,
       /** Indicates a request has been made to save a {@link LearningParameters}.**/
       RequestLearningParametersSave,
+      /** Indicates a {@link DensePerceptron} in array form has been requested to be loaded into the {@link NetworkViewer}. **/
+      RequestDensePerceptronLoad,
       /** Indicates a {@link Perceptron} has been loaded into the {@link NetworkViewer}. **/
       PerceptronLoaded,
       /** Indicates a {@link Perceptron} has been saved.**/
@@ -53,6 +56,8 @@ public class NetworkViewerController {
    @FXML private Menu learningMenu;
    @FXML private MenuItem onlineLearning;
    @FXML private MenuItem batchLearning;
+   @FXML private MenuItem headlessLearning;
+   @FXML private MenuItem cancelLearning;
    private Map< LearningParameter, MenuItem > parameterMenuItems;
    
    @FXML private MenuItem newPerceptronMenu;
@@ -65,14 +70,28 @@ public class NetworkViewerController {
     * Method to initialise the graphics and events in the window.
     */
    @FXML private void initialize(){
-      newPerceptronMenu.setOnAction( event -> EventSystem.raiseEvent( Events.PerceptronLoaded, new Perceptron( 3, 3 ) ) );
+      newPerceptronMenu.setOnAction( event -> EventSystem.raiseEvent( Events.RequestDensePerceptronLoad, new DensePerceptron( 3, 3 ) ) );
       loadXMLPerceptronMenu.setOnAction( event -> EventSystem.raiseEvent( Events.RequestPerceptronLoad, null ) );
       saveXMLPerceptronMenu.setOnAction( event -> EventSystem.raiseEvent( Events.RequestPerceptronSave, null ) );
       loadXMLLearningParametersMenu.setOnAction( event -> EventSystem.raiseEvent( Events.RequestLearningParametersLoad, null ) );
       saveXMLLearningParametersMenu.setOnAction( event -> EventSystem.raiseEvent( Events.RequestLearningParametersSave, null ) );
+      EventSystem.registerForEvent( 
+               Events.RequestDensePerceptronLoad, 
+               ( type, object ) -> loadDensePerceptron( ( DensePerceptron )object )
+      );
       new LearnerTasks();
    }// End Method
    
+   /**
+    * Method to load a {@link DensePerceptron} into the {@link NetworkViewer}. Its {@link Perceptron} is only
+    * materialised here, when the {@link NetworkViewer} needs the {@link model.singleton.Neuron}s and 
+    * {@link model.singleton.Synapse}s to display.
+    * @param perceptron the {@link DensePerceptron} to load.
+    */
+   private void loadDensePerceptron( DensePerceptron perceptron ){
+      EventSystem.raiseEvent( Events.PerceptronLoaded, perceptron.getPerceptron() );
+   }// End Method
+   
    /**
     * Method to apply the center of the component to the given {@link BorderPane}.
     * @param rootLayout the {@link BorderPane} providing the root.
@@ -128,6 +147,14 @@ public class NetworkViewerController {
                PerceptronLearnerController.Events.RequestOnlineLearning, 
                null 
       ) );
+      headlessLearning.setOnAction( event -> EventSystem.raiseEvent( 
+               PerceptronLearnerController.Events.RequestHeadlessLearning, 
+               null 
+      ) );
+      cancelLearning.setOnAction( event -> EventSystem.raiseEvent( 
+               LearningProcessor.Events.RequestCancelHeadlessLearning, 
+               null 
+      ) );
    }// End Method
    
 }// End Class
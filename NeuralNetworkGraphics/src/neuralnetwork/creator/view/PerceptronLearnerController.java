@@ -43,6 +43,8 @@ public class PerceptronLearnerController implements TableItemControls{
    public enum Events {
       /** Event to request that online learning is performed. **/
       RequestOnlineLearning,
+      /** Event to request that headless learning is performed. **/
+      RequestHeadlessLearning,
       /** Indicates {@link LearningParameters} have been leaded. **/
       LearningParametersLoaded,
       /** Indicates {@link LearningParameters} have been saved. **/
@@ -101,6 +103,13 @@ public class PerceptronLearnerController implements TableItemControls{
                         new LearningParameters( learningParameters ) 
                ) 
       );
+      EventSystem.registerForEvent( 
+               Events.RequestHeadlessLearning, 
+               ( event, object ) -> EventSystem.raiseEvent( 
+                        LearningProcessor.Events.RequestHeadlessLearning, 
+                        new LearningParameters( learningParameters ) 
+               ) 
+      );
       
       fileManager = new FileManager< LearningParameters, XmlLearningParametersWrapper >( 
                NetworkViewerController.Events.RequestLearningParametersLoad, 
@@ -8,10 +8,12 @@
 package neuralnetwork.creator.view.component;
 
 import architecture.event.EventSystem;
+import graphics.event.JavaFxEventSystem;
 import javafx.scene.control.ProgressBar;
 import model.singleton.LearningParameter;
 import model.structure.LearningParameters;
 import neuralnetwork.creator.view.module.LearningProcessor;
+import neuralnetwork.creator.view.module.LearningSnapshot;
 
 /**
  * The {@link ProgressBarController} is responsible for controlling the {@link ProgressBar}
@@ -44,6 +46,18 @@ public class ProgressBarController {
                LearningProcessor.Events.ParameterLearnt, 
                ( event, parameter ) -> learntParameter()
       );
+      JavaFxEventSystem.registerForEvent( 
+               LearningProcessor.Events.HeadlessLearning, 
+               ( event, parameter ) -> progressBar.setProgress( 0 )
+      );
+      JavaFxEventSystem.registerForEvent( 
+               LearningProcessor.Events.LearningSnapshot, 
+               ( event, snapshot ) -> snapshotTaken( ( LearningSnapshot ) snapshot )
+      );
+      EventSystem.registerForEvent( 
+               LearningProcessor.Events.HeadlessLearningComplete, 
+               ( event, snapshot ) -> snapshotTaken( ( LearningSnapshot ) snapshot )
+      );
    }// End Constructor
    
    /**
@@ -73,4 +87,12 @@ public class ProgressBarController {
       learntParameters++;
       progressBar.setProgress( learntParameters / parametersToLearn );
    }// End Method
+   
+   /**
+    * Method to process a {@link LearningSnapshot} of headless learning, on the java fx {@link Thread}.
+    * @param snapshot the {@link LearningSnapshot} taken.
+    */
+   private void snapshotTaken( LearningSnapshot snapshot ){
+      progressBar.setProgress( snapshot.getProgress() );
+   }// End Method
 }// End Class
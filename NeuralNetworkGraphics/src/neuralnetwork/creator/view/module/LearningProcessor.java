@@ -8,19 +8,34 @@
 package neuralnetwork.creator.view.module;
 
 import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
 
+import graphics.event.JavaFxEventSystem;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.util.Duration;
 import model.network.Perceptron;
+import model.network.dense.BatchLearner;
+import model.network.dense.DensePerceptron;
 import model.singleton.LearningParameter;
 import model.structure.LearningParameters;
+import model.training.TrainingController.StopReason;
+import model.training.TrainingController.TrainingControllerBuilder;
+import model.training.TrainingListener;
+import model.training.TrainingMetrics;
+import neuralnetwork.creator.processing.TrainingTask;
 import neuralnetwork.creator.view.NetworkViewerController;
 import architecture.event.EventSystem;
 
 /**
  * The {@link LearningProcessor} is responsible for causing a {@link Perceptron} to learn
- * {@link LearningParameter}s as a result of user input.
+ * {@link LearningParameter}s as a result of user input. Learning either steps through each
+ * {@link LearningParameter} with a delay so that it can be visualised, or runs headless at full speed on a
+ * background {@link Thread} as a {@link TrainingTask} against a detached copy of the weights, raising {@link LearningSnapshot}s of
+ * its progress at a limited rate and writing the weights back to the {@link Perceptron} when done.
  */
 public class LearningProcessor {
 
@@ -36,9 +51,112 @@ public class LearningProcessor {
       /** The {@link LearningProcessor} is learning {@link LearningParameters} using online learning. **/
       OnlineLearning,
       /** The {@link LearningProcessor} has learnt a {@link LearningParameter}. **/
-      ParameterLearnt;
+      ParameterLearnt,
+      /** Instruction to the {@link LearningProcessor} to learn the associated {@link LearningParameters}
+       * headless, at full speed. **/
+      RequestHeadlessLearning,
+      /** Instruction to cancel all headless learning queued or in progress. **/
+      RequestCancelHeadlessLearning,
+      /** The {@link LearningProcessor} is learning {@link LearningParameters} headless, raised from the learning
+       * {@link Thread}. Register with {@link JavaFxEventSystem}. **/
+      HeadlessLearning,
+      /** A {@link LearningSnapshot} of headless learning, raised from the learning {@link Thread} at most
+       * {@link LearningProcessor#DEFAULT_SNAPSHOT_RATE} times a second. Register with {@link JavaFxEventSystem}. **/
+      LearningSnapshot,
+      /** Headless learning has stopped, raised from the learning {@link Thread} for the {@link LearningProcessor}
+       * to write the weights back. **/
+      HeadlessLearningStopped,
+      /** The weights learnt headless have been written to the {@link Perceptron}, with the final {@link LearningSnapshot}. **/
+      HeadlessLearningComplete;
    }// End Enum
 
+   /** The maximum number of {@link LearningSnapshot}s raised per second. **/
+   public static final int DEFAULT_SNAPSHOT_RATE = 30;
+
+   /**
+    * The {@link SnapshotThrottle} is a {@link TrainingListener} for headless learning, raising a {@link LearningSnapshot}
+    * for an epoch only when enough time has passed since the last, and always for the final epoch. It holds the
+    * detached {@link BatchLearner} learning, the {@link BatchLearner} to write the learnt weights back through and
+    * the weights learnt, copied once learning stops.
+    */
+   private static class SnapshotThrottle implements TrainingListener {
+
+      /** The maximum number of epochs learning can run for. **/
+      private final int maximumEpochs;
+      /** The minimum time between {@link LearningSnapshot}s in nanoseconds. **/
+      private final long minimumNanos;
+      /** The detached {@link BatchLearner} learning. **/
+      private BatchLearner learner;
+      /** The {@link BatchLearner} of the {@link Perceptron} to write the learnt weights to, only used on the java fx {@link Thread}. **/
+      private BatchLearner target;
+      /** The weights learnt, null until learning stops. **/
+      private double[] learnt;
+      /** The final {@link LearningSnapshot}, null until learning stops. **/
+      private LearningSnapshot finalSnapshot;
+      /** The time of the last {@link LearningSnapshot}, from {@link System#nanoTime()}. **/
+      private long lastNanos;
+
+      /**
+       * Constructs a new {@link SnapshotThrottle}.
+       * @param maximumEpochs the maximum number of epochs learning can run for.
+       * @param rate the maximum number of {@link LearningSnapshot}s per second.
+       */
+      SnapshotThrottle( int maximumEpochs, int rate ){
+         this.maximumEpochs = maximumEpochs;
+         this.minimumNanos = 1000000000L / rate;
+      }// End Constructor
+
+      /**
+       * Method to compile and detach the {@link Perceptron}, when learning starts. The {@link Perceptron} is read
+       * on the java fx {@link Thread}, where it is otherwise learnt and observed, so that only the detached
+       * copy of its weights is handed to the {@link Thread} learning. Any weights written back by learning
+       * stopped before are written before the {@link Perceptron} is read.
+       * @param perceptron supplies the {@link Perceptron} to learn, on the java fx {@link Thread}.
+       * @param parameters the {@link LearningParameters} to learn.
+       * @return the detached {@link BatchLearner} to train.
+       */
+      BatchLearner prepare( Supplier< Perceptron > perceptron, LearningParameters parameters ){
+         FutureTask< BatchLearner > compile = new FutureTask< BatchLearner >( () -> {
+            DensePerceptron compiled = new DensePerceptron( perceptron.get() );
+            target = new BatchLearner( compiled );
+            return new BatchLearner( compiled.detach() );
+         } );
+         Platform.runLater( compile );
+         try {
+            learner = compile.get();
+         } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted waiting for the Perceptron to be compiled.", exception );
+         } catch ( ExecutionException exception ) {
+            throw new IllegalStateException( "Unable to compile the Perceptron.", exception.getCause() );
+         }
+         lastNanos = System.nanoTime() - minimumNanos;
+         EventSystem.raiseEvent( Events.HeadlessLearning, parameters );
+         return learner;
+      }// End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void epochCompleted( TrainingMetrics metrics ){
+         long now = System.nanoTime();
+         if ( now - lastNanos >= minimumNanos ){
+            lastNanos = now;
+            EventSystem.raiseEvent( Events.LearningSnapshot, new LearningSnapshot( metrics, maximumEpochs, false ) );
+         }
+      }// End Method
+
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void trainingStopped( TrainingMetrics metrics, StopReason reason ){
+         learnt = new double[ learner.getWeightCount() ];
+         learner.copyWeights( learnt );
+         finalSnapshot = new LearningSnapshot( metrics, maximumEpochs, true );
+         EventSystem.raiseEvent( Events.HeadlessLearningStopped, this );
+      }// End Method
+   }// End Class
+
    /** The {@link Perceptron} learning. **/
    private Perceptron perceptron;
 
@@ -50,6 +168,10 @@ public class LearningProcessor {
                NetworkViewerController.Events.PerceptronLoaded, 
                ( type, object ) -> setPerceptron( ( Perceptron )object ) 
       );
+      JavaFxEventSystem.registerForEvent( 
+               Events.HeadlessLearningStopped, 
+               ( type, object ) -> completeHeadlessLearning( ( SnapshotThrottle )object ) 
+      );
    }// End Constructor
    
    /**
@@ -107,6 +229,44 @@ public class LearningProcessor {
       timeline.play();
    }// End Method
 
+   /**
+    * Method to create a {@link TrainingTask} learning the {@link LearningParameters} headless, at full speed on the
+    * {@link Thread} running it. When it runs, the {@link Perceptron} is compiled and detached on the java fx {@link Thread}
+    * so that nothing observing its {@link model.singleton.Synapse}s is notified until learning stops, including by
+    * cancellation, and the weights are written back on the java fx {@link Thread}.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @param maximumEpochs the maximum number of epochs to learn for.
+    * @return the {@link TrainingTask}, to be queued with the {@link architecture.TaskProcessor}.
+    */
+   public TrainingTask createHeadlessLearning( LearningParameters parameters, int maximumEpochs ){
+      SnapshotThrottle throttle = new SnapshotThrottle( maximumEpochs, DEFAULT_SNAPSHOT_RATE );
+      return new TrainingTask( 
+               () -> throttle.prepare( () -> perceptron, parameters ), 
+               parameters, 
+               new TrainingControllerBuilder().listener( throttle ), 
+               maximumEpochs 
+      );
+   }// End Method
+
+   /**
+    * Method to create a {@link TrainingTask} learning the {@link LearningParameters} headless for at most
+    * {@link TrainingControllerBuilder#DEFAULT_MAXIMUM_EPOCHS}.
+    * @param parameters the {@link LearningParameters} to learn.
+    * @return the {@link TrainingTask}.
+    */
+   public TrainingTask createHeadlessLearning( LearningParameters parameters ){
+      return createHeadlessLearning( parameters, TrainingControllerBuilder.DEFAULT_MAXIMUM_EPOCHS );
+   }// End Method
+
+   /**
+    * Method to write the weights learnt headless back to the {@link Perceptron}, on the java fx {@link Thread}.
+    * @param throttle the {@link SnapshotThrottle} of the headless learning stopped.
+    */
+   private void completeHeadlessLearning( SnapshotThrottle throttle ){
+      throttle.target.restoreWeights( throttle.learnt );
+      EventSystem.raiseEvent( Events.HeadlessLearningComplete, throttle.finalSnapshot );
+   }// End Method
+
    /**
     * Method to teach the {@link Perceptron} a single {@link LearningParameter}.
     * @param the {@link LearningParameter} to teach.
@@ -0,0 +1,62 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package neuralnetwork.creator.view.module;
+
+import model.training.TrainingMetrics;
+
+/**
+ * The {@link LearningSnapshot} holds the progress of headless learning at the end of an epoch, raised by the
+ * {@link LearningProcessor} at a limited rate so that the view can show progress without observing every
+ * weight as it changes.
+ */
+public class LearningSnapshot {
+
+   /** The {@link TrainingMetrics} of the epoch. **/
+   private final TrainingMetrics metrics;
+   /** The maximum number of epochs learning can run for. **/
+   private final int maximumEpochs;
+   /** Whether learning has stopped. **/
+   private final boolean complete;
+
+   /**
+    * Constructs a new {@link LearningSnapshot}.
+    * @param metrics the {@link TrainingMetrics} of the epoch.
+    * @param maximumEpochs the maximum number of epochs learning can run for.
+    * @param complete whether learning has stopped.
+    */
+   public LearningSnapshot( TrainingMetrics metrics, int maximumEpochs, boolean complete ){
+      this.metrics = metrics;
+      this.maximumEpochs = maximumEpochs;
+      this.complete = complete;
+   }// End Constructor
+
+   /**
+    * Method to get the {@link TrainingMetrics} of the epoch.
+    * @return the {@link TrainingMetrics}.
+    */
+   public TrainingMetrics getMetrics(){
+      return metrics;
+   }// End Method
+
+   /**
+    * Method to get the proportion of the maximum epochs completed.
+    * @return the progress, between 0 and 1.
+    */
+   public double getProgress(){
+      return complete ? 1 : Math.min( 1, ( double )metrics.getEpoch() / maximumEpochs );
+   }// End Method
+
+   /**
+    * Method to determine whether learning has stopped.
+    * @return true if this is the final {@link LearningSnapshot}.
+    */
+   public boolean isComplete(){
+      return complete;
+   }// End Method
+
+}// End Class
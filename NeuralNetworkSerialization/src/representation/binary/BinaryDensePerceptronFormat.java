@@ -0,0 +1,239 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package representation.binary;
+
+import java.nio.ByteBuffer;
+
+import architecture.serialization.BinaryFormat;
+import model.function.activation.ActivationFunction;
+import model.function.threshold.BasicInputFunction;
+import model.function.threshold.ThresholdFunction;
+import model.network.Perceptron;
+import model.network.dense.DenseActivation;
+import model.network.dense.DenseLayer;
+import model.network.dense.DensePerceptron;
+
+/**
+ * The {@link BinaryDensePerceptronFormat} writes {@link DensePerceptron}s in the {@link BinaryPerceptronFormat}, so
+ * that files are interchangeable with those of the {@link BinaryPerceptronFormat}. A {@link DensePerceptron} in
+ * array form is written directly from its weights, learning rates, activation and bias, laid out as the
+ * {@link Perceptron} it would materialise, without constructing any {@link model.singleton.Neuron}s or
+ * {@link model.singleton.Synapse}s. One compiled from a {@link Perceptron} is written from the {@link Perceptron},
+ * which remains the source of truth.
+ * <p>
+ * Files holding a fully connected {@link Perceptron}, laid out as one materialised from array form, are read
+ * directly into array form. The outputs last fired are not part of the array form, so are not read. Any other
+ * {@link Perceptron} is read as such and compiled into a {@link DensePerceptron}.
+ */
+public class BinaryDensePerceptronFormat implements BinaryFormat< DensePerceptron > {
+
+   /** The {@link BinaryPerceptronFormat} written. **/
+   private final BinaryPerceptronFormat format;
+
+   /**
+    * Constructs a new {@link BinaryDensePerceptronFormat}.
+    */
+   public BinaryDensePerceptronFormat(){
+      format = new BinaryPerceptronFormat();
+   }// End Constructor
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getMagicNumber(){
+      return format.getMagicNumber();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getVersion(){
+      return format.getVersion();
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getSize( DensePerceptron perceptron ){
+      if ( perceptron.isMaterialised() ){
+         return format.getSize( perceptron.getPerceptron() );
+      }
+      int inputCount = perceptron.getInputCount();
+      int outputCount = perceptron.getOutputCount();
+      int neurons = 1 + inputCount + outputCount;
+      int synapses = outputCount * ( inputCount + 1 );
+      return 2 * BinaryPerceptronFormat.sizeOf( BasicInputFunction.class )
+               + BinaryPerceptronFormat.sizeOf( DenseActivation.toThresholdFunction( perceptron.getLayer().getActivation() ) )
+               + 2 * Integer.BYTES
+               + neurons * ( 2 * Integer.BYTES + Double.BYTES )
+               + Integer.BYTES + outputCount * Integer.BYTES
+               + synapses * ( Integer.BYTES + 3 * Double.BYTES );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void write( DensePerceptron perceptron, ByteBuffer buffer ){
+      if ( perceptron.isMaterialised() ){
+         format.write( perceptron.getPerceptron(), buffer );
+         return;
+      }
+      DenseLayer layer = perceptron.getLayer();
+      int inputCount = perceptron.getInputCount();
+      int outputCount = perceptron.getOutputCount();
+      BinaryPerceptronFormat.putClass( buffer, BasicInputFunction.class );
+      BinaryPerceptronFormat.putClass( buffer, BasicInputFunction.class );
+      BinaryPerceptronFormat.putClass( buffer, DenseActivation.toThresholdFunction( layer.getActivation() ) );
+      buffer.putInt( inputCount );
+      buffer.putInt( outputCount );
+
+      putNeuron( buffer, 0, inputCount, perceptron.getBias() );
+      for ( int i = 0; i < inputCount; i++ ){
+         putNeuron( buffer, 0, i, 0 );
+      }
+      for ( int o = 0; o < outputCount; o++ ){
+         putNeuron( buffer, 1, o, 0 );
+      }
+
+      buffer.putInt( outputCount * ( inputCount + 1 ) );
+      for ( int o = 0; o < outputCount; o++ ){
+         buffer.putInt( inputCount + 1 );
+      }
+      for ( int o = 0; o < outputCount; o++ ){
+         for ( int i = 0; i < inputCount; i++ ){
+            buffer.putInt( i );
+         }
+         buffer.putInt( BinaryPerceptronFormat.BIAS_INPUT );
+      }
+      for ( int o = 0; o < outputCount; o++ ){
+         for ( int i = 0; i <= inputCount; i++ ){
+            buffer.putDouble( layer.getWeight( o, i ) );
+         }
+      }
+      for ( int o = 0; o < outputCount; o++ ){
+         for ( int i = 0; i <= inputCount; i++ ){
+            buffer.putDouble( perceptron.getLearningRate( o, i ) );
+         }
+      }
+      for ( int o = 0; o < outputCount; o++ ){
+         for ( int i = 0; i <= inputCount; i++ ){
+            buffer.putDouble( 0 );
+         }
+      }
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public DensePerceptron read( ByteBuffer buffer, int version ){
+      if ( version != BinaryPerceptronFormat.VERSION ){
+         throw new IllegalStateException( "Unsupported version " + version + "." );
+      }
+      int start = buffer.position();
+      DensePerceptron perceptron = readArrayForm( buffer );
+      if ( perceptron == null ){
+         buffer.position( start );
+         perceptron = new DensePerceptron( format.read( buffer, version ) );
+      }
+      return perceptron;
+   }// End Method
+
+   /**
+    * Method to read a {@link DensePerceptron} in array form from the {@link ByteBuffer}.
+    * @param buffer the {@link ByteBuffer} to read from.
+    * @return the {@link DensePerceptron}, or null if the {@link Perceptron} is not laid out as one materialised
+    * from array form.
+    */
+   private static DensePerceptron readArrayForm( ByteBuffer buffer ){
+      Class< ? extends ThresholdFunction > biasFunction = BinaryPerceptronFormat.getClass( buffer );
+      Class< ? extends ThresholdFunction > inputFunction = BinaryPerceptronFormat.getClass( buffer );
+      Class< ? extends ThresholdFunction > outputFunction = BinaryPerceptronFormat.getClass( buffer );
+      if ( biasFunction != BasicInputFunction.class || inputFunction != BasicInputFunction.class ){
+         return null;
+      }
+      ActivationFunction activation = DenseActivation.forThresholdFunction( outputFunction );
+      if ( DenseActivation.toThresholdFunction( activation ) != outputFunction ){
+         return null;
+      }
+      int inputCount = buffer.getInt();
+      int outputCount = buffer.getInt();
+
+      if ( !isNeuron( buffer, 0, inputCount ) ){
+         return null;
+      }
+      double bias = buffer.getDouble();
+      for ( int i = 0; i < inputCount; i++ ){
+         if ( !isNeuron( buffer, 0, i ) ){
+            return null;
+         }
+         buffer.getDouble();
+      }
+      for ( int o = 0; o < outputCount; o++ ){
+         if ( !isNeuron( buffer, 1, o ) ){
+            return null;
+         }
+         buffer.getDouble();
+      }
+
+      if ( buffer.getInt() != outputCount * ( inputCount + 1 ) ){
+         return null;
+      }
+      for ( int o = 0; o < outputCount; o++ ){
+         if ( buffer.getInt() != inputCount + 1 ){
+            return null;
+         }
+      }
+      for ( int o = 0; o < outputCount; o++ ){
+         for ( int i = 0; i <= inputCount; i++ ){
+            if ( buffer.getInt() != ( i == inputCount ? BinaryPerceptronFormat.BIAS_INPUT : i ) ){
+               return null;
+            }
+         }
+      }
+
+      DenseLayer layer = new DenseLayer( inputCount, outputCount, activation );
+      DensePerceptron perceptron = new DensePerceptron( layer, bias );
+      double[] weights = BinaryPerceptronFormat.getDoubles( buffer, outputCount * ( inputCount + 1 ) );
+      double[] learningRates = BinaryPerceptronFormat.getDoubles( buffer, weights.length );
+      buffer.position( buffer.position() + weights.length * Double.BYTES );
+      for ( int o = 0, s = 0; o < outputCount; o++ ){
+         for ( int i = 0; i <= inputCount; i++, s++ ){
+            layer.setWeight( o, i, weights[ s ] );
+            perceptron.setLearningRate( o, i, learningRates[ s ] );
+         }
+      }
+      return perceptron;
+   }// End Method
+
+   /**
+    * Method to write the position and output of a {@link model.singleton.Neuron} to the {@link ByteBuffer}, as
+    * the {@link BinaryPerceptronFormat} does.
+    * @param buffer the {@link ByteBuffer} to write to.
+    * @param layer the layer of the {@link model.singleton.Neuron}.
+    * @param index the index of the {@link model.singleton.Neuron} in its layer.
+    * @param output the output of the {@link model.singleton.Neuron}.
+    */
+   private static void putNeuron( ByteBuffer buffer, int layer, int index, double output ){
+      buffer.putInt( layer );
+      buffer.putInt( index );
+      buffer.putDouble( output );
+   }// End Method
+
+   /**
+    * Method to read the position of a {@link model.singleton.Neuron} from the {@link ByteBuffer} and check it
+    * is that expected.
+    * @param buffer the {@link ByteBuffer} to read from.
+    * @param layer the expected layer.
+    * @param index the expected index.
+    * @return true if the position read is that expected.
+    */
+   private static boolean isNeuron( ByteBuffer buffer, int layer, int index ){
+      return buffer.getInt() == layer && buffer.getInt() == index;
+   }// End Method
+
+}// End Class
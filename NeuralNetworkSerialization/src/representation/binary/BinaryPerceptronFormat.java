@@ -0,0 +1,299 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package representation.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import architecture.serialization.BinaryFormat;
+import architecture.utility.ObjectGenerator;
+import model.function.threshold.ThresholdFunction;
+import model.network.Perceptron;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.NetworkPosition;
+import model.structure.NeuronLayer;
+import model.structure.NeuronLayer.NeuronLayerBuilder;
+
+/**
+ * The {@link BinaryPerceptronFormat} is a compact {@link BinaryFormat} for {@link Perceptron}s. Rather than
+ * an element per {@link Neuron} and {@link Synapse} cross referenced by identification, it holds the size and
+ * {@link ThresholdFunction} of each layer, the position and output of each {@link Neuron}, the index of the input
+ * of each {@link Synapse} and flat arrays of their weights, learning rates and last fired outputs. Loading is
+ * linear in the number of {@link Synapse}s, and the {@link Neuron}s and {@link Synapse}s are constructed directly,
+ * as a {@link Perceptron} constructed in code, without being looked up or stored in the
+ * {@link architecture.request.RequestSystem}.
+ * <p>
+ * Version 1 supports {@link Synapse}s using the default {@link model.function.learning.PerceptronLearningRule}.
+ * Their identifications are generated from the {@link Neuron}s they connect, so are not written.
+ */
+public class BinaryPerceptronFormat implements BinaryFormat< Perceptron > {
+
+   /** The number identifying {@link Perceptron} files, 'NNPB'. **/
+   public static final int MAGIC_NUMBER = 0x4E4E5042;
+   /** The current version of the format. **/
+   public static final int VERSION = 1;
+   /** The input index written for {@link Synapse}s from the bias {@link Neuron}. **/
+   static final int BIAS_INPUT = -1;
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getMagicNumber(){
+      return MAGIC_NUMBER;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getVersion(){
+      return VERSION;
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public int getSize( Perceptron perceptron ){
+      int neurons = 1 + perceptron.getInputLayer().size() + perceptron.getOutputLayer().size();
+      int synapses = countSynapses( perceptron.getOutputLayer() );
+      return sizeOf( perceptron.getBias().getThresholdFunction() )
+               + sizeOf( perceptron.getInputLayer().getThresholdFunction() )
+               + sizeOf( perceptron.getOutputLayer().getThresholdFunction() )
+               + 2 * Integer.BYTES
+               + neurons * ( 2 * Integer.BYTES + Double.BYTES )
+               + Integer.BYTES + perceptron.getOutputLayer().size() * Integer.BYTES
+               + synapses * ( Integer.BYTES + 3 * Double.BYTES );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public void write( Perceptron perceptron, ByteBuffer buffer ){
+      NeuronLayer inputLayer = perceptron.getInputLayer();
+      NeuronLayer outputLayer = perceptron.getOutputLayer();
+      putClass( buffer, perceptron.getBias().getThresholdFunction() );
+      putClass( buffer, inputLayer.getThresholdFunction() );
+      putClass( buffer, outputLayer.getThresholdFunction() );
+      buffer.putInt( inputLayer.size() );
+      buffer.putInt( outputLayer.size() );
+
+      putNeuron( buffer, perceptron.getBias() );
+      Map< Neuron, Integer > inputIndices = new IdentityHashMap< Neuron, Integer >();
+      for ( Iterator< Neuron > iterator = inputLayer.iterator(); iterator.hasNext(); ){
+         Neuron neuron = iterator.next();
+         checkFunction( neuron, inputLayer );
+         inputIndices.put( neuron, inputIndices.size() );
+         putNeuron( buffer, neuron );
+      }
+      for ( Iterator< Neuron > iterator = outputLayer.iterator(); iterator.hasNext(); ){
+         Neuron neuron = iterator.next();
+         checkFunction( neuron, outputLayer );
+         putNeuron( buffer, neuron );
+      }
+
+      List< Synapse > synapses = new ArrayList< Synapse >();
+      buffer.putInt( countSynapses( outputLayer ) );
+      for ( Iterator< Neuron > iterator = outputLayer.iterator(); iterator.hasNext(); ){
+         int count = 0;
+         for ( Iterator< Synapse > incoming = iterator.next().inputSynapseIterator(); incoming.hasNext(); ){
+            synapses.add( incoming.next() );
+            count++;
+         }
+         buffer.putInt( count );
+      }
+      for ( Synapse synapse : synapses ){
+         if ( synapse.getInput() == perceptron.getBias() ){
+            buffer.putInt( BIAS_INPUT );
+         } else {
+            Integer index = inputIndices.get( synapse.getInput() );
+            if ( index == null ){
+               throw new IllegalArgumentException( synapse.getIdentification() + " is not from the input layer or bias." );
+            }
+            buffer.putInt( index );
+         }
+      }
+      for ( Synapse synapse : synapses ){
+         buffer.putDouble( synapse.getWeightProperty().get() );
+      }
+      for ( Synapse synapse : synapses ){
+         buffer.putDouble( synapse.getLearningRate() );
+      }
+      for ( Synapse synapse : synapses ){
+         buffer.putDouble( synapse.getFiredOutput() );
+      }
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public Perceptron read( ByteBuffer buffer, int version ){
+      if ( version != VERSION ){
+         throw new IllegalStateException( "Unsupported version " + version + "." );
+      }
+      Class< ? extends ThresholdFunction > biasFunction = getClass( buffer );
+      Class< ? extends ThresholdFunction > inputFunction = getClass( buffer );
+      Class< ? extends ThresholdFunction > outputFunction = getClass( buffer );
+      int inputCount = buffer.getInt();
+      int outputCount = buffer.getInt();
+
+      Neuron bias = getNeuron( buffer, biasFunction );
+      List< Neuron > inputs = new ArrayList< Neuron >( inputCount );
+      for ( int i = 0; i < inputCount; i++ ){
+         inputs.add( getNeuron( buffer, inputFunction ) );
+      }
+      List< Neuron > outputs = new ArrayList< Neuron >( outputCount );
+      for ( int o = 0; o < outputCount; o++ ){
+         outputs.add( getNeuron( buffer, outputFunction ) );
+      }
+
+      int synapseCount = buffer.getInt();
+      int[] incomingCounts = new int[ outputCount ];
+      buffer.asIntBuffer().get( incomingCounts );
+      buffer.position( buffer.position() + outputCount * Integer.BYTES );
+      int[] inputIndices = new int[ synapseCount ];
+      buffer.asIntBuffer().get( inputIndices );
+      buffer.position( buffer.position() + synapseCount * Integer.BYTES );
+      double[] weights = getDoubles( buffer, synapseCount );
+      double[] learningRates = getDoubles( buffer, synapseCount );
+      double[] firedOutputs = getDoubles( buffer, synapseCount );
+
+      int s = 0;
+      for ( int o = 0; o < outputCount; o++ ){
+         for ( int k = 0; k < incomingCounts[ o ]; k++, s++ ){
+            Neuron input = inputIndices[ s ] == BIAS_INPUT ? bias : inputs.get( inputIndices[ s ] );
+            Synapse synapse = new Synapse( input, weights[ s ], outputs.get( o ) );
+            synapse.setLearningRate( learningRates[ s ] );
+            synapse.setFiredOutput( firedOutputs[ s ] );
+         }
+      }
+      if ( s != synapseCount ){
+         throw new IllegalStateException( "Expected " + synapseCount + " synapses, found " + s + "." );
+      }
+
+      return new Perceptron(
+               bias,
+               new NeuronLayer( new NeuronLayerBuilder().neurons( inputs ).thresholdFunction( inputFunction ) ),
+               new NeuronLayer( new NeuronLayerBuilder().neurons( outputs ).thresholdFunction( outputFunction ) )
+      );
+   }// End Method
+
+   /**
+    * Method to count the {@link Synapse}s into the given {@link NeuronLayer}.
+    * @param layer the {@link NeuronLayer}.
+    * @return the number of incoming {@link Synapse}s.
+    */
+   private static int countSynapses( NeuronLayer layer ){
+      int count = 0;
+      for ( Iterator< Neuron > iterator = layer.iterator(); iterator.hasNext(); ){
+         for ( Iterator< Synapse > incoming = iterator.next().inputSynapseIterator(); incoming.hasNext(); incoming.next() ){
+            count++;
+         }
+      }
+      return count;
+   }// End Method
+
+   /**
+    * Method to check that the {@link Neuron} uses the {@link ThresholdFunction} of its {@link NeuronLayer},
+    * since only that of the {@link NeuronLayer} is written.
+    * @param neuron the {@link Neuron} to check.
+    * @param layer the {@link NeuronLayer} containing the {@link Neuron}.
+    */
+   private static void checkFunction( Neuron neuron, NeuronLayer layer ){
+      if ( neuron.getThresholdFunction() != layer.getThresholdFunction() ){
+         throw new IllegalArgumentException(
+                  neuron.getIdentification() + " does not use the threshold function of its layer."
+         );
+      }
+   }// End Method
+
+   /**
+    * Method to calculate the number of bytes needed to write the name of the {@link Class}.
+    * @param clazz the {@link Class}.
+    * @return the number of bytes.
+    */
+   static int sizeOf( Class< ? > clazz ){
+      return Short.BYTES + clazz.getName().getBytes( StandardCharsets.UTF_8 ).length;
+   }// End Method
+
+   /**
+    * Method to write the name of the {@link Class} to the {@link ByteBuffer}.
+    * @param buffer the {@link ByteBuffer} to write to.
+    * @param clazz the {@link Class}.
+    */
+   static void putClass( ByteBuffer buffer, Class< ? > clazz ){
+      byte[] name = clazz.getName().getBytes( StandardCharsets.UTF_8 );
+      buffer.putShort( ( short )name.length );
+      buffer.put( name );
+   }// End Method
+
+   /**
+    * Method to read the name of a {@link ThresholdFunction} {@link Class} from the {@link ByteBuffer}.
+    * @param buffer the {@link ByteBuffer} to read from.
+    * @return the {@link Class} of {@link ThresholdFunction}, found without being initialised so that nothing
+    * named by the file is run before it is known to be a {@link ThresholdFunction}.
+    */
+   static Class< ? extends ThresholdFunction > getClass( ByteBuffer buffer ){
+      byte[] name = new byte[ buffer.getShort() ];
+      buffer.get( name );
+      String className = new String( name, StandardCharsets.UTF_8 );
+      Class< ? > function;
+      try {
+         function = Class.forName( className, false, ThresholdFunction.class.getClassLoader() );
+      } catch ( ClassNotFoundException e ) {
+         throw new IllegalStateException( className + " is not a threshold function.", e );
+      }
+      if ( !ThresholdFunction.class.isAssignableFrom( function ) ){
+         throw new IllegalStateException( className + " is not a threshold function." );
+      }
+      return function.asSubclass( ThresholdFunction.class );
+   }// End Method
+
+   /**
+    * Method to write the position and output of the {@link Neuron} to the {@link ByteBuffer}.
+    * @param buffer the {@link ByteBuffer} to write to.
+    * @param neuron the {@link Neuron}.
+    */
+   private static void putNeuron( ByteBuffer buffer, Neuron neuron ){
+      buffer.putInt( neuron.getPosition().layer );
+      buffer.putInt( neuron.getPosition().index );
+      buffer.putDouble( neuron.getOutput() );
+   }// End Method
+
+   /**
+    * Method to read a {@link Neuron} from the {@link ByteBuffer}.
+    * @param buffer the {@link ByteBuffer} to read from.
+    * @param function the {@link Class} of {@link ThresholdFunction} the {@link Neuron} uses.
+    * @return the constructed {@link Neuron}.
+    */
+   private static Neuron getNeuron( ByteBuffer buffer, Class< ? extends ThresholdFunction > function ){
+      int layer = buffer.getInt();
+      int index = buffer.getInt();
+      Neuron neuron = new Neuron( new NetworkPosition( layer, index ), ObjectGenerator.construct( function ) );
+      neuron.getOutputProperty().set( buffer.getDouble() );
+      return neuron;
+   }// End Method
+
+   /**
+    * Method to read an array of doubles from the {@link ByteBuffer} in bulk.
+    * @param buffer the {@link ByteBuffer} to read from.
+    * @param count the number of doubles.
+    * @return the doubles read.
+    */
+   static double[] getDoubles( ByteBuffer buffer, int count ){
+      double[] values = new double[ count ];
+      buffer.asDoubleBuffer().get( values );
+      buffer.position( buffer.position() + count * Double.BYTES );
+      return values;
+   }// End Method
+
+}// End Class
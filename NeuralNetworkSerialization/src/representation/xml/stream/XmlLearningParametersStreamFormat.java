@@ -0,0 +1,56 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package representation.xml.stream;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import architecture.serialization.StreamingXmlFormat;
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+import representation.xml.model.XmlLearningParameter;
+import representation.xml.wrapper.XmlLearningParametersWrapper;
+
+/**
+ * The {@link XmlLearningParametersStreamFormat} is a {@link StreamingXmlFormat} reading {@link LearningParameters}
+ * from the XML written for an {@link XmlLearningParametersWrapper}, one {@link XmlLearningParameter} at a time.
+ */
+public class XmlLearningParametersStreamFormat implements StreamingXmlFormat< LearningParameters > {
+
+   /** The element of each {@link XmlLearningParameter} in the collection. **/
+   private static final String OBJECTS = "objects";
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public Class< ? >[] getElementClasses(){
+      return new Class< ? >[]{ XmlLearningParameter.class };
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public LearningParameters read( XMLStreamReader reader, Unmarshaller unmarshaller ) throws XMLStreamException, JAXBException {
+      LearningParameters parameters = new LearningParameters();
+      while ( reader.hasNext() ){
+         if ( reader.getEventType() == XMLStreamConstants.START_ELEMENT && OBJECTS.equals( reader.getLocalName() ) ){
+            XmlLearningParameter xmlParameter = unmarshaller.unmarshal( reader, XmlLearningParameter.class ).getValue();
+            LearningParameter parameter = new LearningParameter( xmlParameter.getIdentification() );
+            parameter.read( xmlParameter );
+            parameters.addLearningParameter( parameter );
+         } else {
+            reader.next();
+         }
+      }
+      return parameters;
+   }// End Method
+
+}// End Class
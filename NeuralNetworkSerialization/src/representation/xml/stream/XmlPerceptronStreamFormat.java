@@ -0,0 +1,182 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package representation.xml.stream;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import architecture.serialization.StreamingXmlFormat;
+import architecture.utility.ObjectGenerator;
+import model.function.learning.PerceptronLearningRule;
+import model.function.threshold.ThresholdFunction;
+import model.network.Perceptron;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.NeuronLayer;
+import model.structure.NeuronLayer.NeuronLayerBuilder;
+import representation.xml.model.XmlNeuron;
+import representation.xml.model.XmlSynapse;
+import representation.xml.wrapper.XmlPerceptronWrapper;
+
+/**
+ * The {@link XmlPerceptronStreamFormat} is a {@link StreamingXmlFormat} reading a {@link Perceptron} from the XML
+ * written for an {@link XmlPerceptronWrapper}. Each {@link XmlNeuron} and {@link XmlSynapse} is unmarshalled as it
+ * is reached and discarded once its {@link Neuron} or {@link Synapse} is constructed. {@link Neuron}s are held by
+ * identification for the load only, so each {@link Synapse} is connected with a single lookup.
+ */
+public class XmlPerceptronStreamFormat implements StreamingXmlFormat< Perceptron > {
+
+   /** The element containing the bias {@link XmlNeuron}. **/
+   private static final String BIAS = "bias";
+   /** The element containing the input {@link NeuronLayer}. **/
+   private static final String INPUT_LAYER = "inputLayer";
+   /** The element containing the output {@link NeuronLayer}. **/
+   private static final String OUTPUT_LAYER = "outputLayer";
+   /** The element containing the {@link ThresholdFunction} of a {@link NeuronLayer}. **/
+   private static final String THRESHOLD_FUNCTION = "thresholdFunction";
+   /** The element of each {@link XmlNeuron} or {@link XmlSynapse} in a collection. **/
+   private static final String OBJECTS = "objects";
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public Class< ? >[] getElementClasses(){
+      return new Class< ? >[]{ XmlNeuron.class, XmlSynapse.class };
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   @Override public Perceptron read( XMLStreamReader reader, Unmarshaller unmarshaller ) throws XMLStreamException, JAXBException {
+      Map< String, Neuron > neurons = new HashMap< String, Neuron >();
+      Neuron bias = null;
+      List< Neuron > inputs = new ArrayList< Neuron >();
+      List< Neuron > outputs = new ArrayList< Neuron >();
+      Class< ? extends ThresholdFunction > inputFunction = null;
+      Class< ? extends ThresholdFunction > outputFunction = null;
+      List< Neuron > layer = null;
+
+      while ( reader.hasNext() ){
+         if ( reader.getEventType() == XMLStreamConstants.START_ELEMENT ){
+            String name = reader.getLocalName();
+            if ( BIAS.equals( name ) ){
+               bias = constructNeuron( unmarshaller.unmarshal( reader, XmlNeuron.class ).getValue(), neurons );
+               continue;
+            } else if ( INPUT_LAYER.equals( name ) ){
+               layer = inputs;
+            } else if ( OUTPUT_LAYER.equals( name ) ){
+               layer = outputs;
+            } else if ( THRESHOLD_FUNCTION.equals( name ) && layer != null ){
+               Class< ? extends ThresholdFunction > function = readFunction( reader.getElementText() );
+               if ( layer == inputs ){
+                  inputFunction = function;
+               } else {
+                  outputFunction = function;
+               }
+            } else if ( OBJECTS.equals( name ) && layer != null ){
+               layer.add( constructNeuron( unmarshaller.unmarshal( reader, XmlNeuron.class ).getValue(), neurons ) );
+               continue;
+            } else if ( OBJECTS.equals( name ) ){
+               constructSynapse( unmarshaller.unmarshal( reader, XmlSynapse.class ).getValue(), neurons );
+               continue;
+            }
+         } else if ( reader.getEventType() == XMLStreamConstants.END_ELEMENT ){
+            String name = reader.getLocalName();
+            if ( INPUT_LAYER.equals( name ) || OUTPUT_LAYER.equals( name ) ){
+               layer = null;
+            }
+         }
+         reader.next();
+      }
+
+      if ( bias == null || inputFunction == null || outputFunction == null ){
+         throw new IllegalStateException( "The bias and both layers must be defined." );
+      }
+      return new Perceptron(
+               bias,
+               new NeuronLayer( new NeuronLayerBuilder().neurons( inputs ).thresholdFunction( inputFunction ) ),
+               new NeuronLayer( new NeuronLayerBuilder().neurons( outputs ).thresholdFunction( outputFunction ) )
+      );
+   }// End Method
+
+   /**
+    * Method to find the {@link ThresholdFunction} {@link Class} with the given name.
+    * @param className the name of the {@link Class}.
+    * @return the {@link Class} of {@link ThresholdFunction}, found without being initialised so that nothing
+    * named by the file is run before it is known to be a {@link ThresholdFunction}.
+    */
+   private static Class< ? extends ThresholdFunction > readFunction( String className ){
+      Class< ? > function;
+      try {
+         function = Class.forName( className.trim(), false, ThresholdFunction.class.getClassLoader() );
+      } catch ( ClassNotFoundException e ) {
+         throw new IllegalStateException( className + " is not a threshold function.", e );
+      }
+      if ( !ThresholdFunction.class.isAssignableFrom( function ) ){
+         throw new IllegalStateException( className + " is not a threshold function." );
+      }
+      return function.asSubclass( ThresholdFunction.class );
+   }// End Method
+
+   /**
+    * Method to construct the {@link Neuron} represented by the {@link XmlNeuron}, holding it for the load. Its
+    * {@link Synapse}s are connected as they are read.
+    * @param xmlNeuron the {@link XmlNeuron} read.
+    * @param neurons the {@link Neuron}s read so far by identification.
+    * @return the constructed {@link Neuron}.
+    */
+   private static Neuron constructNeuron( XmlNeuron xmlNeuron, Map< String, Neuron > neurons ){
+      Class< ? extends ThresholdFunction > function = xmlNeuron.getThresholdFunction();
+      if ( function == null ){
+         throw new IllegalStateException( "Neuron has no threshold function: " + xmlNeuron.getIdentification() + "." );
+      } else if ( !ThresholdFunction.class.isAssignableFrom( function ) ){
+         throw new IllegalStateException( function.getName() + " is not a threshold function." );
+      }
+      Neuron neuron = new Neuron( xmlNeuron.getPosition(), ObjectGenerator.construct( function ) );
+      neuron.setIdentification( xmlNeuron.getIdentification() );
+      if ( xmlNeuron.getCurrentOutput() != null ){
+         neuron.getOutputProperty().set( xmlNeuron.getCurrentOutput() );
+      }
+      if ( neurons.put( neuron.getIdentification(), neuron ) != null ){
+         throw new IllegalStateException( "Neuron defined more than once: " + neuron.getIdentification() + "." );
+      }
+      return neuron;
+   }// End Method
+
+   /**
+    * Method to construct the {@link Synapse} represented by the {@link XmlSynapse}, connecting the {@link Neuron}s
+    * already read.
+    * @param xmlSynapse the {@link XmlSynapse} read.
+    * @param neurons the {@link Neuron}s read by identification.
+    */
+   private static void constructSynapse( XmlSynapse xmlSynapse, Map< String, Neuron > neurons ){
+      Neuron input = neurons.get( xmlSynapse.getInputNeuron() );
+      Neuron output = neurons.get( xmlSynapse.getOutputNeuron() );
+      if ( input == null || output == null ){
+         throw new IllegalStateException( "Synapse references a neuron that does not exist: " + xmlSynapse.getIdentification() + "." );
+      }
+      if ( xmlSynapse.getLearningRule() != null && xmlSynapse.getLearningRule() != PerceptronLearningRule.class ){
+         throw new IllegalStateException( "Unsupported learning rule " + xmlSynapse.getLearningRule().getName() + "." );
+      }
+      Synapse synapse = new Synapse( input, xmlSynapse.getWeight(), output );
+      synapse.setIdentification( xmlSynapse.getIdentification() );
+      synapse.setLearningRate( xmlSynapse.getLearningRate() );
+      if ( xmlSynapse.getLastFiredOutput() != null ){
+         synapse.setFiredOutput( xmlSynapse.getLastFiredOutput() );
+      }
+   }// End Method
+
+}// End Class
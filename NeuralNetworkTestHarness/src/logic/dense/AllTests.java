@@ -0,0 +1,25 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.dense;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses({
+   ArrayFormTest.class,
+   DenseActivationTest.class,
+   DensePerceptronTest.class,
+   FrozenNetworkTest.class,
+   ParallelBatchLearnerTest.class,
+   PerceptronPredictTest.class,
+   SparsePerceptronTest.class
+})
+
+public class AllTests {}
@@ -0,0 +1,241 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.dense;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import javafx.beans.InvalidationListener;
+import model.function.threshold.RectifiedLinearFunction;
+import model.function.threshold.TanhFunction;
+import model.network.FeedForwardNetwork;
+import model.network.Perceptron;
+import model.network.dense.BackPropagation;
+import model.network.dense.BatchLearner;
+import model.network.dense.DenseActivation;
+import model.network.dense.DenseNetwork;
+import model.network.dense.DensePerceptron;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.LearningParameters;
+import model.structure.NetworkPosition;
+import utility.TruthTables;
+
+/**
+ * The {@link ArrayFormTest} is responsible for testing that {@link DensePerceptron}s and {@link DenseNetwork}s
+ * constructed in array form train without {@link model.singleton.Neuron}s or {@link model.singleton.Synapse}s,
+ * and materialise them with the trained weights when requested.
+ */
+public class ArrayFormTest {
+
+   /** The tolerance for comparing outputs. **/
+   private static final double TOLERANCE = 0.000001;
+
+   /**
+    * Method to test that a wide {@link DensePerceptron} in array form does not construct its {@link Perceptron}.
+    */
+   @Test public void WidePerceptronTest(){
+      DensePerceptron dense = new DensePerceptron( 2000, 500 );
+      assertFalse( dense.isMaterialised() );
+      assertEquals( 2000, dense.getInputCount() );
+      assertEquals( 500, dense.getOutputCount() );
+      double[] output = new double[ 500 ];
+      dense.fire( new double[ 2000 ], output );
+      dense.synchronise();
+      dense.writeWeights();
+      assertFalse( dense.isMaterialised() );
+   }// End Method
+
+   /**
+    * Method to test that a {@link DensePerceptron} trained in array form materialises a {@link Perceptron}
+    * with the trained weights.
+    */
+   @Test public void PerceptronMaterialiseTest(){
+      DensePerceptron dense = new DensePerceptron( 2, 1 );
+      BatchLearner learner = new BatchLearner( dense );
+      LearningParameters parameters = TruthTables.constructTruthTable( 0, 1, 1, 1 );
+      for ( int epoch = 0; epoch < 100; epoch++ ){
+         learner.trainEpoch( parameters );
+      }
+      assertFalse( dense.isMaterialised() );
+
+      Perceptron perceptron = dense.getPerceptron();
+      assertTrue( dense.isMaterialised() );
+      double[] expected = new double[ 1 ];
+      double[] actual = new double[ 1 ];
+      for ( double[] input : new double[][]{ { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } } ){
+         dense.fire( input, expected );
+         perceptron.predict( input, actual );
+         assertEquals( expected[ 0 ], actual[ 0 ], TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that learning rates set in array form are written to the {@link Synapse}s when materialised,
+    * and so are kept when the {@link DensePerceptron} is synchronised with them.
+    */
+   @Test public void MaterialisedLearningRateTest(){
+      DensePerceptron dense = new DensePerceptron( 2, 1 );
+      dense.setLearningRate( 0.3 );
+      assertLearningRates( 0.3, dense.getPerceptron() );
+      dense.synchronise();
+      assertLearningRates( 0.3, dense.detach().getPerceptron() );
+   }// End Method
+
+   /**
+    * Method to assert that every {@link Synapse} into the output layer of the {@link Perceptron} has the given learning rate.
+    * @param expected the expected learning rate.
+    * @param perceptron the {@link Perceptron} to check.
+    */
+   private static void assertLearningRates( double expected, Perceptron perceptron ){
+      for ( Iterator< Neuron > outputs = perceptron.getOutputLayer().iterator(); outputs.hasNext(); ){
+         for ( Iterator< Synapse > synapses = outputs.next().inputSynapseIterator(); synapses.hasNext(); ){
+            assertEquals( expected, synapses.next().getLearningRate(), 0 );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to test that {@link InvalidationListener}s added before materialising are notified by the {@link Perceptron}.
+    */
+   @Test public void PendingListenerTest(){
+      DensePerceptron dense = new DensePerceptron( 2, 1 );
+      boolean[] invalidated = new boolean[ 1 ];
+      dense.addInvalidationListener( observable -> invalidated[ 0 ] = true );
+      assertFalse( dense.isMaterialised() );
+      dense.getPerceptron().configureWeight( new NetworkPosition( 0, 0 ), new NetworkPosition( 1, 0 ), 5 );
+      assertTrue( invalidated[ 0 ] );
+   }// End Method
+
+   /**
+    * Method to test that a {@link DenseNetwork} in array form learns the xor and materialises a
+    * {@link FeedForwardNetwork} firing as it does.
+    */
+   @Test public void NetworkMaterialiseTest(){
+      DenseNetwork dense = new DenseNetwork( 2, 4, 1 );
+      assertFalse( dense.isMaterialised() );
+      BackPropagation learner = new BackPropagation( dense );
+      LearningParameters parameters = TruthTables.constructTruthTable( 0, 1, 1, 0 );
+      for ( int epoch = 0; epoch < 200; epoch++ ){
+         learner.trainEpoch( parameters );
+      }
+      assertFalse( dense.isMaterialised() );
+
+      FeedForwardNetwork network = dense.getNetwork();
+      assertTrue( dense.isMaterialised() );
+      double[] expected = new double[ 1 ];
+      for ( double[] input : new double[][]{ { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } } ){
+         dense.fire( input, expected );
+         network.configureInput( input[ 0 ], input[ 1 ] );
+         network.fireInput();
+         assertEquals( expected[ 0 ], network.getOutputArray().get( 0 ), TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a detached {@link DensePerceptron} trains without writing to the {@link Perceptron}
+    * and that its weights can be written back when done.
+    */
+   @Test public void DetachTest(){
+      Perceptron perceptron = new Perceptron( 2, 1 );
+      DensePerceptron compiled = new DensePerceptron( perceptron );
+      BatchLearner target = new BatchLearner( compiled );
+      double[] original = new double[ target.getWeightCount() ];
+      target.copyWeights( original );
+      DensePerceptron detached = compiled.detach();
+      assertFalse( detached.isMaterialised() );
+
+      BatchLearner learner = new BatchLearner( detached );
+      for ( int epoch = 0; epoch < 100; epoch++ ){
+         learner.trainEpoch( TruthTables.constructTruthTable( 0, 1, 1, 1 ) );
+      }
+      compiled.synchronise();
+      double[] unchanged = new double[ original.length ];
+      target.copyWeights( unchanged );
+      assertArrayEquals( original, unchanged, 0 );
+
+      double[] trained = new double[ learner.getWeightCount() ];
+      learner.copyWeights( trained );
+      target.restoreWeights( trained );
+      double[] expected = new double[ 1 ];
+      double[] actual = new double[ 1 ];
+      for ( double[] input : new double[][]{ { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } } ){
+         detached.fire( input, expected );
+         perceptron.predict( input, actual );
+         assertEquals( expected[ 0 ], actual[ 0 ], TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a {@link DensePerceptron} detached with a different activation materialises a 
+    * {@link Perceptron} with the same activation and bias, computing the same outputs.
+    */
+   @Test public void DetachedActivationMaterialiseTest(){
+      Perceptron perceptron = new Perceptron( 2, 2 );
+      perceptron.configureWeight( new NetworkPosition( 0, 0 ), new NetworkPosition( 1, 0 ), -2 );
+      perceptron.configureWeight( new NetworkPosition( 0, 1 ), new NetworkPosition( 1, 1 ), 1.5 );
+      perceptron.getBias().getOutputProperty().set( 0.5 );
+      DensePerceptron detached = new DensePerceptron( perceptron ).detach( DenseActivation.ReLU );
+
+      Perceptron materialised = detached.getPerceptron();
+      assertEquals( RectifiedLinearFunction.class, materialised.getOutputLayer().getThresholdFunction() );
+      assertEquals( 0.5, materialised.getBias().getOutput(), 0 );
+      double[] expected = new double[ 2 ];
+      double[] actual = new double[ 2 ];
+      for ( double[] input : new double[][]{ { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } } ){
+         detached.fire( input, expected );
+         materialised.predict( input, actual );
+         assertArrayEquals( expected, actual, TOLERANCE );
+         materialised.configureInput( input[ 0 ], input[ 1 ] );
+         materialised.fireInput();
+         for ( int o = 0; o < expected.length; o++ ){
+            assertEquals( expected[ o ], materialised.getOutputArray().get( o ), TOLERANCE );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to test that a {@link DenseNetwork} in array form materialises a {@link FeedForwardNetwork} with the
+    * activation of each layer.
+    */
+   @Test public void NetworkActivationMaterialiseTest(){
+      DenseNetwork dense = new DenseNetwork( new int[]{ 2, 3, 1 }, DenseActivation.ReLU, DenseActivation.Tanh );
+      FeedForwardNetwork network = dense.getNetwork();
+      assertEquals( RectifiedLinearFunction.class, network.getLayer( 1 ).getThresholdFunction() );
+      assertEquals( TanhFunction.class, network.getLayer( 2 ).getThresholdFunction() );
+      double[] expected = new double[ 1 ];
+      for ( double[] input : new double[][]{ { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } } ){
+         dense.fire( input, expected );
+         network.configureInput( input[ 0 ], input[ 1 ] );
+         network.fireInput();
+         assertEquals( expected[ 0 ], network.getOutputArray().get( 0 ), TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a {@link DensePerceptron} using {@link DenseActivation#Softmax}, which has no
+    * {@link model.function.threshold.ThresholdFunction} equivalent, is not materialised.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void SoftmaxMaterialiseTest(){
+      new DensePerceptron( 2, 2 ).detach( DenseActivation.Softmax ).getPerceptron();
+   }// End Method
+
+   /**
+    * Method to test that a {@link DenseNetwork} requires an input and output layer.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void SingleLayerTest(){
+      new DenseNetwork( 3 );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,219 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.dense;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.function.activation.ActivationFunction;
+import model.function.activation.ActivationTable;
+import model.function.threshold.SigmoidFunction;
+import model.network.FeedForwardNetwork;
+import model.network.dense.BackPropagation;
+import model.network.dense.DenseActivation;
+import model.network.dense.DenseNetwork;
+import model.structure.LearningParameters;
+import model.structure.NetworkPosition;
+import model.training.TrainingController;
+import model.training.TrainingController.StopReason;
+import model.training.TrainingController.TrainingControllerBuilder;
+import utility.TruthTables;
+
+/**
+ * The {@link DenseActivationTest} is responsible for testing the {@link DenseActivation}s and their use as
+ * {@link ActivationFunction}s of a {@link DenseNetwork}.
+ */
+public class DenseActivationTest {
+
+   /** The tolerance for comparing exact activations. **/
+   private static final double TOLERANCE = 0.0000001;
+   /** The tolerance for comparing table based approximations. **/
+   private static final double APPROXIMATION_TOLERANCE = 0.0001;
+
+   /**
+    * Method to apply the {@link ActivationFunction} to the given values.
+    * @param function the {@link ActivationFunction} to apply.
+    * @param values the weighted sums.
+    * @return the outputs.
+    */
+   private static double[] apply( ActivationFunction function, double... values ){
+      double[] buffer = values.clone();
+      function.apply( buffer, buffer.length );
+      return buffer;
+   }// End Method
+
+   /**
+    * Method to test the outputs and derivatives of {@link DenseActivation#Tanh}.
+    */
+   @Test public void TanhTest(){
+      double[] output = apply( DenseActivation.Tanh, -2, 0, 0.5 );
+      assertEquals( Math.tanh( -2 ), output[ 0 ], TOLERANCE );
+      assertEquals( 0, output[ 1 ], TOLERANCE );
+      assertEquals( Math.tanh( 0.5 ), output[ 2 ], TOLERANCE );
+      assertEquals( 1, DenseActivation.Tanh.derivative( 0 ), TOLERANCE );
+      assertEquals( 0.75, DenseActivation.Tanh.derivative( 0.5 ), TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test the outputs and derivatives of {@link DenseActivation#ReLU} and {@link DenseActivation#LeakyReLU}.
+    */
+   @Test public void ReLUTest(){
+      double[] output = apply( DenseActivation.ReLU, -3, 0, 2 );
+      assertEquals( 0, output[ 0 ], TOLERANCE );
+      assertEquals( 0, output[ 1 ], TOLERANCE );
+      assertEquals( 2, output[ 2 ], TOLERANCE );
+      assertEquals( 0, DenseActivation.ReLU.derivative( 0 ), TOLERANCE );
+      assertEquals( 1, DenseActivation.ReLU.derivative( 2 ), TOLERANCE );
+
+      output = apply( DenseActivation.LeakyReLU, -3, 2 );
+      assertEquals( -3 * DenseActivation.LEAKY_SLOPE, output[ 0 ], TOLERANCE );
+      assertEquals( 2, output[ 1 ], TOLERANCE );
+      assertEquals( DenseActivation.LEAKY_SLOPE, DenseActivation.LeakyReLU.derivative( output[ 0 ] ), TOLERANCE );
+      assertEquals( 1, DenseActivation.LeakyReLU.derivative( 2 ), TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that {@link DenseActivation#Softmax} normalises the layer, even for large sums.
+    */
+   @Test public void SoftmaxTest(){
+      double[] output = apply( DenseActivation.Softmax, 1, 2, 3 );
+      double total = Math.exp( 1 ) + Math.exp( 2 ) + Math.exp( 3 );
+      assertEquals( Math.exp( 1 ) / total, output[ 0 ], TOLERANCE );
+      assertEquals( Math.exp( 2 ) / total, output[ 1 ], TOLERANCE );
+      assertEquals( Math.exp( 3 ) / total, output[ 2 ], TOLERANCE );
+
+      output = apply( DenseActivation.Softmax, 1000, 1000 );
+      assertEquals( 0.5, output[ 0 ], TOLERANCE );
+      assertEquals( 0.5, output[ 1 ], TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that only the given length of the buffer is activated.
+    */
+   @Test public void LengthTest(){
+      double[] buffer = { -1, -1 };
+      DenseActivation.ReLU.apply( buffer, 1 );
+      assertEquals( 0, buffer[ 0 ], TOLERANCE );
+      assertEquals( -1, buffer[ 1 ], TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that the fast activations approximate their exact equivalents across and beyond their tables.
+    */
+   @Test public void FastApproximationTest(){
+      Random random = new Random( 11 );
+      for ( int i = 0; i < 10000; i++ ){
+         double value = random.nextDouble() * 30 - 15;
+         assertEquals( SigmoidFunction.sigmoid( value ), apply( DenseActivation.FastSigmoid, value )[ 0 ], APPROXIMATION_TOLERANCE );
+         assertEquals( Math.tanh( value ), apply( DenseActivation.FastTanh, value )[ 0 ], APPROXIMATION_TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that the {@link ActivationTable} interpolates between its samples.
+    */
+   @Test public void ActivationTableTest(){
+      ActivationTable table = new ActivationTable( value -> value * value, 0, 2, 2 );
+      assertEquals( 0, table.get( -1 ), TOLERANCE );
+      assertEquals( 0.5, table.get( 0.5 ), TOLERANCE );
+      assertEquals( 1, table.get( 1 ), TOLERANCE );
+      assertEquals( 2.5, table.get( 1.5 ), TOLERANCE );
+      assertEquals( 4, table.get( 3 ), TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that errors are propagated through the full Jacobian of {@link DenseActivation#Softmax}, matching
+    * a numerical estimate from nudging each weighted sum.
+    */
+   @Test public void SoftmaxDerivativeTest(){
+      double[] sums = { 0.5, -1, 2 };
+      double[] errors = { 0.3, -0.2, 0.7 };
+      double[] propagated = errors.clone();
+      DenseActivation.Softmax.applyDerivative( apply( DenseActivation.Softmax, sums ), propagated, sums.length );
+
+      double step = 0.000001;
+      for ( int i = 0; i < sums.length; i++ ){
+         double[] above = sums.clone();
+         above[ i ] += step;
+         double[] below = sums.clone();
+         below[ i ] -= step;
+         double[] aboveOutput = apply( DenseActivation.Softmax, above );
+         double[] belowOutput = apply( DenseActivation.Softmax, below );
+         double expected = 0;
+         for ( int j = 0; j < sums.length; j++ ){
+            expected += errors[ j ] * ( aboveOutput[ j ] - belowOutput[ j ] ) / ( 2 * step );
+         }
+         assertEquals( expected, propagated[ i ], APPROXIMATION_TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that {@link DenseActivation#Softmax} has no derivative of a single output.
+    */
+   @Test( expected = UnsupportedOperationException.class ) public void SoftmaxNoSingleDerivativeTest(){
+      DenseActivation.Softmax.derivative( 0.5 );
+   }// End Method
+
+   /**
+    * Method to test that {@link DenseActivation#Step} cannot be used to propagate errors.
+    */
+   @Test( expected = UnsupportedOperationException.class ) public void StepNotDifferentiableTest(){
+      DenseActivation.Step.derivative( 1 );
+   }// End Method
+
+   /**
+    * Method to test that only the {@link DenseActivation}s without a derivative are not differentiable.
+    */
+   @Test public void DifferentiableTest(){
+      for ( DenseActivation activation : DenseActivation.values() ){
+         assertEquals( activation.toString(), activation != DenseActivation.Step, activation.isDifferentiable() );
+      }
+   }// End Method
+
+   /**
+    * Method to test that {@link BackPropagation} rejects a {@link DenseNetwork} with a layer that is not 
+    * differentiable when constructed, rather than part way through training.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void StepBackPropagationRejectedTest(){
+      new BackPropagation( new DenseNetwork( new int[]{ 2, 3, 1 }, DenseActivation.Tanh, DenseActivation.Step ) );
+   }// End Method
+
+   /**
+    * Method to test that the number of {@link ActivationFunction}s must match the layers.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void ActivationCountTest(){
+      new DenseNetwork( new FeedForwardNetwork( 2, 3, 1 ), DenseActivation.Tanh );
+   }// End Method
+
+   /**
+    * Method to test that a {@link DenseNetwork} with a {@link DenseActivation#Tanh} hidden layer learns the xor.
+    */
+   @Test public void TanhHiddenLayerLearnsXorTest(){
+      LearningParameters parameters = TruthTables.constructXor();
+
+      FeedForwardNetwork network = new FeedForwardNetwork( 2, 4, 1 );
+      Random random = new Random( 1 );
+      for ( int l = 1; l < network.getNumberOfLayers(); l++ ){
+         for ( int o = 0; o < network.getLayer( l ).size(); o++ ){
+            NetworkPosition output = new NetworkPosition( l, o );
+            for ( int i = 0; i < network.getLayer( l - 1 ).size(); i++ ){
+               network.configureWeight( new NetworkPosition( l - 1, i ), output, random.nextDouble() * 2 - 1 );
+            }
+            network.configureBias( output, random.nextDouble() * 2 - 1 );
+         }
+      }
+
+      DenseNetwork dense = new DenseNetwork( network, DenseActivation.Tanh, DenseActivation.Sigmoid );
+      TrainingController controller = new TrainingController( new TrainingControllerBuilder().maximumEpochs( 50000 ) );
+      assertEquals( StopReason.Converged, controller.train( new BackPropagation( dense ), parameters ) );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,154 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.dense;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import architecture.utility.ReadOnlyArray;
+import model.network.Perceptron;
+import model.network.dense.DensePerceptron;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.NetworkPosition;
+import utility.Comparison;
+
+/**
+ * The {@link DensePerceptronTest} is responsible for testing that the {@link DensePerceptron}
+ * produces the same results as the {@link Perceptron} it is compiled from.
+ */
+public class DensePerceptronTest {
+
+   /** The number of {@link Neuron}s in the input layer. **/
+   private static final int INPUT_NEURON_COUNT = 20;
+   /** The number of {@link Neuron}s in the output layer. **/
+   private static final int OUTPUT_NEURON_COUNT = 10;
+   /** The number of random inputs to compare. **/
+   private static final int SAMPLES = 100;
+   /** The {@link Perceptron} compiled. **/
+   private Perceptron perceptron;
+   /** The {@link DensePerceptron} under test. **/
+   private DensePerceptron dense;
+
+   /**
+    * Method to construct a {@link Perceptron} with random weights and compile it.
+    */
+   @Before public void initialise(){
+      perceptron = new Perceptron( INPUT_NEURON_COUNT, OUTPUT_NEURON_COUNT );
+      dense = new DensePerceptron( perceptron );
+   }// End Method
+
+   /**
+    * Method to test that the logical or, configured in {@link PerceptronLogicalOrTest}, is reproduced.
+    */
+   @Test public void LogicalOrTest(){
+      Perceptron or = new Perceptron( 2, 1 );
+      or.configureWeight( new NetworkPosition( 0, 0 ), new NetworkPosition( 1, 0 ), 1.0 );
+      or.configureWeight( new NetworkPosition( 0, 1 ), new NetworkPosition( 1, 0 ), 1.0 );
+      or.configureBias( new NetworkPosition( 1, 0 ), -0.5 );
+      DensePerceptron denseOr = new DensePerceptron( or );
+
+      denseOr.fireInput( 0, 0 );
+      Comparison.doubleAssert( denseOr.getOutput( 0 ), 0 );
+      denseOr.fireInput( 0, 1 );
+      Comparison.doubleAssert( denseOr.getOutput( 0 ), 1 );
+      denseOr.fireInput( 1, 0 );
+      Comparison.doubleAssert( denseOr.getOutput( 0 ), 1 );
+      denseOr.fireInput( 1, 1 );
+      Comparison.doubleAssert( denseOr.getOutput( 0 ), 1 );
+   }// End Method
+
+   /**
+    * Method to test that random inputs produce the same output as firing the {@link Perceptron}.
+    */
+   @Test public void RandomInputTest(){
+      Random random = new Random( 1 );
+      double[] input = new double[ INPUT_NEURON_COUNT ];
+      double[] output = new double[ OUTPUT_NEURON_COUNT ];
+      Double[] graphInput = new Double[ INPUT_NEURON_COUNT ];
+      for ( int s = 0; s < SAMPLES; s++ ){
+         for ( int i = 0; i < INPUT_NEURON_COUNT; i++ ){
+            input[ i ] = random.nextDouble() * 2 - 1;
+            graphInput[ i ] = input[ i ];
+         }
+         perceptron.configureInput( graphInput );
+         perceptron.fireInput();
+         dense.fire( input, output );
+
+         ReadOnlyArray< Double > expected = perceptron.getOutputArray();
+         for ( int o = 0; o < OUTPUT_NEURON_COUNT; o++ ){
+            Comparison.doubleAssert( expected.get( o ), output[ o ] );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to test that weights changed in the {@link Perceptron} are only seen once synchronised.
+    */
+   @Test public void SynchroniseTest(){
+      perceptron.configureWeight( new NetworkPosition( 0, 3 ), new NetworkPosition( 1, 2 ), 5.0 );
+      perceptron.configureBias( new NetworkPosition( 1, 4 ), -7.0 );
+      assertEquals( false, dense.getLayer().getWeight( 2, 3 ) == 5.0 );
+
+      dense.synchronise();
+      Comparison.doubleAssert( dense.getLayer().getWeight( 2, 3 ), 5.0 );
+      Comparison.doubleAssert( dense.getLayer().getBiasWeight( 4 ), -7.0 );
+   }// End Method
+
+   /**
+    * Method to test that weights are written back to the {@link Synapse}s on request.
+    */
+   @Test public void WriteWeightsTest(){
+      dense.getLayer().setWeight( 1, 6, 3.5 );
+      dense.getLayer().setBiasWeight( 9, -2.5 );
+      dense.writeWeights();
+
+      Neuron output = perceptron.getOutputLayer().getNeuronAtPosition( new NetworkPosition( 1, 1 ) );
+      Neuron input = perceptron.getInputLayer().getNeuronAtPosition( new NetworkPosition( 0, 6 ) );
+      for ( Iterator< Synapse > iterator = output.inputSynapseIterator(); iterator.hasNext(); ){
+         Synapse synapse = iterator.next();
+         if ( synapse.getInput() == input ){
+            Comparison.doubleAssert( synapse.getWeightProperty().get(), 3.5 );
+         }
+      }
+      Neuron biased = perceptron.getOutputLayer().getNeuronAtPosition( new NetworkPosition( 1, 9 ) );
+      for ( Iterator< Synapse > iterator = biased.inputSynapseIterator(); iterator.hasNext(); ){
+         Synapse synapse = iterator.next();
+         if ( synapse.getInput() == perceptron.getBias() ){
+            Comparison.doubleAssert( synapse.getWeightProperty().get(), -2.5 );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to test that the output is written back to the {@link Neuron}s on request.
+    */
+   @Test public void WriteOutputTest(){
+      double[] input = new double[ INPUT_NEURON_COUNT ];
+      for ( int i = 0; i < INPUT_NEURON_COUNT; i++ ){
+         input[ i ] = i % 3 - 1;
+      }
+      dense.fireInput( input );
+      dense.writeOutput();
+
+      ReadOnlyArray< Double > output = perceptron.getOutputArray();
+      for ( int o = 0; o < OUTPUT_NEURON_COUNT; o++ ){
+         Comparison.doubleAssert( output.get( o ), dense.getOutput( o ) );
+      }
+      for ( int i = 0; i < INPUT_NEURON_COUNT; i++ ){
+         Neuron neuron = perceptron.getInputLayer().getNeuronAtPosition( new NetworkPosition( 0, i ) );
+         Comparison.doubleAssert( neuron.getOutput(), input[ i ] );
+      }
+   }// End Method
+
+}// End Class
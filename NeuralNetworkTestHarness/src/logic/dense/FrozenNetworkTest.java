@@ -0,0 +1,162 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.dense;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import model.network.FeedForwardNetwork;
+import model.network.Perceptron;
+import model.network.dense.FrozenNetwork;
+import model.network.dense.FrozenNetwork.InferenceBuffers;
+import model.structure.LearningParameters;
+import model.structure.NetworkPosition;
+import utility.TruthTables;
+
+/**
+ * The {@link FrozenNetworkTest} is responsible for testing that a {@link FrozenNetwork} predicts as the network
+ * it was frozen from, and can be shared between {@link Thread}s.
+ */
+public class FrozenNetworkTest {
+
+   /** The tolerance for comparing outputs. **/
+   private static final double TOLERANCE = 0.000001;
+
+   /**
+    * Method to construct a {@link FeedForwardNetwork} with weights from a seeded {@link Random}.
+    * @param seed the seed for the {@link Random}.
+    * @return the {@link FeedForwardNetwork}.
+    */
+   private static FeedForwardNetwork constructNetwork( long seed ){
+      FeedForwardNetwork network = new FeedForwardNetwork( 3, 6, 4, 2 );
+      Random random = new Random( seed );
+      for ( int l = 1; l < network.getNumberOfLayers(); l++ ){
+         for ( int o = 0; o < network.getLayer( l ).size(); o++ ){
+            NetworkPosition output = new NetworkPosition( l, o );
+            for ( int i = 0; i < network.getLayer( l - 1 ).size(); i++ ){
+               network.configureWeight( new NetworkPosition( l - 1, i ), output, random.nextDouble() * 2 - 1 );
+            }
+            network.configureBias( output, random.nextDouble() * 2 - 1 );
+         }
+      }
+      return network;
+   }// End Method
+
+   /**
+    * Method to test that a frozen {@link Perceptron} predicts as the {@link Perceptron}.
+    */
+   @Test public void PerceptronTest(){
+      Perceptron perceptron = new Perceptron( 2, 1 );
+      LearningParameters parameters = TruthTables.constructOr();
+      perceptron.learn( parameters );
+
+      FrozenNetwork frozen = perceptron.freeze();
+      double[] expected = new double[ 1 ];
+      double[] actual = new double[ 1 ];
+      for ( double[] input : new double[][]{ { 0, 0 }, { 1, 0 }, { 0, 1 }, { 1, 1 } } ){
+         perceptron.predict( input, expected );
+         frozen.predict( input, actual );
+         assertEquals( expected[ 0 ], actual[ 0 ], TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a frozen {@link FeedForwardNetwork} predicts as firing the {@link FeedForwardNetwork},
+    * and is unaffected by later changes to it.
+    */
+   @Test public void FeedForwardNetworkTest(){
+      FeedForwardNetwork network = constructNetwork( 1 );
+      FrozenNetwork frozen = network.freeze();
+      assertEquals( 3, frozen.getLayerCount() );
+      assertEquals( 3, frozen.getInputCount() );
+      assertEquals( 2, frozen.getOutputCount() );
+
+      double[] output = new double[ 2 ];
+      network.configureInput( 0.2, 0.4, 0.6 );
+      network.fireInput();
+      frozen.predict( new double[]{ 0.2, 0.4, 0.6 }, output );
+      assertEquals( network.getOutputArray().get( 0 ), output[ 0 ], TOLERANCE );
+      assertEquals( network.getOutputArray().get( 1 ), output[ 1 ], TOLERANCE );
+
+      double weight = frozen.getWeight( 0, 0, 0 );
+      network.configureWeight( new NetworkPosition( 0, 0 ), new NetworkPosition( 1, 0 ), weight + 1 );
+      assertEquals( weight, frozen.getWeight( 0, 0, 0 ), 0 );
+      assertEquals( weight, network.freeze().getWeight( 0, 0, 0 ) - 1, TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that predicting with explicit {@link InferenceBuffers} matches predicting with those of the {@link Thread}.
+    */
+   @Test public void InferenceBuffersTest(){
+      FrozenNetwork frozen = constructNetwork( 2 ).freeze();
+      InferenceBuffers buffers = frozen.newBuffers();
+      double[] input = { 0.9, -0.3, 0.1 };
+      double[] output = new double[ 2 ];
+      frozen.predict( input, output, buffers );
+      double[] expected = frozen.predict( input );
+      assertEquals( expected[ 0 ], output[ 0 ], 0 );
+      assertEquals( expected[ 1 ], output[ 1 ], 0 );
+   }// End Method
+
+   /**
+    * Method to test that predictions made concurrently on a single {@link FrozenNetwork} match those made sequentially.
+    */
+   @Test public void ConcurrentPredictionTest() throws Exception {
+      FrozenNetwork frozen = constructNetwork( 3 ).freeze();
+      Random random = new Random( 4 );
+      double[][] inputs = new double[ 1000 ][ 3 ];
+      double[][] expected = new double[ inputs.length ][];
+      for ( int i = 0; i < inputs.length; i++ ){
+         for ( int j = 0; j < 3; j++ ){
+            inputs[ i ][ j ] = random.nextDouble() * 2 - 1;
+         }
+         expected[ i ] = frozen.predict( inputs[ i ] );
+      }
+
+      ExecutorService executor = Executors.newFixedThreadPool( 8 );
+      try {
+         List< Future< double[][] > > futures = new ArrayList< Future< double[][] > >();
+         for ( int t = 0; t < 8; t++ ){
+            futures.add( executor.submit( () -> {
+               double[][] results = new double[ inputs.length ][ 2 ];
+               for ( int repeat = 0; repeat < 20; repeat++ ){
+                  for ( int i = 0; i < inputs.length; i++ ){
+                     frozen.predict( inputs[ i ], results[ i ] );
+                  }
+               }
+               return results;
+            } ) );
+         }
+         for ( Future< double[][] > future : futures ){
+            double[][] results = future.get();
+            for ( int i = 0; i < inputs.length; i++ ){
+               assertEquals( expected[ i ][ 0 ], results[ i ][ 0 ], 0 );
+               assertEquals( expected[ i ][ 1 ], results[ i ][ 1 ], 0 );
+            }
+         }
+      } finally {
+         executor.shutdown();
+      }
+   }// End Method
+
+   /**
+    * Method to test that buffers smaller than the layers are rejected.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void SmallBufferTest(){
+      constructNetwork( 5 ).freeze().predict( new double[ 3 ], new double[ 1 ] );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,133 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.dense;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import model.network.Perceptron;
+import model.network.dense.BatchLearner;
+import model.network.dense.DensePerceptron;
+import model.network.dense.ParallelBatchLearner;
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+
+/**
+ * The {@link ParallelBatchLearnerTest} is responsible for testing that the {@link ParallelBatchLearner}
+ * matches the serial {@link BatchLearner}.
+ */
+public class ParallelBatchLearnerTest {
+
+   /** The number of inputs. **/
+   private static final int INPUT_NEURON_COUNT = 12;
+   /** The number of outputs. **/
+   private static final int OUTPUT_NEURON_COUNT = 4;
+   /** The number of {@link LearningParameter}s. **/
+   private static final int PARAMETER_COUNT = 2000;
+   /** The tolerance allowed for the different order of summing. **/
+   private static final double TOLERANCE = 0.000001;
+   /** The {@link ForkJoinPool} to learn in. **/
+   private static ForkJoinPool pool;
+   /** The {@link LearningParameters} to learn. **/
+   private static LearningParameters parameters;
+
+   /**
+    * Method to construct random {@link LearningParameters} and the {@link ForkJoinPool}.
+    */
+   @BeforeClass public static void initialise(){
+      pool = new ForkJoinPool( 4 );
+      Random random = new Random( 7 );
+      parameters = new LearningParameters();
+      for ( int p = 0; p < PARAMETER_COUNT; p++ ){
+         Double[] input = new Double[ INPUT_NEURON_COUNT ];
+         for ( int i = 0; i < INPUT_NEURON_COUNT; i++ ){
+            input[ i ] = random.nextDouble();
+         }
+         Double[] target = new Double[ OUTPUT_NEURON_COUNT ];
+         for ( int o = 0; o < OUTPUT_NEURON_COUNT; o++ ){
+            target[ o ] = random.nextBoolean() ? 1.0 : 0.0;
+         }
+         parameters.addLearningParameter( new LearningParameter().inputParameters( input ).targetParameters( target ) );
+      }
+   }// End Method
+
+   /**
+    * Method to shut down the {@link ForkJoinPool}.
+    */
+   @AfterClass public static void tearDown(){
+      pool.shutdown();
+   }// End Method
+
+   /**
+    * Method to construct two {@link DensePerceptron}s with the same weights.
+    * @return the pair of {@link DensePerceptron}s.
+    */
+   private static DensePerceptron[] constructPair(){
+      DensePerceptron first = new DensePerceptron( new Perceptron( INPUT_NEURON_COUNT, OUTPUT_NEURON_COUNT ) );
+      DensePerceptron second = new DensePerceptron( new Perceptron( INPUT_NEURON_COUNT, OUTPUT_NEURON_COUNT ) );
+      for ( int o = 0; o < OUTPUT_NEURON_COUNT; o++ ){
+         for ( int i = 0; i < INPUT_NEURON_COUNT; i++ ){
+            second.getLayer().setWeight( o, i, first.getLayer().getWeight( o, i ) );
+         }
+         second.getLayer().setBiasWeight( o, first.getLayer().getBiasWeight( o ) );
+      }
+      second.writeWeights();
+      return new DensePerceptron[]{ first, second };
+   }// End Method
+
+   /**
+    * Method to assert that both {@link DensePerceptron}s have the same weights, within the {@link #TOLERANCE}.
+    * @param first the first {@link DensePerceptron}.
+    * @param second the second {@link DensePerceptron}.
+    */
+   private static void assertWeights( DensePerceptron first, DensePerceptron second ){
+      for ( int o = 0; o < OUTPUT_NEURON_COUNT; o++ ){
+         for ( int i = 0; i < INPUT_NEURON_COUNT; i++ ){
+            assertEquals( first.getLayer().getWeight( o, i ), second.getLayer().getWeight( o, i ), TOLERANCE );
+         }
+         assertEquals( first.getLayer().getBiasWeight( o ), second.getLayer().getBiasWeight( o ), TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a single batch of all {@link LearningParameter}s matches serial learning.
+    */
+   @Test public void FullBatchTest(){
+      DensePerceptron[] pair = constructPair();
+      new BatchLearner( pair[ 0 ] ).learn( parameters, PARAMETER_COUNT );
+      new ParallelBatchLearner( pair[ 1 ], pool ).learn( parameters, PARAMETER_COUNT );
+      assertWeights( pair[ 0 ], pair[ 1 ] );
+   }// End Method
+
+   /**
+    * Method to test that mini-batches, including a partial final batch, match serial learning.
+    */
+   @Test public void MiniBatchTest(){
+      DensePerceptron[] pair = constructPair();
+      new BatchLearner( pair[ 0 ] ).learn( parameters, 300 );
+      new ParallelBatchLearner( pair[ 1 ], pool ).learn( parameters, 300 );
+      assertWeights( pair[ 0 ], pair[ 1 ] );
+   }// End Method
+
+   /**
+    * Method to test that the weights are written back to the {@link Perceptron}.
+    */
+   @Test public void WriteBackTest(){
+      DensePerceptron[] pair = constructPair();
+      new ParallelBatchLearner( pair[ 1 ], pool ).learn( parameters, PARAMETER_COUNT );
+      DensePerceptron recompiled = new DensePerceptron( pair[ 1 ].getPerceptron() );
+      assertWeights( pair[ 1 ], recompiled );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,157 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.dense;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import architecture.utility.ReadOnlyArray;
+import model.network.Perceptron;
+import model.singleton.LearningParameter;
+import model.structure.NetworkPosition;
+
+/**
+ * The {@link PerceptronPredictTest} is responsible for testing {@link Perceptron#predict(double[], double[])},
+ * including that it does not allocate once warmed up.
+ */
+public class PerceptronPredictTest {
+
+   /** The number of input values. **/
+   private static final int INPUT_COUNT = 20;
+   /** The number of output values. **/
+   private static final int OUTPUT_COUNT = 10;
+   /** The number of predictions to warm up with before measuring allocation. **/
+   private static final int WARM_UP = 50000;
+   /** The number of predictions to measure allocation over. **/
+   private static final int MEASURED = 200000;
+   /** The bytes allowed for measuring allocation itself, far less than a single object per prediction. **/
+   private static final long ALLOCATION_ALLOWANCE = 1024;
+   /** The {@link Perceptron} under test. **/
+   private Perceptron perceptron;
+   /** The input buffer. **/
+   private double[] input;
+   /** The output buffer. **/
+   private double[] output;
+
+   /**
+    * Method to construct the {@link Perceptron} and buffers.
+    */
+   @Before public void initialise(){
+      perceptron = new Perceptron( INPUT_COUNT, OUTPUT_COUNT );
+      input = new double[ INPUT_COUNT ];
+      output = new double[ OUTPUT_COUNT ];
+   }// End Method
+
+   /**
+    * Method to assert that {@link Perceptron#predict(double[], double[])} matches firing the {@link Perceptron}
+    * for the current {@link #input}.
+    */
+   private void assertPredictionMatches(){
+      Double[] boxed = new Double[ INPUT_COUNT ];
+      for ( int i = 0; i < INPUT_COUNT; i++ ){
+         boxed[ i ] = input[ i ];
+      }
+      perceptron.configureInput( boxed );
+      perceptron.fireInput();
+      ReadOnlyArray< Double > expected = perceptron.getOutputArray();
+
+      perceptron.predict( input, output );
+      for ( int o = 0; o < OUTPUT_COUNT; o++ ){
+         assertEquals( expected.get( o ), output[ o ], 0 );
+      }
+   }// End Method
+
+   /**
+    * Method to test that predictions match firing the {@link Perceptron}.
+    */
+   @Test public void PredictTest(){
+      Random random = new Random( 1 );
+      for ( int sample = 0; sample < 100; sample++ ){
+         for ( int i = 0; i < INPUT_COUNT; i++ ){
+            input[ i ] = random.nextDouble() * 2 - 1;
+         }
+         assertPredictionMatches();
+      }
+   }// End Method
+
+   /**
+    * Method to test that changing a weight after predicting is reflected in the next prediction.
+    */
+   @Test public void WeightChangeTest(){
+      input[ 0 ] = 1;
+      perceptron.predict( input, output );
+      perceptron.configureBias( new NetworkPosition( 1, 0 ), 0 );
+      perceptron.configureWeight( new NetworkPosition( 0, 0 ), new NetworkPosition( 1, 0 ), -1 );
+      perceptron.predict( input, output );
+      assertEquals( 0, output[ 0 ], 0 );
+      perceptron.configureWeight( new NetworkPosition( 0, 0 ), new NetworkPosition( 1, 0 ), 1 );
+      perceptron.predict( input, output );
+      assertEquals( 1, output[ 0 ], 0 );
+   }// End Method
+
+   /**
+    * Method to test that learning through the {@link Perceptron} is reflected in predictions.
+    */
+   @Test public void LearningTest(){
+      Perceptron not = new Perceptron( 1, 1 );
+      double[] notInput = new double[ 1 ];
+      double[] notOutput = new double[ 1 ];
+      not.predict( notInput, notOutput );
+      for ( int epoch = 0; epoch < 1000; epoch++ ){
+         not.learn( new LearningParameter().inputParameters( 0.0 ).targetParameters( 1.0 ) );
+         not.learn( new LearningParameter().inputParameters( 1.0 ).targetParameters( 0.0 ) );
+      }
+      notInput[ 0 ] = 0;
+      not.predict( notInput, notOutput );
+      assertEquals( 1, notOutput[ 0 ], 0 );
+      notInput[ 0 ] = 1;
+      not.predict( notInput, notOutput );
+      assertEquals( 0, notOutput[ 0 ], 0 );
+   }// End Method
+
+   /**
+    * Method to test that buffers smaller than the layers are rejected.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void InvalidBufferTest(){
+      perceptron.predict( new double[ INPUT_COUNT - 1 ], output );
+   }// End Method
+
+   /**
+    * Method to test that predicting does not allocate once warmed up, measured using the allocation
+    * counter of the current thread where the JVM supports it.
+    */
+   @Test public void AllocationTest(){
+      if ( !( ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean ) ){
+         return;
+      }
+      com.sun.management.ThreadMXBean threads = ( com.sun.management.ThreadMXBean )ManagementFactory.getThreadMXBean();
+      if ( !threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled() ){
+         return;
+      }
+      long thread = Thread.currentThread().getId();
+
+      for ( int i = 0; i < WARM_UP; i++ ){
+         input[ i % INPUT_COUNT ] = i;
+         perceptron.predict( input, output );
+      }
+      long before = threads.getThreadAllocatedBytes( thread );
+      for ( int i = 0; i < MEASURED; i++ ){
+         input[ i % INPUT_COUNT ] = i;
+         perceptron.predict( input, output );
+      }
+      long allocated = threads.getThreadAllocatedBytes( thread ) - before;
+      assertTrue( "Allocated " + allocated + " bytes.", allocated < ALLOCATION_ALLOWANCE );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,242 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.dense;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.function.learning.AdamOptimizer;
+import model.network.Perceptron;
+import model.network.dense.DenseActivation;
+import model.network.dense.SparseBatchLearner;
+import model.network.dense.SparseLayer;
+import model.network.dense.SparsePerceptron;
+import model.singleton.LearningParameter;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.LearningParameters;
+import model.structure.NetworkPosition;
+
+/**
+ * The {@link SparsePerceptronTest} is responsible for testing the sparsely connected {@link Perceptron}, the
+ * {@link SparsePerceptron} compiled from it and the {@link SparseLayer}.
+ */
+public class SparsePerceptronTest {
+
+   /** The number of input values. **/
+   private static final int INPUT_COUNT = 200;
+   /** The number of output values. **/
+   private static final int OUTPUT_COUNT = 5;
+   /** The tolerance for comparing weighted sums. **/
+   private static final double TOLERANCE = 0.0000001;
+
+   /**
+    * Method to count the incoming {@link Synapse}s of the given {@link Neuron}.
+    * @param neuron the {@link Neuron}.
+    * @return the number of incoming {@link Synapse}s.
+    */
+   private static int countInputSynapses( Neuron neuron ){
+      int count = 0;
+      for ( Iterator< Synapse > iterator = neuron.inputSynapseIterator(); iterator.hasNext(); iterator.next() ){
+         count++;
+      }
+      return count;
+   }// End Method
+
+   /**
+    * Method to construct connections where each input is connected to a single output.
+    * @return the connections, one array per input.
+    */
+   private static int[][] constructConnections(){
+      int[][] connections = new int[ INPUT_COUNT ][];
+      for ( int i = 0; i < INPUT_COUNT; i++ ){
+         connections[ i ] = new int[]{ i % OUTPUT_COUNT };
+      }
+      return connections;
+   }// End Method
+
+   /**
+    * Method to test that a fully connected {@link Perceptron} connects the bias once to each output.
+    */
+   @Test public void FullyConnectedTest(){
+      Perceptron perceptron = new Perceptron( 3, 2 );
+      for ( Iterator< Neuron > iterator = perceptron.getOutputLayer().iterator(); iterator.hasNext(); ){
+         assertEquals( 4, countInputSynapses( iterator.next() ) );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a sparse {@link Perceptron} only constructs the {@link Synapse}s requested.
+    */
+   @Test public void SparseConnectionsTest(){
+      Perceptron perceptron = new Perceptron( OUTPUT_COUNT, constructConnections() );
+      for ( Iterator< Neuron > iterator = perceptron.getOutputLayer().iterator(); iterator.hasNext(); ){
+         assertEquals( INPUT_COUNT / OUTPUT_COUNT + 1, countInputSynapses( iterator.next() ) );
+      }
+      SparsePerceptron compiled = new SparsePerceptron( perceptron );
+      assertEquals( INPUT_COUNT, compiled.getLayer().getConnectionCount() );
+      assertTrue( compiled.getLayer().isConnected( 2, 7 ) );
+      assertFalse( compiled.getLayer().isConnected( 3, 7 ) );
+   }// End Method
+
+   /**
+    * Method to test that predicting with a sparse {@link Perceptron} matches firing its {@link Neuron}s.
+    */
+   @Test public void PredictMatchesFiringTest(){
+      Random random = new Random( 3 );
+      Perceptron perceptron = constructSparsePerceptron( random );
+
+      double[] input = new double[ INPUT_COUNT ];
+      Double[] boxed = new Double[ INPUT_COUNT ];
+      double[] output = new double[ OUTPUT_COUNT ];
+      for ( int test = 0; test < 20; test++ ){
+         for ( int i = 0; i < INPUT_COUNT; i++ ){
+            input[ i ] = random.nextInt( 10 ) == 0 ? random.nextDouble() : 0;
+            boxed[ i ] = input[ i ];
+         }
+         perceptron.configureInput( boxed );
+         perceptron.fireInput();
+         perceptron.predict( input, output );
+         for ( int o = 0; o < OUTPUT_COUNT; o++ ){
+            assertEquals( perceptron.getOutputArray().get( o ), output[ o ], 0 );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to construct a sparse {@link Perceptron} with the weights of the given {@link Random}.
+    * @param random the {@link Random} providing the weights.
+    * @return the {@link Perceptron}.
+    */
+   private static Perceptron constructSparsePerceptron( Random random ){
+      Perceptron perceptron = new Perceptron( OUTPUT_COUNT, constructConnections() );
+      for ( int i = 0; i < INPUT_COUNT; i++ ){
+         perceptron.configureWeight( new NetworkPosition( 0, i ), new NetworkPosition( 1, i % OUTPUT_COUNT ), random.nextDouble() * 2 - 1 );
+      }
+      for ( int o = 0; o < OUTPUT_COUNT; o++ ){
+         perceptron.configureBias( new NetworkPosition( 1, o ), random.nextDouble() * 2 - 1 );
+      }
+      return perceptron;
+   }// End Method
+
+   /**
+    * Method to construct {@link LearningParameters} with few inputs set, and alternating targets.
+    * @param random the {@link Random} providing the inputs.
+    * @return the {@link LearningParameters}.
+    */
+   private static LearningParameters constructParameters( Random random ){
+      LearningParameters parameters = new LearningParameters();
+      for ( int p = 0; p < 10; p++ ){
+         Double[] input = new Double[ INPUT_COUNT ];
+         for ( int i = 0; i < INPUT_COUNT; i++ ){
+            input[ i ] = random.nextInt( 10 ) == 0 ? 1.0 : 0.0;
+         }
+         Double[] target = new Double[ OUTPUT_COUNT ];
+         for ( int o = 0; o < OUTPUT_COUNT; o++ ){
+            target[ o ] = ( p + o ) % 2 == 0 ? 1.0 : 0.0;
+         }
+         parameters.addLearningParameter( new LearningParameter().inputParameters( input ).targetParameters( target ) );
+      }
+      return parameters;
+   }// End Method
+
+   /**
+    * Method to test that online learning of a sparse {@link Perceptron} with a {@link SparseBatchLearner} makes the
+    * same adjustments as learning by firing its {@link Neuron}s.
+    */
+   @Test public void SparseLearningMatchesFiringTest(){
+      Perceptron fired = constructSparsePerceptron( new Random( 5 ) );
+      Perceptron compiled = constructSparsePerceptron( new Random( 5 ) );
+      LearningParameters parameters = constructParameters( new Random( 7 ) );
+      for ( int epoch = 0; epoch < 3; epoch++ ){
+         for ( Iterator< LearningParameter > iterator = parameters.iterator(); iterator.hasNext(); ){
+            fired.learn( iterator.next() );
+         }
+         compiled.applyBatchLearning( parameters, 1 );
+      }
+
+      SparseLayer expected = new SparsePerceptron( fired ).getLayer();
+      SparseLayer actual = new SparsePerceptron( compiled ).getLayer();
+      for ( int i = 0; i < INPUT_COUNT; i++ ){
+         assertEquals( expected.getWeight( i % OUTPUT_COUNT, i ), actual.getWeight( i % OUTPUT_COUNT, i ), TOLERANCE );
+      }
+      for ( int o = 0; o < OUTPUT_COUNT; o++ ){
+         assertEquals( expected.getBiasWeight( o ), actual.getBiasWeight( o ), TOLERANCE );
+      }
+   }// End Method
+
+   /**
+    * Method to test that the {@link SparseBatchLearner} only holds and adjusts the weights of the connections.
+    */
+   @Test public void SparseOptimizerTest(){
+      Perceptron perceptron = constructSparsePerceptron( new Random( 11 ) );
+      SparsePerceptron sparse = new SparsePerceptron( perceptron );
+      SparseBatchLearner learner = new SparseBatchLearner( sparse, 5, new AdamOptimizer( 0.01 ) );
+      assertEquals( INPUT_COUNT + OUTPUT_COUNT, learner.getWeightCount() );
+      double[] before = new double[ learner.getWeightCount() ];
+      learner.copyWeights( before );
+      learner.trainEpoch( constructParameters( new Random( 13 ) ) );
+      double[] after = new double[ learner.getWeightCount() ];
+      learner.copyWeights( after );
+      assertFalse( Arrays.equals( before, after ) );
+
+      for ( Iterator< Neuron > iterator = perceptron.getOutputLayer().iterator(); iterator.hasNext(); ){
+         assertEquals( INPUT_COUNT / OUTPUT_COUNT + 1, countInputSynapses( iterator.next() ) );
+      }
+      SparseLayer written = new SparsePerceptron( perceptron ).getLayer();
+      for ( int i = 0; i < INPUT_COUNT; i++ ){
+         /* Each input has a single connection, so the connections are in input order. */
+         assertEquals( after[ i ], written.getWeight( i % OUTPUT_COUNT, i ), 0 );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a sparse {@link Perceptron} cannot be frozen.
+    */
+   @Test( expected = IllegalStateException.class ) public void SparseFreezeTest(){
+      new Perceptron( OUTPUT_COUNT, constructConnections() ).freeze();
+   }// End Method
+
+   /**
+    * Method to test that the {@link SparseLayer} calculates the weighted sums of the connected inputs.
+    */
+   @Test public void SparseLayerFireTest(){
+      SparseLayer layer = new SparseLayer( 2, new int[][]{ { 1 }, {}, { 0, 1 } }, DenseActivation.Identity );
+      layer.setWeight( 1, 0, 2 );
+      layer.setWeight( 0, 2, 3 );
+      layer.setWeight( 1, 2, -1 );
+      layer.setBiasWeight( 0, 0.5 );
+      double[] output = new double[ 2 ];
+      layer.fire( new double[]{ 1, 100, 2 }, 1, output );
+      assertEquals( 6.5, output[ 0 ], TOLERANCE );
+      assertEquals( 0, output[ 1 ], TOLERANCE );
+      assertEquals( 0, layer.getWeight( 0, 1 ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that a weight cannot be set where there is no connection.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void NotConnectedTest(){
+      new SparseLayer( 2, new int[][]{ { 1 } }, DenseActivation.Identity ).setWeight( 0, 0, 1 );
+   }// End Method
+
+   /**
+    * Method to test that connections to outputs that do not exist are rejected.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void InvalidConnectionTest(){
+      new SparseLayer( 2, new int[][]{ { 2 } }, DenseActivation.Identity );
+   }// End Method
+
+}// End Class
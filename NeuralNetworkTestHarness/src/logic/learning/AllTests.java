@@ -4,6 +4,6 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
-@RunWith(Suite.class) @SuiteClasses({ PerceptronLearningAndTest.class, PerceptronLearningNotTest.class, PerceptronLearningOrTest.class }) public class AllTests {
+@RunWith(Suite.class) @SuiteClasses({ CheckpointerTest.class, FeedForwardLearningXorTest.class, HyperparameterSweepTest.class, LearningParameterValuesTest.class, MappedLearningParametersTest.class, OptimizerTest.class, PerceptronBatchLearningTest.class, PerceptronLearningAndTest.class, PerceptronLearningNotTest.class, PerceptronLearningOrTest.class, TrainingControllerTest.class }) public class AllTests {
 
 }
@@ -0,0 +1,268 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.learning;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+import model.network.dense.BackPropagation;
+import model.network.dense.DenseNetwork;
+import model.training.Checkpointer;
+import model.training.Checkpointer.CheckpointerBuilder;
+import model.training.TrainingController;
+import model.training.TrainingController.StopReason;
+import model.training.TrainingController.TrainingControllerBuilder;
+import model.training.TrainingListener;
+import model.training.TrainingMetrics;
+import temporary.TemporaryFiles;
+import utility.TruthTables;
+
+/**
+ * The {@link CheckpointerTest} is responsible for testing that the {@link Checkpointer} writes full and delta
+ * checkpoints while training, and that training can be resumed from them.
+ */
+public class CheckpointerTest {
+
+   /** The directory checkpoints are written to. **/
+   private final File directory = new File( TemporaryFiles.TEMPORARY_DIRECTORY + "checkpoints" );
+
+   /**
+    * Method to delete the checkpoints written.
+    */
+   @After public void tearDown(){
+      File[] files = directory.listFiles();
+      if ( files != null ){
+         for ( File file : files ){
+            file.delete();
+         }
+      }
+      directory.delete();
+   }// End Method
+
+   /**
+    * Method to construct a {@link TrainingController} that trains for exactly the given epochs.
+    * @param epochs the number of epochs.
+    * @param checkpointer the {@link Checkpointer} to use.
+    * @return the {@link TrainingController}.
+    */
+   private static TrainingController constructController( int epochs, Checkpointer checkpointer ){
+      return new TrainingController( new TrainingControllerBuilder()
+               .maximumEpochs( epochs )
+               .lossThreshold( -1 )
+               .accuracyThreshold( 2 )
+               .checkpointer( checkpointer )
+      );
+   }// End Method
+
+   /**
+    * Method to get the weights of the {@link BackPropagation}.
+    * @param trainable the {@link BackPropagation}.
+    * @return a copy of the weights.
+    */
+   private static double[] weightsOf( BackPropagation trainable ){
+      double[] weights = new double[ trainable.getWeightCount() ];
+      trainable.copyWeights( weights );
+      return weights;
+   }// End Method
+
+   /**
+    * Method to get the names of the checkpoints written, in order.
+    * @return the names.
+    */
+   private String[] checkpointNames(){
+      String[] names = directory.list();
+      Arrays.sort( names );
+      return names;
+   }// End Method
+
+   /**
+    * Method to test that a full checkpoint is followed by deltas every configured number of epochs.
+    */
+   @Test public void EpochIntervalTest(){
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 5 ) );
+      constructController( 20, checkpointer ).train( new BackPropagation( new DenseNetwork( 2, 3, 1 ) ), TruthTables.constructXor() );
+      assertArrayEquals( new String[]{
+               "checkpoint-000000000000.full",
+               "checkpoint-000000000001.delta",
+               "checkpoint-000000000002.delta",
+               "checkpoint-000000000003.delta"
+      }, checkpointNames() );
+   }// End Method
+
+   /**
+    * Method to test that checkpoints before the latest full checkpoint are deleted.
+    */
+   @Test public void FullIntervalTest(){
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 5 ).fullInterval( 3 ) );
+      constructController( 20, checkpointer ).train( new BackPropagation( new DenseNetwork( 2, 3, 1 ) ), TruthTables.constructXor() );
+      assertArrayEquals( new String[]{ "checkpoint-000000000003.full" }, checkpointNames() );
+   }// End Method
+
+   /**
+    * Method to test that the final weights are checkpointed when training stops between intervals.
+    */
+   @Test public void FinalCheckpointTest(){
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 5 ).deltas( false ) );
+      constructController( 7, checkpointer ).train( new BackPropagation( new DenseNetwork( 2, 3, 1 ) ), TruthTables.constructXor() );
+      assertArrayEquals( new String[]{ "checkpoint-000000000001.full" }, checkpointNames() );
+   }// End Method
+
+   /**
+    * Method to test that a new {@link BackPropagation} resumes with the weights and epoch of the last checkpoint.
+    */
+   @Test public void ResumeTest(){
+      BackPropagation trained = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 3 ) );
+      constructController( 20, checkpointer ).train( trained, TruthTables.constructXor() );
+
+      BackPropagation resumed = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      Checkpointer resuming = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 3 ).resume( true ) );
+      assertEquals( 20, resuming.trainingStarted( resumed ) );
+      assertArrayEquals( weightsOf( trained ), weightsOf( resumed ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that resuming continues training from the epoch after the last checkpoint.
+    */
+   @Test public void ResumeTrainingTest(){
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 5 ) );
+      constructController( 10, checkpointer ).train( new BackPropagation( new DenseNetwork( 2, 3, 1 ) ), TruthTables.constructXor() );
+
+      Checkpointer resuming = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 5 ).resume( true ) );
+      TrainingController controller = constructController( 15, resuming );
+      controller.train( new BackPropagation( new DenseNetwork( 2, 3, 1 ) ), TruthTables.constructXor() );
+      assertEquals( 15, controller.getLastMetrics().getEpoch() );
+      assertEquals( 20, controller.getTotalSamples() );
+   }// End Method
+
+   /**
+    * Method to test that the weights of an epoch cancelled part way through are checkpointed under the epoch 
+    * before, so that resuming repeats the rest of it.
+    */
+   @Test public void CancelledCheckpointTest(){
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 5 ) );
+      TrainingController[] controller = new TrainingController[ 1 ];
+      controller[ 0 ] = new TrainingController( new TrainingControllerBuilder()
+               .maximumEpochs( 20 )
+               .lossThreshold( -1 )
+               .accuracyThreshold( 2 )
+               .checkpointer( checkpointer )
+               .listener( new TrainingListener() {
+                  @Override public void epochCompleted( TrainingMetrics metrics ){}
+                  @Override public void samplesCompleted( int epoch, int samples, int total ){
+                     if ( epoch == 7 && samples == 2 ){
+                        controller[ 0 ].cancel();
+                     }
+                  }
+               } )
+      );
+      BackPropagation trained = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      assertEquals( StopReason.Cancelled, controller[ 0 ].train( trained, TruthTables.constructXor() ) );
+      assertEquals( 7, controller[ 0 ].getLastMetrics().getEpoch() );
+
+      BackPropagation resumed = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      Checkpointer resuming = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 5 ).resume( true ) );
+      assertEquals( 6, resuming.trainingStarted( resumed ) );
+      assertArrayEquals( weightsOf( trained ), weightsOf( resumed ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that resuming without checkpoints leaves the weights unchanged.
+    */
+   @Test public void ResumeWithoutCheckpointsTest(){
+      BackPropagation trainable = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      double[] weights = weightsOf( trainable );
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 1 ).resume( true ) );
+      assertEquals( 0, checkpointer.trainingStarted( trainable ) );
+      assertArrayEquals( weights, weightsOf( trainable ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that a delta holds only the weights changed.
+    */
+   @Test public void DeltaTest(){
+      BackPropagation trainable = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 1 ) );
+      checkpointer.checkpoint( trainable, 1 );
+      double[] weights = weightsOf( trainable );
+      weights[ 4 ] += 1;
+      trainable.restoreWeights( weights );
+      checkpointer.checkpoint( trainable, 2 );
+      checkpointer.close();
+
+      File delta = new File( directory, "checkpoint-000000000001.delta" );
+      assertEquals( 5 * Integer.BYTES + Integer.BYTES + Double.BYTES, delta.length() );
+
+      BackPropagation resumed = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      assertEquals( 2, checkpointer.resume( resumed ) );
+      assertArrayEquals( weights, weightsOf( resumed ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that checkpoints are written when the time interval has passed.
+    */
+   @Test public void TimeIntervalTest() throws InterruptedException {
+      BackPropagation trainable = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everySeconds( 1 ) );
+      checkpointer.trainingStarted( trainable );
+      checkpointer.epochCompleted( trainable, 1 );
+      checkpointer.awaitCompletion();
+      assertEquals( 0, checkpointNames().length );
+
+      Thread.sleep( 1100 );
+      checkpointer.epochCompleted( trainable, 2 );
+      checkpointer.close();
+      assertArrayEquals( new String[]{ "checkpoint-000000000000.full" }, checkpointNames() );
+   }// End Method
+
+   /**
+    * Method to test that the {@link Thread} writing checkpoints stops when training stops, and that a later
+    * checkpoint is still written.
+    */
+   @Test public void WriterStoppedTest() throws InterruptedException {
+      BackPropagation trainable = new BackPropagation( new DenseNetwork( 2, 3, 1 ) );
+      Checkpointer checkpointer = new Checkpointer( new CheckpointerBuilder( directory ).everyEpochs( 5 ).deltas( false ) );
+      constructController( 10, checkpointer ).train( trainable, TruthTables.constructXor() );
+      for ( int attempts = 0; isWriterRunning() && attempts < 100; attempts++ ){
+         Thread.sleep( 10 );
+      }
+      assertFalse( isWriterRunning() );
+
+      checkpointer.checkpoint( trainable, 11 );
+      checkpointer.close();
+      assertArrayEquals( new String[]{ "checkpoint-000000000002.full" }, checkpointNames() );
+   }// End Method
+
+   /**
+    * Method to determine whether any {@link Thread} writing checkpoints is alive.
+    * @return true if one is.
+    */
+   private static boolean isWriterRunning(){
+      for ( Thread thread : Thread.getAllStackTraces().keySet() ){
+         if ( "Checkpointer".equals( thread.getName() ) && thread.isAlive() ){
+            return true;
+         }
+      }
+      return false;
+   }// End Method
+
+   /**
+    * Method to test that a {@link Checkpointer} must be configured with an interval.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void NoIntervalTest(){
+      new Checkpointer( new CheckpointerBuilder( directory ) );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,157 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.learning;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import model.network.FeedForwardNetwork;
+import model.network.dense.BackPropagation;
+import model.network.dense.DenseNetwork;
+import model.singleton.LearningParameter;
+import model.singleton.LearningParameter.NeuronValue;
+import model.structure.LearningParameters;
+import model.structure.NetworkPosition;
+import model.structure.NeuronLayer;
+import utility.TruthTables;
+
+/**
+ * The {@link FeedForwardLearningXorTest} is responsible for testing that a {@link FeedForwardNetwork} with
+ * hidden layers can learn the logical xor, which a single layer cannot.
+ */
+public class FeedForwardLearningXorTest {
+
+   /** The maximum number of epochs to allow when learning. **/
+   private static final int MAXIMUM_EPOCHS = 50000;
+   /** The tolerance for comparing the dense and graph outputs. **/
+   private static final double TOLERANCE = 0.000001;
+   /** The {@link LearningParameters} for the logical xor. **/
+   private LearningParameters parameters;
+
+   /**
+    * Method to construct the {@link LearningParameters} for the logical xor.
+    */
+   @Before public void initialise(){
+      parameters = TruthTables.constructXor();
+   }// End Method
+
+   /**
+    * Method to configure every weight and bias in the {@link FeedForwardNetwork} from a seeded {@link Random}
+    * in the range [-1, 1) so that learning is repeatable.
+    * @param network the {@link FeedForwardNetwork} to configure.
+    * @param seed the seed for the {@link Random}.
+    */
+   private void configureWeights( FeedForwardNetwork network, long seed ){
+      Random random = new Random( seed );
+      for ( int l = 1; l < network.getNumberOfLayers(); l++ ){
+         NeuronLayer previous = network.getLayer( l - 1 );
+         for ( int o = 0; o < network.getLayer( l ).size(); o++ ){
+            NetworkPosition output = new NetworkPosition( l, o );
+            for ( int i = 0; i < previous.size(); i++ ){
+               network.configureWeight( new NetworkPosition( l - 1, i ), output, random.nextDouble() * 2 - 1 );
+            }
+            network.configureBias( output, random.nextDouble() * 2 - 1 );
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to determine whether all {@link LearningParameter}s are satisfied by the {@link FeedForwardNetwork},
+    * firing it as a graph of {@link model.singleton.Neuron}s and rounding the output.
+    * @param network the {@link FeedForwardNetwork} to check.
+    * @return true if all satisfied.
+    */
+   private boolean isLearnt( FeedForwardNetwork network ){
+      for ( Iterator< LearningParameter > iterator = parameters.iterator(); iterator.hasNext(); ){
+         LearningParameter parameter = iterator.next();
+         network.configureInput( parameter.getInputParameters().get( 0 ).value.get(), parameter.getInputParameters().get( 1 ).value.get() );
+         network.fireInput();
+         NeuronValue target = parameter.getTargetParameters().get( 0 );
+         if ( Math.round( network.getOutputArray().get( 0 ) ) != Math.round( target.value.get() ) ){
+            return false;
+         }
+      }
+      return true;
+   }// End Method
+
+   /**
+    * Method to teach the {@link FeedForwardNetwork} until learnt or the {@link #MAXIMUM_EPOCHS} is reached.
+    * @param network the {@link FeedForwardNetwork} to teach.
+    * @param batchSize the size of the batches.
+    */
+   private void learn( FeedForwardNetwork network, int batchSize ){
+      BackPropagation backPropagation = new BackPropagation( new DenseNetwork( network ) );
+      for ( int epoch = 0; epoch < MAXIMUM_EPOCHS; epoch++ ){
+         backPropagation.learn( parameters, batchSize );
+         if ( epoch % 100 == 0 && isLearnt( network ) ){
+            return;
+         }
+      }
+   }// End Method
+
+   /**
+    * Method to test that a single hidden layer learns the xor online.
+    */
+   @Test public void SingleHiddenLayerTest(){
+      FeedForwardNetwork network = new FeedForwardNetwork( 2, 4, 1 );
+      configureWeights( network, 1 );
+      learn( network, 1 );
+      assertTrue( isLearnt( network ) );
+   }// End Method
+
+   /**
+    * Method to test that two hidden layers learn the xor in mini-batches.
+    */
+   @Test public void TwoHiddenLayersTest(){
+      FeedForwardNetwork network = new FeedForwardNetwork( 2, 4, 3, 1 );
+      configureWeights( network, 2 );
+      learn( network, 2 );
+      assertTrue( isLearnt( network ) );
+   }// End Method
+
+   /**
+    * Method to test that {@link FeedForwardNetwork#applyBackPropagation(LearningParameters)} adjusts
+    * the weights held by the {@link model.singleton.Synapse}s.
+    */
+   @Test public void ApplyBackPropagationTest(){
+      FeedForwardNetwork network = new FeedForwardNetwork( 2, 2, 1 );
+      configureWeights( network, 3 );
+      double before = new DenseNetwork( network ).getLayer( 0 ).getWeight( 0, 0 );
+      network.applyBackPropagation( parameters );
+      double after = new DenseNetwork( network ).getLayer( 0 ).getWeight( 0, 0 );
+      assertTrue( before != after );
+   }// End Method
+
+   /**
+    * Method to test that the {@link DenseNetwork} produces the same output as firing the {@link FeedForwardNetwork}.
+    */
+   @Test public void DenseMatchesGraphTest(){
+      FeedForwardNetwork network = new FeedForwardNetwork( 3, 5, 4, 2 );
+      configureWeights( network, 4 );
+      DenseNetwork dense = new DenseNetwork( network );
+      Random random = new Random( 5 );
+      for ( int i = 0; i < 20; i++ ){
+         double first = random.nextDouble();
+         double second = random.nextDouble();
+         double third = random.nextDouble();
+         network.configureInput( first, second, third );
+         network.fireInput();
+         dense.fireInput( first, second, third );
+         for ( int o = 0; o < 2; o++ ){
+            assertEquals( network.getOutputArray().get( o ), dense.getOutput( o ), TOLERANCE );
+         }
+      }
+   }// End Method
+
+}// End Class
@@ -0,0 +1,155 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.learning;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.Test;
+
+import export.csv.CsvFileContents;
+import model.network.Perceptron;
+import model.network.dense.DenseActivation;
+import model.network.dense.DensePerceptron;
+import model.structure.LearningParameters;
+import model.training.Checkpointer;
+import model.training.Checkpointer.CheckpointerBuilder;
+import model.training.HyperparameterSweep;
+import model.training.HyperparameterSweep.HyperparameterSweepBuilder;
+import model.training.HyperparameterSweep.SweepResult;
+import model.training.TrainingController.TrainingControllerBuilder;
+import temporary.TemporaryFiles;
+import utility.TruthTables;
+
+/**
+ * The {@link HyperparameterSweepTest} is responsible for testing that the {@link HyperparameterSweep} trains
+ * every combination concurrently, ranks them against held out {@link LearningParameters} and writes them as csv.
+ */
+public class HyperparameterSweepTest {
+
+   /**
+    * Method to construct a {@link HyperparameterSweepBuilder} over two of each hyperparameter.
+    * @return the {@link HyperparameterSweepBuilder}.
+    */
+   private static HyperparameterSweepBuilder constructGrid(){
+      return new HyperparameterSweepBuilder()
+               .learningRates( 0.1, 0.5 )
+               .batchSizes( 1, 2 )
+               .activations( DenseActivation.Step, DenseActivation.Sigmoid )
+               .training( new TrainingControllerBuilder().maximumEpochs( 50 ) );
+   }// End Method
+
+   /**
+    * Method to test that every combination is trained and ranked by held out loss, without changing the {@link Perceptron}.
+    */
+   @Test public void GridTest(){
+      Perceptron perceptron = new Perceptron( 2, 1 );
+      double before = new DensePerceptron( perceptron ).getLayer().getWeight( 0, 0 );
+      List< SweepResult > results = new HyperparameterSweep( constructGrid().threads( 4 ) ).run( perceptron, TruthTables.constructAnd(), TruthTables.constructAnd() );
+
+      assertEquals( 8, results.size() );
+      for ( int i = 1; i < results.size(); i++ ){
+         assertTrue( results.get( i - 1 ).getValidationMetrics().getLoss() <= results.get( i ).getValidationMetrics().getLoss() );
+      }
+      assertEquals( before, new DensePerceptron( perceptron ).getLayer().getWeight( 0, 0 ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that training concurrently produces the same results as training one at a time.
+    */
+   @Test public void ConcurrentMatchesSequentialTest(){
+      Perceptron perceptron = new Perceptron( 2, 1 );
+      List< SweepResult > sequential = new HyperparameterSweep( constructGrid().threads( 1 ) ).run( perceptron, TruthTables.constructAnd(), TruthTables.constructAnd() );
+      List< SweepResult > concurrent = new HyperparameterSweep( constructGrid().threads( 8 ) ).run( perceptron, TruthTables.constructAnd(), TruthTables.constructAnd() );
+      for ( int i = 0; i < sequential.size(); i++ ){
+         assertEquals( sequential.get( i ).getValidationMetrics().getLoss(), concurrent.get( i ).getValidationMetrics().getLoss(), 0 );
+         assertEquals( sequential.get( i ).getTrainingMetrics().getEpoch(), concurrent.get( i ).getTrainingMetrics().getEpoch() );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a random search trains the configured number of combinations.
+    */
+   @Test public void RandomSearchTest(){
+      List< SweepResult > results = new HyperparameterSweep( constructGrid().randomSearch( 3, 7 ) ).run(
+               new Perceptron( 2, 1 ), TruthTables.constructAnd(), TruthTables.constructAnd()
+      );
+      assertEquals( 3, results.size() );
+   }// End Method
+
+   /**
+    * Method to test that the ranked results are written as csv with a header row.
+    */
+   @Test public void CsvTest(){
+      List< SweepResult > results = new HyperparameterSweep( constructGrid() ).run( new Perceptron( 2, 1 ), TruthTables.constructAnd(), TruthTables.constructAnd() );
+      StringWriter writer = new StringWriter();
+      assertTrue( HyperparameterSweep.writeCsv( results, writer ) );
+
+      CsvFileContents contents = new CsvFileContents( "Read" );
+      assertTrue( contents.read( new StringReader( writer.toString() ) ) );
+      assertEquals( results.size() + 1, contents.getNumberOfRows() );
+      assertEquals( "Rank", contents.getItem( 0, 0 ) );
+      assertEquals( "1", contents.getItem( 1, 0 ) );
+      assertEquals(
+               Double.toString( results.get( 0 ).getValidationMetrics().getLoss() ),
+               contents.getItem( 1, 8 )
+      );
+   }// End Method
+
+   /**
+    * Method to test that only the best {@link SweepResult} keeps its trained copy, which matches its held out loss.
+    */
+   @Test public void OnlyBestKeptTest(){
+      List< SweepResult > results = new HyperparameterSweep( constructGrid().threads( 4 ) ).run( new Perceptron( 2, 1 ), TruthTables.constructAnd(), TruthTables.constructAnd() );
+      assertNotNull( results.get( 0 ).getTrained() );
+      for ( int i = 1; i < results.size(); i++ ){
+         assertNull( results.get( i ).getTrained() );
+      }
+      assertEquals(
+               results.get( 0 ).getHyperparameters().getActivation(),
+               results.get( 0 ).getTrained().getLayer().getActivation()
+      );
+   }// End Method
+
+   /**
+    * Method to test that a {@link Checkpointer}, which every combination would share, is rejected.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void CheckpointerRejectedTest(){
+      Checkpointer checkpointer = new Checkpointer( 
+               new CheckpointerBuilder( new File( TemporaryFiles.TEMPORARY_DIRECTORY + "sweep" ) ).everyEpochs( 1 ) 
+      );
+      new HyperparameterSweepBuilder().training( new TrainingControllerBuilder().checkpointer( checkpointer ) );
+   }// End Method
+
+   /**
+    * Method to test that a {@link Checkpointer} configured after the sweep is built is rejected when run.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void CheckpointerAddedLaterRejectedTest(){
+      TrainingControllerBuilder training = new TrainingControllerBuilder().maximumEpochs( 5 );
+      HyperparameterSweep sweep = new HyperparameterSweep( new HyperparameterSweepBuilder().training( training ) );
+      training.checkpointer( new Checkpointer( 
+               new CheckpointerBuilder( new File( TemporaryFiles.TEMPORARY_DIRECTORY + "sweep" ) ).everyEpochs( 1 ) 
+      ) );
+      sweep.run( new Perceptron( 2, 1 ), TruthTables.constructAnd(), TruthTables.constructAnd() );
+   }// End Method
+
+   /**
+    * Method to test that invalid configuration is rejected.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void InvalidBatchSizeTest(){
+      new HyperparameterSweepBuilder().batchSizes( 1, 0 );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,93 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.learning;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import architecture.utility.ReadOnlyArray;
+import model.singleton.LearningParameter;
+import model.singleton.LearningParameter.NeuronValue;
+import model.structure.NetworkPosition;
+import model.structure.NeuronValueArray;
+import model.structure.PrimitiveNeuronValues;
+
+/**
+ * The {@link LearningParameterValuesTest} is responsible for testing the {@link PrimitiveNeuronValues}
+ * held by a {@link LearningParameter} and the {@link NeuronValueArray} views of them.
+ */
+public class LearningParameterValuesTest {
+
+   /**
+    * Method to test that the values configured are held as {@link PrimitiveNeuronValues}.
+    */
+   @Test public void PrimitiveValuesTest(){
+      LearningParameter parameter = new LearningParameter().inputParameters( 0.5, 1, 2.5f ).targetParameters( 1.0 );
+      PrimitiveNeuronValues input = parameter.getInputValues();
+      assertEquals( 3, input.length() );
+      assertEquals( 0.5, input.get( 0 ), 0 );
+      assertEquals( 1.0, input.get( 1 ), 0 );
+      assertEquals( 2.5, input.get( 2 ), 0 );
+      assertEquals( 1, parameter.getTargetValues().length() );
+      assertEquals( 1.0, parameter.getTargetValues().get( 0 ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that the {@link NeuronValueArray} view is constructed once, with the same values and positions.
+    */
+   @Test public void ViewTest(){
+      LearningParameter parameter = new LearningParameter().inputParameters( 3.0, 4.0 ).targetParameters( 0.0 );
+      ReadOnlyArray< NeuronValue > view = parameter.getInputParameters();
+      assertSame( view, parameter.getInputParameters() );
+      assertEquals( 2, view.length() );
+      for ( int i = 0; i < view.length(); i++ ){
+         assertEquals( 0, view.get( i ).position.layer );
+         assertEquals( i, view.get( i ).position.index );
+         assertEquals( parameter.getInputValues().get( i ), view.get( i ).value.get(), 0 );
+      }
+
+      parameter.inputParameters( 5.0, 6.0 );
+      assertEquals( 5.0, parameter.getInputParameters().get( 0 ).value.get(), 0 );
+   }// End Method
+
+   /**
+    * Method to test that {@link NeuronValue}s are held by the index of their {@link NetworkPosition}.
+    */
+   @Test public void NeuronValueOrderTest(){
+      LearningParameter parameter = new LearningParameter().targetParameters(
+               new NeuronValue( new NetworkPosition( 1, 1 ), 10 ),
+               new NeuronValue( new NetworkPosition( 1, 0 ), 20 )
+      );
+      assertEquals( 1, parameter.getTargetValues().getLayer() );
+      assertEquals( 20, parameter.getTargetValues().get( 0 ), 0 );
+      assertEquals( 10, parameter.getTargetValues().get( 1 ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that {@link NeuronValue}s sharing an index are rejected.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void DuplicateIndexTest(){
+      new PrimitiveNeuronValues( new NeuronValueArray(
+               new NeuronValue( new NetworkPosition( 0, 0 ), 1 ),
+               new NeuronValue( new NetworkPosition( 0, 0 ), 2 )
+      ) );
+   }// End Method
+
+   /**
+    * Method to test that the values are copied on construction so the {@link PrimitiveNeuronValues} cannot change.
+    */
+   @Test public void ImmutableTest(){
+      double[] values = { 1, 2 };
+      PrimitiveNeuronValues primitive = new PrimitiveNeuronValues( 0, values );
+      values[ 0 ] = 100;
+      assertEquals( 1, primitive.get( 0 ), 0 );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,170 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.learning;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.network.Perceptron;
+import model.network.dense.BatchLearner;
+import model.network.dense.DensePerceptron;
+import model.singleton.LearningParameter;
+import model.singleton.LearningParameter.NeuronValue;
+import model.structure.LearningParameters;
+import model.structure.MappedLearningParameters;
+import model.structure.NetworkPosition;
+import temporary.TemporaryFiles;
+
+/**
+ * The {@link MappedLearningParametersTest} is responsible for testing the writing of {@link LearningParameters}
+ * to a training set file and streaming them back with {@link MappedLearningParameters}.
+ */
+public class MappedLearningParametersTest {
+
+   /** The output file to temporarily save the training set. **/
+   private static final String OUTPUT_FILE = "TrainingSet.bin";
+   /** The number of {@link LearningParameter}s to write. **/
+   private static final int PARAMETER_COUNT = 500;
+   /** The number of input values per {@link LearningParameter}. **/
+   private static final int INPUT_COUNT = 6;
+   /** The number of target values per {@link LearningParameter}. **/
+   private static final int TARGET_COUNT = 2;
+   /** The {@link File} written. **/
+   private File file;
+   /** The {@link LearningParameters} written. **/
+   private LearningParameters parameters;
+
+   /**
+    * Method to construct random {@link LearningParameters}.
+    */
+   @Before public void initialise(){
+      file = new File( TemporaryFiles.TEMPORARY_DIRECTORY + OUTPUT_FILE );
+      parameters = new LearningParameters();
+      Random random = new Random( 7 );
+      for ( int i = 0; i < PARAMETER_COUNT; i++ ){
+         Double[] input = new Double[ INPUT_COUNT ];
+         for ( int j = 0; j < INPUT_COUNT; j++ ){
+            input[ j ] = random.nextDouble() * 2 - 1;
+         }
+         NeuronValue[] target = new NeuronValue[ TARGET_COUNT ];
+         for ( int j = 0; j < TARGET_COUNT; j++ ){
+            target[ j ] = new NeuronValue( new NetworkPosition( 1, j ), random.nextInt( 2 ) );
+         }
+         parameters.addLearningParameter( new LearningParameter().inputParameters( input ).targetParameters( target ) );
+      }
+   }// End Method
+
+   /**
+    * Method to remove the written file.
+    */
+   @After public void cleanUp(){
+      file.delete();
+   }// End Method
+
+   /**
+    * Method to test that the values read match those written.
+    */
+   @Test public void ReadAndWriteTest() throws IOException {
+      MappedLearningParameters.write( parameters, file );
+      MappedLearningParameters mapped = new MappedLearningParameters( file );
+      assertEquals( PARAMETER_COUNT, mapped.size() );
+      assertEquals( INPUT_COUNT, mapped.getInputCount() );
+      assertEquals( TARGET_COUNT, mapped.getTargetCount() );
+
+      double[] expected = new double[ INPUT_COUNT ];
+      double[] actual = new double[ INPUT_COUNT ];
+      for ( int i = 0; i < PARAMETER_COUNT; i++ ){
+         parameters.copyInput( i, expected );
+         mapped.copyInput( i, actual );
+         for ( int j = 0; j < INPUT_COUNT; j++ ){
+            assertEquals( expected[ j ], actual[ j ], 0 );
+         }
+      }
+
+      Iterator< LearningParameter > expectedIterator = parameters.iterator();
+      Iterator< LearningParameter > actualIterator = mapped.iterator();
+      while ( expectedIterator.hasNext() ){
+         LearningParameter expectedParameter = expectedIterator.next();
+         LearningParameter actualParameter = actualIterator.next();
+         assertEquals( 1, actualParameter.getTargetValues().getLayer() );
+         for ( int j = 0; j < TARGET_COUNT; j++ ){
+            assertEquals( expectedParameter.getTargetValues().get( j ), actualParameter.getTargetValues().get( j ), 0 );
+         }
+      }
+      assertFalse( actualIterator.hasNext() );
+   }// End Method
+
+   /**
+    * Method to test that learning from the mapped file makes the same adjustments as learning in memory.
+    */
+   @Test public void LearningTest() throws IOException {
+      MappedLearningParameters.write( parameters, file );
+      MappedLearningParameters mapped = new MappedLearningParameters( file );
+
+      Perceptron memory = new Perceptron( INPUT_COUNT, TARGET_COUNT );
+      DensePerceptron memoryDense = new DensePerceptron( memory );
+      Perceptron streamed = new Perceptron( INPUT_COUNT, TARGET_COUNT );
+      DensePerceptron streamedDense = new DensePerceptron( streamed );
+      for ( int o = 0; o < TARGET_COUNT; o++ ){
+         for ( int i = 0; i < INPUT_COUNT; i++ ){
+            streamedDense.getLayer().setWeight( o, i, memoryDense.getLayer().getWeight( o, i ) );
+         }
+         streamedDense.getLayer().setBiasWeight( o, memoryDense.getLayer().getBiasWeight( o ) );
+      }
+
+      for ( int epoch = 0; epoch < 5; epoch++ ){
+         new BatchLearner( memoryDense ).learn( parameters, 50 );
+         new BatchLearner( streamedDense ).learn( mapped, 50 );
+      }
+      for ( int o = 0; o < TARGET_COUNT; o++ ){
+         for ( int i = 0; i < INPUT_COUNT; i++ ){
+            assertEquals( memoryDense.getLayer().getWeight( o, i ), streamedDense.getLayer().getWeight( o, i ), 0 );
+         }
+         assertEquals( memoryDense.getLayer().getBiasWeight( o ), streamedDense.getLayer().getBiasWeight( o ), 0 );
+      }
+   }// End Method
+
+   /**
+    * Method to test that an empty {@link LearningParameters} can be written and read.
+    */
+   @Test public void EmptyTest() throws IOException {
+      MappedLearningParameters.write( new LearningParameters(), file );
+      MappedLearningParameters mapped = new MappedLearningParameters( file );
+      assertEquals( 0, mapped.size() );
+      assertFalse( mapped.iterator().hasNext() );
+   }// End Method
+
+   /**
+    * Method to test that {@link MappedLearningParameters} cannot be added to.
+    */
+   @Test( expected = UnsupportedOperationException.class ) public void ReadOnlyTest() throws IOException {
+      MappedLearningParameters.write( parameters, file );
+      new MappedLearningParameters( file ).addLearningParameter( new LearningParameter() );
+   }// End Method
+
+   /**
+    * Method to test that a file that is not a training set is rejected.
+    */
+   @Test( expected = IOException.class ) public void InvalidFileTest() throws IOException {
+      try ( FileWriter writer = new FileWriter( file ) ){
+         writer.write( "This is not a training set, but is long enough to be." );
+      }
+      new MappedLearningParameters( file );
+   }// End Method
+
+}// End Class
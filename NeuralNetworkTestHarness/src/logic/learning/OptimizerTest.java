@@ -0,0 +1,154 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.learning;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.function.learning.AdamOptimizer;
+import model.function.learning.GradientDescentOptimizer;
+import model.function.learning.LayerOptimizer;
+import model.function.learning.LearningRateSchedule;
+import model.function.learning.LearningRuleOptimizer;
+import model.function.learning.MomentumOptimizer;
+import model.function.learning.Optimizer;
+import model.network.FeedForwardNetwork;
+import model.network.dense.BackPropagation;
+import model.network.dense.DenseNetwork;
+import model.structure.LearningParameters;
+import model.structure.NetworkPosition;
+import model.training.TrainingController;
+import model.training.TrainingController.StopReason;
+import model.training.TrainingController.TrainingControllerBuilder;
+import utility.TruthTables;
+
+/**
+ * The {@link OptimizerTest} is responsible for testing the {@link Optimizer}s and {@link LearningRateSchedule}s
+ * and that each can teach a {@link DenseNetwork}.
+ */
+public class OptimizerTest {
+
+   /** The tolerance for comparing weights. **/
+   private static final double TOLERANCE = 0.0000001;
+
+   /**
+    * Method to test that the {@link LearningRuleOptimizer} applies the learning rate of each weight to the summed gradient.
+    */
+   @Test public void LearningRuleTest(){
+      double[] weights = { 1, 1 };
+      double[] gradients = { 2, -4 };
+      LearningRuleOptimizer.INSTANCE.forLayer( 2 ).update( weights, gradients, new double[]{ 0.1, 0.5 }, 2 );
+      assertEquals( 1.2, weights[ 0 ], TOLERANCE );
+      assertEquals( -1, weights[ 1 ], TOLERANCE );
+      assertEquals( 0, gradients[ 0 ], TOLERANCE );
+      assertEquals( 0, gradients[ 1 ], TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that the {@link GradientDescentOptimizer} applies its rate to the mean gradient.
+    */
+   @Test public void GradientDescentTest(){
+      double[] weights = { 1 };
+      new GradientDescentOptimizer( 0.5 ).forLayer( 1 ).update( weights, new double[]{ 4 }, new double[]{ 100 }, 2 );
+      assertEquals( 2, weights[ 0 ], TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that the {@link MomentumOptimizer} carries the velocity between updates.
+    */
+   @Test public void MomentumTest(){
+      double[] weights = { 0 };
+      LayerOptimizer optimizer = new MomentumOptimizer( 1, 0.5, LearningRateSchedule.constant() ).forLayer( 1 );
+      optimizer.update( weights, new double[]{ 1 }, new double[ 1 ], 1 );
+      assertEquals( 1, weights[ 0 ], TOLERANCE );
+      optimizer.update( weights, new double[]{ 1 }, new double[ 1 ], 1 );
+      assertEquals( 2.5, weights[ 0 ], TOLERANCE );
+      optimizer.update( weights, new double[]{ 0 }, new double[ 1 ], 1 );
+      assertEquals( 3.25, weights[ 0 ], TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that the first {@link AdamOptimizer} update moves each weight by the learning rate in the
+    * direction of its gradient, regardless of its magnitude.
+    */
+   @Test public void AdamTest(){
+      double[] weights = { 0, 0 };
+      new AdamOptimizer( 0.01 ).forLayer( 2 ).update( weights, new double[]{ 100, -0.001 }, new double[ 2 ], 1 );
+      assertEquals( 0.01, weights[ 0 ], 0.000001 );
+      assertEquals( -0.01, weights[ 1 ], 0.000001 );
+   }// End Method
+
+   /**
+    * Method to test the rates of the {@link LearningRateSchedule}s.
+    */
+   @Test public void ScheduleTest(){
+      assertEquals( 0.1, LearningRateSchedule.constant().getRate( 0.1, 1000 ), TOLERANCE );
+      LearningRateSchedule step = LearningRateSchedule.stepDecay( 10, 0.5 );
+      assertEquals( 1, step.getRate( 1, 9 ), TOLERANCE );
+      assertEquals( 0.5, step.getRate( 1, 10 ), TOLERANCE );
+      assertEquals( 0.25, step.getRate( 1, 25 ), TOLERANCE );
+      assertEquals( Math.exp( -0.2 ), LearningRateSchedule.exponentialDecay( 0.1 ).getRate( 1, 2 ), TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that the schedule is applied as updates are made.
+    */
+   @Test public void ScheduledUpdatesTest(){
+      double[] weights = { 0 };
+      LayerOptimizer optimizer = new GradientDescentOptimizer( 1, LearningRateSchedule.stepDecay( 1, 0.5 ) ).forLayer( 1 );
+      optimizer.update( weights, new double[]{ 1 }, new double[ 1 ], 1 );
+      optimizer.update( weights, new double[]{ 1 }, new double[ 1 ], 1 );
+      optimizer.update( weights, new double[]{ 1 }, new double[ 1 ], 1 );
+      assertEquals( 1.75, weights[ 0 ], TOLERANCE );
+   }// End Method
+
+   /**
+    * Method to test that invalid configurations are rejected.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void InvalidMomentumTest(){
+      new MomentumOptimizer( 0.1, 1, LearningRateSchedule.constant() );
+   }// End Method
+
+   /**
+    * Method to teach the logical xor to a {@link FeedForwardNetwork} with the given {@link Optimizer}.
+    * @param optimizer the {@link Optimizer} to use.
+    * @param batchSize the size of the batches.
+    * @return the {@link StopReason}.
+    */
+   private StopReason learnXor( Optimizer optimizer, int batchSize ){
+      LearningParameters parameters = TruthTables.constructXor();
+
+      FeedForwardNetwork network = new FeedForwardNetwork( 2, 4, 1 );
+      Random random = new Random( 1 );
+      for ( int l = 1; l < network.getNumberOfLayers(); l++ ){
+         for ( int o = 0; o < network.getLayer( l ).size(); o++ ){
+            NetworkPosition output = new NetworkPosition( l, o );
+            for ( int i = 0; i < network.getLayer( l - 1 ).size(); i++ ){
+               network.configureWeight( new NetworkPosition( l - 1, i ), output, random.nextDouble() * 2 - 1 );
+            }
+            network.configureBias( output, random.nextDouble() * 2 - 1 );
+         }
+      }
+      TrainingController controller = new TrainingController( new TrainingControllerBuilder().maximumEpochs( 50000 ) );
+      return controller.train( new BackPropagation( new DenseNetwork( network ), batchSize, optimizer ), parameters );
+   }// End Method
+
+   /**
+    * Method to test that each {@link Optimizer} teaches the xor.
+    */
+   @Test public void OptimizersLearnXorTest(){
+      assertEquals( StopReason.Converged, learnXor( LearningRuleOptimizer.INSTANCE, 1 ) );
+      assertEquals( StopReason.Converged, learnXor( new GradientDescentOptimizer( 0.5 ), 1 ) );
+      assertEquals( StopReason.Converged, learnXor( new MomentumOptimizer( 0.2 ), 2 ) );
+      assertEquals( StopReason.Converged, learnXor( new AdamOptimizer( 0.05 ), 4 ) );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,121 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.learning;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import model.network.Perceptron;
+import model.network.dense.DensePerceptron;
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+import utility.Comparison;
+import utility.TruthTables;
+
+/**
+ * The {@link PerceptronBatchLearningTest} is responsible for testing {@link Perceptron#applyBatchLearning(LearningParameters)}
+ * and the mini-batch variant.
+ */
+public class PerceptronBatchLearningTest {
+
+   /** The maximum number of epochs to allow when learning. **/
+   private static final int MAXIMUM_EPOCHS = 1000;
+   /** The {@link LearningParameters} for the logical and. **/
+   private LearningParameters parameters;
+
+   /**
+    * Method to construct the {@link LearningParameters} for the logical and.
+    */
+   @Before public void initialise(){
+      parameters = TruthTables.constructAnd();
+   }// End Method
+
+   /**
+    * Method to determine whether all {@link LearningParameter}s are satisfied.
+    * @param perceptron the {@link Perceptron} to check.
+    * @return true if all satisfied.
+    */
+   private boolean isLearnt( Perceptron perceptron ){
+      for ( Iterator< LearningParameter > iterator = parameters.iterator(); iterator.hasNext(); ){
+         if ( !iterator.next().isSatisfied( perceptron ) ){
+            return false;
+         }
+      }
+      return true;
+   }// End Method
+
+   /**
+    * Method to learn with batch learning until learnt, or the {@link #MAXIMUM_EPOCHS} is reached.
+    * @param perceptron the {@link Perceptron} to teach.
+    * @param batchSize the size of the batches.
+    */
+   private void learn( Perceptron perceptron, int batchSize ){
+      for ( int epoch = 0; epoch < MAXIMUM_EPOCHS && !isLearnt( perceptron ); epoch++ ){
+         perceptron.applyBatchLearning( parameters, batchSize );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a batch of one makes the same adjustments as online learning.
+    */
+   @Test public void BatchOfOneMatchesOnlineTest(){
+      Perceptron online = new Perceptron( 2, 1 );
+      Perceptron batch = new Perceptron( 2, 1 );
+      DensePerceptron onlineWeights = new DensePerceptron( online );
+      DensePerceptron batchWeights = new DensePerceptron( batch );
+      for ( int i = 0; i < 2; i++ ){
+         batchWeights.getLayer().setWeight( 0, i, onlineWeights.getLayer().getWeight( 0, i ) );
+      }
+      batchWeights.getLayer().setBiasWeight( 0, onlineWeights.getLayer().getBiasWeight( 0 ) );
+      batchWeights.writeWeights();
+
+      for ( int epoch = 0; epoch < 5; epoch++ ){
+         for ( Iterator< LearningParameter > iterator = parameters.iterator(); iterator.hasNext(); ){
+            online.learn( iterator.next() );
+         }
+         batch.applyBatchLearning( parameters, 1 );
+      }
+
+      onlineWeights.synchronise();
+      batchWeights.synchronise();
+      for ( int i = 0; i < 2; i++ ){
+         Comparison.doubleAssert( onlineWeights.getLayer().getWeight( 0, i ), batchWeights.getLayer().getWeight( 0, i ) );
+      }
+      Comparison.doubleAssert( onlineWeights.getLayer().getBiasWeight( 0 ), batchWeights.getLayer().getBiasWeight( 0 ) );
+   }// End Method
+
+   /**
+    * Method to test that the logical and can be learnt as a single batch.
+    */
+   @Test public void FullBatchTest(){
+      Perceptron perceptron = new Perceptron( 2, 1 );
+      learn( perceptron, parameters.size() );
+      assertTrue( isLearnt( perceptron ) );
+   }// End Method
+
+   /**
+    * Method to test that the logical and can be learnt in mini-batches.
+    */
+   @Test public void MiniBatchTest(){
+      Perceptron perceptron = new Perceptron( 2, 1 );
+      learn( perceptron, 3 );
+      assertTrue( isLearnt( perceptron ) );
+   }// End Method
+
+   /**
+    * Method to test that a batch size must be positive.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void InvalidBatchSizeTest(){
+      new Perceptron( 2, 1 ).applyBatchLearning( parameters, 0 );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,210 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package logic.learning;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import model.network.Perceptron;
+import model.network.dense.BatchLearner;
+import model.network.dense.DensePerceptron;
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+import model.training.TrainingController;
+import model.training.TrainingController.StopReason;
+import model.training.TrainingController.TrainingControllerBuilder;
+import model.training.TrainingListener;
+import model.training.TrainingMetrics;
+import utility.TruthTables;
+
+/**
+ * The {@link TrainingControllerTest} is responsible for testing the stopping conditions and metrics
+ * of the {@link TrainingController}.
+ */
+public class TrainingControllerTest {
+
+   /**
+    * Method to test that a separable problem converges and every {@link LearningParameter} is satisfied.
+    */
+   @Test public void ConvergesTest(){
+      LearningParameters parameters = TruthTables.constructTruthTable( 0, 0, 0, 1 );
+      Perceptron perceptron = new Perceptron( 2, 1 );
+      TrainingController controller = new TrainingController( new TrainingControllerBuilder() );
+      assertEquals( StopReason.Converged, perceptron.learn( parameters, controller ) );
+      assertEquals( 1.0, controller.getLastMetrics().getAccuracy(), 0 );
+      assertEquals( 0.0, controller.getLastMetrics().getLoss(), 0 );
+      for ( Iterator< LearningParameter > iterator = parameters.iterator(); iterator.hasNext(); ){
+         assertTrue( iterator.next().isSatisfied( perceptron ) );
+      }
+   }// End Method
+
+   /**
+    * Method to test that a problem which is not linearly separable stops at the maximum epochs.
+    */
+   @Test public void MaximumEpochsTest(){
+      TrainingController controller = new TrainingController( new TrainingControllerBuilder().maximumEpochs( 50 ) );
+      StopReason reason = new Perceptron( 2, 1 ).learn( TruthTables.constructTruthTable( 0, 1, 1, 0 ), controller );
+      assertEquals( StopReason.MaximumEpochs, reason );
+      assertEquals( 50, controller.getLastMetrics().getEpoch() );
+      assertEquals( 200, controller.getTotalSamples() );
+   }// End Method
+
+   /**
+    * Method to test that training stops early when the loss stops improving.
+    */
+   @Test public void PatienceTest(){
+      TrainingController controller = new TrainingController(
+               new TrainingControllerBuilder().maximumEpochs( 100000 ).patience( 20, 0 )
+      );
+      StopReason reason = new Perceptron( 2, 1 ).learn( TruthTables.constructTruthTable( 0, 1, 1, 0 ), controller );
+      assertEquals( StopReason.NoImprovement, reason );
+      assertTrue( controller.getLastMetrics().getEpoch() < 100000 );
+   }// End Method
+
+   /**
+    * Method to test that the loss threshold stops training.
+    */
+   @Test public void LossThresholdTest(){
+      TrainingController controller = new TrainingController(
+               new TrainingControllerBuilder().accuracyThreshold( 2 ).lossThreshold( 1 )
+      );
+      assertEquals( StopReason.Converged, new Perceptron( 2, 1 ).learn( TruthTables.constructTruthTable( 0, 1, 1, 0 ), controller ) );
+      assertEquals( 1, controller.getLastMetrics().getEpoch() );
+   }// End Method
+
+   /**
+    * Method to test that the {@link TrainingListener} is notified of every epoch and the stop.
+    */
+   @Test public void ListenerTest(){
+      List< TrainingMetrics > epochs = new ArrayList< TrainingMetrics >();
+      List< StopReason > stops = new ArrayList< StopReason >();
+      TrainingController controller = new TrainingController( new TrainingControllerBuilder()
+               .maximumEpochs( 10 )
+               .listener( new TrainingListener() {
+                  @Override public void epochCompleted( TrainingMetrics metrics ) {
+                     epochs.add( metrics );
+                  }
+                  @Override public void trainingStopped( TrainingMetrics metrics, StopReason reason ) {
+                     stops.add( reason );
+                  }
+               } )
+      );
+      new Perceptron( 2, 1 ).learn( TruthTables.constructTruthTable( 0, 1, 1, 0 ), controller );
+      assertEquals( 10, epochs.size() );
+      for ( int i = 0; i < epochs.size(); i++ ){
+         assertEquals( i + 1, epochs.get( i ).getEpoch() );
+         assertEquals( 4, epochs.get( i ).getSamples() );
+         assertTrue( epochs.get( i ).getSamplesPerSecond() >= 0 );
+      }
+      assertEquals( 1, stops.size() );
+      assertEquals( StopReason.MaximumEpochs, stops.get( 0 ) );
+      assertTrue( controller.getTotalTrainingNanos() >= 0 );
+   }// End Method
+
+   /**
+    * Method to test that training stops at the end of the epoch in which it is cancelled.
+    */
+   @Test public void CancelTest(){
+      TrainingController[] controller = new TrainingController[ 1 ];
+      controller[ 0 ] = new TrainingController( new TrainingControllerBuilder()
+               .maximumEpochs( 100000 )
+               .listener( metrics -> {
+                  if ( metrics.getEpoch() == 3 ){
+                     controller[ 0 ].cancel();
+                  }
+               } )
+      );
+      StopReason reason = new Perceptron( 2, 1 ).learn( TruthTables.constructTruthTable( 0, 1, 1, 0 ), controller[ 0 ] );
+      assertEquals( StopReason.Cancelled, reason );
+      assertEquals( 3, controller[ 0 ].getLastMetrics().getEpoch() );
+      assertTrue( controller[ 0 ].isCancelled() );
+   }// End Method
+
+   /**
+    * Method to test that training cancelled from another {@link Thread} stops.
+    */
+   @Test public void CancelFromThreadTest() throws InterruptedException {
+      TrainingController controller = new TrainingController( new TrainingControllerBuilder().maximumEpochs( Integer.MAX_VALUE ) );
+      StopReason[] reason = new StopReason[ 1 ];
+      Thread training = new Thread( () -> reason[ 0 ] = new Perceptron( 2, 1 ).learn( TruthTables.constructTruthTable( 0, 1, 1, 0 ), controller ) );
+      training.start();
+      Thread.sleep( 50 );
+      controller.cancel();
+      training.join( 10000 );
+      assertEquals( StopReason.Cancelled, reason[ 0 ] );
+   }// End Method
+
+   /**
+    * Method to test that training cancelled before it starts learns nothing.
+    */
+   @Test public void CancelBeforeStartTest(){
+      Perceptron perceptron = new Perceptron( 2, 1 );
+      double before = new DensePerceptron( perceptron ).getLayer().getWeight( 0, 0 );
+      TrainingController controller = new TrainingController( new TrainingControllerBuilder() );
+      controller.cancel();
+      assertEquals( StopReason.Cancelled, perceptron.learn( TruthTables.constructTruthTable( 0, 1, 1, 0 ), controller ) );
+      assertEquals( 0, controller.getLastMetrics().getEpoch() );
+      assertEquals( 0, controller.getTotalSamples() );
+      assertEquals( before, new DensePerceptron( perceptron ).getLayer().getWeight( 0, 0 ), 0 );
+   }// End Method
+
+   /**
+    * Method to test that training cancelled part way through an epoch stops after the batch in progress.
+    */
+   @Test public void CancelWithinEpochTest(){
+      TrainingController[] controller = new TrainingController[ 1 ];
+      controller[ 0 ] = new TrainingController( new TrainingControllerBuilder()
+               .maximumEpochs( 100000 )
+               .listener( new TrainingListener() {
+                  @Override public void epochCompleted( TrainingMetrics metrics ) {}
+                  @Override public void samplesCompleted( int epoch, int samples, int total ) {
+                     if ( samples == 2 ){
+                        controller[ 0 ].cancel();
+                     }
+                  }
+               } )
+      );
+      StopReason reason = new Perceptron( 2, 1 ).learn( TruthTables.constructTruthTable( 0, 1, 1, 0 ), controller[ 0 ] );
+      assertEquals( StopReason.Cancelled, reason );
+      assertEquals( 1, controller[ 0 ].getLastMetrics().getEpoch() );
+      assertEquals( 2, controller[ 0 ].getTotalSamples() );
+   }// End Method
+
+   /**
+    * Method to test that the {@link TrainingListener} is notified of the progress through each epoch, per batch.
+    */
+   @Test public void SampleProgressTest(){
+      List< String > progress = new ArrayList< String >();
+      TrainingController controller = new TrainingController( new TrainingControllerBuilder()
+               .maximumEpochs( 2 )
+               .listener( new TrainingListener() {
+                  @Override public void epochCompleted( TrainingMetrics metrics ) {}
+                  @Override public void samplesCompleted( int epoch, int samples, int total ) {
+                     progress.add( epoch + ":" + samples + "/" + total );
+                  }
+               } )
+      );
+      controller.train( new BatchLearner( new DensePerceptron( new Perceptron( 2, 1 ) ), 3 ), TruthTables.constructTruthTable( 0, 1, 1, 0 ) );
+      assertEquals( Arrays.asList( "1:3/4", "1:4/4", "2:3/4", "2:4/4" ), progress );
+   }// End Method
+
+   /**
+    * Method to test that invalid configuration is rejected.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void InvalidMaximumEpochsTest(){
+      new TrainingControllerBuilder().maximumEpochs( 0 );
+   }// End Method
+
+}// End Class
@@ -13,7 +13,9 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class) 
 @SuiteClasses( { 
-   LearningParameterXMLWritingTest.class 
+   LearningParameterXMLWritingTest.class,
+   PerceptronBinaryWritingTest.class,
+   XmlStreamLoadingTest.class
 } ) 
 public class AllTests {
 
@@ -0,0 +1,188 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Iterator;
+
+import org.junit.After;
+import org.junit.Test;
+
+import architecture.serialization.SerializationSystem;
+import model.network.Perceptron;
+import model.network.dense.DenseActivation;
+import model.network.dense.DensePerceptron;
+import model.singleton.LearningParameter;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.LearningParameters;
+import representation.binary.BinaryDensePerceptronFormat;
+import representation.binary.BinaryPerceptronFormat;
+import representation.xml.wrapper.XmlPerceptronWrapper;
+import temporary.TemporaryFiles;
+import utility.Comparison;
+
+/**
+ * The {@link PerceptronBinaryWritingTest} is responsible for testing the read and write of a
+ * {@link Perceptron} in the {@link BinaryPerceptronFormat}.
+ */
+public class PerceptronBinaryWritingTest {
+
+   /** The output file to temporarily save the data. **/
+   private static final String OUTPUT_FILE = "Perceptron.bin";
+   /** The {@link File} written to. **/
+   private final File file = new File( TemporaryFiles.TEMPORARY_DIRECTORY + OUTPUT_FILE );
+
+   /**
+    * Method to delete the {@link File} written.
+    */
+   @After public void tearDown(){
+      file.delete();
+   }// End Method
+
+   /**
+    * Method to assert that the {@link Perceptron}s have equal {@link Neuron}s and {@link Synapse}s.
+    * @param expected the {@link Perceptron} written.
+    * @param actual the {@link Perceptron} read.
+    */
+   private static void assertPerceptronsEqual( Perceptron expected, Perceptron actual ){
+      Comparison.assertEqual( expected.getBias(), actual.getBias() );
+      Comparison.assertEqual( expected.getInputLayer(), actual.getInputLayer() );
+      Comparison.assertEqual( expected.getOutputLayer(), actual.getOutputLayer() );
+      Iterator< Neuron > expectedOutputs = expected.getOutputLayer().iterator();
+      Iterator< Neuron > actualOutputs = actual.getOutputLayer().iterator();
+      while ( expectedOutputs.hasNext() ){
+         Iterator< Synapse > expectedSynapses = expectedOutputs.next().inputSynapseIterator();
+         Iterator< Synapse > actualSynapses = actualOutputs.next().inputSynapseIterator();
+         while ( expectedSynapses.hasNext() ){
+            Comparison.assertEqual( expectedSynapses.next(), actualSynapses.next() );
+         }
+         assertEquals( expectedSynapses.hasNext(), actualSynapses.hasNext() );
+      }
+   }// End Method
+
+   /**
+    * Method to write a trained {@link Perceptron} to a file, then read it back in and assert that
+    * they are equal.
+    */
+   @Test public void ReadAndWriteTest(){
+      Perceptron perceptron = new Perceptron( 20, 10 );
+      LearningParameters parameters = new LearningParameters();
+      Double[] input = new Double[ 20 ];
+      Double[] target = new Double[ 10 ];
+      for ( int i = 0; i < 20; i++ ){
+         input[ i ] = i % 3 == 0 ? 1.0 : 0.0;
+      }
+      for ( int o = 0; o < 10; o++ ){
+         target[ o ] = o % 2 == 0 ? 1.0 : 0.0;
+      }
+      parameters.addLearningParameter( new LearningParameter().inputParameters( input ).targetParameters( target ) );
+      perceptron.learn( parameters );
+
+      assertTrue( SerializationSystem.saveToBinaryFile( perceptron, file, new BinaryPerceptronFormat() ) );
+      Perceptron constructed = SerializationSystem.loadFromBinaryFile( file, new BinaryPerceptronFormat() );
+      assertPerceptronsEqual( perceptron, constructed );
+
+      double[] values = new double[ 20 ];
+      values[ 4 ] = 1;
+      double[] expected = new double[ 10 ];
+      double[] actual = new double[ 10 ];
+      perceptron.predict( values, expected );
+      constructed.predict( values, actual );
+      for ( int o = 0; o < 10; o++ ){
+         assertEquals( expected[ o ], actual[ o ], 0 );
+      }
+   }// End Method
+
+   /**
+    * Method to test that only the {@link Synapse}s of a sparse {@link Perceptron} are written and read.
+    */
+   @Test public void SparseReadAndWriteTest(){
+      int[][] connections = new int[ 30 ][];
+      for ( int i = 0; i < connections.length; i++ ){
+         connections[ i ] = new int[]{ i % 3 };
+      }
+      Perceptron perceptron = new Perceptron( 3, connections );
+      assertTrue( SerializationSystem.saveToBinaryFile( perceptron, file, new BinaryPerceptronFormat() ) );
+      assertPerceptronsEqual( perceptron, SerializationSystem.loadFromBinaryFile( file, new BinaryPerceptronFormat() ) );
+   }// End Method
+
+   /**
+    * Method to test that a {@link DensePerceptron} in array form is written with the {@link BinaryDensePerceptronFormat}
+    * without being materialised, as the {@link Perceptron} it materialises, and read back in array form.
+    */
+   @Test public void DenseReadAndWriteTest() throws Exception {
+      DensePerceptron dense = new DensePerceptron( 20, 10 ).detach( DenseActivation.Sigmoid );
+      dense.setLearningRate( 0.3 );
+      dense.setLearningRate( 4, 20, 0.7 );
+      assertTrue( SerializationSystem.saveToBinaryFile( dense, file, new BinaryDensePerceptronFormat() ) );
+      assertFalse( dense.isMaterialised() );
+      byte[] written = Files.readAllBytes( file.toPath() );
+
+      DensePerceptron constructed = SerializationSystem.loadFromBinaryFile( file, new BinaryDensePerceptronFormat() );
+      assertFalse( constructed.isMaterialised() );
+      assertEquals( DenseActivation.Sigmoid, constructed.getLayer().getActivation() );
+      assertEquals( dense.getBias(), constructed.getBias(), 0 );
+      for ( int o = 0; o < dense.getOutputCount(); o++ ){
+         for ( int i = 0; i <= dense.getInputCount(); i++ ){
+            assertEquals( dense.getLayer().getWeight( o, i ), constructed.getLayer().getWeight( o, i ), 0 );
+            assertEquals( dense.getLearningRate( o, i ), constructed.getLearningRate( o, i ), 0 );
+         }
+      }
+
+      assertPerceptronsEqual( dense.getPerceptron(), SerializationSystem.loadFromBinaryFile( file, new BinaryPerceptronFormat() ) );
+      assertTrue( SerializationSystem.saveToBinaryFile( dense.getPerceptron(), file, new BinaryPerceptronFormat() ) );
+      assertArrayEquals( written, Files.readAllBytes( file.toPath() ) );
+   }// End Method
+
+   /**
+    * Method to test that a {@link Perceptron} not laid out as one in array form is read with the 
+    * {@link BinaryDensePerceptronFormat} by compiling it.
+    */
+   @Test public void DenseReadCompiledTest(){
+      int[][] connections = new int[ 6 ][];
+      for ( int i = 0; i < connections.length; i++ ){
+         connections[ i ] = new int[]{ i % 3 };
+      }
+      Perceptron perceptron = new Perceptron( 3, connections );
+      assertTrue( SerializationSystem.saveToBinaryFile( perceptron, file, new BinaryPerceptronFormat() ) );
+      DensePerceptron constructed = SerializationSystem.loadFromBinaryFile( file, new BinaryDensePerceptronFormat() );
+      assertTrue( constructed.isMaterialised() );
+      assertPerceptronsEqual( perceptron, constructed.getPerceptron() );
+   }// End Method
+
+   /**
+    * Method to test that a {@link File} not in the {@link BinaryPerceptronFormat} is not read.
+    */
+   @Test public void WrongFormatTest(){
+      SerializationSystem.saveToFile( new XmlPerceptronWrapper( new Perceptron( 2, 1 ) ), file, XmlPerceptronWrapper.class );
+      assertNull( SerializationSystem.loadFromBinaryFile( file, new BinaryPerceptronFormat() ) );
+   }// End Method
+
+   /**
+    * Method to test that a {@link File} written in a later version of the {@link BinaryPerceptronFormat}
+    * is not read.
+    */
+   @Test public void UnsupportedVersionTest() throws Exception {
+      assertTrue( SerializationSystem.saveToBinaryFile( new Perceptron( 2, 1 ), file, new BinaryPerceptronFormat() ) );
+      try ( RandomAccessFile access = new RandomAccessFile( file, "rw" ) ) {
+         access.seek( Integer.BYTES );
+         access.writeInt( BinaryPerceptronFormat.VERSION + 1 );
+      }
+      assertNull( SerializationSystem.loadFromBinaryFile( file, new BinaryPerceptronFormat() ) );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,186 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import architecture.event.system.ManagementSystem;
+import architecture.request.RequestSystem;
+import architecture.serialization.SerializationSystem;
+import architecture.utility.ObjectGenerator;
+import model.network.Perceptron;
+import model.singleton.LearningParameter;
+import model.singleton.Neuron;
+import model.singleton.Synapse;
+import model.structure.LearningParameters;
+import representation.xml.stream.XmlLearningParametersStreamFormat;
+import representation.xml.stream.XmlPerceptronStreamFormat;
+import representation.xml.wrapper.XmlLearningParametersWrapper;
+import representation.xml.wrapper.XmlPerceptronWrapper;
+import temporary.TemporaryFiles;
+import utility.Comparison;
+
+/**
+ * The {@link XmlStreamLoadingTest} is responsible for testing that structures streamed from XML match those
+ * written, without being stored in the {@link RequestSystem}.
+ */
+public class XmlStreamLoadingTest {
+
+   /** The output file to temporarily save the data. **/
+   private static final String OUTPUT_FILE = "Streamed.xml";
+   /** The {@link File} written to. **/
+   private final File file = new File( TemporaryFiles.TEMPORARY_DIRECTORY + OUTPUT_FILE );
+   /** Set when {@link NotAFunction} is initialised. **/
+   private static boolean initialised = false;
+   /** Set when {@link NeuronNotAFunction} is initialised. **/
+   private static boolean neuronInitialised = false;
+
+   /**
+    * The {@link NotAFunction} is named as a {@link model.function.threshold.ThresholdFunction} by a file, but is not one.
+    */
+   public static class NotAFunction {
+      static {
+         initialised = true;
+      }
+   }// End Class
+   
+   /**
+    * The {@link NeuronNotAFunction} is named as the {@link model.function.threshold.ThresholdFunction} of a
+    * {@link Neuron} by a file, but is not one.
+    */
+   public static class NeuronNotAFunction {
+      static {
+         neuronInitialised = true;
+      }
+   }// End Class
+
+   /**
+    * Method to reset the {@link RequestSystem} before each test.
+    */
+   @Before public void initialise(){
+      ManagementSystem.reset();
+   }// End Method
+
+   /**
+    * Method to delete the {@link File} written.
+    */
+   @After public void tearDown(){
+      file.delete();
+   }// End Method
+
+   /**
+    * Method to test that a trained {@link Perceptron} streamed from XML matches that written.
+    */
+   @Test public void PerceptronTest(){
+      Perceptron perceptron = new Perceptron( 6, 3 );
+      perceptron.learn( new LearningParameter().inputParameters( 1.0, 0.0, 1.0, 0.0, 1.0, 0.0 ).targetParameters( 1.0, 0.0, 1.0 ) );
+      assertTrue( SerializationSystem.saveToFile( new XmlPerceptronWrapper( perceptron ), file, XmlPerceptronWrapper.class ) );
+
+      Perceptron constructed = SerializationSystem.loadStructureFromStream( file, new XmlPerceptronStreamFormat() );
+      Comparison.assertEqual( perceptron.getBias(), constructed.getBias() );
+      Comparison.assertEqual( perceptron.getInputLayer(), constructed.getInputLayer() );
+      Comparison.assertEqual( perceptron.getOutputLayer(), constructed.getOutputLayer() );
+      Iterator< Neuron > expectedOutputs = perceptron.getOutputLayer().iterator();
+      Iterator< Neuron > actualOutputs = constructed.getOutputLayer().iterator();
+      while ( expectedOutputs.hasNext() ){
+         Iterator< Synapse > expectedSynapses = expectedOutputs.next().inputSynapseIterator();
+         Iterator< Synapse > actualSynapses = actualOutputs.next().inputSynapseIterator();
+         while ( expectedSynapses.hasNext() ){
+            Comparison.assertEqual( expectedSynapses.next(), actualSynapses.next() );
+         }
+         assertEquals( expectedSynapses.hasNext(), actualSynapses.hasNext() );
+      }
+      assertTrue( RequestSystem.retrieveAll( Neuron.class ).isEmpty() );
+      assertTrue( RequestSystem.retrieveAll( Synapse.class ).isEmpty() );
+   }// End Method
+
+   /**
+    * Method to test that {@link LearningParameters} streamed from XML match those written.
+    */
+   @Test public void LearningParametersTest(){
+      List< LearningParameter > list = new ArrayList< LearningParameter >();
+      for ( int i = 0; i < 6; i++ ){
+         list.add( new LearningParameter( "Parameter" + i )
+                  .inputParameters( ObjectGenerator.newRandom(), ObjectGenerator.newRandom() )
+                  .targetParameters( ObjectGenerator.newRandom() ) 
+         );
+      }
+      assertTrue( SerializationSystem.saveToFile( 
+               new XmlLearningParametersWrapper( list.iterator() ), file, XmlLearningParametersWrapper.class 
+      ) );
+
+      LearningParameters constructed = SerializationSystem.loadStructureFromStream( file, new XmlLearningParametersStreamFormat() );
+      Iterator< LearningParameter > iterator = constructed.iterator();
+      for ( LearningParameter parameter : list ){
+         Comparison.assertEqual( parameter, iterator.next() );
+      }
+      assertEquals( false, iterator.hasNext() );
+      assertTrue( RequestSystem.retrieveAll( LearningParameter.class ).isEmpty() );
+   }// End Method
+
+   /**
+    * Method to test that a {@link Synapse} referencing a {@link Neuron} not defined is not loaded.
+    */
+   @Test public void MissingNeuronTest() throws Exception {
+      try ( FileWriter writer = new FileWriter( file ) ) {
+         writer.write( 
+                  "<xmlPerceptronWrapper><synapseWrapper><objects>"
+                  + "<identification>( 0, 0 )_( 1, 0 )</identification>"
+                  + "<inputNeuron>( 0, 0 )</inputNeuron><outputNeuron>( 1, 0 )</outputNeuron>"
+                  + "<learningRate>0.1</learningRate><currentWeight>0.5</currentWeight>"
+                  + "</objects></synapseWrapper></xmlPerceptronWrapper>" 
+         );
+      }
+      assertNull( SerializationSystem.loadStructureFromStream( file, new XmlPerceptronStreamFormat() ) );
+   }// End Method
+
+   /**
+    * Method to test that a {@link Class} named as a threshold function that is not one is neither loaded nor initialised.
+    */
+   @Test public void NotAFunctionTest() throws Exception {
+      try ( FileWriter writer = new FileWriter( file ) ) {
+         writer.write( 
+                  "<xmlPerceptronWrapper><inputLayer><thresholdFunction>" 
+                  + NotAFunction.class.getName() 
+                  + "</thresholdFunction></inputLayer></xmlPerceptronWrapper>" 
+         );
+      }
+      assertNull( SerializationSystem.loadStructureFromStream( file, new XmlPerceptronStreamFormat() ) );
+      assertFalse( initialised );
+   }// End Method
+
+   /**
+    * Method to test that a {@link Class} named as the threshold function of a {@link Neuron} that is not one is 
+    * neither loaded nor initialised.
+    */
+   @Test public void NeuronNotAFunctionTest() throws Exception {
+      try ( FileWriter writer = new FileWriter( file ) ) {
+         writer.write( 
+                  "<xmlPerceptronWrapper><bias><identification>( 0, 0 )</identification><thresholdFunction>" 
+                  + NeuronNotAFunction.class.getName() 
+                  + "</thresholdFunction></bias></xmlPerceptronWrapper>" 
+         );
+      }
+      assertNull( SerializationSystem.loadStructureFromStream( file, new XmlPerceptronStreamFormat() ) );
+      assertFalse( neuronInitialised );
+   }// End Method
+
+}// End Class
@@ -0,0 +1,60 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package utility;
+
+import model.singleton.LearningParameter;
+import model.structure.LearningParameters;
+
+/**
+ * {@link TruthTables} provides the {@link LearningParameters} of two input logical functions, shared by the tests
+ * that learn them.
+ */
+public class TruthTables {
+
+   /**
+    * Method to construct the {@link LearningParameters} of a two input logical function.
+    * @param targets the target for the inputs 00, 10, 01 and 11 respectively.
+    * @return the {@link LearningParameters}.
+    */
+   public static LearningParameters constructTruthTable( double... targets ){
+      if ( targets.length != 4 ){
+         throw new IllegalArgumentException( "A target must be given for each of the 4 inputs: " + targets.length + "." );
+      }
+      LearningParameters parameters = new LearningParameters();
+      parameters.addLearningParameter( new LearningParameter().inputParameters( 0.0, 0.0 ).targetParameters( targets[ 0 ] ) );
+      parameters.addLearningParameter( new LearningParameter().inputParameters( 1.0, 0.0 ).targetParameters( targets[ 1 ] ) );
+      parameters.addLearningParameter( new LearningParameter().inputParameters( 0.0, 1.0 ).targetParameters( targets[ 2 ] ) );
+      parameters.addLearningParameter( new LearningParameter().inputParameters( 1.0, 1.0 ).targetParameters( targets[ 3 ] ) );
+      return parameters;
+   }// End Method
+
+   /**
+    * Method to construct the {@link LearningParameters} for the logical and.
+    * @return the {@link LearningParameters}.
+    */
+   public static LearningParameters constructAnd(){
+      return constructTruthTable( 0, 0, 0, 1 );
+   }// End Method
+
+   /**
+    * Method to construct the {@link LearningParameters} for the logical or.
+    * @return the {@link LearningParameters}.
+    */
+   public static LearningParameters constructOr(){
+      return constructTruthTable( 0, 1, 1, 1 );
+   }// End Method
+
+   /**
+    * Method to construct the {@link LearningParameters} for the logical exclusive or.
+    * @return the {@link LearningParameters}.
+    */
+   public static LearningParameters constructXor(){
+      return constructTruthTable( 0, 1, 1, 0 );
+   }// End Method
+
+}// End Class
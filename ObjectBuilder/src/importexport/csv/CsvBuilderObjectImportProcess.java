@@ -9,7 +9,9 @@ package importexport.csv;
 
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import architecture.request.RequestSystem;
@@ -104,9 +106,11 @@ public class CsvBuilderObjectImportProcess implements ProgressControlledTaskBind
    }// End Method
    
    /**
-    * Method to create the {@link BuilderObject}s from the rows in the data.
+    * Method to create the {@link BuilderObject}s from the rows in the data. The {@link BuilderObject}s
+    * are stored together once all are created, so that the system is notified once.
     */
    private void createBuilderObjects() {
+      List< BuilderObject > builderObjects = new ArrayList<>();
       for ( int i = 0; i < contents.getNumberOfRows(); i++ ) {
          String identification = contents.getIdentification( i );
          BuilderObject builderObject = new BuilderObjectImpl( identification, definition );
@@ -126,7 +130,7 @@ public class CsvBuilderObjectImportProcess implements ProgressControlledTaskBind
             builderObject.set( propertyType, value );
          }
          
-         RequestSystem.store( builderObject, BuilderObject.class );
+         builderObjects.add( builderObject );
          state.progressMade();
          try {
             Thread.sleep( 5 );
@@ -134,6 +138,7 @@ public class CsvBuilderObjectImportProcess implements ProgressControlledTaskBind
             e.printStackTrace();
          }
       }
+      RequestSystem.storeAll( builderObjects, BuilderObject.class );
    }// End Method
    
    /**
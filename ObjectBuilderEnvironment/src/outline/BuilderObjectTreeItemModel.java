@@ -7,11 +7,16 @@
  */
 package outline;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import architecture.data.DataManagementSystem;
 import architecture.data.SingletonStoredSource;
+import architecture.data.SingletonsStoredSource;
 import architecture.event.EventReceiver;
 import graphics.JavaFx;
 import graphics.event.JavaFxEventSystem;
@@ -44,19 +49,37 @@ public class BuilderObjectTreeItemModel {
        * {@inheritDoc}
        */
       @Override public void receive( Enum< ? > event, Object object ) {
-         Object storedObject = null;
-         if ( object instanceof SingletonStoredSource ) {
+         List< TreeItem< OutlineDescriber > > branches = new ArrayList<>();
+         Map< Definition, List< TreeItem< OutlineDescriber > > > branchItems = new LinkedHashMap<>();
+         if ( object instanceof SingletonsStoredSource ) {
+            SingletonsStoredSource storedSource = ( SingletonsStoredSource )object;
+            storedSource.storedObjects.forEach( storedObject -> receiveObject( storedObject, branches, branchItems ) );
+         } else if ( object instanceof SingletonStoredSource ) {
             SingletonStoredSource storedSource = ( SingletonStoredSource )object;
-            storedObject = storedSource.storedObject;
+            receiveObject( storedSource.storedObject, branches, branchItems );
          } else {
-            storedObject = object;
+            receiveObject( object, branches, branchItems );
          }
+         addToView( branches, branchItems );
+      }// End Method
+      
+      /**
+       * Method to update the view for the given {@link Object} stored or changed.
+       * @param storedObject the {@link Object}.
+       * @param branches the branches to add to the view, collecting that for a new {@link Definition}.
+       * @param branchItems the {@link TreeItem}s to add to each branch, collecting that for a new {@link BuilderObject}.
+       */
+      private void receiveObject( 
+               Object storedObject, 
+               List< TreeItem< OutlineDescriber > > branches, 
+               Map< Definition, List< TreeItem< OutlineDescriber > > > branchItems 
+      ) {
          if ( OutlineDescribables.Definition.isDescribable( storedObject ) ) {
             Definition definition = ( Definition )storedObject;
-            updateBranchView( definition );
+            updateBranchView( definition, branches );
          } else if ( OutlineDescribables.BuilderObject.isDescribable( storedObject ) ) {
             BuilderObject builderObject = ( BuilderObject )storedObject;
-            updateBranch( builderObject );
+            updateBranch( builderObject, branchItems );
          }
          
       }// End Method
@@ -64,8 +87,9 @@ public class BuilderObjectTreeItemModel {
       /**
        * Method to update the branches view, modifying the {@link Definition}s displayed in the tree.
        * @param definition the {@link Definition} to add.
+       * @param branches the branches to add to the view.
        */
-      private void updateBranchView( Definition definition ){
+      private void updateBranchView( Definition definition, List< TreeItem< OutlineDescriber > > branches ){
          if ( branchChildren.containsKey( definition ) ) {
             return;
          }
@@ -73,24 +97,43 @@ public class BuilderObjectTreeItemModel {
          OutlineDescriber desriber = OutlineDescriberFactory.newDescriber( OutlineDescribables.Definition, definition );
          TreeItem< OutlineDescriber > branch = new TreeItem<>( desriber );
          branchChildren.put( definition, branch.getChildren() );
-         branchView.add( branch );
-         JavaFx.expandAll( branch );
+         branches.add( branch );
       }// End Method
       
       /**
        * Method to update the contents of the appropriate branch.
        * @param builderObject the {@link BuilderObject} created.
+       * @param branchItems the {@link TreeItem}s to add to each branch.
        */
-      private void updateBranch( BuilderObject builderObject ) {
+      private void updateBranch( BuilderObject builderObject, Map< Definition, List< TreeItem< OutlineDescriber > > > branchItems ) {
          if ( modelToView.containsKey( builderObject ) ) {
             SystemOutlineUtilities.refreshTreeItem( parent );
          } else {
-            ObservableList< TreeItem< OutlineDescriber > > treeItems = branchChildren.get( builderObject.getDefinition() );
             OutlineDescriber describer = OutlineDescriberFactory.newDescriber( OutlineDescribables.BuilderObject, builderObject );
             TreeItem< OutlineDescriber > treeItem = new TreeItem<>( describer );
             modelToView.put( builderObject, treeItem );
-            treeItems.add( treeItem );
-            JavaFx.expandAll( treeItem );
+            branchItems.computeIfAbsent( builderObject.getDefinition(), definition -> new ArrayList<>() ).add( treeItem );
+         }
+      }// End Method
+      
+      /**
+       * Method to update the view with the branches and {@link TreeItem}s added, in a single change to the
+       * branches and to each branch however many were stored together.
+       * @param branches the branches added.
+       * @param branchItems the {@link TreeItem}s added to each branch.
+       */
+      private void addToView( 
+               List< TreeItem< OutlineDescriber > > branches, 
+               Map< Definition, List< TreeItem< OutlineDescriber > > > branchItems 
+      ){
+         if ( !branches.isEmpty() ) {
+            branchView.addAll( branches );
+            JavaFx.expandAll( branches.get( branches.size() - 1 ) );
+         }
+         for ( Entry< Definition, List< TreeItem< OutlineDescriber > > > entry : branchItems.entrySet() ) {
+            List< TreeItem< OutlineDescriber > > treeItems = entry.getValue();
+            branchChildren.get( entry.getKey() ).addAll( treeItems );
+            JavaFx.expandAll( treeItems.get( treeItems.size() - 1 ) );
          }
       }// End Method
       
@@ -107,6 +150,7 @@ public class BuilderObjectTreeItemModel {
       this.modelToView = new HashMap<>();
       SingletonUpdater updater = new SingletonUpdater();
       JavaFxEventSystem.registerForEvent( DataManagementSystem.Events.ObjectStored, updater );
+      JavaFxEventSystem.registerForEvent( DataManagementSystem.Events.ObjectsStored, updater );
       JavaFxEventSystem.registerForEvent( BuilderObject.Events.PropertySet, updater );
    }// End Constructor
 
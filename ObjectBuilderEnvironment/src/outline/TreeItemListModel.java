@@ -7,11 +7,14 @@
  */
 package outline;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import architecture.data.DataManagementSystem;
 import architecture.data.SingletonStoredSource;
+import architecture.data.SingletonsStoredSource;
 import architecture.event.EventReceiver;
 import graphics.JavaFx;
 import graphics.event.JavaFxEventSystem;
@@ -42,14 +45,25 @@ public class TreeItemListModel {
        * {@inheritDoc}
        */
       @Override public void receive( Enum< ? > event, Object object ) {
-         Object storedObject = null;
-         if ( object instanceof SingletonStoredSource ) {
+         List< TreeItem< OutlineDescriber > > added = new ArrayList<>();
+         if ( object instanceof SingletonsStoredSource ) {
+            SingletonsStoredSource storedSource = ( SingletonsStoredSource )object;
+            storedSource.storedObjects.forEach( storedObject -> receiveObject( storedObject, added ) );
+         } else if ( object instanceof SingletonStoredSource ) {
             SingletonStoredSource storedSource = ( SingletonStoredSource )object;
-            storedObject = storedSource.storedObject;
+            receiveObject( storedSource.storedObject, added );
          } else {
-            storedObject = object;
+            receiveObject( object, added );
          }
-         
+         addToView( added );
+      }// End Method
+      
+      /**
+       * Method to update the view for the given {@link Object} stored or changed.
+       * @param storedObject the {@link Object}.
+       * @param added the {@link TreeItem}s to add to the view, collecting that for a new {@link Object}.
+       */
+      private void receiveObject( Object storedObject, List< TreeItem< OutlineDescriber > > added ) {
          if ( !describableType.isDescribable( storedObject ) ) {
             return;
          }
@@ -57,20 +71,24 @@ public class TreeItemListModel {
          if ( modelToView.containsKey( storedObject ) ) {
             updateView( storedObject );
          } else {
-            addToView( storedObject );
+            OutlineDescriber describer = OutlineDescriberFactory.newDescriber( describableType, storedObject );
+            TreeItem< OutlineDescriber > treeItem = new TreeItem<>( describer );
+            modelToView.put( storedObject, treeItem );
+            added.add( treeItem );
          }
       }// End Method
       
       /**
-       * Method to update the view with the given {@link Object} that has been added.
-       * @param singleton the singleton added.
+       * Method to update the view with the {@link TreeItem}s of the {@link Object}s that have been added, in a
+       * single change to the view however many were stored together.
+       * @param added the {@link TreeItem}s added.
        */
-      private void addToView( Object singleton ){
-         OutlineDescriber describer = OutlineDescriberFactory.newDescriber( describableType, singleton );
-         TreeItem< OutlineDescriber > treeItem = new TreeItem<>( describer );
-         modelToView.put( singleton, treeItem );
-         view.add( treeItem );
-         JavaFx.expandAll( treeItem );
+      private void addToView( List< TreeItem< OutlineDescriber > > added ){
+         if ( added.isEmpty() ) {
+            return;
+         }
+         view.addAll( added );
+         JavaFx.expandAll( added.get( added.size() - 1 ) );
       }// End Method
       
       /**
@@ -99,6 +117,7 @@ public class TreeItemListModel {
       
       updater = new SingletonUpdater();
       JavaFxEventSystem.registerForEvent( DataManagementSystem.Events.ObjectStored, updater );
+      JavaFxEventSystem.registerForEvent( DataManagementSystem.Events.ObjectsStored, updater );
    }// End Constructor
    
    /**
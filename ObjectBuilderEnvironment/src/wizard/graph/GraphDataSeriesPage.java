@@ -12,6 +12,7 @@ import java.util.List;
 
 import architecture.data.DataManagementSystem;
 import architecture.data.SingletonStoredSource;
+import architecture.data.SingletonsStoredSource;
 import architecture.request.RequestSystem;
 import graphics.JavaFx;
 import graphics.event.JavaFxEventSystem;
@@ -77,6 +78,12 @@ public class GraphDataSeriesPage extends VBox implements WizardPage< Graph >{
             refresh();
          }
       } );
+      JavaFxEventSystem.registerForEvent( DataManagementSystem.Events.ObjectsStored, ( event, source ) -> { 
+         SingletonsStoredSource wrapper = ( SingletonsStoredSource )source;
+         if ( wrapper.classes.contains( SearchSpace.class ) ) {
+            refresh();
+         }
+      } );
       getChildren().add( searches );
       
       setPrefWidth( WizardConfiguration.wizardWidth() );
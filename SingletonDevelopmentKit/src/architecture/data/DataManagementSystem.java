@@ -7,10 +7,13 @@
  */
 package architecture.data;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import model.singleton.Singleton;
+
 /**
  * The {@link DataManagementSystem} provides the interface defining access to the {@link Object}s
  * currently active in the system.
@@ -20,7 +23,9 @@ public interface DataManagementSystem {
    /** Enum for the events that can be raised.**/
    public enum Events {
       /** An object has been stored in the {@link DataManagementSystem}.**/
-      ObjectStored;
+      ObjectStored,
+      /** A {@link Collection} of objects has been stored in the {@link DataManagementSystem} together.**/
+      ObjectsStored;
    }// End Enum
    
    /**
@@ -31,6 +36,15 @@ public interface DataManagementSystem {
     */
    public < T > void store( T object, Class< ? >... classes );
    
+   /**
+    * Method to {@link #store(Object, Class...)} each of the given {@link Object}s, raising a single
+    * {@link Events#ObjectsStored} event for all of them rather than an {@link Events#ObjectStored} 
+    * event for each.
+    * @param objects the {@link Collection} of {@link Object}s to store. Null {@link Object}s are ignored.
+    * @param classes array of {@link Class}es that the objects should be stored as, where assignable.
+    */
+   public < T > void storeAll( Collection< ? extends T > objects, Class< ? >... classes );
+   
    /**
     * Method to retrieve the {@link Object} of the given {@link Class} matching
     * the given criteria.
@@ -49,6 +63,17 @@ public interface DataManagementSystem {
     */
    public < T > List< T > retrieveAll( Class< T > clazz, Predicate< T > criteria );
    
+   /**
+    * Method to retrieve the {@link Singleton}s of the given {@link Class} whose identification starts with
+    * the given prefix, without searching those that do not match. When more match than the limit, those first
+    * in order of identification are retrieved.
+    * @param clazz the {@link Class} the {@link Singleton}s are.
+    * @param prefix the {@link String} the identification starts with.
+    * @param limit the maximum number of {@link Singleton}s to retrieve.
+    * @return the {@link List} of matching {@link Singleton}s, in the order stored.
+    */
+   public < T extends Singleton > List< T > retrieveByPrefix( Class< T > clazz, String prefix, int limit );
+   
    /**
     * Method to retrieve all objects, assignable from the MinimumParentT, are identified matching the class
     * matcher for the object and the object matcher based on the MinimumParentT.
@@ -8,56 +8,96 @@
 package architecture.data;
 
 import java.util.ArrayList;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import architecture.event.EventSystem;
+import model.singleton.Singleton;
 
 /**
  * The {@link DataManagementSystemImpl} provides the implementation to the {@link DataManagementSystem}
- * interface.
+ * interface. It can be used from any {@link Thread}: each {@link Class} has its own {@link DataManager}
+ * and lock, so that storing on a background {@link Thread} does not block retrieving or storing other
+ * {@link Class}es, and retrieving never blocks.
+ * <p>
+ * The {@link DataManager}s assignable to each parent {@link Class} retrieved are remembered until a 
+ * {@link Class} is first stored, and the result of each class matcher for each {@link Class} is 
+ * remembered for as long as the class matcher is in use. Class matchers are therefore expected to
+ * always give the same result for the same {@link Class}, such as whether it is annotated.
  */
 public class DataManagementSystemImpl implements DataManagementSystem {
 
    /** {@link Map} of {@link Object} {@link Class} to the {@link DataManager} managing it. **/
-   private Map< Class< ? >, DataManager< ? > > dataManagers;
+   private final Map< Class< ? >, DataManager< ? > > dataManagers;
+   /** {@link Map} of {@link Object} {@link Class} to the {@link Class}es it is always stored as. **/
+   private final Map< Class< ? >, Collection< Class< ? > > > storedAs;
+   /** {@link Map} of parent {@link Class} to the {@link DataManager}s of {@link Class}es assignable to it. **/
+   private volatile Map< Class< ? >, List< Entry< Class< ? >, DataManager< ? > > > > assignable;
+   /** {@link Map} of class matcher to its result for each {@link Class} tested. **/
+   private final Map< Predicate< Class< ? > >, Map< Class< ? >, Boolean > > classMatches;
    
    /**
     * Constructs a new {@link DataManagementSystemImpl}.
     */
    public DataManagementSystemImpl() {
-      dataManagers = new HashMap< Class< ? >, DataManager< ? > >();
+      dataManagers = new ConcurrentHashMap< Class< ? >, DataManager< ? > >();
+      storedAs = new ConcurrentHashMap< Class< ? >, Collection< Class< ? > > >();
+      assignable = new ConcurrentHashMap< Class< ? >, List< Entry< Class< ? >, DataManager< ? > > > >();
+      classMatches = Collections.synchronizedMap( new WeakHashMap< Predicate< Class< ? > >, Map< Class< ? >, Boolean > >() );
    }// End Constructor
    
    /**
     * {@inheritDoc}
     */
    @Override public < T > void store( T object, Class< ? >... classes ) {
-      DataManager< T > manager = getDataManager( object.getClass() );
-      manager.store( object );
-      Class< ? >[] interfaces = object.getClass().getInterfaces();
-      for ( Class< ? > interfaceClass : interfaces ) {
-         manager = getDataManager( interfaceClass );
-         manager.store( object );   
-      }
-      for ( Class< ? > clazz : classes ) {
-         if ( clazz.isAssignableFrom( object.getClass() ) ) {
-            manager = getDataManager( clazz );
-            manager.store( object );   
-         }
+      Collection< DataManager< T > > managers = getDataManagersStoring( object.getClass(), classes );
+      for ( DataManager< T > manager : managers ) {
+         manager.store( object );
       }
       EventSystem.raiseEvent( 
                DataManagementSystem.Events.ObjectStored, 
                new SingletonStoredSource( object, classes ) 
       );
    }// End Method
+   
+   /**
+    * {@inheritDoc}
+    */
+   @Override public < T > void storeAll( Collection< ? extends T > objects, Class< ? >... classes ) {
+      List< T > stored = new ArrayList<>();
+      Map< Class< ? >, Collection< DataManager< T > > > managersByClass = new HashMap<>();
+      Map< DataManager< T >, List< T > > batches = new IdentityHashMap<>();
+      for ( T object : objects ) {
+         if ( object == null ) {
+            continue;
+         }
+         Collection< DataManager< T > > managers = managersByClass.computeIfAbsent( 
+                  object.getClass(), type -> getDataManagersStoring( type, classes ) 
+         );
+         for ( DataManager< T > manager : managers ) {
+            batches.computeIfAbsent( manager, key -> new ArrayList<>() ).add( object );
+         }
+         stored.add( object );
+      }
+      batches.forEach( DataManager::storeAll );
+      EventSystem.raiseEvent( 
+               DataManagementSystem.Events.ObjectsStored, 
+               new SingletonsStoredSource( stored, classes ) 
+      );
+   }// End Method
 
    /**
     * {@inheritDoc}
@@ -75,6 +115,14 @@ public class DataManagementSystemImpl implements DataManagementSystem {
       return manager.retrieveAll( criteria );
    }// End Method
    
+   /**
+    * {@inheritDoc}
+    */
+   @Override public < T extends Singleton > List< T > retrieveByPrefix( Class< T > clazz, String prefix, int limit ){
+      DataManager< T > manager = getDataManager( clazz );
+      return manager.retrieveByPrefix( prefix, limit );
+   }// End Method
+   
    /**
     * {@inheritDoc}
     */
@@ -83,8 +131,11 @@ public class DataManagementSystemImpl implements DataManagementSystem {
             Predicate< Class< ? >> classMatcher, 
             Predicate< MinimumParentT > objectMatcher 
    ) {
-      Set< MinimumParentT > matches = new LinkedHashSet<>();
       Collection< DataManager< MinimumParentT > > relevantManagers = getAllDataManagersAssignedFrom( minimumParent, classMatcher );
+      if ( relevantManagers.size() == 1 ) {
+         return relevantManagers.iterator().next().retrieveAll( objectMatcher );
+      }
+      Set< MinimumParentT > matches = new LinkedHashSet<>();
       for ( DataManager< MinimumParentT > manager : relevantManagers ) {
          matches.addAll( manager.retrieveAll( objectMatcher ) );
       }
@@ -103,18 +154,48 @@ public class DataManagementSystemImpl implements DataManagementSystem {
    /**
     * Method to get the {@link DataManager} associated with the given {@link Class}.
     * @param clazz the {@link Class} of the {@link DataManager}.
-    * @return the matching {@link DataManager}. One is created if it doesn't exist.
+    * @return the matching {@link DataManager}. One is created if it doesn't exist, forgetting
+    * the {@link DataManager}s assignable to each parent {@link Class}.
     */
    private < T > DataManager< T > getDataManager( Class< ? > clazz ){
       @SuppressWarnings("unchecked") 
       DataManager< T > manager = ( DataManager< T > ) dataManagers.get( clazz );
       if ( manager == null ){
-         manager = new DataManager< T >();
-         dataManagers.put( clazz, manager );
+         @SuppressWarnings("unchecked") 
+         DataManager< T > created = ( DataManager< T > ) dataManagers.computeIfAbsent( clazz, key -> new DataManager< T >() );
+         assignable = new ConcurrentHashMap< Class< ? >, List< Entry< Class< ? >, DataManager< ? > > > >();
+         manager = created;
       }
       return manager;
    }// End Method
    
+   /**
+    * Method to get the {@link DataManager}s that an {@link Object} of the given {@link Class} is stored in: that
+    * of its {@link Class}, those of the interfaces it implements, and those of the given {@link Class}es it is 
+    * assignable to. The {@link Class} and interfaces are resolved once for each {@link Class} stored.
+    * @param type the {@link Class} of the {@link Object} to store.
+    * @param classes the additional {@link Class}es requested.
+    * @return the {@link DataManager}s to store in.
+    */
+   private < T > Collection< DataManager< T > > getDataManagersStoring( Class< ? > type, Class< ? >[] classes ){
+      Set< Class< ? > > managed = new LinkedHashSet<>( storedAs.computeIfAbsent( type, key -> {
+         List< Class< ? > > always = new ArrayList<>();
+         always.add( key );
+         always.addAll( Arrays.asList( key.getInterfaces() ) );
+         return always;
+      } ) );
+      for ( Class< ? > clazz : classes ) {
+         if ( clazz.isAssignableFrom( type ) ) {
+            managed.add( clazz );
+         }
+      }
+      List< DataManager< T > > managers = new ArrayList<>();
+      for ( Class< ? > clazz : managed ) {
+         managers.add( getDataManager( clazz ) );
+      }
+      return managers;
+   }// End Method
+   
    /**
     * Method to get all {@link DataManager}s that match the given parent {@link Class} and the {@link Predicate} for
     * the matching.
@@ -126,19 +207,31 @@ public class DataManagementSystemImpl implements DataManagementSystem {
             Class< MinimumParentT > parent,
             Predicate< Class< ? > > classMatcher 
    ) {
-      Set< DataManager< MinimumParentT  > > matchingManagers = new LinkedHashSet<>();
-      for ( Entry< Class< ? >, DataManager< ? > > entry : dataManagers.entrySet() ) {
-         if ( parent.isAssignableFrom( entry.getKey() ) ) {
-            
-            @SuppressWarnings("unchecked") //Verified by assign method directly above. 
-            DataManager< MinimumParentT > manager = ( DataManager< MinimumParentT > )entry.getValue();
-            
-            if ( classMatcher == null ) {
-               matchingManagers.add( manager );
-            } else if ( classMatcher.test( entry.getKey() ) ){
-               matchingManagers.add( manager );
+      List< Entry< Class< ? >, DataManager< ? > > > assignableManagers = assignable.computeIfAbsent( parent, key -> {
+         List< Entry< Class< ? >, DataManager< ? > > > assigned = new ArrayList<>();
+         for ( Entry< Class< ? >, DataManager< ? > > entry : dataManagers.entrySet() ) {
+            if ( key.isAssignableFrom( entry.getKey() ) ) {
+               assigned.add( new SimpleImmutableEntry<>( entry.getKey(), entry.getValue() ) );
             }
          }
+         return assigned;
+      } );
+      
+      Map< Class< ? >, Boolean > matches = null;
+      if ( classMatcher != null ) {
+         matches = classMatches.computeIfAbsent( classMatcher, key -> new ConcurrentHashMap<>() );
+      }
+      Set< DataManager< MinimumParentT  > > matchingManagers = new LinkedHashSet<>();
+      for ( Entry< Class< ? >, DataManager< ? > > entry : assignableManagers ) {
+         
+         @SuppressWarnings("unchecked") //Verified by assign method when resolved. 
+         DataManager< MinimumParentT > manager = ( DataManager< MinimumParentT > )entry.getValue();
+         
+         if ( matches == null ) {
+            matchingManagers.add( manager );
+         } else if ( matches.computeIfAbsent( entry.getKey(), classMatcher::test ) ){
+            matchingManagers.add( manager );
+         }
       }
       return matchingManagers;
    }// End Method
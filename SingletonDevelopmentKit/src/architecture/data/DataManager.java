@@ -8,27 +8,106 @@
 package architecture.data;
 
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import architecture.utility.IdentificationMatcher;
+import model.singleton.IdentificationListener;
+import model.singleton.Singleton;
+import model.singleton.SingletonImpl;
+
 /**
  * The {@link DataManager} is responsible for managing {@link Object}s of the associated 
- * type.
+ * type. {@link Singleton}s are indexed by identification as they are stored, so that matching
+ * with an {@link IdentificationMatcher}, or by the start of the identification, does not need to 
+ * search every {@link Object}. The index follows changes to the identification of {@link SingletonImpl}s,
+ * which report them. While any other {@link Singleton} is stored, whose identification could change
+ * without notice, matching by identification searches every {@link Object} instead.
+ * <p>
+ * The {@link DataManager} can be used from any {@link Thread}. Retrieving never blocks and sees the
+ * {@link Object}s in the order they were stored, while storing and removing hold a lock private to
+ * the {@link DataManager}, so that only changes to the same {@link DataManager} wait for each other.
+ * Null {@link Object}s are not stored.
  */
 public class DataManager< T > {
-
-   /** {@link Set} of {@link Object}s being managed.**/
-   private Set< T > data;
+   
+   /**
+    * The {@link IdentificationKey} orders {@link Singleton}s by identification, then by the order stored.
+    */
+   private static final class IdentificationKey implements Comparable< IdentificationKey > {
+      
+      /** The identification of the {@link Singleton} when indexed. **/
+      private final String identification;
+      /** The position of the {@link Singleton} in the order stored. **/
+      private final long position;
+      
+      /**
+       * Constructs a new {@link IdentificationKey}.
+       * @param identification the identification of the {@link Singleton}.
+       * @param position the position of the {@link Singleton} in the order stored.
+       */
+      private IdentificationKey( String identification, long position ) {
+         this.identification = identification;
+         this.position = position;
+      }// End Constructor
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public int compareTo( IdentificationKey other ) {
+         int comparison = identification.compareTo( other.identification );
+         if ( comparison != 0 ) {
+            return comparison;
+         }
+         return Long.compare( position, other.position );
+      }// End Method
+      
+   }// End Class
+   
+   /** The lock held while changing the {@link Object}s managed. **/
+   private final Object lock;
+   /** The sequence to order the {@link Object}s stored. **/
+   private final AtomicLong sequence;
+   /** {@link Map} of each {@link Object} being managed to its position in the order stored. **/
+   private final ConcurrentMap< T, Long > positions;
+   /** {@link Map} of position to {@link Object} being managed, in the order stored. **/
+   private final ConcurrentNavigableMap< Long, T > data;
+   /** {@link Map} of identification to the first {@link Singleton} stored with it. **/
+   private volatile ConcurrentMap< String, T > identifications;
+   /** {@link Set} of identifications that more than one {@link Singleton} has been stored with. **/
+   private volatile Set< String > duplicates;
+   /** {@link Map} of {@link IdentificationKey} to {@link Singleton}, in order of identification. **/
+   private volatile ConcurrentNavigableMap< IdentificationKey, T > prefixes;
+   /** The number of {@link Singleton}s stored that do not report changes to their identification. **/
+   private volatile int untracked;
+   /** The {@link IdentificationListener} keeping the index up to date, referenced to keep it registered. **/
+   private final IdentificationListener identificationListener;
    
    /**
     * Constructs a new {@link DataManager}.
     */
    public DataManager(){
-      data = new LinkedHashSet< T >();
+      lock = new Object();
+      sequence = new AtomicLong();
+      positions = new ConcurrentHashMap< T, Long >();
+      data = new ConcurrentSkipListMap< Long, T >();
+      identifications = new ConcurrentHashMap< String, T >();
+      duplicates = ConcurrentHashMap.newKeySet();
+      prefixes = new ConcurrentSkipListMap< IdentificationKey, T >();
+      identificationListener = this::identificationChanged;
+      SingletonImpl.addIdentificationListener( identificationListener );
    }// End Constructor
    
    /**
@@ -36,7 +115,26 @@ public class DataManager< T > {
     * @param object the {@link Object} to store.
     */
    public void store( T object ){
-      data.add( object );
+      if ( object == null ) {
+         return;
+      }
+      synchronized ( lock ) {
+         add( object );
+      }
+   }// End Method
+   
+   /**
+    * Method to store each of the given {@link Object}s, holding the lock once for all of them.
+    * @param objects the {@link Object}s to store.
+    */
+   public void storeAll( Collection< ? extends T > objects ){
+      synchronized ( lock ) {
+         for ( T object : objects ) {
+            if ( object != null ) {
+               add( object );
+            }
+         }
+      }
    }// End Method
    
    /**
@@ -45,7 +143,10 @@ public class DataManager< T > {
     * @return the matching {@link Object}.
     */
    public T retrieve( Predicate< T > matcher ){
-      Optional< T > firstFound = data.stream().filter( matcher ).findFirst();
+      if ( matcher instanceof IdentificationMatcher ){
+         return retrieveIdentified( ( ( IdentificationMatcher< ? > )matcher ).getIdentification() );
+      }
+      Optional< T > firstFound = data.values().stream().filter( matcher ).findFirst();
       if ( firstFound.isPresent() ){
          return firstFound.get();
       } else {
@@ -60,10 +161,54 @@ public class DataManager< T > {
     */
    public List< T > retrieveAll( Predicate< T > matcher ){
       if ( matcher == null ) {
-         return new ArrayList<>( data );
-      } else {
-         return data.stream().filter( matcher ).collect( Collectors.toList() );
+         return new ArrayList<>( data.values() );
+      } else if ( matcher instanceof IdentificationMatcher && untracked == 0 ){
+         String identification = ( ( IdentificationMatcher< ? > )matcher ).getIdentification();
+         if ( identification != null && !duplicates.contains( identification ) ){
+            T identified = identifications.get( identification );
+            if ( identified == null ) {
+               return new ArrayList<>();
+            } else {
+               return new ArrayList<>( Collections.singletonList( identified ) );
+            }
+         }
       }
+      return data.values().stream().filter( matcher ).collect( Collectors.toList() );
+   }// End Method
+   
+   /**
+    * Method to retrieve the {@link Singleton}s whose identification starts with the given prefix, in the order
+    * stored. When more match than the limit, those first in order of identification are retrieved. Only as many
+    * {@link Singleton}s as are returned are searched.
+    * @param prefix the {@link String} the identification starts with.
+    * @param limit the maximum number of {@link Singleton}s to retrieve.
+    * @return a {@link List} of at most the limit of matching {@link Object}s.
+    */
+   public List< T > retrieveByPrefix( String prefix, int limit ){
+      if ( prefix == null ) {
+         throw new IllegalArgumentException( "Prefix must not be null." );
+      }
+      if ( limit < 0 ) {
+         throw new IllegalArgumentException( "Limit must not be negative: " + limit );
+      }
+      if ( untracked > 0 ) {
+         return data.entrySet().stream()
+                  .filter( entry -> entry.getValue() instanceof Singleton && hasPrefix( ( Singleton )entry.getValue(), prefix ) )
+                  .sorted( Comparator.comparing( entry -> ( ( Singleton )entry.getValue() ).getIdentification() ) )
+                  .limit( limit )
+                  .sorted( Map.Entry.comparingByKey() )
+                  .map( Map.Entry::getValue )
+                  .collect( Collectors.toList() );
+      }
+      List< Map.Entry< IdentificationKey, T > > matches = new ArrayList<>();
+      for ( Map.Entry< IdentificationKey, T > entry : prefixes.tailMap( new IdentificationKey( prefix, Long.MIN_VALUE ) ).entrySet() ) {
+         if ( matches.size() >= limit || !entry.getKey().identification.startsWith( prefix ) ) {
+            break;
+         }
+         matches.add( entry );
+      }
+      matches.sort( Comparator.comparingLong( entry -> entry.getKey().position ) );
+      return matches.stream().map( Map.Entry::getValue ).collect( Collectors.toList() );
    }// End Method
    
    /**
@@ -71,7 +216,21 @@ public class DataManager< T > {
     * @param object the {@link Object} to remove.
     */
    public void remove( T object ){
-      data.remove( object );
+      if ( object == null ) {
+         return;
+      }
+      synchronized ( lock ) {
+         Long position = positions.remove( object );
+         if ( position != null ){
+            data.remove( position );
+            if ( isUntracked( object ) ) {
+               untracked--;
+            }
+            if ( object instanceof Singleton ) {
+               unindex( object, position, ( ( Singleton )object ).getIdentification() );
+            }
+         }
+      }
    }// End Method
    
    /**
@@ -79,7 +238,184 @@ public class DataManager< T > {
     * @param matcher the {@link Predicate} defining the criteria for matching.
     */
    public void removeAll( Predicate< T > matcher ){
-      data.removeIf( matcher );
+      synchronized ( lock ) {
+         boolean removed = false;
+         for ( Map.Entry< Long, T > entry : data.entrySet() ) {
+            if ( matcher.test( entry.getValue() ) ) {
+               data.remove( entry.getKey() );
+               positions.remove( entry.getValue() );
+               removed = true;
+            }
+         }
+         if ( removed ){
+            reindex();
+         }
+      }
+   }// End Method
+   
+   /**
+    * Method to add the given {@link Object} after those already stored, if not already stored. Only 
+    * called while holding the lock.
+    * @param object the {@link Object} to add.
+    */
+   private void add( T object ){
+      if ( positions.containsKey( object ) ) {
+         return;
+      }
+      Long position = sequence.getAndIncrement();
+      positions.put( object, position );
+      data.put( position, object );
+      if ( isUntracked( object ) ) {
+         untracked++;
+      }
+      index( object, position );
+   }// End Method
+   
+   /**
+    * Method to retrieve the first {@link Singleton} stored with the given identification. Every {@link Object}
+    * is searched if any {@link Singleton} stored does not report changes to its identification.
+    * @param identification the identification to match.
+    * @return the matching {@link Object}, null if none match.
+    */
+   private T retrieveIdentified( String identification ){
+      if ( identification == null ) {
+         return null;
+      }
+      if ( untracked == 0 ) {
+         return identifications.get( identification );
+      }
+      Optional< T > firstFound = data.values().stream().filter(
+               object -> object instanceof Singleton && identification.equals( ( ( Singleton )object ).getIdentification() )
+      ).findFirst();
+      return firstFound.isPresent() ? firstFound.get() : null;
+   }// End Method
+   
+   /**
+    * Method to update the index when the identification of a {@link Singleton} changes, if it is stored.
+    * @param singleton the {@link Singleton} with the new identification.
+    * @param previous the identification before the change.
+    */
+   private void identificationChanged( Singleton singleton, String previous ){
+      synchronized ( lock ) {
+         Long position = positions.get( singleton );
+         if ( position == null ) {
+            return;
+         }
+         T object = data.get( position );
+         unindex( object, position, previous );
+         index( object, position );
+      }
    }// End Method
    
+   /**
+    * Method to index the given {@link Object} by identification, if it is a {@link Singleton}. Only
+    * called while holding the lock.
+    * @param object the {@link Object} stored.
+    * @param position the position of the {@link Object} in the order stored.
+    */
+   private void index( T object, long position ){
+      if ( !( object instanceof Singleton ) ) {
+         return;
+      }
+      String identification = ( ( Singleton )object ).getIdentification();
+      if ( identification == null ) {
+         return;
+      }
+      prefixes.put( new IdentificationKey( identification, position ), object );
+      T existing = identifications.putIfAbsent( identification, object );
+      if ( existing != null && existing != object ) {
+         duplicates.add( identification );
+         if ( positions.get( existing ) > position ) {
+            identifications.put( identification, object );
+         }
+      }
+   }// End Method
+   
+   /**
+    * Method to remove the given {@link Object} from the index under the given identification, replacing it 
+    * with the next {@link Singleton} stored with the same identification, if any. Only called while holding 
+    * the lock.
+    * @param object the {@link Object} to remove from the index.
+    * @param position the position of the {@link Object} in the order stored.
+    * @param identification the identification the {@link Object} is indexed with.
+    */
+   private void unindex( T object, long position, String identification ){
+      if ( identification == null ) {
+         return;
+      }
+      prefixes.remove( new IdentificationKey( identification, position ) );
+      if ( identifications.get( identification ) != object ) {
+         return;
+      }
+      if ( !duplicates.contains( identification ) ) {
+         identifications.remove( identification );
+         return;
+      }
+      Collection< T > remaining = prefixes.subMap( 
+               new IdentificationKey( identification, Long.MIN_VALUE ), 
+               new IdentificationKey( identification, Long.MAX_VALUE ) 
+      ).values();
+      if ( remaining.isEmpty() ) {
+         identifications.remove( identification );
+      } else {
+         identifications.put( identification, remaining.iterator().next() );
+      }
+      if ( remaining.size() < 2 ) {
+         duplicates.remove( identification );
+      }
+   }// End Method
+   
+   /**
+    * Method to rebuild the index from the {@link Object}s stored. The rebuilt index replaces the existing
+    * index only once complete, so that retrieving while rebuilding does not miss. Only called while
+    * holding the lock.
+    */
+   private void reindex(){
+      ConcurrentMap< String, T > rebuiltIdentifications = new ConcurrentHashMap< String, T >();
+      Set< String > rebuiltDuplicates = ConcurrentHashMap.newKeySet();
+      ConcurrentNavigableMap< IdentificationKey, T > rebuiltPrefixes = new ConcurrentSkipListMap< IdentificationKey, T >();
+      int rebuiltUntracked = 0;
+      for ( Map.Entry< Long, T > entry : data.entrySet() ) {
+         T object = entry.getValue();
+         if ( isUntracked( object ) ) {
+            rebuiltUntracked++;
+         }
+         if ( object instanceof Singleton ) {
+            String identification = ( ( Singleton )object ).getIdentification();
+            if ( identification == null ) {
+               continue;
+            }
+            rebuiltPrefixes.put( new IdentificationKey( identification, entry.getKey() ), object );
+            if ( rebuiltIdentifications.putIfAbsent( identification, object ) != null ) {
+               rebuiltDuplicates.add( identification );
+            }
+         }
+      }
+      duplicates = rebuiltDuplicates;
+      identifications = rebuiltIdentifications;
+      prefixes = rebuiltPrefixes;
+      untracked = rebuiltUntracked;
+   }// End Method
+   
+   /**
+    * Method to determine whether the given {@link Object} is a {@link Singleton} that does not report changes
+    * to its identification.
+    * @param object the {@link Object} to test.
+    * @return true if changes to its identification are not reported.
+    */
+   private static boolean isUntracked( Object object ){
+      return object instanceof Singleton && !( object instanceof SingletonImpl );
+   }// End Method
+   
+   /**
+    * Method to determine whether the identification of the given {@link Singleton} starts with the prefix.
+    * @param singleton the {@link Singleton} to test.
+    * @param prefix the prefix.
+    * @return true if the identification is not null and starts with the prefix.
+    */
+   private static boolean hasPrefix( Singleton singleton, String prefix ){
+      String identification = singleton.getIdentification();
+      return identification != null && identification.startsWith( prefix );
+   }// End Method
+
 }// End Class
@@ -0,0 +1,32 @@
+/*
+ * ----------------------------------------
+ *                 CALI
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package architecture.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Container for the objects stored together and the {@link Class}es associated with them.
+ */
+public class SingletonsStoredSource {
+
+   public final Collection< ? > storedObjects;
+   public final Collection< Class< ? > > classes;
+
+   /**
+    * Constructs a new {@link SingletonsStoredSource}.
+    * @param objects the objects stored, in the order stored.
+    * @param classes the {@link Class}es associated with them.
+    */
+   public SingletonsStoredSource( Collection< ? > objects, Class< ? >... classes ) {
+      this.storedObjects = Collections.unmodifiableCollection( objects );
+      this.classes = Arrays.asList( classes );
+   }// End Constructor
+
+}// End Class
@@ -7,6 +7,7 @@
  */
 package architecture.request;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -28,6 +29,13 @@ public class RequestSystem extends ManagementSystem {
       dataSystem().store( object, classes );
    }// End Method
    
+   /**
+    * {@link DataManagementSystem#storeAll(Collection, Class...)}.
+    */
+   public static < T > void storeAll( Collection< ? extends T > objects, Class< ? >... classes ){
+      dataSystem().storeAll( objects, classes );
+   }// End Method
+   
    /**
     * Method to determine whether the {@link RequestSystem} has the {@link Object} matching the {@link Class}
     * and {@link Predicate} stored.
@@ -36,7 +44,7 @@ public class RequestSystem extends ManagementSystem {
     * @return true if the {@link Object} is present, false otherwise.
     */
    public static < T > boolean contains( Class< T > clazz, Predicate< T > criteria ){
-      return dataSystem().retrieveAll( clazz, criteria ).size() > 0;
+      return dataSystem().retrieve( clazz, criteria ) != null;
    }// End Method
    
    /**
@@ -46,9 +54,7 @@ public class RequestSystem extends ManagementSystem {
     * @return true if the {@link Object} is present, false otherwise.
     */
    public static < T extends Singleton > boolean contains( Class< T > clazz, final String identification ){
-      return dataSystem().retrieveAll( clazz, test -> {
-         return test.getIdentification().equals( identification );
-      } ).size() > 0;
+      return retrieve( clazz, identification ) != null;
    }// End Method
    
    /**
@@ -69,6 +75,13 @@ public class RequestSystem extends ManagementSystem {
       return dataSystem().retrieve( clazz, new IdentificationMatcher< T >( identification ) );
    }// End Method
    
+   /**
+    * {@link DataManagementSystem#retrieveByPrefix(Class, String, int)}.
+    */
+   public static < T extends Singleton > List< T > retrieveByPrefix( Class< T > clazz, String prefix, int limit ){
+      return dataSystem().retrieveByPrefix( clazz, prefix, limit );
+   }// End Method
+   
    /**
     * {@link DataManagementSystem#retrieveAll(Class, Predicate)}.
     */
@@ -114,7 +127,7 @@ public class RequestSystem extends ManagementSystem {
       return dataSystem().retrieveAll( 
                minimumParent, 
                classMatcher, 
-               object -> { return object.getIdentification().equals( singletonName ); }
+               new IdentificationMatcher< MinimumParentT >( singletonName )
       );
    }// End Method
    
@@ -0,0 +1,57 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package architecture.serialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@link BinaryFormat} defines how an {@link Object} is written to and read from a compact binary
+ * {@link ByteBuffer}, as an alternative to XML for large structures. Each file is prefixed with the
+ * {@link #getMagicNumber()} and the {@link #getVersion()} it was written with, so that older files can
+ * still be read as the format evolves.
+ * @param <T> the {@link Class} of {@link Object} represented.
+ */
+public interface BinaryFormat< T > {
+
+   /**
+    * Method to get the number identifying files written in this {@link BinaryFormat}.
+    * @return the magic number.
+    */
+   public int getMagicNumber();
+
+   /**
+    * Method to get the version of the {@link BinaryFormat} written.
+    * @return the current version.
+    */
+   public int getVersion();
+
+   /**
+    * Method to calculate the number of bytes needed to write the given {@link Object}, excluding the
+    * magic number and version.
+    * @param object the {@link Object} to write.
+    * @return the number of bytes.
+    */
+   public int getSize( T object );
+
+   /**
+    * Method to write the given {@link Object} to the {@link ByteBuffer} in the current version.
+    * @param object the {@link Object} to write.
+    * @param buffer the {@link ByteBuffer} with at least {@link #getSize(Object)} remaining.
+    */
+   public void write( T object, ByteBuffer buffer );
+
+   /**
+    * Method to read an {@link Object} from the {@link ByteBuffer}.
+    * @param buffer the {@link ByteBuffer} positioned after the magic number and version.
+    * @param version the version the {@link ByteBuffer} was written with.
+    * @return the {@link Object} read.
+    * @throws IllegalStateException if the version is not supported.
+    */
+   public T read( ByteBuffer buffer, int version );
+
+}// End Interface
@@ -20,7 +20,8 @@ public interface DataSerializationSystem {
     * @param clazz the expected {@link Class} to be stored in the {@link File}.
     * @param file the {@link File} pointing to XML data containing a definition for the
     * given {@link Class}.
-    * @param instanceClasses the {@link Class}es used to instantiate {@link JAXB}.
+    * @param instanceClasses the {@link Class}es used to instantiate {@link JAXB}, the given {@link Class}
+    * if none are given.
     * @return the parsed object of type T.
     */
    public < T > T loadFromFile( Class< T > clazz, File file, Class< ? >... instanceClasses );
@@ -29,9 +30,47 @@ public interface DataSerializationSystem {
     * Method to save the given {@link Object} to the given {@link File} as XML.
     * @param object the {@link Object} to save that has XML mappable properties.
     * @param file the {@link File} to save to.
-    * @param instanceClasses the {@link Class}es used to instantiate {@link JAXB}.
+    * @param instanceClasses the {@link Class}es used to instantiate {@link JAXB}, the {@link Class} of the
+    * {@link Object} if none are given.
     * @return true if saved correctly, false otherwise.
     */
    public boolean saveToFile( Object object, File file, Class< ? >... instanceClasses );
+
+   /**
+    * Method to save the given {@link Object} to the given {@link File} as XML, optionally without the
+    * indentation and line breaks of formatted output, for files only read by the system.
+    * @param object the {@link Object} to save that has XML mappable properties.
+    * @param file the {@link File} to save to.
+    * @param formatted whether the XML should be formatted.
+    * @param instanceClasses the {@link Class}es used to instantiate {@link JAXB}, the {@link Class} of the
+    * {@link Object} if none are given.
+    * @return true if saved correctly, false otherwise.
+    */
+   public boolean saveToFile( Object object, File file, boolean formatted, Class< ? >... instanceClasses );
+
+   /**
+    * Method to load an {@link Object} from the given {@link File} written in the given {@link BinaryFormat}.
+    * @param file the {@link File} to read from.
+    * @param format the {@link BinaryFormat} the {@link File} was written in.
+    * @return the {@link Object} read, or null if it could not be read.
+    */
+   public < T > T loadFromBinaryFile( File file, BinaryFormat< T > format );
+
+   /**
+    * Method to save the given {@link Object} to the given {@link File} in the given {@link BinaryFormat}.
+    * @param object the {@link Object} to save.
+    * @param file the {@link File} to save to.
+    * @param format the {@link BinaryFormat} to write.
+    * @return true if saved correctly, false otherwise.
+    */
+   public < T > boolean saveToBinaryFile( T object, File file, BinaryFormat< T > format );
+
+   /**
+    * Method to load a structure from the given XML {@link File} in a single pass using the {@link StreamingXmlFormat}.
+    * @param file the {@link File} to read from.
+    * @param format the {@link StreamingXmlFormat} reading the structure.
+    * @return the structure read, or null if it could not be read.
+    */
+   public < S > S loadFromXmlStream( File file, StreamingXmlFormat< S > format );
    
 }// End Interface
@@ -8,23 +8,124 @@
 package architecture.serialization;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBException;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
 
 /**
- * {@link DataSerializationSystemImpl} provides methods of saving and loading data to and from XML files. 
+ * {@link DataSerializationSystemImpl} provides methods of saving and loading data to and from XML files,
+ * and files written in a {@link BinaryFormat} through {@link FileChannel}s. XML can also be streamed through
+ * a {@link StreamingXmlFormat}. A {@link JAXBContext} is constructed once for each set of {@link Class}es and
+ * cached, each {@link Thread} holding its own {@link Marshaller} and {@link Unmarshaller} for it, so repeated
+ * saves and loads only pay for the marshalling.
  */
 public class DataSerializationSystemImpl implements DataSerializationSystem {
 
+   /** The {@link JAXBContext} for each set of {@link Class}es. **/
+   private final Map< Set< Class< ? > >, JAXBContext > contexts;
+   /** The {@link Marshaller} of each {@link JAXBContext}, confined to the {@link Thread} using it. **/
+   private final ThreadLocal< Map< JAXBContext, Marshaller > > marshallers;
+   /** The {@link Unmarshaller} of each {@link JAXBContext}, confined to the {@link Thread} using it. **/
+   private final ThreadLocal< Map< JAXBContext, Unmarshaller > > unmarshallers;
+
+   /**
+    * Constructs a new {@link DataSerializationSystemImpl}.
+    */
+   public DataSerializationSystemImpl(){
+      contexts = new ConcurrentHashMap< Set< Class< ? > >, JAXBContext >();
+      marshallers = ThreadLocal.withInitial( HashMap::new );
+      unmarshallers = ThreadLocal.withInitial( HashMap::new );
+   }// End Constructor
+
+   /**
+    * Method to get the {@link JAXBContext} for the given {@link Class}es, constructing it on first use. The 
+    * order of the {@link Class}es does not matter.
+    * @param classes the {@link Class}es the {@link JAXBContext} should be aware of.
+    * @return the {@link JAXBContext}.
+    * @throws JAXBException if the {@link JAXBContext} cannot be constructed.
+    */
+   JAXBContext getContext( Class< ? >... classes ) throws JAXBException {
+      Set< Class< ? > > key = Collections.unmodifiableSet( new HashSet< Class< ? > >( Arrays.asList( classes ) ) );
+      JAXBContext context = contexts.get( key );
+      if ( context == null ){
+         context = JAXBContext.newInstance( classes );
+         JAXBContext existing = contexts.putIfAbsent( key, context );
+         if ( existing != null ){
+            context = existing;
+         }
+      }
+      return context;
+   }// End Method
+
+   /**
+    * Method to get the {@link Class}es to construct the {@link JAXBContext} with, defaulting to the
+    * given {@link Class} when none are given.
+    * @param clazz the {@link Class} being saved or loaded.
+    * @param instanceClasses the {@link Class}es requested.
+    * @return the {@link Class}es to use.
+    */
+   private static Class< ? >[] contextClasses( Class< ? > clazz, Class< ? >[] instanceClasses ){
+      if ( instanceClasses == null || instanceClasses.length == 0 ){
+         return new Class< ? >[]{ clazz };
+      }
+      return instanceClasses;
+   }// End Method
+
+   /**
+    * Method to get the {@link Marshaller} of the calling {@link Thread} for the {@link JAXBContext}.
+    * @param context the {@link JAXBContext}.
+    * @return the {@link Marshaller}.
+    * @throws JAXBException if the {@link Marshaller} cannot be constructed.
+    */
+   private Marshaller getMarshaller( JAXBContext context ) throws JAXBException {
+      Map< JAXBContext, Marshaller > pool = marshallers.get();
+      Marshaller marshaller = pool.get( context );
+      if ( marshaller == null ){
+         marshaller = context.createMarshaller();
+         pool.put( context, marshaller );
+      }
+      return marshaller;
+   }// End Method
+
+   /**
+    * Method to get the {@link Unmarshaller} of the calling {@link Thread} for the {@link JAXBContext}.
+    * @param context the {@link JAXBContext}.
+    * @return the {@link Unmarshaller}.
+    * @throws JAXBException if the {@link Unmarshaller} cannot be constructed.
+    */
+   private Unmarshaller getUnmarshaller( JAXBContext context ) throws JAXBException {
+      Map< JAXBContext, Unmarshaller > pool = unmarshallers.get();
+      Unmarshaller unmarshaller = pool.get( context );
+      if ( unmarshaller == null ){
+         unmarshaller = context.createUnmarshaller();
+         pool.put( context, unmarshaller );
+      }
+      return unmarshaller;
+   }// End Method
+
    /**
     * {@inheritDoc}
     */
    public < T > T loadFromFile( Class< T > clazz, File file, Class< ? >... instanceClasses ) {
       try {
-         JAXBContext context = JAXBContext.newInstance( instanceClasses );
-         Unmarshaller um = context.createUnmarshaller();
+         Unmarshaller um = getUnmarshaller( getContext( contextClasses( clazz, instanceClasses ) ) );
          T object = clazz.cast( um.unmarshal( file ) );
          return object;
       } catch ( Exception e ) {
@@ -38,10 +139,16 @@ public class DataSerializationSystemImpl implements DataSerializationSystem {
     * {@inheritDoc}
     */
    public boolean saveToFile( Object object, File file, Class< ? >... instanceClasses ) {
+      return saveToFile( object, file, true, instanceClasses );
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean saveToFile( Object object, File file, boolean formatted, Class< ? >... instanceClasses ) {
       try {
-         JAXBContext context = JAXBContext.newInstance( instanceClasses );
-         Marshaller m = context.createMarshaller();
-         m.setProperty( Marshaller.JAXB_FORMATTED_OUTPUT, true );
+         Marshaller m = getMarshaller( getContext( contextClasses( object.getClass(), instanceClasses ) ) );
+         m.setProperty( Marshaller.JAXB_FORMATTED_OUTPUT, formatted );
          m.marshal( object, file );
          return true;
       } catch ( Exception e ) {
@@ -51,4 +158,79 @@ public class DataSerializationSystemImpl implements DataSerializationSystem {
       }
    }// End Method
 
+   /**
+    * {@inheritDoc}
+    */
+   public < S > S loadFromXmlStream( File file, StreamingXmlFormat< S > format ) {
+      try ( FileInputStream input = new FileInputStream( file ) ) {
+         Unmarshaller um = getUnmarshaller( getContext( format.getElementClasses() ) );
+         XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader( input );
+         try {
+            return format.read( reader, um );
+         } finally {
+            reader.close();
+         }
+      } catch ( Exception e ) {
+         e.printStackTrace();
+         System.out.println( "Unable to load " + file.getName() + "." );
+         return null;
+      }
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   public < T > T loadFromBinaryFile( File file, BinaryFormat< T > format ) {
+      try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) ) {
+         if ( channel.size() > Integer.MAX_VALUE ){
+            throw new IOException( file.getName() + " is too large to read." );
+         }
+         ByteBuffer buffer = ByteBuffer.allocate( ( int )channel.size() );
+         while ( buffer.hasRemaining() ){
+            if ( channel.read( buffer ) < 0 ){
+               throw new IOException( "Unexpected end of " + file.getName() + "." );
+            }
+         }
+         buffer.flip();
+         if ( buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != format.getMagicNumber() ){
+            throw new IOException( file.getName() + " is not in the expected format." );
+         }
+         int version = buffer.getInt();
+         if ( version < 1 || version > format.getVersion() ){
+            throw new IOException( file.getName() + " has unsupported version " + version + "." );
+         }
+         return format.read( buffer, version );
+      } catch ( Exception e ) {
+         e.printStackTrace();
+         System.out.println( "Unable to load " + file.getName() + "." );
+         return null;
+      }
+   }// End Method
+
+   /**
+    * {@inheritDoc}
+    */
+   public < T > boolean saveToBinaryFile( T object, File file, BinaryFormat< T > format ) {
+      try ( FileChannel channel = FileChannel.open( 
+               file.toPath(), 
+               StandardOpenOption.CREATE, 
+               StandardOpenOption.WRITE, 
+               StandardOpenOption.TRUNCATE_EXISTING 
+      ) ) {
+         ByteBuffer buffer = ByteBuffer.allocate( 2 * Integer.BYTES + format.getSize( object ) );
+         buffer.putInt( format.getMagicNumber() );
+         buffer.putInt( format.getVersion() );
+         format.write( object, buffer );
+         buffer.flip();
+         while ( buffer.hasRemaining() ){
+            channel.write( buffer );
+         }
+         return true;
+      } catch ( Exception e ) {
+         e.printStackTrace();
+         System.out.println( "Unable to save object." );
+         return false;
+      }
+   }// End Method
+
 }// End Class
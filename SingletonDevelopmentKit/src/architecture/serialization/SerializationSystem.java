@@ -16,7 +16,7 @@ import model.data.SingletonSerialization;
 
 /**
  * The {@link SerializationSystem} provides the public interface for serializing and deserializing
- * data to and from different output formats such as XML.
+ * data to and from different output formats such as XML, or a compact {@link BinaryFormat}.
  */
 public class SerializationSystem {
    
@@ -95,4 +95,33 @@ public class SerializationSystem {
      return dataSerializationSystem.saveToFile( object, file, instanceClasses );
    }// End Method
 
+   /**
+    * {@link DataSerializationSystem#saveToFile(Object, File, boolean, Class...)}.
+    */
+   public static boolean saveToFile( Object object, File file, boolean formatted, Class< ? >... instanceClasses ) {
+      return dataSerializationSystem.saveToFile( object, file, formatted, instanceClasses );
+   }// End Method
+
+   /**
+    * {@link DataSerializationSystem#loadFromXmlStream(File, StreamingXmlFormat)}. Unlike 
+    * {@link #loadStructure(Class, File)} nothing is stored in the {@link architecture.request.RequestSystem}.
+    */
+   public static < S > S loadStructureFromStream( File file, StreamingXmlFormat< S > format ) {
+      return dataSerializationSystem.loadFromXmlStream( file, format );
+   }// End Method
+
+   /**
+    * {@link DataSerializationSystem#loadFromBinaryFile(File, BinaryFormat)}.
+    */
+   public static < T > T loadFromBinaryFile( File file, BinaryFormat< T > format ) {
+      return dataSerializationSystem.loadFromBinaryFile( file, format );
+   }// End Method
+
+   /**
+    * {@link DataSerializationSystem#saveToBinaryFile(Object, File, BinaryFormat)}.
+    */
+   public static < T > boolean saveToBinaryFile( T object, File file, BinaryFormat< T > format ) {
+      return dataSerializationSystem.saveToBinaryFile( object, file, format );
+   }// End Method
+
 }// End Class
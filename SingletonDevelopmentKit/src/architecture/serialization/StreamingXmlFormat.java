@@ -0,0 +1,48 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package architecture.serialization;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import architecture.representation.StructuralRepresentation;
+
+/**
+ * The {@link StreamingXmlFormat} defines how a structure is read from the XML of a {@link StructuralRepresentation}
+ * in a single pass over an {@link XMLStreamReader}. Rather than unmarshalling the whole file, storing each
+ * {@link model.singleton.Singleton} in the {@link architecture.request.RequestSystem} and then resolving references
+ * through it, each element is unmarshalled as it is reached and references are resolved through objects held for
+ * the load only. Nothing is added to the {@link architecture.request.RequestSystem}.
+ * <p>
+ * This suits self contained structures, such as a {@code Perceptron}, whose references all lie within the file.
+ * Wrappers whose {@link model.singleton.Singleton}s are merged into those already held by the
+ * {@link architecture.request.RequestSystem}, or reference {@link model.singleton.Singleton}s loaded from other
+ * files, such as those of the ObjectBuilder, must still be loaded through construct and resolve.
+ * @param <S> the {@link Class} of structure read.
+ */
+public interface StreamingXmlFormat< S > {
+
+   /**
+    * Method to get the {@link Class}es of the elements unmarshalled from the stream, used to instantiate {@link JAXB}.
+    * @return the {@link Class}es.
+    */
+   public Class< ? >[] getElementClasses();
+
+   /**
+    * Method to read the structure from the {@link XMLStreamReader}.
+    * @param reader the {@link XMLStreamReader} positioned at the start of the document.
+    * @param unmarshaller the {@link Unmarshaller} for the {@link #getElementClasses()}.
+    * @return the structure read.
+    * @throws XMLStreamException if the XML cannot be read.
+    * @throws JAXBException if an element cannot be unmarshalled.
+    */
+   public S read( XMLStreamReader reader, Unmarshaller unmarshaller ) throws XMLStreamException, JAXBException;
+
+}// End Interface
@@ -35,4 +35,12 @@ public class IdentificationMatcher< T extends Singleton > implements Predicate<
       return object.getIdentification().equals( identification );
    }// End Method
    
+   /**
+    * Method to get the identification matched.
+    * @return the {@link String} identification of the {@link Singleton}.
+    */
+   public String getIdentification(){
+      return identification;
+   }// End Method
+   
 }// End Class
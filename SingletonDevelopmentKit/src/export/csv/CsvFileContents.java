@@ -9,12 +9,14 @@ package export.csv;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
 import model.singleton.SingletonImpl;
 
 import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
 
 /**
  * {@link CsvFileContents} provides the contents of a csv file in the form of
@@ -63,6 +65,34 @@ public class CsvFileContents extends SingletonImpl< SerializableCsvFileContents
       }
    }// End Method
    
+   /**
+    * Method to write the rows to the given {@link Writer}, the reverse of {@link #read(Reader)}. Column names
+    * assigned with {@link #assignColumnNames(Integer)} are not written.
+    * @param writer the {@link Writer} to output to, closed when done.
+    * @return true if successfully written.
+    */
+   public boolean write( Writer writer ) {
+      CSVWriter csvWriter = new CSVWriter( writer );
+      for ( String[] row : rows ) {
+         csvWriter.writeNext( row );
+      }
+      try {
+         csvWriter.close();
+         return true;
+      } catch ( IOException e ) {
+         e.printStackTrace();
+         return false;
+      }
+   }// End Method
+   
+   /**
+    * Method to add a row to the end of the data.
+    * @param row the values of the row.
+    */
+   public void addRow( String... row ) {
+      rows.add( row );
+   }// End Method
+   
    /**
     * Getter for the item at the given row and column position.
     * @param row the row.
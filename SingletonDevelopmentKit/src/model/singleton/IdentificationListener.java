@@ -0,0 +1,23 @@
+/*
+ * ----------------------------------------
+ *            Neural Networks
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package model.singleton;
+
+/**
+ * The {@link IdentificationListener} is notified when the identification of a {@link SingletonImpl} changes.
+ */
+@FunctionalInterface
+public interface IdentificationListener {
+
+   /**
+    * Method to notify that the identification of the given {@link Singleton} has changed.
+    * @param singleton the {@link Singleton} with the new identification.
+    * @param previous the identification before the change.
+    */
+   public void identificationChanged( Singleton singleton, String previous );
+
+}// End Interface
@@ -7,19 +7,52 @@
  */
 package model.singleton;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
 import architecture.utility.ObjectGenerator;
 import model.data.SerializedSingleton;
 import model.data.SingletonSerialization;
 
 /**
  * The {@link SingletonImpl} provides the base definition for a single {@link Object} that exists in
- * its own right and can be serialized.
+ * its own right and can be serialized. Changes to the identification are reported to the registered
+ * {@link IdentificationListener}s.
  */
 public abstract class SingletonImpl< S extends SerializedSingleton< ? > > 
                                 implements SingletonSerialization< S >{
 
+   /** The {@link IdentificationListener}s notified of changes to any identification, held weakly. **/
+   private static final Set< IdentificationListener > IDENTIFICATION_LISTENERS = 
+            Collections.newSetFromMap( new WeakHashMap< IdentificationListener, Boolean >() );
+   
    /** The unique identification for this {@link SingletonImpl}. **/
    protected String identification;
+   
+   /**
+    * Method to register an {@link IdentificationListener} to be notified whenever the identification of any 
+    * {@link SingletonImpl} changes. The {@link IdentificationListener} is held weakly, so it must be referenced
+    * by its owner for as long as it should be notified.
+    * @param listener the {@link IdentificationListener} to register.
+    */
+   public static void addIdentificationListener( IdentificationListener listener ){
+      synchronized ( IDENTIFICATION_LISTENERS ) {
+         IDENTIFICATION_LISTENERS.add( listener );
+      }
+   }// End Method
+   
+   /**
+    * Method to stop notifying the given {@link IdentificationListener}.
+    * @param listener the {@link IdentificationListener} to remove.
+    */
+   public static void removeIdentificationListener( IdentificationListener listener ){
+      synchronized ( IDENTIFICATION_LISTENERS ) {
+         IDENTIFICATION_LISTENERS.remove( listener );
+      }
+   }// End Method
 
    /**
     * Constructs a new {@link SingletonImpl}.
@@ -45,7 +78,26 @@ public abstract class SingletonImpl< S extends SerializedSingleton< ? > >
       if ( identification == null ) {
          return;
       }
+      String previous = this.identification;
       this.identification = identification;
+      notifyIdentificationChanged( previous );
+   }// End Method
+   
+   /**
+    * Method to notify the {@link IdentificationListener}s if the identification differs from that given.
+    * @param previous the identification before the change.
+    */
+   private void notifyIdentificationChanged( String previous ){
+      if ( identification == null ? previous == null : identification.equals( previous ) ) {
+         return;
+      }
+      List< IdentificationListener > listeners;
+      synchronized ( IDENTIFICATION_LISTENERS ) {
+         listeners = new ArrayList<>( IDENTIFICATION_LISTENERS );
+      }
+      for ( IdentificationListener listener : listeners ) {
+         listener.identificationChanged( this, previous );
+      }
    }// End Method
    
    /**
@@ -68,7 +120,9 @@ public abstract class SingletonImpl< S extends SerializedSingleton< ? > >
     * {@inheritDoc}
     */
    @Override public void read( S serialized ){
+      String previous = identification;
       identification = serialized.getIdentification();
+      notifyIdentificationChanged( previous );
       readSingleton( serialized );
    }// End Method
    
@@ -20,4 +20,10 @@ public interface ProgressControlledTaskBindable extends Runnable {
     */
    public void bind( ProgressControlledTask task );
 
+   /**
+    * Method to request that the {@link Runnable} stops, for work that checks cooperatively rather than
+    * responding to interruption. By default nothing is done.
+    */
+   public default void cancel(){}
+
 }// End Interface
@@ -40,6 +40,15 @@ public class ProgressControlledTaskImpl extends Task< Void > implements Progress
       updateMessage( message );
    }// End Method
 
+   /**
+    * {@inheritDoc}
+    * Also requests that the {@link ProgressControlledTaskBindable} stops cooperatively.
+    */
+   @Override public boolean cancel( boolean mayInterruptIfRunning ) {
+      runnable.cancel();
+      return super.cancel( mayInterruptIfRunning );
+   }// End Method
+
    /**
     * {@inheritDoc}
     */
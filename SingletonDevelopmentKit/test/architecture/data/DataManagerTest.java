@@ -7,15 +7,51 @@
  */
 package architecture.data;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import architecture.utility.IdentificationMatcher;
+import model.singleton.Singleton;
+import test.model.TestObjects.TestSingleton;
+import test.model.TestObjects.TestSingletonImpl;
+
 /**
  * {@link DataManager} test.
  */
 public class DataManagerTest {
+   
+   /** {@link Singleton} that does not report changes to its identification. **/
+   private static class UntrackedSingleton implements Singleton {
+      
+      /** The identification of the {@link UntrackedSingleton}. **/
+      private String identification;
+      
+      /**
+       * Constructs a new {@link UntrackedSingleton}.
+       * @param identification the identification.
+       */
+      private UntrackedSingleton( String identification ) {
+         this.identification = identification;
+      }//End Constructor
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public String getIdentification() {
+         return identification;
+      }//End Method
+      
+      /**
+       * {@inheritDoc}
+       */
+      @Override public void setIdentification( String identification ) {
+         this.identification = identification;
+      }//End Method
+   }//End Class
 
    /**
     * {@link DataManager#removeAll(java.util.function.Predicate)} with return everything test.
@@ -89,5 +125,214 @@ public class DataManagerTest {
       Assert.assertEquals( 1, matches.size() );
       Assert.assertEquals( "somethingElse", matches.get( 0 ) );
    }//End Method
+   
+   /**
+    * {@link DataManager#retrieve(java.util.function.Predicate)} with an {@link IdentificationMatcher} test.
+    */
+   @Test public void shouldRetrieveByIdentification(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      TestSingleton first = new TestSingletonImpl( "first" );
+      TestSingleton second = new TestSingletonImpl( "second" );
+      manager.store( first );
+      manager.store( second );
+      Assert.assertEquals( first, manager.retrieve( new IdentificationMatcher<>( "first" ) ) );
+      Assert.assertEquals( second, manager.retrieve( new IdentificationMatcher<>( "second" ) ) );
+      Assert.assertNull( manager.retrieve( new IdentificationMatcher<>( "third" ) ) );
+      Assert.assertEquals( 1, manager.retrieveAll( new IdentificationMatcher<>( "second" ) ).size() );
+      Assert.assertTrue( manager.retrieveAll( new IdentificationMatcher<>( "third" ) ).isEmpty() );
+   }//End Method
+   
+   /**
+    * {@link DataManager#remove(Object)} with duplicate identifications test.
+    */
+   @Test public void shouldRetrieveNextDuplicateWhenRemoved(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      TestSingleton first = new TestSingletonImpl( "same" );
+      TestSingleton second = new TestSingletonImpl( "same" );
+      manager.store( first );
+      manager.store( second );
+      Assert.assertEquals( first, manager.retrieve( new IdentificationMatcher<>( "same" ) ) );
+      Assert.assertEquals( 2, manager.retrieveAll( new IdentificationMatcher<>( "same" ) ).size() );
+      
+      manager.remove( first );
+      Assert.assertEquals( second, manager.retrieve( new IdentificationMatcher<>( "same" ) ) );
+      manager.remove( second );
+      Assert.assertNull( manager.retrieve( new IdentificationMatcher<>( "same" ) ) );
+   }//End Method
+   
+   /**
+    * {@link DataManager#removeAll(java.util.function.Predicate)} removing identified {@link TestSingleton}s test.
+    */
+   @Test public void shouldNotRetrieveByIdentificationWhenRemovedByMatch(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      manager.store( new TestSingletonImpl( "first" ) );
+      manager.store( new TestSingletonImpl( "second" ) );
+      manager.removeAll( object -> { return object.getIdentification().equals( "first" ); } );
+      Assert.assertNull( manager.retrieve( new IdentificationMatcher<>( "first" ) ) );
+      Assert.assertNotNull( manager.retrieve( new IdentificationMatcher<>( "second" ) ) );
+   }//End Method
+   
+   /**
+    * {@link DataManager#retrieve(java.util.function.Predicate)} after the identification has changed test.
+    */
+   @Test public void shouldRetrieveByChangedIdentification(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      TestSingleton singleton = new TestSingletonImpl( "before" );
+      manager.store( singleton );
+      singleton.setIdentification( "after" );
+      Assert.assertEquals( singleton, manager.retrieve( new IdentificationMatcher<>( "after" ) ) );
+      Assert.assertEquals( Arrays.asList( singleton ), manager.retrieveAll( new IdentificationMatcher<>( "after" ) ) );
+      Assert.assertNull( manager.retrieve( new IdentificationMatcher<>( "before" ) ) );
+      Assert.assertTrue( manager.retrieveAll( new IdentificationMatcher<>( "before" ) ).isEmpty() );
+   }//End Method
+   
+   /**
+    * {@link DataManager#retrieve(java.util.function.Predicate)} after changing to the identification of another test.
+    */
+   @Test public void shouldRetrieveFirstStoredWhenChangedToDuplicateIdentification(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      TestSingleton first = new TestSingletonImpl( "first" );
+      TestSingleton second = new TestSingletonImpl( "second" );
+      manager.store( first );
+      manager.store( second );
+      
+      second.setIdentification( "first" );
+      Assert.assertEquals( first, manager.retrieve( new IdentificationMatcher<>( "first" ) ) );
+      Assert.assertEquals( 2, manager.retrieveAll( new IdentificationMatcher<>( "first" ) ).size() );
+      Assert.assertNull( manager.retrieve( new IdentificationMatcher<>( "second" ) ) );
+      
+      first.setIdentification( "other" );
+      Assert.assertEquals( second, manager.retrieve( new IdentificationMatcher<>( "first" ) ) );
+      Assert.assertEquals( Arrays.asList( second ), manager.retrieveAll( new IdentificationMatcher<>( "first" ) ) );
+      Assert.assertEquals( first, manager.retrieve( new IdentificationMatcher<>( "other" ) ) );
+   }//End Method
+   
+   /**
+    * {@link DataManager#retrieve(java.util.function.Predicate)} for a {@link Singleton} not reporting changes test.
+    */
+   @Test public void shouldRetrieveByChangedIdentificationWhenNotReported(){
+      DataManager< Singleton > manager = new DataManager<>();
+      Singleton tracked = new TestSingletonImpl( "tracked" );
+      Singleton untracked = new UntrackedSingleton( "before" );
+      manager.store( tracked );
+      manager.store( untracked );
+      untracked.setIdentification( "after" );
+      Assert.assertEquals( untracked, manager.retrieve( new IdentificationMatcher<>( "after" ) ) );
+      Assert.assertEquals( Arrays.asList( untracked ), manager.retrieveAll( new IdentificationMatcher<>( "after" ) ) );
+      Assert.assertNull( manager.retrieve( new IdentificationMatcher<>( "before" ) ) );
+      Assert.assertEquals( Arrays.asList( untracked ), manager.retrieveByPrefix( "af", 10 ) );
+      Assert.assertEquals( tracked, manager.retrieve( new IdentificationMatcher<>( "tracked" ) ) );
+      
+      manager.remove( untracked );
+      tracked.setIdentification( "renamed" );
+      Assert.assertEquals( tracked, manager.retrieve( new IdentificationMatcher<>( "renamed" ) ) );
+      Assert.assertNull( manager.retrieve( new IdentificationMatcher<>( "after" ) ) );
+   }//End Method
+   
+   /**
+    * {@link DataManager#store(Object)} on one {@link Thread} while retrieving on another test.
+    */
+   @Test public void shouldRetrieveWhileStoringConcurrently() throws InterruptedException {
+      DataManager< TestSingleton > manager = new DataManager<>();
+      AtomicReference< Throwable > failure = new AtomicReference<>();
+      Thread storing = new Thread( () -> {
+         for ( int i = 0; i < 20000; i++ ) {
+            manager.store( new TestSingletonImpl( "singleton" + i ) );
+         }
+      } );
+      storing.setUncaughtExceptionHandler( ( thread, exception ) -> failure.set( exception ) );
+      storing.start();
+      
+      while ( storing.isAlive() ) {
+         List< TestSingleton > all = manager.retrieveAll( null );
+         for ( int i = 0; i < all.size(); i++ ) {
+            Assert.assertEquals( "singleton" + i, all.get( i ).getIdentification() );
+         }
+         if ( !all.isEmpty() ) {
+            Assert.assertNotNull( manager.retrieve( new IdentificationMatcher<>( "singleton0" ) ) );
+         }
+         manager.retrieveAll( object -> { return object.getIdentification().endsWith( "9" ); } );
+      }
+      storing.join();
+      
+      Assert.assertNull( failure.get() );
+      Assert.assertEquals( 20000, manager.retrieveAll( null ).size() );
+      Assert.assertEquals( "singleton19999", manager.retrieve( new IdentificationMatcher<>( "singleton19999" ) ).getIdentification() );
+   }//End Method
+   
+   /**
+    * {@link DataManager#retrieveAll(java.util.function.Predicate)} with a null identification test.
+    */
+   @Test public void shouldNotRetrieveNullIdentification(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      manager.store( new TestSingletonImpl( "first" ) );
+      Assert.assertNull( manager.retrieve( new IdentificationMatcher<>( null ) ) );
+      Assert.assertTrue( manager.retrieveAll( new IdentificationMatcher<>( null ) ).isEmpty() );
+   }//End Method
+   
+   /**
+    * {@link DataManager#retrieveByPrefix(String, int)} test.
+    */
+   @Test public void shouldRetrieveByPrefixInOrderStored(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      TestSingleton apple = new TestSingletonImpl( "apple" );
+      TestSingleton apricot = new TestSingletonImpl( "apricot" );
+      TestSingleton banana = new TestSingletonImpl( "banana" );
+      TestSingleton ap = new TestSingletonImpl( "ap" );
+      TestSingleton secondApple = new TestSingletonImpl( "apple" );
+      manager.store( apricot );
+      manager.store( banana );
+      manager.store( apple );
+      manager.store( ap );
+      manager.store( secondApple );
+      
+      Assert.assertEquals( Arrays.asList( apricot, apple, ap, secondApple ), manager.retrieveByPrefix( "ap", 10 ) );
+      Assert.assertEquals( Arrays.asList( apple, ap ), manager.retrieveByPrefix( "ap", 2 ) );
+      Assert.assertEquals( Arrays.asList( apple, secondApple ), manager.retrieveByPrefix( "apple", 10 ) );
+      Assert.assertEquals( 5, manager.retrieveByPrefix( "", 10 ).size() );
+      Assert.assertTrue( manager.retrieveByPrefix( "c", 10 ).isEmpty() );
+      Assert.assertTrue( manager.retrieveByPrefix( "ap", 0 ).isEmpty() );
+      
+      manager.remove( apple );
+      Assert.assertEquals( Arrays.asList( secondApple ), manager.retrieveByPrefix( "apple", 10 ) );
+      manager.removeAll( object -> { return object == ap; } );
+      Assert.assertEquals( Arrays.asList( apricot, secondApple ), manager.retrieveByPrefix( "ap", 10 ) );
+   }//End Method
+   
+   /**
+    * {@link DataManager#retrieveByPrefix(String, int)} after the identification has changed test.
+    */
+   @Test public void shouldRetrieveByPrefixOfChangedIdentification(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      TestSingleton singleton = new TestSingletonImpl( "before" );
+      manager.store( singleton );
+      singleton.setIdentification( "after" );
+      Assert.assertTrue( manager.retrieveByPrefix( "be", 10 ).isEmpty() );
+      Assert.assertEquals( Arrays.asList( singleton ), manager.retrieveByPrefix( "af", 10 ) );
+   }//End Method
+   
+   /**
+    * {@link DataManager#retrieveByPrefix(String, int)} after the identification has changed to start with it test.
+    */
+   @Test public void shouldRetrieveByPrefixWhenChangedIntoPrefix(){
+      DataManager< TestSingleton > manager = new DataManager<>();
+      TestSingleton apple = new TestSingletonImpl( "apple" );
+      TestSingleton zebra = new TestSingletonImpl( "zebra" );
+      manager.store( apple );
+      manager.store( zebra );
+      Assert.assertEquals( Arrays.asList( apple ), manager.retrieveByPrefix( "ap", 10 ) );
+      
+      zebra.setIdentification( "apex" );
+      Assert.assertEquals( Arrays.asList( apple, zebra ), manager.retrieveByPrefix( "ap", 10 ) );
+      Assert.assertEquals( Arrays.asList( zebra ), manager.retrieveByPrefix( "ap", 1 ) );
+      Assert.assertTrue( manager.retrieveByPrefix( "z", 10 ).isEmpty() );
+   }//End Method
+   
+   /**
+    * {@link DataManager#retrieveByPrefix(String, int)} with a negative limit test.
+    */
+   @Test( expected = IllegalArgumentException.class ) public void shouldNotRetrieveByPrefixWithNegativeLimit(){
+      new DataManager< TestSingleton >().retrieveByPrefix( "a", -1 );
+   }//End Method
 
 }//End Class
@@ -0,0 +1,77 @@
+/*
+ * ----------------------------------------
+ *        Singleton Development Kit
+ * ----------------------------------------
+ *          Produced by Dan Grew
+ * ----------------------------------------
+ */
+package architecture.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import test.model.TestObjects.TestSingleton;
+import test.model.TestObjects.TestSingletonImpl;
+import utility.TestCommon;
+
+/**
+ * Test for the {@link DataManagementSystem}'s resolution of the {@link Class}es assignable to a parent.
+ */
+public class DmsHierarchyTest {
+
+   /** Custom extension stored after retrieving. **/
+   private static class LaterImplementation extends TestSingletonImpl {
+
+      /**
+       * Constructs a new {@link LaterImplementation}.
+       * @param identification the identification of the {@link LaterImplementation}.
+       */
+      public LaterImplementation( String identification ) {
+         super( identification );
+      }//End Constructor
+   }//End Class
+
+   /**
+    * Method to test that a {@link Class} first stored after retrieving by parent is retrieved by parent.
+    */
+   @Test public void shouldRetrieveClassStoredAfterRetrieving() {
+      DataManagementSystem sut = new DataManagementSystemImpl();
+      TestSingleton first = new TestSingletonImpl( "first" );
+      sut.store( first );
+      Assert.assertEquals( Arrays.asList( first ), sut.retrieveAll( TestSingleton.class, null, null ) );
+
+      TestSingleton later = new LaterImplementation( "later" );
+      sut.store( later, TestSingleton.class );
+      TestCommon.assertCollectionsSameOrderIrrelevant(
+               Arrays.asList( first, later ),
+               sut.retrieveAll( TestSingleton.class, null, null )
+      );
+   }// End Method
+
+   /**
+    * Method to test that a class matcher is tested once for each {@link Class}, however often it is used.
+    */
+   @Test public void shouldTestClassMatcherOnceForEachClass() {
+      DataManagementSystem sut = new DataManagementSystemImpl();
+      sut.store( new TestSingletonImpl( "first" ) );
+      sut.store( new LaterImplementation( "later" ), TestSingleton.class );
+
+      AtomicInteger tests = new AtomicInteger();
+      Predicate< Class< ? > > classMatcher = clazz -> {
+         tests.incrementAndGet();
+         return clazz.equals( LaterImplementation.class );
+      };
+      for ( int i = 0; i < 5; i++ ) {
+         List< TestSingleton > matches = sut.retrieveAll( TestSingleton.class, classMatcher, null );
+         Assert.assertEquals( 1, matches.size() );
+         Assert.assertEquals( "later", matches.get( 0 ).getIdentification() );
+      }
+      Assert.assertEquals( 3, tests.get() );
+   }// End Method
+
+}// End Class
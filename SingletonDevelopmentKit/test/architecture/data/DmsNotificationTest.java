@@ -8,6 +8,7 @@
 package architecture.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import model.singleton.Singleton;
@@ -49,5 +50,29 @@ public class DmsNotificationTest {
       Assert.assertEquals( testClassB, results.get( 2 ) );
       Assert.assertEquals( testClassC, results.get( 3 ) );
    }// End Method
+   
+   /**
+    * Method to test that a single event is received for all objects stored together.
+    */
+   @Test public void shouldReceiveSingleEventForAllStored() {
+      List< SingletonsStoredSource > results = new ArrayList<>();
+      List< Object > individual = new ArrayList<>();
+      TestSingleton first = new TestSingletonImpl( "first" );
+      TestSingleton second = new TestSingletonImpl( "second" );
+      
+      EventSystem.registerForEvent( DataManagementSystem.Events.ObjectsStored, ( object, source ) -> {
+         results.add( ( SingletonsStoredSource )source );
+      } );
+      EventSystem.registerForEvent( DataManagementSystem.Events.ObjectStored, ( object, source ) -> {
+         individual.add( source );
+      } );
+      
+      RequestSystem.storeAll( Arrays.asList( first, second ), TestSingleton.class );
+      
+      Assert.assertEquals( 1, results.size() );
+      Assert.assertTrue( individual.isEmpty() );
+      Assert.assertEquals( Arrays.asList( first, second ), new ArrayList<>( results.get( 0 ).storedObjects ) );
+      Assert.assertEquals( Arrays.asList( TestSingleton.class ), results.get( 0 ).classes );
+   }// End Method
 
 }// End Class
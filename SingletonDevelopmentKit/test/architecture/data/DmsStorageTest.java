@@ -1,5 +1,7 @@
 package architecture.data;
 
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -40,5 +42,22 @@ public class DmsStorageTest {
       Assert.assertTrue( RequestSystem.retrieveAll( TestSingleton.class ).contains( impl ) );
       Assert.assertTrue( RequestSystem.retrieveAll( TestSingletonImpl.class ).contains( impl ) );
    }// End Method
+   
+   /**
+    * Test to prove the {@link DataManagementSystem} stores all {@link Singleton}s given together in
+    * the same way as storing each.
+    */
+   @Test public void shouldStoreAllObjectsTogether(){
+      TestSingletonImpl first = new TestSingletonImpl( "first" );
+      TestSingletonImpl second = new TestSingletonImpl( "second" );
+      
+      RequestSystem.storeAll( Arrays.asList( first, null, second ), Singleton.class, String.class );
+      
+      Assert.assertTrue( RequestSystem.retrieveAll( TestSingletonImpl.class ).containsAll( Arrays.asList( first, second ) ) );
+      Assert.assertTrue( RequestSystem.retrieveAll( TestSingleton.class ).containsAll( Arrays.asList( first, second ) ) );
+      Assert.assertTrue( RequestSystem.retrieveAll( Singleton.class ).containsAll( Arrays.asList( first, second ) ) );
+      Assert.assertFalse( RequestSystem.retrieveAll( String.class ).contains( first ) );
+      Assert.assertEquals( second, RequestSystem.retrieve( TestSingleton.class, "second" ) );
+   }// End Method
 
 }// End Class
@@ -9,6 +9,7 @@ package architecture.serialization;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.AbstractMap.SimpleEntry;
 
 import javax.xml.bind.annotation.XmlElement;
@@ -61,5 +62,36 @@ public class DataSerializationSystemTest {
       Assert.assertEquals( wrapper.entry.getKey(), parsedWrapper.entry.getKey() );
       Assert.assertEquals( wrapper.entry.getValue(), parsedWrapper.entry.getValue() );
    }//End Method
+   
+   /**
+    * {@link DataSerializationSystemImpl#getContext(Class...)} test for reusing contexts regardless of order.
+    * @throws Exception if the context cannot be created.
+    */
+   @Test public void shouldReuseContexts() throws Exception {
+      DataSerializationSystemImpl system = new DataSerializationSystemImpl();
+      Assert.assertSame( 
+               system.getContext( XmlWrapper.class, XmlSimpleEntry.class ), 
+               system.getContext( XmlSimpleEntry.class, XmlWrapper.class ) 
+      );
+      Assert.assertNotSame( system.getContext( XmlWrapper.class ), system.getContext( XmlWrapper.class, XmlSimpleEntry.class ) );
+   }//End Method
+   
+   /**
+    * {@link SerializationSystem#saveToFile(Object, File, boolean, Class...)} test for unformatted output, 
+    * defaulting the context to the class of the object.
+    * @throws IOException if a {@link File} cannot be created.
+    */
+   @Test public void shouldSerializeUnformatted() throws IOException {
+      XmlWrapper wrapper = new XmlWrapper();
+      wrapper.entry = new XmlSimpleEntry<>( new SimpleEntry<>( "Anything", 12.0 ) );
+      
+      File temporaryFile = temp.newFile();
+      Assert.assertTrue( SerializationSystem.saveToFile( wrapper, temporaryFile, false ) );
+      Assert.assertEquals( 1, Files.readAllLines( temporaryFile.toPath() ).size() );
+      
+      XmlWrapper parsedWrapper = SerializationSystem.loadFromFile( XmlWrapper.class, temporaryFile );
+      Assert.assertEquals( wrapper.entry.getKey(), parsedWrapper.entry.getKey() );
+      Assert.assertEquals( wrapper.entry.getValue(), parsedWrapper.entry.getValue() );
+   }//End Method
 
 }//End Class
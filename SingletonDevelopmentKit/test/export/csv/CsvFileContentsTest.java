@@ -9,6 +9,7 @@ package export.csv;
 
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -190,4 +191,22 @@ public class CsvFileContentsTest {
       Assert.assertEquals( 2, contents.getNumberOfRows() );
       Assert.assertEquals( "but", contents.getItem( 1, 0 ) );
    }// End Method
+   
+   /**
+    * {@link CsvFileContents#write(java.io.Writer)} test.
+    */
+   @Test public void shouldWriteRowsThatReadBack() {
+      CsvFileContents contents = new CsvFileContents( CONTENTS_NAME );
+      contents.addRow( "name", "value" );
+      contents.addRow( "with, comma", "with \"quotes\"" );
+      StringWriter writer = new StringWriter();
+      Assert.assertTrue( contents.write( writer ) );
+      
+      CsvFileContents read = new CsvFileContents( CONTENTS_NAME );
+      Assert.assertTrue( read.read( new StringReader( writer.toString() ) ) );
+      Assert.assertEquals( 2, read.getNumberOfRows() );
+      Assert.assertEquals( "name", read.getItem( 0, 0 ) );
+      Assert.assertEquals( "with, comma", read.getItem( 1, 0 ) );
+      Assert.assertEquals( "with \"quotes\"", read.getItem( 1, 1 ) );
+   }// End Method
 }// End Class